@@ -0,0 +1,67 @@
+package num4j.benchmarks;
+
+import num4j.api.Matrix;
+import num4j.impl.DoubleMatrix;
+import num4j.impl.MatrixArena;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chains of operations creating temporary matrices, with and without drawing them from the pool of a {@link MatrixArena}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ArenaBenchmark {
+
+    @Param({"64", "512"})
+    private int size;
+
+    private DoubleMatrix a;
+    private DoubleMatrix b;
+    private DoubleMatrix result;
+
+    @Setup
+    public void setup() {
+        a = DoubleMatrix.ones(size, size);
+        b = DoubleMatrix.ones(size, size);
+        b.mulScalar(0.5);
+        result = DoubleMatrix.zeros(size, size);
+    }
+
+    @Benchmark
+    public DoubleMatrix allocating() {
+        chain();
+        return result;
+    }
+
+    @Benchmark
+    public DoubleMatrix pooled() {
+        try (MatrixArena arena = MatrixArena.open()) {
+            chain();
+        }
+        return result;
+    }
+
+    private void chain() {
+        Matrix<Double> copy = a.copy();
+        copy.add(b);
+        Matrix<Double> transposed = copy.transpose(1, 0).copy();
+        transposed.mul(b);
+        transposed.copyInto(result);
+    }
+}
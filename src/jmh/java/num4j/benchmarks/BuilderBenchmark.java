@@ -0,0 +1,141 @@
+package num4j.benchmarks;
+
+import num4j.api.Builder;
+import num4j.api.Matrix;
+import num4j.impl.DoubleMatrix;
+import num4j.impl.IntegerMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and copying matrices, compared to filling and copying primitive arrays. Rows of primitives are
+ * copied in bulk, while buffers are wrapped without copying.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class BuilderBenchmark {
+
+    @Param({"16", "1024"})
+    private int rows;
+
+    @Param({"256"})
+    private int columns;
+
+    private Integer[] intRow;
+    private Double[] doubleRow;
+
+    private Matrix<Integer> intMatrix;
+    private Matrix<Double> doubleMatrix;
+    private double[] doubleArray;
+    private int[] intPrimitiveRow;
+    private double[][] doubleRows;
+    private ByteBuffer doubleBuffer;
+
+    @Setup
+    public void setup() {
+        intRow = new Integer[columns];
+        doubleRow = new Double[columns];
+        for (int i = 0; i < columns; i++) {
+            intRow[i] = i;
+            doubleRow[i] = (double) i;
+        }
+
+        intMatrix = IntegerMatrix.ones(rows, columns);
+        doubleMatrix = DoubleMatrix.ones(rows, columns);
+        doubleArray = new double[rows * columns];
+        intPrimitiveRow = new int[columns];
+        doubleRows = new double[rows][columns];
+        for (int i = 0; i < columns; i++) {
+            intPrimitiveRow[i] = i;
+            for (int j = 0; j < rows; j++) {
+                doubleRows[j][i] = i;
+            }
+        }
+        doubleBuffer = ByteBuffer.allocateDirect(rows * columns * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Benchmark
+    public Matrix<Integer> buildInt() {
+        Builder<Integer> builder = IntegerMatrix.builder();
+        for (int i = 0; i < rows; i++) {
+            builder.row(intRow);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public Matrix<Double> buildDouble() {
+        Builder<Double> builder = DoubleMatrix.builder();
+        for (int i = 0; i < rows; i++) {
+            builder.row(doubleRow);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public Matrix<Integer> buildIntPresized() {
+        IntegerMatrix.IntegerMatrixBuilder builder = IntegerMatrix.builder(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            builder.row(intPrimitiveRow);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public Matrix<Double> fromRowsDouble() {
+        return DoubleMatrix.fromRows(doubleRows);
+    }
+
+    @Benchmark
+    public Matrix<Double> ofDouble() {
+        return DoubleMatrix.of(doubleArray, rows, columns);
+    }
+
+    @Benchmark
+    public Matrix<Double> wrapDouble() {
+        return DoubleMatrix.wrap(doubleBuffer, rows, columns);
+    }
+
+    @Benchmark
+    public double[] buildDoubleScalarLoop() {
+        double[] data = new double[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                data[i * columns + j] = doubleRow[j];
+            }
+        }
+        return data;
+    }
+
+    @Benchmark
+    public Matrix<Integer> copyInt() {
+        return intMatrix.copy();
+    }
+
+    @Benchmark
+    public Matrix<Double> copyDouble() {
+        return doubleMatrix.copy();
+    }
+
+    @Benchmark
+    public double[] copyDoubleScalarLoop() {
+        return doubleArray.clone();
+    }
+}
@@ -0,0 +1,141 @@
+package num4j.benchmarks;
+
+import num4j.api.Matrix;
+import num4j.impl.DoubleMatrix;
+import num4j.impl.IntegerMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inplace elementwise operations, compared to plain loops over primitive arrays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ElementwiseBenchmark {
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    private Matrix<Integer> intA;
+    private Matrix<Integer> intB;
+    private Matrix<Double> doubleA;
+    private Matrix<Double> doubleB;
+
+    private int[] intArrayA;
+    private int[] intArrayB;
+    private double[] doubleArrayA;
+    private double[] doubleArrayB;
+
+    @Setup
+    public void setup() {
+        intA = IntegerMatrix.ones(size);
+        intB = IntegerMatrix.ones(size);
+        doubleA = DoubleMatrix.ones(size);
+        doubleB = DoubleMatrix.ones(size);
+
+        intArrayA = new int[size];
+        intArrayB = new int[size];
+        doubleArrayA = new double[size];
+        doubleArrayB = new double[size];
+        Arrays.fill(intArrayA, 1);
+        Arrays.fill(intArrayB, 1);
+        Arrays.fill(doubleArrayA, 1.0);
+        Arrays.fill(doubleArrayB, 1.0);
+    }
+
+    @Benchmark
+    public Matrix<Integer> addInt() {
+        intA.add(intB);
+        return intA;
+    }
+
+    @Benchmark
+    public Matrix<Integer> subInt() {
+        intA.sub(intB);
+        return intA;
+    }
+
+    @Benchmark
+    public Matrix<Integer> mulInt() {
+        intA.mul(intB);
+        return intA;
+    }
+
+    @Benchmark
+    public Matrix<Integer> divInt() {
+        intA.div(intB);
+        return intA;
+    }
+
+    @Benchmark
+    public Matrix<Double> addDouble() {
+        doubleA.add(doubleB);
+        return doubleA;
+    }
+
+    @Benchmark
+    public Matrix<Double> subDouble() {
+        doubleA.sub(doubleB);
+        return doubleA;
+    }
+
+    @Benchmark
+    public Matrix<Double> mulDouble() {
+        doubleA.mul(doubleB);
+        return doubleA;
+    }
+
+    @Benchmark
+    public Matrix<Double> divDouble() {
+        doubleA.div(doubleB);
+        return doubleA;
+    }
+
+    @Benchmark
+    public int[] addIntScalarLoop() {
+        for (int i = 0; i < intArrayA.length; i++) {
+            intArrayA[i] += intArrayB[i];
+        }
+        return intArrayA;
+    }
+
+    @Benchmark
+    public int[] divIntScalarLoop() {
+        for (int i = 0; i < intArrayA.length; i++) {
+            intArrayA[i] /= intArrayB[i];
+        }
+        return intArrayA;
+    }
+
+    @Benchmark
+    public double[] addDoubleScalarLoop() {
+        for (int i = 0; i < doubleArrayA.length; i++) {
+            doubleArrayA[i] += doubleArrayB[i];
+        }
+        return doubleArrayA;
+    }
+
+    @Benchmark
+    public double[] divDoubleScalarLoop() {
+        for (int i = 0; i < doubleArrayA.length; i++) {
+            doubleArrayA[i] /= doubleArrayB[i];
+        }
+        return doubleArrayA;
+    }
+}
@@ -0,0 +1,91 @@
+package num4j.benchmarks;
+
+import num4j.api.Matrix;
+import num4j.impl.DoubleMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating {@code a * b + c * d - e} with inplace operations and with a lazy expression,
+ * compared to a plain loop over primitive arrays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ExpressionBenchmark {
+
+    @Param({"1024", "4194304"})
+    private int size;
+
+    private Matrix<Double> a;
+    private Matrix<Double> b;
+    private Matrix<Double> c;
+    private Matrix<Double> d;
+    private Matrix<Double> e;
+    private Matrix<Double> result;
+
+    private double[][] arrays;
+    private double[] resultArray;
+
+    @Setup
+    public void setup() {
+        a = DoubleMatrix.ones(size);
+        b = DoubleMatrix.ones(size);
+        c = DoubleMatrix.ones(size);
+        d = DoubleMatrix.ones(size);
+        e = DoubleMatrix.ones(size);
+        result = DoubleMatrix.zeros(size);
+
+        arrays = new double[5][size];
+        for (double[] array : arrays) {
+            Arrays.fill(array, 1.0);
+        }
+        resultArray = new double[size];
+    }
+
+    @Benchmark
+    public Matrix<Double> eager() {
+        Matrix<Double> ab = a.copy();
+        ab.mul(b);
+        Matrix<Double> cd = c.copy();
+        cd.mul(d);
+        ab.add(cd);
+        ab.sub(e);
+        return ab;
+    }
+
+    @Benchmark
+    public Matrix<Double> lazy() {
+        return a.lazy().mul(b).add(c.lazy().mul(d)).sub(e).eval();
+    }
+
+    @Benchmark
+    public Matrix<Double> lazyInto() {
+        a.lazy().mul(b).add(c.lazy().mul(d)).sub(e).into(result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] scalarLoop() {
+        double[] a = arrays[0], b = arrays[1], c = arrays[2], d = arrays[3], e = arrays[4];
+        for (int i = 0; i < resultArray.length; i++) {
+            resultArray[i] = a[i] * b[i] + c[i] * d[i] - e[i];
+        }
+        return resultArray;
+    }
+}
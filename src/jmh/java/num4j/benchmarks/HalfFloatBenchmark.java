@@ -0,0 +1,69 @@
+package num4j.benchmarks;
+
+import num4j.api.Matrix;
+import num4j.impl.FloatMatrix;
+import num4j.impl.HalfFloatMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations on 16 bit float matrices, which compute in floats, compared to the same operations on float matrices.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class HalfFloatBenchmark {
+
+    @Param({"FLOAT32", "FLOAT16", "BFLOAT16"})
+    private String format;
+
+    @Param({"512"})
+    private int size;
+
+    private Matrix<Float> a;
+    private Matrix<Float> b;
+
+    @Setup
+    public void setup() {
+        FloatMatrix floats = FloatMatrix.zeros(size, size);
+        for (int i = 0; i < floats.size(); i++) {
+            floats.setFloat(i, (float) Math.sin(i));
+        }
+        if (format.equals("FLOAT32")) {
+            a = floats;
+        } else {
+            a = HalfFloatMatrix.copyOf(HalfFloatMatrix.Format.valueOf(format), floats);
+        }
+        b = a.copy();
+    }
+
+    @Benchmark
+    public Float sum() {
+        return a.sum();
+    }
+
+    @Benchmark
+    public Matrix<Float> add() {
+        b.add(a);
+        return b;
+    }
+
+    @Benchmark
+    public Matrix<Float> mmul() {
+        return a.mmul(a, 1);
+    }
+}
@@ -0,0 +1,119 @@
+package num4j.benchmarks;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import num4j.api.Matrix;
+import num4j.impl.DoubleMatrix;
+import num4j.impl.IntegerMatrix;
+import num4j.impl.MemoryMappedIntegerMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing matrices and reading memory mapped matrices.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class IoBenchmark {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Param({"1048576"})
+    private int size;
+
+    private Matrix<Integer> intMatrix;
+    private Matrix<Double> doubleMatrix;
+    private ByteArrayOutputStream out;
+
+    private Path file;
+    private MemoryMappedIntegerMatrix mapped;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        intMatrix = IntegerMatrix.ones(size);
+        doubleMatrix = DoubleMatrix.ones(size);
+        out = new ByteArrayOutputStream(size * Double.BYTES + 64);
+
+        file = Files.createTempFile("num4j", ".matrix");
+        try (OutputStream fileOut = Files.newOutputStream(file)) {
+            intMatrix.write(fileOut);
+        }
+        mapped = MemoryMappedIntegerMatrix.from(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        mapped.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int writeInt() throws IOException {
+        out.reset();
+        intMatrix.write(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int writeDouble() throws IOException {
+        out.reset();
+        doubleMatrix.write(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int mapInt() throws IOException {
+        try (MemoryMappedIntegerMatrix matrix = MemoryMappedIntegerMatrix.from(file)) {
+            return matrix.size();
+        }
+    }
+
+    @Benchmark
+    public int readMappedInt() {
+        return sum(mapped);
+    }
+
+    @Benchmark
+    public int readInMemoryInt() {
+        return sum(intMatrix);
+    }
+
+    @Benchmark
+    public Matrix<Integer> copyMappedInt() {
+        return mapped.copy();
+    }
+
+    private static int sum(Matrix<Integer> matrix) {
+        int upperBound = matrix.size();
+        IntVector sum = IntVector.zero(SPECIES);
+        for (int offset = 0; offset < upperBound; offset += SPECIES.length()) {
+            VectorMask<Integer> mask = SPECIES.indexInRange(offset, upperBound);
+            sum = sum.add(matrix.toVec(offset * Integer.BYTES, mask).reinterpretAsInts());
+        }
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+}
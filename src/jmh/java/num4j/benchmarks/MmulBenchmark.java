@@ -0,0 +1,168 @@
+package num4j.benchmarks;
+
+import num4j.api.Matrix;
+import num4j.impl.DoubleMatrix;
+import num4j.impl.FloatMatrix;
+import num4j.impl.IntegerMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matrix multiplication of different shapes, compared to a plain triple loop over primitive arrays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class MmulBenchmark {
+
+    /**
+     * square: two 2D square matrices, tallSkinny: many rows times a small square matrix,
+     * batched: 3D matrices with the same batch size, broadcast: 4D matrices broadcasting their batch dimensions.
+     */
+    @Param({"square256", "square1024", "tallSkinny", "batched", "broadcast"})
+    private String shape;
+
+    private int[] aDimensions;
+    private int[] bDimensions;
+
+    private Matrix<Integer> intA;
+    private Matrix<Integer> intB;
+    private Matrix<Double> doubleA;
+    private Matrix<Double> doubleB;
+    private Matrix<Float> floatA;
+    private Matrix<Float> floatB;
+
+    private double[] doubleArrayA;
+    private double[] doubleArrayB;
+
+    @Setup
+    public void setup() {
+        switch (shape) {
+            case "square256" -> {
+                aDimensions = new int[] {256, 256};
+                bDimensions = new int[] {256, 256};
+            }
+            case "square1024" -> {
+                aDimensions = new int[] {1024, 1024};
+                bDimensions = new int[] {1024, 1024};
+            }
+            case "tallSkinny" -> {
+                aDimensions = new int[] {65536, 64};
+                bDimensions = new int[] {64, 64};
+            }
+            case "batched" -> {
+                aDimensions = new int[] {32, 128, 128};
+                bDimensions = new int[] {32, 128, 128};
+            }
+            case "broadcast" -> {
+                aDimensions = new int[] {8, 1, 64, 64};
+                bDimensions = new int[] {1, 8, 64, 64};
+            }
+            default -> throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+
+        intA = IntegerMatrix.ones(aDimensions);
+        intB = IntegerMatrix.ones(bDimensions);
+        doubleA = DoubleMatrix.ones(aDimensions);
+        doubleB = DoubleMatrix.ones(bDimensions);
+        floatA = FloatMatrix.ones(aDimensions);
+        floatB = FloatMatrix.ones(bDimensions);
+
+        doubleArrayA = new double[intA.size()];
+        doubleArrayB = new double[intB.size()];
+        Arrays.fill(doubleArrayA, 1.0);
+        Arrays.fill(doubleArrayB, 1.0);
+    }
+
+    @Benchmark
+    public Matrix<Integer> mmulInt() {
+        return intA.mmul(intB);
+    }
+
+    @Benchmark
+    public Matrix<Double> mmulDouble() {
+        return doubleA.mmul(doubleB);
+    }
+
+    @Benchmark
+    public Matrix<Float> mmulFloat() {
+        return floatA.mmul(floatB);
+    }
+
+    @Benchmark
+    public Matrix<Integer> mmulIntSingleThreaded() {
+        return intA.mmul(intB, 1);
+    }
+
+    @Benchmark
+    public Matrix<Double> mmulDoubleSingleThreaded() {
+        return doubleA.mmul(doubleB, 1);
+    }
+
+    @Benchmark
+    public Matrix<Float> mmulFloatSingleThreaded() {
+        return floatA.mmul(floatB, 1);
+    }
+
+    @Benchmark
+    public double[] mmulDoubleScalarLoop() {
+        int nDim = aDimensions.length;
+        int m = aDimensions[nDim - 2];
+        int n = aDimensions[nDim - 1];
+        int p = bDimensions[nDim - 1];
+
+        int[] batchDimensions = new int[nDim - 2];
+        for (int i = 0; i < nDim - 2; i++) {
+            batchDimensions[i] = Math.max(aDimensions[i], bDimensions[i]);
+        }
+        int batches = Arrays.stream(batchDimensions).reduce(1, (x, y) -> x * y);
+        double[] c = new double[batches * m * p];
+
+        for (int batch = 0; batch < batches; batch++) {
+            int aOffset = batchOffset(batch, batchDimensions, aDimensions) * m * n;
+            int bOffset = batchOffset(batch, batchDimensions, bDimensions) * n * p;
+            int cOffset = batch * m * p;
+            for (int i = 0; i < m; i++) {
+                for (int k = 0; k < n; k++) {
+                    double a = doubleArrayA[aOffset + i * n + k];
+                    for (int j = 0; j < p; j++) {
+                        c[cOffset + i * p + j] += a * doubleArrayB[bOffset + k * p + j];
+                    }
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * @return index of the 2D matrix of an operand with {@code dimensions}, which is used for the {@code batch}-th result
+     */
+    private static int batchOffset(int batch, int[] batchDimensions, int[] dimensions) {
+        int offset = 0;
+        int stride = 1;
+        for (int i = batchDimensions.length - 1; i >= 0; i--) {
+            int coordinate = batch % batchDimensions[i];
+            batch /= batchDimensions[i];
+            if (dimensions[i] != 1) {
+                offset += coordinate * stride;
+            }
+            stride *= dimensions[i];
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,64 @@
+package num4j.benchmarks;
+
+import num4j.impl.FloatMatrix;
+import num4j.impl.QuantizedMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Products of int8 quantized matrices, compared to the products of the float matrices they were quantized from.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class QuantizedMmulBenchmark {
+
+    @Param({"256", "1024"})
+    private int size;
+
+    private FloatMatrix a;
+    private FloatMatrix b;
+    private QuantizedMatrix quantizedA;
+    private QuantizedMatrix quantizedB;
+
+    @Setup
+    public void setup() {
+        a = FloatMatrix.zeros(size, size);
+        b = FloatMatrix.zeros(size, size);
+        for (int i = 0; i < a.size(); i++) {
+            a.setFloat(i, (float) Math.sin(i));
+            b.setFloat(i, (float) Math.cos(i));
+        }
+        quantizedA = QuantizedMatrix.quantize(a);
+        quantizedB = QuantizedMatrix.quantizeRows(b);
+    }
+
+    @Benchmark
+    public FloatMatrix mmulFloat() {
+        return (FloatMatrix) a.mmul(b, 1);
+    }
+
+    @Benchmark
+    public FloatMatrix mmulQuantized() {
+        return quantizedA.mmulTransposed(quantizedB, 1);
+    }
+
+    @Benchmark
+    public QuantizedMatrix quantize() {
+        return QuantizedMatrix.quantizeRows(b);
+    }
+}
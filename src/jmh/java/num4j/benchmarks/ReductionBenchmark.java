@@ -0,0 +1,89 @@
+package num4j.benchmarks;
+
+import num4j.api.Matrix;
+import num4j.impl.DoubleMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reducing all elements of a matrix, or those along one of its axes, compared to a plain loop over a primitive array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class ReductionBenchmark {
+
+    @Param({"1024", "4194304"})
+    private int size;
+
+    private Matrix<Double> matrix;
+    // the same elements in rows of 64 columns
+    private Matrix<Double> rows;
+    private double[] array;
+
+    @Setup
+    public void setup() {
+        DoubleMatrix m = DoubleMatrix.zeros(size);
+        array = new double[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = Math.sin(i);
+            m.setDouble(i, array[i]);
+        }
+        matrix = m;
+        rows = m.copy();
+        rows.reshape(size / 64, 64);
+    }
+
+    @Benchmark
+    public double sum() {
+        return matrix.sum();
+    }
+
+    @Benchmark
+    public double max() {
+        return matrix.max();
+    }
+
+    @Benchmark
+    public long argmax() {
+        return matrix.argmax();
+    }
+
+    @Benchmark
+    public double norm2() {
+        return matrix.norm2();
+    }
+
+    @Benchmark
+    public Matrix<Double> columnSums() {
+        return rows.sum(0);
+    }
+
+    @Benchmark
+    public Matrix<Double> rowSums() {
+        return rows.sum(1);
+    }
+
+    @Benchmark
+    public double scalarSum() {
+        double sum = 0;
+        for (double value : array) {
+            sum += value;
+        }
+        return sum;
+    }
+}
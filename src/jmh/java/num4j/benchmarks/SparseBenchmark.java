@@ -0,0 +1,62 @@
+package num4j.benchmarks;
+
+import num4j.impl.FloatMatrix;
+import num4j.impl.SparseMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Products of a {@code size x size} sparse matrix with 0.1% non-zero elements and a dense vector or matrix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class SparseBenchmark {
+
+    @Param({"CSR", "CSC"})
+    private SparseMatrix.Format format;
+
+    @Param({"20000"})
+    private int size;
+
+    private SparseMatrix sparse;
+    private FloatMatrix vector;
+    private FloatMatrix matrix;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        SparseMatrix.CooBuilder builder = SparseMatrix.builder(size, size);
+        for (long k = 0; k < (long) size * size / 1000; k++) {
+            builder.add(random.nextInt(size), random.nextInt(size), random.nextFloat());
+        }
+        sparse = builder.build(format);
+        vector = FloatMatrix.ones(size);
+        matrix = FloatMatrix.ones(size, 64);
+    }
+
+    @Benchmark
+    public FloatMatrix spmv() {
+        return sparse.mmul(vector, 1);
+    }
+
+    @Benchmark
+    public FloatMatrix spmm() {
+        return sparse.mmul(matrix, 1);
+    }
+}
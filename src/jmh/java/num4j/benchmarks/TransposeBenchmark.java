@@ -0,0 +1,102 @@
+package num4j.benchmarks;
+
+import num4j.api.Matrix;
+import num4j.impl.DoubleMatrix;
+import num4j.impl.IntegerMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transposing matrices and materializing the transposed views, compared to a plain 2D transpose
+ * over primitive arrays and a plain copy of the matrix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class TransposeBenchmark {
+
+    /**
+     * swap2D: 2D matrix with swapped dimensions, rotate3D/swapInner3D: 3D matrix with dimensions (2, 0, 1)/(0, 2, 1).
+     */
+    @Param({"swap2D", "rotate3D", "swapInner3D"})
+    private String permutation;
+
+    private int[] swap;
+
+    private Matrix<Integer> intMatrix;
+    private Matrix<Double> doubleMatrix;
+    private double[] doubleArray;
+    private int rows;
+    private int columns;
+
+    @Setup
+    public void setup() {
+        int[] dimensions;
+        switch (permutation) {
+            case "swap2D" -> {
+                dimensions = new int[] {2048, 2048};
+                swap = new int[] {1, 0};
+            }
+            case "rotate3D" -> {
+                dimensions = new int[] {64, 256, 256};
+                swap = new int[] {2, 0, 1};
+            }
+            case "swapInner3D" -> {
+                dimensions = new int[] {64, 256, 256};
+                swap = new int[] {0, 2, 1};
+            }
+            default -> throw new IllegalArgumentException("Unknown permutation " + permutation);
+        }
+        intMatrix = IntegerMatrix.ones(dimensions);
+        doubleMatrix = DoubleMatrix.ones(dimensions);
+
+        columns = dimensions[dimensions.length - 1];
+        rows = doubleMatrix.size() / columns;
+        doubleArray = new double[doubleMatrix.size()];
+    }
+
+    @Benchmark
+    public Matrix<Double> transposeView() {
+        return doubleMatrix.transpose(swap);
+    }
+
+    @Benchmark
+    public Matrix<Integer> transposeAndCopyInt() {
+        return intMatrix.transpose(swap).copy();
+    }
+
+    @Benchmark
+    public Matrix<Double> transposeAndCopyDouble() {
+        return doubleMatrix.transpose(swap).copy();
+    }
+
+    @Benchmark
+    public Matrix<Double> copyDouble() {
+        return doubleMatrix.copy();
+    }
+
+    @Benchmark
+    public double[] transposeDoubleScalarLoop() {
+        double[] transposed = new double[doubleArray.length];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                transposed[j * rows + i] = doubleArray[i * columns + j];
+            }
+        }
+        return transposed;
+    }
+}
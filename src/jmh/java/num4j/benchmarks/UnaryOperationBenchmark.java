@@ -0,0 +1,83 @@
+package num4j.benchmarks;
+
+import num4j.impl.DoubleMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applying math functions to every element of a matrix, compared to a plain loop over primitive arrays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class UnaryOperationBenchmark {
+
+    @Param({"1024", "4194304"})
+    private int size;
+
+    private DoubleMatrix matrix;
+    private DoubleMatrix result;
+
+    private double[] array;
+    private double[] resultArray;
+
+    @Setup
+    public void setup() {
+        matrix = DoubleMatrix.zeros(size);
+        result = DoubleMatrix.zeros(size);
+        array = new double[size];
+        resultArray = new double[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = Math.sin(i);
+            matrix.setDouble(i, array[i]);
+        }
+    }
+
+    @Benchmark
+    public DoubleMatrix exp() {
+        matrix.exp(result);
+        return result;
+    }
+
+    @Benchmark
+    public DoubleMatrix tanh() {
+        matrix.tanh(result);
+        return result;
+    }
+
+    @Benchmark
+    public DoubleMatrix sigmoid() {
+        matrix.sigmoid(result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] scalarExp() {
+        for (int i = 0; i < array.length; i++) {
+            resultArray[i] = Math.exp(array[i]);
+        }
+        return resultArray;
+    }
+
+    @Benchmark
+    public double[] scalarTanh() {
+        for (int i = 0; i < array.length; i++) {
+            resultArray[i] = Math.tanh(array[i]);
+        }
+        return resultArray;
+    }
+}
@@ -0,0 +1,78 @@
+package num4j.api;
+
+/**
+ * An elementwise combination of matrices, which is evaluated lazily. The operations only record what has to be
+ * computed, {@link #eval()} and {@link #into(Matrix)} compute all of them in a single pass over the elements,
+ * without creating any intermediate matrices.
+ * <pre>{@code
+ * Matrix<Double> result = a.lazy().mul(b).add(c.lazy().mul(d)).sub(e).eval();
+ * }</pre>
+ */
+public interface Expression<T extends Number> {
+
+    /**
+     * @return an expression adding {@code other} elementwise to {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    Expression<T> add(Matrix<T> other);
+
+    /**
+     * @return an expression adding {@code other} elementwise to {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    Expression<T> add(Expression<T> other);
+
+    /**
+     * @return an expression subtracting {@code other} elementwise from {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    Expression<T> sub(Matrix<T> other);
+
+    /**
+     * @return an expression subtracting {@code other} elementwise from {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    Expression<T> sub(Expression<T> other);
+
+    /**
+     * @return an expression multiplying {@code this} elementwise by {@code other}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    Expression<T> mul(Matrix<T> other);
+
+    /**
+     * @return an expression multiplying {@code this} elementwise by {@code other}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    Expression<T> mul(Expression<T> other);
+
+    /**
+     * @return an expression dividing {@code this} elementwise by {@code other}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    Expression<T> div(Matrix<T> other);
+
+    /**
+     * @return an expression dividing {@code this} elementwise by {@code other}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    Expression<T> div(Expression<T> other);
+
+    /**
+     * @return the dimensions of the result
+     */
+    int[] dimensions();
+
+    /**
+     * Evaluates the expression.
+     * @return a new matrix containing the result
+     */
+    Matrix<T> eval();
+
+    /**
+     * Evaluates the expression and stores the result in {@code destination}, which may be one of the operands.
+     * @param destination matrix, whose elements are replaced by the result
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    void into(Matrix<T> destination);
+}
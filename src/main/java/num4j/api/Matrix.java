@@ -6,26 +6,35 @@ import jdk.incubator.vector.VectorMask;
 import java.io.IOException;
 import java.io.OutputStream;
 
+/**
+ * A matrix with an arbitrary number of dimensions.
+ * <p>
+ * Elementwise operations broadcast their operand like NumPy: aligned at the last dimension, each dimension of
+ * {@code other} has to be either equal to the one of {@code this} or 1, and missing leading dimensions count as 1.
+ * The elements of {@code other} are repeated along these dimensions, without copying them.
+ * For example, a row vector with dimensions {@code [n]} or {@code [1, n]} can be added to every row
+ * of an {@code m x n} matrix, a column vector {@code [m, 1]} to every column, and a matrix {@code [1]} to every element.
+ */
 public interface Matrix<T extends Number> {
 
     /**
      * Adds the {@code other} {@link Matrix} to {@code this} elementwise and inplace.
      * @param other to be added
-     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions of the matrices do not match
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code other} cannot be broadcast to the dimensions of {@code this}
      */
     void add(Matrix<T> other);
 
     /**
      * Subtracts the {@code other} {@link Matrix} to {@code this} elementwise and inplace.
      * @param other to be subtracted
-     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions of the matrices do not match
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code other} cannot be broadcast to the dimensions of {@code this}
      */
     void sub(Matrix<T> other);
 
     /**
      * Multiplies the {@code other} {@link Matrix} to {@code this} elementwise and inplace.
      * @param other to be multiplied by
-     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions of the matrices do not match
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code other} cannot be broadcast to the dimensions of {@code this}
      */
     void mul(Matrix<T> other);
 
@@ -37,20 +46,300 @@ public interface Matrix<T extends Number> {
      */
     Matrix<T> mmul(Matrix<T> other);
 
+    /**
+     * Matrix Multiplication of the {@code other} {@link Matrix} and {@code this},
+     * using at most {@code parallelism} threads of the common {@link java.util.concurrent.ForkJoinPool}.
+     * @param other second part of Matrix Multiplication
+     * @param parallelism maximum number of threads working on the multiplication
+     * @throws IllegalArgumentException if the dimensions are smaller than 2 or {@code parallelism} is not positive
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions of the matrices are not compatible for matrix multiplication
+     */
+    Matrix<T> mmul(Matrix<T> other, int parallelism);
+
+    /**
+     * Multiplies {@code this} and {@code other} and stores the product in {@code destination}, without allocating any matrices
+     * if {@code destination} is contiguous.
+     * @param destination matrix with the dimensions of the product, which must not share elements with the operands
+     * @throws IllegalArgumentException if the dimensions are smaller than 2 or {@code destination} overlaps an operand
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the matrices cannot be multiplied,
+     * or {@code destination} does not have the dimensions of the product
+     */
+    void mmul(Matrix<T> other, Matrix<T> destination);
+
     /**
      * Divides the {@code other} {@link Matrix} to {@code this} elementwise and inplace.
      * @param other to be divided by
-     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions of the matrices do not match
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code other} cannot be broadcast to the dimensions of {@code this}
      */
     void div(Matrix<T> other);
 
+    /**
+     * Adds {@code other} to {@code this} elementwise and stores the result in {@code destination}, leaving {@code this} unchanged.
+     * @param destination matrix with the dimensions of {@code this}, which may be {@code this} or {@code other},
+     * but must not share any other elements with them
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code other} cannot be broadcast to the dimensions
+     * of {@code this}, or {@code destination} does not have them
+     * @throws IllegalArgumentException if {@code destination} overlaps an operand at other positions
+     */
+    void add(Matrix<T> other, Matrix<T> destination);
+
+    /**
+     * Subtracts {@code other} from {@code this} elementwise and stores the result in {@code destination}, leaving {@code this} unchanged.
+     * @param destination matrix with the dimensions of {@code this}, which may be {@code this} or {@code other},
+     * but must not share any other elements with them
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code other} cannot be broadcast to the dimensions
+     * of {@code this}, or {@code destination} does not have them
+     * @throws IllegalArgumentException if {@code destination} overlaps an operand at other positions
+     */
+    void sub(Matrix<T> other, Matrix<T> destination);
+
+    /**
+     * Multiplies {@code this} by {@code other} elementwise and stores the result in {@code destination}, leaving {@code this} unchanged.
+     * @param destination matrix with the dimensions of {@code this}, which may be {@code this} or {@code other},
+     * but must not share any other elements with them
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code other} cannot be broadcast to the dimensions
+     * of {@code this}, or {@code destination} does not have them
+     * @throws IllegalArgumentException if {@code destination} overlaps an operand at other positions
+     */
+    void mul(Matrix<T> other, Matrix<T> destination);
+
+    /**
+     * Divides {@code this} by {@code other} elementwise and stores the result in {@code destination}, leaving {@code this} unchanged.
+     * @param destination matrix with the dimensions of {@code this}, which may be {@code this} or {@code other},
+     * but must not share any other elements with them
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code other} cannot be broadcast to the dimensions
+     * of {@code this}, or {@code destination} does not have them
+     * @throws IllegalArgumentException if {@code destination} overlaps an operand at other positions
+     */
+    void div(Matrix<T> other, Matrix<T> destination);
+
+    /**
+     * Adds {@code value} to every element of {@code this} inplace.
+     */
+    void addScalar(T value);
+
+    /**
+     * Subtracts {@code value} from every element of {@code this} inplace.
+     */
+    void subScalar(T value);
+
+    /**
+     * Multiplies every element of {@code this} by {@code value} inplace.
+     */
+    void mulScalar(T value);
+
+    /**
+     * Divides every element of {@code this} by {@code value} inplace.
+     */
+    void divScalar(T value);
+
+    /**
+     * Replaces every element of {@code this} by the smaller of it and {@code value} inplace.
+     */
+    void minScalar(T value);
+
+    /**
+     * Replaces every element of {@code this} by the larger of it and {@code value} inplace.
+     */
+    void maxScalar(T value);
+
+    /**
+     * Limits every element of {@code this} to the range from {@code min} to {@code max} inplace.
+     * @throws IllegalArgumentException if {@code min} is larger than {@code max}
+     */
+    void clamp(T min, T max);
+
+    /**
+     * Replaces every element of {@code this} by its absolute value inplace.
+     */
+    void abs();
+
+    /**
+     * Multiplies {@code this} by {@code b} and adds {@code c}, elementwise and inplace: {@code this = this * b + c}.
+     * Operands with the same dimensions as {@code this} are combined in a single pass,
+     * floating point elements being rounded only once.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code b} or {@code c} cannot be broadcast to the dimensions of {@code this}
+     */
+    void fma(Matrix<T> b, Matrix<T> c);
+
+    /**
+     * Adds {@code x} multiplied by {@code alpha} to {@code this}, elementwise and inplace: {@code this = alpha * x + this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code x} cannot be broadcast to the dimensions of {@code this}
+     */
+    void axpy(T alpha, Matrix<T> x);
+
+    /**
+     * @return the sum of all elements, {@code 0} for an empty matrix
+     */
+    T sum();
+
+    /**
+     * @return the product of all elements, {@code 1} for an empty matrix
+     */
+    T prod();
+
+    /**
+     * @return the smallest element
+     * @throws IllegalStateException if the matrix is empty
+     */
+    T min();
+
+    /**
+     * @return the largest element
+     * @throws IllegalStateException if the matrix is empty
+     */
+    T max();
+
+    /**
+     * @return the arithmetic mean of all elements
+     */
+    double mean();
+
+    /**
+     * @return the euclidean norm of all elements, i.e. the square root of the sum of their squares
+     */
+    double norm2();
+
+    /**
+     * @return the index (in row major order) of the first occurrence of the smallest element, or of the first NaN
+     * @throws IllegalStateException if the matrix is empty
+     */
+    long argmin();
+
+    /**
+     * @return the index (in row major order) of the first occurrence of the largest element, or of the first NaN
+     * @throws IllegalStateException if the matrix is empty
+     */
+    long argmax();
+
+    /**
+     * Sums the elements along {@code axis}.
+     * @return a new matrix without {@code axis}, or with dimensions {@code [1]} if {@code this} is one dimensional
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     */
+    Matrix<T> sum(int axis);
+
+    /**
+     * Sums the elements along {@code axis}.
+     * @param keepDimension whether {@code axis} is kept with size 1, so that the result can be broadcast to {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     */
+    Matrix<T> sum(int axis, boolean keepDimension);
+
+    /**
+     * Multiplies the elements along {@code axis}.
+     * @return a new matrix without {@code axis}, or with dimensions {@code [1]} if {@code this} is one dimensional
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     */
+    Matrix<T> prod(int axis);
+
+    /**
+     * Multiplies the elements along {@code axis}.
+     * @param keepDimension whether {@code axis} is kept with size 1, so that the result can be broadcast to {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     */
+    Matrix<T> prod(int axis, boolean keepDimension);
+
+    /**
+     * Gets the smallest elements along {@code axis}.
+     * @return a new matrix without {@code axis}, or with dimensions {@code [1]} if {@code this} is one dimensional
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     * @throws IllegalStateException if {@code axis} is empty
+     */
+    Matrix<T> min(int axis);
+
+    /**
+     * Gets the smallest elements along {@code axis}.
+     * @param keepDimension whether {@code axis} is kept with size 1, so that the result can be broadcast to {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     * @throws IllegalStateException if {@code axis} is empty
+     */
+    Matrix<T> min(int axis, boolean keepDimension);
+
+    /**
+     * Gets the largest elements along {@code axis}.
+     * @return a new matrix without {@code axis}, or with dimensions {@code [1]} if {@code this} is one dimensional
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     * @throws IllegalStateException if {@code axis} is empty
+     */
+    Matrix<T> max(int axis);
+
+    /**
+     * Gets the largest elements along {@code axis}.
+     * @param keepDimension whether {@code axis} is kept with size 1, so that the result can be broadcast to {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     * @throws IllegalStateException if {@code axis} is empty
+     */
+    Matrix<T> max(int axis, boolean keepDimension);
+
+    /**
+     * Averages the elements along {@code axis}, the means of integral matrices being rounded towards zero.
+     * @return a new matrix without {@code axis}, or with dimensions {@code [1]} if {@code this} is one dimensional
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     */
+    Matrix<T> mean(int axis);
+
+    /**
+     * Averages the elements along {@code axis}, the means of integral matrices being rounded towards zero.
+     * @param keepDimension whether {@code axis} is kept with size 1, so that the result can be broadcast to {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     */
+    Matrix<T> mean(int axis, boolean keepDimension);
+
+    /**
+     * @return a lazy {@link Expression} of {@code this}, which combines several elementwise operations
+     * into a single pass over the elements
+     */
+    Expression<T> lazy();
+
     /**
      * Transposes {@code this} by swapping dimensions via the permutation given in {@code swap}
      * @param swap dimension permutation
-     * @return new transposed matrix
+     * @return transposed matrix, which may share its elements with {@code this}
      */
     Matrix<T> transpose(int ... swap);
 
+    /**
+     * Copies the elements of {@code this}, transposed by the permutation given in {@code swap}, into {@code destination}.
+     * @param destination matrix with the transposed dimensions, which must not share elements with {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code destination} does not have the transposed dimensions
+     * @throws IllegalArgumentException if {@code destination} overlaps {@code this}
+     */
+    void transpose(Matrix<T> destination, int ... swap);
+
+    /**
+     * Selects every {@code step}-th element along {@code axis}, from {@code start} (inclusive) to {@code end} (exclusive).
+     * @return sliced matrix with the same number of dimensions, which shares its elements with {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     * @throws IndexOutOfBoundsException if the range is outside of the axis
+     * @throws IllegalArgumentException if {@code step} is not positive
+     */
+    Matrix<T> slice(int axis, int start, int end, int step);
+
+    /**
+     * Selects the elements along {@code axis} from {@code start} (inclusive) to {@code end} (exclusive).
+     * @return sliced matrix with the same number of dimensions, which shares its elements with {@code this}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if {@code this} has no such axis
+     * @throws IndexOutOfBoundsException if the range is outside of the axis
+     */
+    Matrix<T> slice(int axis, int start, int end);
+
+    /**
+     * @param index position along the first dimension
+     * @return the row at {@code index} without the first dimension, or with dimensions {@code [1]} if {@code this}
+     * is one dimensional, which shares its elements with {@code this}
+     * @throws IndexOutOfBoundsException if the index is outside of the first dimension
+     */
+    Matrix<T> row(int index);
+
+    /**
+     * @param index position along the last dimension
+     * @return the column at {@code index} without the last dimension, or with dimensions {@code [1]} if {@code this}
+     * is one dimensional, which shares its elements with {@code this}
+     * @throws IndexOutOfBoundsException if the index is outside of the last dimension
+     */
+    Matrix<T> col(int index);
+
     /**
      * Sets the addressed {@code position} to the given {@code value}.
      * @param value new value
@@ -59,6 +348,13 @@ public interface Matrix<T extends Number> {
      */
     void set(T value, int ... position);
 
+    /**
+     * @param position position of the element
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    T get(int ... position);
+
     /**
      * @return the dimensions of the current {@link Matrix}
      */
@@ -87,9 +383,17 @@ public interface Matrix<T extends Number> {
     Matrix<T> copy();
 
     /**
+     * Copies the elements of {@code this} into {@code destination}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     * @throws IllegalArgumentException if {@code destination} overlaps {@code this} at other positions
+     */
+    void copyInto(Matrix<T> destination);
+
+    /**
+     * @param offset position (in bytes) of the first element of the vector, in row major order
      * @return vectorized representation of {@link #data()}
      */
-    Vector<T> toVec(int offset, VectorMask<T> mask);
+    Vector<T> toVec(long offset, VectorMask<T> mask);
 
     /**
      * Writes the matrix to the specified {@link OutputStream}.
@@ -2,11 +2,12 @@ package num4j.impl;
 
 import jdk.incubator.vector.*;
 import num4j.api.Matrix;
+import num4j.exceptions.IncompatibleDimensionsException;
 import num4j.unsafe.TheUnsafe;
 
-import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Objects;
 
 public class DoubleMatrix extends InMemoryMatrix<Double> {
 
@@ -17,10 +18,8 @@ public class DoubleMatrix extends InMemoryMatrix<Double> {
      * @return the newly created matrix
      */
     public static DoubleMatrix zeros(int ... dimensions) {
-        // we need to divide by 8, as elementSize() is in bits, not bytes
-        int nrBytes = nrElements(dimensions) * (SPECIES.elementSize() / 8);
-        byte[] data = new byte[nrBytes];
-        return new DoubleMatrix(data, dimensions);
+        Storage storage = Storage.allocate(nrElements(dimensions), Double.BYTES);
+        return new DoubleMatrix(storage, dimensions);
     }
 
     /**
@@ -29,32 +28,477 @@ public class DoubleMatrix extends InMemoryMatrix<Double> {
      * @return the newly created matrix
      */
     public static DoubleMatrix ones(int ... dimensions) {
-        int nrElements = nrElements(dimensions);
-        // we need to divide by 8, as elementSize() is in bits, not bytes
-        int nrBytes = nrElements * (SPECIES.elementSize() / 8);
-        byte[] data = new byte[nrBytes];
-        for (int i = 0; i < nrElements; i++) {
-            TheUnsafe.write(data, i, 1.0);
+        Storage storage = Storage.allocate(nrElements(dimensions), Double.BYTES);
+        for (int i = 0; i < storage.nrChunks(); i++) {
+            byte[] chunk = storage.chunk(i);
+            for (int j = 0; j < chunk.length / Double.BYTES; j++) {
+                TheUnsafe.write(chunk, j, 1.0);
+            }
+        }
+        return new DoubleMatrix(storage, dimensions);
+    }
+
+    /**
+     * Creates a new double matrix with the specified {@code dimensions}, holding a copy of {@code data}
+     * in row major order.
+     * @throws IncompatibleDimensionsException if the length of {@code data} does not fit the dimensions
+     */
+    public static DoubleMatrix of(double[] data, int ... dimensions) {
+        ensureLength(data.length, dimensions);
+        DoubleMatrix matrix = zeros(dimensions);
+        matrix.set(0, data, 0, data.length);
+        return matrix;
+    }
+
+    /**
+     * Creates a new double matrix holding a copy of {@code rows}.
+     * @throws IncompatibleDimensionsException if the rows differ in length
+     * @throws IllegalArgumentException if there are no rows
+     */
+    public static DoubleMatrix fromRows(double[][] rows) {
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Must at least contain 1 row");
         }
+        int columns = rows[0].length;
+        DoubleMatrix matrix = zeros(rows.length, columns);
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != columns) {
+                throw new IncompatibleDimensionsException("All rows must have same columns");
+            }
+            matrix.set((long) i * columns, rows[i], 0, columns);
+        }
+        return matrix;
+    }
+
+    /**
+     * Creates a double matrix using the elements stored little endian in {@code data}, without copying them.
+     * @throws IncompatibleDimensionsException if the length of {@code data} does not fit the dimensions
+     */
+    public static DoubleMatrix wrap(byte[] data, int ... dimensions) {
         return new DoubleMatrix(data, dimensions);
     }
 
+    /**
+     * Creates a double matrix using the elements stored little endian in {@code buffer} from its position
+     * to its limit, without copying them. The matrix can only be modified, if the buffer is writable.
+     * @throws IncompatibleDimensionsException if the remaining bytes do not fit the dimensions
+     */
+    public static DoubleMatrix wrap(ByteBuffer buffer, int ... dimensions) {
+        return new DoubleMatrix(storageOf(buffer, Double.BYTES), dimensions);
+    }
+
     public static DoubleMatrixBuilder builder() {
         return new DoubleMatrixBuilder();
     }
 
+    /**
+     * @return a builder with space reserved for {@code rows} rows of {@code columns} elements, which builds
+     * the matrix without copying the rows once all of them are added
+     */
+    public static DoubleMatrixBuilder builder(int rows, int columns) {
+        return new DoubleMatrixBuilder(rows, columns);
+    }
+
     DoubleMatrix(byte[] data, int... dimensions) {
         super(SPECIES, data, dimensions);
     }
 
+    DoubleMatrix(Storage storage, int... dimensions) {
+        super(SPECIES, storage, dimensions);
+    }
+
+    DoubleMatrix(Storage storage, int offset, int[] strides, int... dimensions) {
+        super(SPECIES, storage, offset, strides, dimensions);
+    }
+
+    @Override
+    public Vector<Double> toVec(long offset, VectorMask<Double> m) {
+        int address = address(offset / Double.BYTES);
+        if (isContiguous() && (storage.remaining(address) >= SPECIES.length() || storage.nrChunks() == 1)) {
+            int index = storage.index(address) * Double.BYTES;
+            return storage.isArray()
+                ? DoubleVector.fromByteArray(SPECIES, storage.array(address), index, BYTE_ORDER, m)
+                : DoubleVector.fromByteBuffer(SPECIES, storage.buffer(address), index, BYTE_ORDER, m);
+        }
+        return DoubleVector.fromByteArray(SPECIES, gather(offset, SPECIES.vectorByteSize()), 0, BYTE_ORDER, m);
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, byte[] b, int bOffset,
+                         byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            DoubleVector vb = DoubleVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteArray(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            DoubleVector vb = DoubleVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteArray(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset,
+                         ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            DoubleVector vb = DoubleVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            DoubleVector vb = DoubleVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            DoubleVector vb = DoubleVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            DoubleVector vb = DoubleVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, Storage b, int bAddress, int length) {
+        DoubleVector vb = DoubleVector.broadcast(SPECIES, b.getDouble(bAddress));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteArray(SPECIES, a, offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteArray(a, offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteArray(SPECIES, a, offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteArray(a, offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, Storage b, int bAddress, int length) {
+        DoubleVector vb = DoubleVector.broadcast(SPECIES, b.getDouble(bAddress));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteBuffer(a, offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteBuffer(a, offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void fma(byte[] a, int aOffset, byte[] b, int bOffset, byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            DoubleVector vb = DoubleVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            DoubleVector vc = DoubleVector.fromByteArray(SPECIES, c, cOffset + offset, BYTE_ORDER);
+            va.fma(vb, vc).intoByteArray(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            DoubleVector vb = DoubleVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            DoubleVector vc = DoubleVector.fromByteArray(SPECIES, c, cOffset + offset, BYTE_ORDER, m);
+            va.fma(vb, vc).intoByteArray(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void fma(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            DoubleVector vb = DoubleVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            DoubleVector vc = DoubleVector.fromByteBuffer(SPECIES, c, cOffset + offset, BYTE_ORDER);
+            va.fma(vb, vc).intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            DoubleVector vb = DoubleVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            DoubleVector vc = DoubleVector.fromByteBuffer(SPECIES, c, cOffset + offset, BYTE_ORDER, m);
+            va.fma(vb, vc).intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Double alpha, byte[] x, int xOffset, byte[] y, int yOffset, int length) {
+        DoubleVector va = DoubleVector.broadcast(SPECIES, (double) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector vx = DoubleVector.fromByteArray(SPECIES, x, xOffset + offset, BYTE_ORDER);
+            DoubleVector vy = DoubleVector.fromByteArray(SPECIES, y, yOffset + offset, BYTE_ORDER);
+            vx.fma(va, vy).intoByteArray(y, yOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector vx = DoubleVector.fromByteArray(SPECIES, x, xOffset + offset, BYTE_ORDER, m);
+            DoubleVector vy = DoubleVector.fromByteArray(SPECIES, y, yOffset + offset, BYTE_ORDER, m);
+            vx.fma(va, vy).intoByteArray(y, yOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Double alpha, ByteBuffer x, int xOffset, ByteBuffer y, int yOffset, int length) {
+        DoubleVector va = DoubleVector.broadcast(SPECIES, (double) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector vx = DoubleVector.fromByteBuffer(SPECIES, x, xOffset + offset, BYTE_ORDER);
+            DoubleVector vy = DoubleVector.fromByteBuffer(SPECIES, y, yOffset + offset, BYTE_ORDER);
+            vx.fma(va, vy).intoByteBuffer(y, yOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector vx = DoubleVector.fromByteBuffer(SPECIES, x, xOffset + offset, BYTE_ORDER, m);
+            DoubleVector vy = DoubleVector.fromByteBuffer(SPECIES, y, yOffset + offset, BYTE_ORDER, m);
+            vx.fma(va, vy).intoByteBuffer(y, yOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected Double reduce(Reduction reduction, ByteBuffer a, int offset, int length) {
+        DoubleVector identity = DoubleVector.broadcast(SPECIES, identity(reduction));
+        DoubleVector acc0 = identity, acc1 = identity, acc2 = identity, acc3 = identity;
+        int step = SPECIES.length();
+        int bytes = SPECIES.vectorByteSize();
+        int i = 0;
+        for (int bound = length - length % (4 * step); i < bound; i += 4 * step) {
+            int o = offset + i * Double.BYTES;
+            acc0 = reduce(reduction, acc0, DoubleVector.fromByteBuffer(SPECIES, a, o, BYTE_ORDER));
+            acc1 = reduce(reduction, acc1, DoubleVector.fromByteBuffer(SPECIES, a, o + bytes, BYTE_ORDER));
+            acc2 = reduce(reduction, acc2, DoubleVector.fromByteBuffer(SPECIES, a, o + 2 * bytes, BYTE_ORDER));
+            acc3 = reduce(reduction, acc3, DoubleVector.fromByteBuffer(SPECIES, a, o + 3 * bytes, BYTE_ORDER));
+        }
+        for (; i < SPECIES.loopBound(length); i += step) {
+            acc0 = reduce(reduction, acc0, DoubleVector.fromByteBuffer(SPECIES, a, offset + i * Double.BYTES, BYTE_ORDER));
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            DoubleVector v = DoubleVector.fromByteBuffer(SPECIES, a, offset + i * Double.BYTES, BYTE_ORDER, m);
+            acc0 = acc0.blend(reduce(reduction, acc0, v), m);
+        }
+        DoubleVector acc = reduce(reduction, reduce(reduction, acc0, acc1), reduce(reduction, acc2, acc3));
+        return switch (reduction) {
+            case SUM -> acc.reduceLanes(VectorOperators.ADD);
+            case PROD -> acc.reduceLanes(VectorOperators.MUL);
+            case MIN -> acc.reduceLanes(VectorOperators.MIN);
+            case MAX -> acc.reduceLanes(VectorOperators.MAX);
+        };
+    }
+
+    @Override
+    protected void accumulate(Reduction reduction, ByteBuffer a, int aOffset,
+                              ByteBuffer b, int bOffset, int bStride, int rows, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, DoubleVector.fromByteBuffer(SPECIES, b, o, BYTE_ORDER));
+            }
+            va.intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, DoubleVector.fromByteBuffer(SPECIES, b, o, BYTE_ORDER, m));
+            }
+            va.intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected Double valueOf(int value) {
+        return (double) value;
+    }
+
+    private static DoubleVector reduce(Reduction reduction, DoubleVector a, DoubleVector b) {
+        return switch (reduction) {
+            case SUM -> a.add(b);
+            case PROD -> a.mul(b);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    private static double identity(Reduction reduction) {
+        return switch (reduction) {
+            case SUM -> 0;
+            case PROD -> 1;
+            case MIN -> Double.POSITIVE_INFINITY;
+            case MAX -> Double.NEGATIVE_INFINITY;
+        };
+    }
+
+    @Override
+    protected Double combine(Reduction reduction, Double a, Double b) {
+        return switch (reduction) {
+            case SUM -> a + b;
+            case PROD -> a * b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+        };
+    }
+
+    @Override
+    protected double sumAsDouble(ByteBuffer a, int offset, int length, boolean squares) {
+        if (!squares) {
+            return reduce(Reduction.SUM, a, offset, length);
+        }
+        DoubleVector acc0 = DoubleVector.zero(SPECIES), acc1 = acc0;
+        int i = 0;
+        for (int bound = length - length % (2 * SPECIES.length()); i < bound; i += 2 * SPECIES.length()) {
+            int o = offset + i * Double.BYTES;
+            DoubleVector v0 = DoubleVector.fromByteBuffer(SPECIES, a, o, BYTE_ORDER);
+            DoubleVector v1 = DoubleVector.fromByteBuffer(SPECIES, a, o + SPECIES.vectorByteSize(), BYTE_ORDER);
+            acc0 = v0.fma(v0, acc0);
+            acc1 = v1.fma(v1, acc1);
+        }
+        for (; i < length; i += SPECIES.length()) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            DoubleVector v = DoubleVector.fromByteBuffer(SPECIES, a, offset + i * Double.BYTES, BYTE_ORDER, m);
+            acc0 = v.fma(v, acc0);
+        }
+        return acc0.add(acc1).reduceLanes(VectorOperators.ADD);
+    }
+
+    @Override
+    protected int arg(VectorOperators.Comparison comparison, ByteBuffer a, int offset, int length) {
+        boolean max = comparison == VectorOperators.GT;
+        DoubleVector best = DoubleVector.broadcast(SPECIES, identity(max ? Reduction.MAX : Reduction.MIN));
+        // indices are kept in double lanes, so that they can be blended with the same masks
+        DoubleVector bestIndex = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        DoubleVector index = DoubleVector.zero(SPECIES).addIndex(1);
+        DoubleVector step = DoubleVector.broadcast(SPECIES, SPECIES.length());
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromByteBuffer(SPECIES, a, offset + i * Double.BYTES, BYTE_ORDER);
+            // NaN is propagated like by max and min, so the first one is returned
+            VectorMask<Double> nan = v.test(VectorOperators.IS_NAN);
+            if (nan.anyTrue()) {
+                return i + nan.firstTrue();
+            }
+            VectorMask<Double> better = max ? best.lt(v) : v.lt(best);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better);
+            index = index.add(step);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            DoubleVector v = DoubleVector.fromByteBuffer(SPECIES, a, offset + i * Double.BYTES, BYTE_ORDER, m);
+            VectorMask<Double> nan = v.test(VectorOperators.IS_NAN).and(m);
+            if (nan.anyTrue()) {
+                return i + nan.firstTrue();
+            }
+            VectorMask<Double> better = (max ? best.lt(v) : v.lt(best)).and(m);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better);
+        }
+        double value = max ? best.reduceLanes(VectorOperators.MAX) : best.reduceLanes(VectorOperators.MIN);
+        double position = bestIndex.reduceLanes(VectorOperators.MIN, best.eq(value));
+        // no element is better than the identity, so the first one is returned
+        return position == Double.POSITIVE_INFINITY ? 0 : (int) position;
+    }
+
+    @Override
+    protected void apply(UnaryOperation operation, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            apply(operation, va).intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector va = DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            apply(operation, va).intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    private static DoubleVector apply(UnaryOperation operation, DoubleVector a) {
+        return switch (operation) {
+            case ABS -> a.abs();
+            case EXP -> a.lanewise(VectorOperators.EXP);
+            case LOG -> a.lanewise(VectorOperators.LOG);
+            case SQRT -> a.sqrt();
+            case TANH -> a.lanewise(VectorOperators.TANH);
+            // 1 / (1 + e^-x)
+            case SIGMOID -> DoubleVector.broadcast(SPECIES, 1.0).div(a.neg().lanewise(VectorOperators.EXP).add(1.0));
+        };
+    }
+
     @Override
-    protected Double getDefaultValue() {
-        return 0.0;
+    protected void clamp(Double min, Double max, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        DoubleVector vMin = DoubleVector.broadcast(SPECIES, (double) min);
+        DoubleVector vMax = DoubleVector.broadcast(SPECIES, (double) max);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Double.BYTES;
+            DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER).max(vMin).min(vMax)
+                .intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Double> m = SPECIES.indexInRange(i, length);
+            int offset = i * Double.BYTES;
+            DoubleVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m).max(vMin).min(vMax)
+                .intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    private static DoubleVector apply(Operation operation, DoubleVector a, DoubleVector b) {
+        return switch (operation) {
+            case ADD -> a.add(b);
+            case SUB -> a.sub(b);
+            case MUL -> a.mul(b);
+            case DIV -> a.div(b);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
     }
 
     @Override
-    public Vector<Double> toVec(int offset, VectorMask<Double> m) {
-        return DoubleVector.fromByteArray(SPECIES, data(), offset, BYTE_ORDER, m);
+    protected void gemm(Storage a, int aOffset, int aRowStride, int aColumnStride,
+                        Storage b, int bOffset, int bRowStride, int bColumnStride,
+                        Storage c, int cOffset, int ldc, int m, int n, int p) {
+        DoubleGemm.gemm(a, aOffset, aRowStride, aColumnStride, b, bOffset, bRowStride, bColumnStride, c, cOffset, ldc, m, n, p);
     }
 
     @Override
@@ -63,34 +507,258 @@ public class DoubleMatrix extends InMemoryMatrix<Double> {
     }
 
     @Override
-    protected Double reduceLanes(Vector<Double> vector, VectorOperators.Associative op) {
-        return vector.reinterpretAsDoubles().reduceLanes(op);
+    protected Matrix<Double> createView(Storage storage, int offset, int[] strides, int[] dimensions) {
+        return new DoubleMatrix(storage, offset, strides, dimensions);
     }
 
     @Override
-    protected Double add(Double t1, Double t2) {
-        return t1 + t2;
+    protected void set(Double value, int address) {
+        writeDouble(address, value);
     }
 
     @Override
-    public void set(Double value, int address) {
-        TheUnsafe.write(data(), address, value);
+    protected byte type() {
+        return MemoryMappedMatrix.DOUBLE_TYPE;
     }
 
     @Override
-    protected void writeType(OutputStream out) throws IOException {
-        out.write(MemoryMappedIntegerMatrix.DOUBLE_TYPE);
+    protected Double read(int address) {
+        return readDouble(address);
+    }
+
+    private double readDouble(int address) {
+        return storage.getDouble(address);
+    }
+
+    private void writeDouble(int address, double value) {
+        storage.putDouble(address, value);
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public double getDouble(int ... position) {
+        return readDouble(address(position));
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public double getDouble(int row, int column) {
+        return readDouble(address(row, column));
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public double getDouble(long index) {
+        return readDouble(address(index));
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setDouble(int[] position, double value) {
+        writeDouble(address(position), value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setDouble(int row, int column, double value) {
+        writeDouble(address(row, column), value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public void setDouble(long index, double value) {
+        writeDouble(address(index), value);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, double[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                dst[offset + i] = readDouble(address(index + i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            if (!storage.isArray()) {
+                storage.buffer(address).asDoubleBuffer().get(storage.index(address), dst, offset + i, run);
+                i += run;
+                continue;
+            }
+            byte[] array = storage.array(address);
+            int from = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                DoubleVector.fromByteArray(SPECIES, array, (from + j) * Double.BYTES, BYTE_ORDER).intoArray(dst, offset + i + j);
+            }
+            for (; j < run; j++) {
+                dst[offset + i + j] = TheUnsafe.readDouble(array, from + j);
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset},
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     */
+    public void set(long index, double[] src, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                writeDouble(address(index + i), src[offset + i]);
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            if (!storage.isArray()) {
+                storage.buffer(address).asDoubleBuffer().put(storage.index(address), src, offset + i, run);
+                i += run;
+                continue;
+            }
+            byte[] array = storage.array(address);
+            int to = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, src, offset + i + j).intoByteArray(array, (to + j) * Double.BYTES, BYTE_ORDER);
+            }
+            for (; j < run; j++) {
+                TheUnsafe.write(array, to + j, src[offset + i + j]);
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Replaces every element of {@code this} by its exponential inplace.
+     */
+    public void exp() {
+        apply(UnaryOperation.EXP, this);
+    }
+
+    /**
+     * Stores the exponential of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void exp(Matrix<Double> destination) {
+        apply(UnaryOperation.EXP, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its natural logarithm inplace.
+     */
+    public void log() {
+        apply(UnaryOperation.LOG, this);
+    }
+
+    /**
+     * Stores the natural logarithm of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void log(Matrix<Double> destination) {
+        apply(UnaryOperation.LOG, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its square root inplace.
+     */
+    public void sqrt() {
+        apply(UnaryOperation.SQRT, this);
+    }
+
+    /**
+     * Stores the square root of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sqrt(Matrix<Double> destination) {
+        apply(UnaryOperation.SQRT, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its hyperbolic tangent inplace.
+     */
+    public void tanh() {
+        apply(UnaryOperation.TANH, this);
+    }
+
+    /**
+     * Stores the hyperbolic tangent of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void tanh(Matrix<Double> destination) {
+        apply(UnaryOperation.TANH, destination);
+    }
+
+    /**
+     * Replaces every element {@code x} of {@code this} by {@code 1 / (1 + e^-x)} inplace.
+     */
+    public void sigmoid() {
+        apply(UnaryOperation.SIGMOID, this);
+    }
+
+    /**
+     * Stores {@code 1 / (1 + e^-x)} of every element {@code x} of {@code this} in {@code destination},
+     * which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sigmoid(Matrix<Double> destination) {
+        apply(UnaryOperation.SIGMOID, destination);
     }
 
     @Override
     public Matrix<Double> copy() {
-        byte[] data = Arrays.copyOf(data(), data().length);
         int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
-        return new DoubleMatrix(data, dimensions);
+        return new DoubleMatrix(contiguousStorage(), dimensions);
     }
 
     public static class DoubleMatrixBuilder extends AbstractBuilder<Double> {
 
+        public DoubleMatrixBuilder() {
+        }
+
+        DoubleMatrixBuilder(int rows, int columns) {
+            super(rows, columns);
+        }
+
+        /**
+         * Adds a copy of {@code row}, without boxing its elements.
+         */
+        public DoubleMatrixBuilder row(double[] row) {
+            int offset = appendRow(row.length);
+            byte[] data = data();
+            int i = 0;
+            for (; i < SPECIES.loopBound(row.length); i += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, row, i).intoByteArray(data, (offset + i) * Double.BYTES, BYTE_ORDER);
+            }
+            for (; i < row.length; i++) {
+                TheUnsafe.write(data, offset + i, row[i]);
+            }
+            return this;
+        }
+
         @Override
         protected void fill(int offset, byte[] data, Double... row) {
             for (int i = 0; i < row.length; i++) {
@@ -0,0 +1,782 @@
+package num4j.impl;
+
+import jdk.incubator.vector.*;
+import num4j.api.Matrix;
+import num4j.exceptions.IncompatibleDimensionsException;
+import num4j.unsafe.TheUnsafe;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+public class FloatMatrix extends InMemoryMatrix<Float> {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INDICES = SPECIES.withLanes(int.class);
+    // floats converted to doubles lane by lane
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> HALF = VectorSpecies.of(float.class,
+        VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    /**
+     * Creates a new float matrix with the specified {@code dimensions}, filled with {@code 0}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static FloatMatrix zeros(int ... dimensions) {
+        Storage storage = Storage.allocate(nrElements(dimensions), Float.BYTES);
+        return new FloatMatrix(storage, dimensions);
+    }
+
+    /**
+     * Creates a new float matrix with the specified {@code dimensions}, filled with {@code 1}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static FloatMatrix ones(int ... dimensions) {
+        Storage storage = Storage.allocate(nrElements(dimensions), Float.BYTES);
+        for (int i = 0; i < storage.nrChunks(); i++) {
+            byte[] chunk = storage.chunk(i);
+            for (int j = 0; j < chunk.length / Float.BYTES; j++) {
+                TheUnsafe.write(chunk, j, 1.0f);
+            }
+        }
+        return new FloatMatrix(storage, dimensions);
+    }
+
+    /**
+     * Creates a new float matrix with the specified {@code dimensions}, holding a copy of {@code data}
+     * in row major order.
+     * @throws IncompatibleDimensionsException if the length of {@code data} does not fit the dimensions
+     */
+    public static FloatMatrix of(float[] data, int ... dimensions) {
+        ensureLength(data.length, dimensions);
+        FloatMatrix matrix = zeros(dimensions);
+        matrix.set(0, data, 0, data.length);
+        return matrix;
+    }
+
+    /**
+     * Creates a new float matrix holding a copy of {@code rows}.
+     * @throws IncompatibleDimensionsException if the rows differ in length
+     * @throws IllegalArgumentException if there are no rows
+     */
+    public static FloatMatrix fromRows(float[][] rows) {
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Must at least contain 1 row");
+        }
+        int columns = rows[0].length;
+        FloatMatrix matrix = zeros(rows.length, columns);
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != columns) {
+                throw new IncompatibleDimensionsException("All rows must have same columns");
+            }
+            matrix.set((long) i * columns, rows[i], 0, columns);
+        }
+        return matrix;
+    }
+
+    /**
+     * Creates a float matrix using the elements stored little endian in {@code data}, without copying them.
+     * @throws IncompatibleDimensionsException if the length of {@code data} does not fit the dimensions
+     */
+    public static FloatMatrix wrap(byte[] data, int ... dimensions) {
+        return new FloatMatrix(data, dimensions);
+    }
+
+    /**
+     * Creates a float matrix using the elements stored little endian in {@code buffer} from its position
+     * to its limit, without copying them. The matrix can only be modified, if the buffer is writable.
+     * @throws IncompatibleDimensionsException if the remaining bytes do not fit the dimensions
+     */
+    public static FloatMatrix wrap(ByteBuffer buffer, int ... dimensions) {
+        return new FloatMatrix(storageOf(buffer, Float.BYTES), dimensions);
+    }
+
+    public static FloatMatrixBuilder builder() {
+        return new FloatMatrixBuilder();
+    }
+
+    /**
+     * @return a builder with space reserved for {@code rows} rows of {@code columns} elements, which builds
+     * the matrix without copying the rows once all of them are added
+     */
+    public static FloatMatrixBuilder builder(int rows, int columns) {
+        return new FloatMatrixBuilder(rows, columns);
+    }
+
+    FloatMatrix(byte[] data, int... dimensions) {
+        super(SPECIES, data, dimensions);
+    }
+
+    FloatMatrix(Storage storage, int... dimensions) {
+        super(SPECIES, storage, dimensions);
+    }
+
+    FloatMatrix(Storage storage, int offset, int[] strides, int... dimensions) {
+        super(SPECIES, storage, offset, strides, dimensions);
+    }
+
+    @Override
+    public Vector<Float> toVec(long offset, VectorMask<Float> m) {
+        int address = address(offset / Float.BYTES);
+        if (isContiguous() && (storage.remaining(address) >= SPECIES.length() || storage.nrChunks() == 1)) {
+            int index = storage.index(address) * Float.BYTES;
+            return storage.isArray()
+                ? FloatVector.fromByteArray(SPECIES, storage.array(address), index, BYTE_ORDER, m)
+                : FloatVector.fromByteBuffer(SPECIES, storage.buffer(address), index, BYTE_ORDER, m);
+        }
+        return FloatVector.fromByteArray(SPECIES, gather(offset, SPECIES.vectorByteSize()), 0, BYTE_ORDER, m);
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, byte[] b, int bOffset,
+                         byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            FloatVector vb = FloatVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteArray(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            FloatVector vb = FloatVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteArray(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset,
+                         ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            FloatVector vb = FloatVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            FloatVector vb = FloatVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            FloatVector vb = FloatVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            FloatVector vb = FloatVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, Storage b, int bAddress, int length) {
+        FloatVector vb = FloatVector.broadcast(SPECIES, b.getFloat(bAddress));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteArray(SPECIES, a, offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteArray(a, offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteArray(SPECIES, a, offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteArray(a, offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, Storage b, int bAddress, int length) {
+        FloatVector vb = FloatVector.broadcast(SPECIES, b.getFloat(bAddress));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, offset, BYTE_ORDER);
+            apply(operation, va, vb).intoByteBuffer(a, offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, offset, BYTE_ORDER, m);
+            apply(operation, va, vb).intoByteBuffer(a, offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void fma(byte[] a, int aOffset, byte[] b, int bOffset, byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            FloatVector vb = FloatVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            FloatVector vc = FloatVector.fromByteArray(SPECIES, c, cOffset + offset, BYTE_ORDER);
+            va.fma(vb, vc).intoByteArray(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            FloatVector vb = FloatVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            FloatVector vc = FloatVector.fromByteArray(SPECIES, c, cOffset + offset, BYTE_ORDER, m);
+            va.fma(vb, vc).intoByteArray(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void fma(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            FloatVector vb = FloatVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            FloatVector vc = FloatVector.fromByteBuffer(SPECIES, c, cOffset + offset, BYTE_ORDER);
+            va.fma(vb, vc).intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            FloatVector vb = FloatVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            FloatVector vc = FloatVector.fromByteBuffer(SPECIES, c, cOffset + offset, BYTE_ORDER, m);
+            va.fma(vb, vc).intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Float alpha, byte[] x, int xOffset, byte[] y, int yOffset, int length) {
+        FloatVector va = FloatVector.broadcast(SPECIES, (float) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector vx = FloatVector.fromByteArray(SPECIES, x, xOffset + offset, BYTE_ORDER);
+            FloatVector vy = FloatVector.fromByteArray(SPECIES, y, yOffset + offset, BYTE_ORDER);
+            vx.fma(va, vy).intoByteArray(y, yOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector vx = FloatVector.fromByteArray(SPECIES, x, xOffset + offset, BYTE_ORDER, m);
+            FloatVector vy = FloatVector.fromByteArray(SPECIES, y, yOffset + offset, BYTE_ORDER, m);
+            vx.fma(va, vy).intoByteArray(y, yOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Float alpha, ByteBuffer x, int xOffset, ByteBuffer y, int yOffset, int length) {
+        FloatVector va = FloatVector.broadcast(SPECIES, (float) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector vx = FloatVector.fromByteBuffer(SPECIES, x, xOffset + offset, BYTE_ORDER);
+            FloatVector vy = FloatVector.fromByteBuffer(SPECIES, y, yOffset + offset, BYTE_ORDER);
+            vx.fma(va, vy).intoByteBuffer(y, yOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector vx = FloatVector.fromByteBuffer(SPECIES, x, xOffset + offset, BYTE_ORDER, m);
+            FloatVector vy = FloatVector.fromByteBuffer(SPECIES, y, yOffset + offset, BYTE_ORDER, m);
+            vx.fma(va, vy).intoByteBuffer(y, yOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected Float reduce(Reduction reduction, ByteBuffer a, int offset, int length) {
+        FloatVector identity = FloatVector.broadcast(SPECIES, identity(reduction));
+        FloatVector acc0 = identity, acc1 = identity, acc2 = identity, acc3 = identity;
+        int step = SPECIES.length();
+        int bytes = SPECIES.vectorByteSize();
+        int i = 0;
+        for (int bound = length - length % (4 * step); i < bound; i += 4 * step) {
+            int o = offset + i * Float.BYTES;
+            acc0 = reduce(reduction, acc0, FloatVector.fromByteBuffer(SPECIES, a, o, BYTE_ORDER));
+            acc1 = reduce(reduction, acc1, FloatVector.fromByteBuffer(SPECIES, a, o + bytes, BYTE_ORDER));
+            acc2 = reduce(reduction, acc2, FloatVector.fromByteBuffer(SPECIES, a, o + 2 * bytes, BYTE_ORDER));
+            acc3 = reduce(reduction, acc3, FloatVector.fromByteBuffer(SPECIES, a, o + 3 * bytes, BYTE_ORDER));
+        }
+        for (; i < SPECIES.loopBound(length); i += step) {
+            acc0 = reduce(reduction, acc0, FloatVector.fromByteBuffer(SPECIES, a, offset + i * Float.BYTES, BYTE_ORDER));
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            FloatVector v = FloatVector.fromByteBuffer(SPECIES, a, offset + i * Float.BYTES, BYTE_ORDER, m);
+            acc0 = acc0.blend(reduce(reduction, acc0, v), m);
+        }
+        FloatVector acc = reduce(reduction, reduce(reduction, acc0, acc1), reduce(reduction, acc2, acc3));
+        return switch (reduction) {
+            case SUM -> acc.reduceLanes(VectorOperators.ADD);
+            case PROD -> acc.reduceLanes(VectorOperators.MUL);
+            case MIN -> acc.reduceLanes(VectorOperators.MIN);
+            case MAX -> acc.reduceLanes(VectorOperators.MAX);
+        };
+    }
+
+    @Override
+    protected void accumulate(Reduction reduction, ByteBuffer a, int aOffset,
+                              ByteBuffer b, int bOffset, int bStride, int rows, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, FloatVector.fromByteBuffer(SPECIES, b, o, BYTE_ORDER));
+            }
+            va.intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, FloatVector.fromByteBuffer(SPECIES, b, o, BYTE_ORDER, m));
+            }
+            va.intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected Float valueOf(int value) {
+        return (float) value;
+    }
+
+    private static FloatVector reduce(Reduction reduction, FloatVector a, FloatVector b) {
+        return switch (reduction) {
+            case SUM -> a.add(b);
+            case PROD -> a.mul(b);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    private static float identity(Reduction reduction) {
+        return switch (reduction) {
+            case SUM -> 0;
+            case PROD -> 1;
+            case MIN -> Float.POSITIVE_INFINITY;
+            case MAX -> Float.NEGATIVE_INFINITY;
+        };
+    }
+
+    @Override
+    protected Float combine(Reduction reduction, Float a, Float b) {
+        return switch (reduction) {
+            case SUM -> a + b;
+            case PROD -> a * b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+        };
+    }
+
+    @Override
+    protected double sumAsDouble(ByteBuffer a, int offset, int length, boolean squares) {
+        // summed as doubles, floats would lose the contribution of small elements to large sums
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (; i < HALF.loopBound(length); i += HALF.length()) {
+            DoubleVector v = (DoubleVector) FloatVector.fromByteBuffer(HALF, a, offset + i * Float.BYTES, BYTE_ORDER)
+                .convertShape(VectorOperators.F2D, DOUBLES, 0);
+            acc = squares ? v.fma(v, acc) : acc.add(v);
+        }
+        if (i < length) {
+            VectorMask<Float> m = HALF.indexInRange(i, length);
+            DoubleVector v = (DoubleVector) FloatVector.fromByteBuffer(HALF, a, offset + i * Float.BYTES, BYTE_ORDER, m)
+                .convertShape(VectorOperators.F2D, DOUBLES, 0);
+            acc = squares ? v.fma(v, acc) : acc.add(v);
+        }
+        return acc.reduceLanes(VectorOperators.ADD);
+    }
+
+    @Override
+    protected int arg(VectorOperators.Comparison comparison, ByteBuffer a, int offset, int length) {
+        boolean max = comparison == VectorOperators.GT;
+        FloatVector best = FloatVector.broadcast(SPECIES, identity(max ? Reduction.MAX : Reduction.MIN));
+        // indices are kept in int lanes, as floats cannot represent all indices beyond 2^24
+        IntVector bestIndex = IntVector.broadcast(INDICES, Integer.MAX_VALUE);
+        IntVector index = IntVector.zero(INDICES).addIndex(1);
+        IntVector step = IntVector.broadcast(INDICES, SPECIES.length());
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            FloatVector v = FloatVector.fromByteBuffer(SPECIES, a, offset + i * Float.BYTES, BYTE_ORDER);
+            // NaN is propagated like by max and min, so the first one is returned
+            VectorMask<Float> nan = v.test(VectorOperators.IS_NAN);
+            if (nan.anyTrue()) {
+                return i + nan.firstTrue();
+            }
+            VectorMask<Float> better = max ? best.lt(v) : v.lt(best);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better.cast(INDICES));
+            index = index.add(step);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            FloatVector v = FloatVector.fromByteBuffer(SPECIES, a, offset + i * Float.BYTES, BYTE_ORDER, m);
+            VectorMask<Float> nan = v.test(VectorOperators.IS_NAN).and(m);
+            if (nan.anyTrue()) {
+                return i + nan.firstTrue();
+            }
+            VectorMask<Float> better = (max ? best.lt(v) : v.lt(best)).and(m);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better.cast(INDICES));
+        }
+        float value = max ? best.reduceLanes(VectorOperators.MAX) : best.reduceLanes(VectorOperators.MIN);
+        int position = bestIndex.reduceLanes(VectorOperators.MIN, best.eq(value).cast(INDICES));
+        // no element is better than the identity, so the first one is returned
+        return position == Integer.MAX_VALUE ? 0 : position;
+    }
+
+    @Override
+    protected void apply(UnaryOperation operation, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            apply(operation, va).intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector va = FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            apply(operation, va).intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    private static FloatVector apply(UnaryOperation operation, FloatVector a) {
+        return switch (operation) {
+            case ABS -> a.abs();
+            case EXP -> a.lanewise(VectorOperators.EXP);
+            case LOG -> a.lanewise(VectorOperators.LOG);
+            case SQRT -> a.sqrt();
+            case TANH -> a.lanewise(VectorOperators.TANH);
+            // 1 / (1 + e^-x)
+            case SIGMOID -> FloatVector.broadcast(SPECIES, 1.0f).div(a.neg().lanewise(VectorOperators.EXP).add(1.0f));
+        };
+    }
+
+    @Override
+    protected void clamp(Float min, Float max, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        FloatVector vMin = FloatVector.broadcast(SPECIES, (float) min);
+        FloatVector vMax = FloatVector.broadcast(SPECIES, (float) max);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Float.BYTES;
+            FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER).max(vMin).min(vMax)
+                .intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Float.BYTES;
+            FloatVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m).max(vMin).min(vMax)
+                .intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    private static FloatVector apply(Operation operation, FloatVector a, FloatVector b) {
+        return switch (operation) {
+            case ADD -> a.add(b);
+            case SUB -> a.sub(b);
+            case MUL -> a.mul(b);
+            case DIV -> a.div(b);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    @Override
+    protected void gemm(Storage a, int aOffset, int aRowStride, int aColumnStride,
+                        Storage b, int bOffset, int bRowStride, int bColumnStride,
+                        Storage c, int cOffset, int ldc, int m, int n, int p) {
+        FloatGemm.gemm(a, aOffset, aRowStride, aColumnStride, b, bOffset, bRowStride, bColumnStride, c, cOffset, ldc, m, n, p);
+    }
+
+    @Override
+    protected Matrix<Float> createEmptyMatrix(int[] dimensions) {
+        return zeros(dimensions);
+    }
+
+    @Override
+    protected Matrix<Float> createView(Storage storage, int offset, int[] strides, int[] dimensions) {
+        return new FloatMatrix(storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected void set(Float value, int address) {
+        writeFloat(address, value);
+    }
+
+    @Override
+    protected byte type() {
+        return MemoryMappedMatrix.FLOAT_TYPE;
+    }
+
+    @Override
+    protected Float read(int address) {
+        return readFloat(address);
+    }
+
+    private float readFloat(int address) {
+        return storage.getFloat(address);
+    }
+
+    private void writeFloat(int address, float value) {
+        storage.putFloat(address, value);
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public float getFloat(int ... position) {
+        return readFloat(address(position));
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public float getFloat(int row, int column) {
+        return readFloat(address(row, column));
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public float getFloat(long index) {
+        return readFloat(address(index));
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setFloat(int[] position, float value) {
+        writeFloat(address(position), value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setFloat(int row, int column, float value) {
+        writeFloat(address(row, column), value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public void setFloat(long index, float value) {
+        writeFloat(address(index), value);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, float[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                dst[offset + i] = readFloat(address(index + i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            if (!storage.isArray()) {
+                storage.buffer(address).asFloatBuffer().get(storage.index(address), dst, offset + i, run);
+                i += run;
+                continue;
+            }
+            byte[] array = storage.array(address);
+            int from = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                FloatVector.fromByteArray(SPECIES, array, (from + j) * Float.BYTES, BYTE_ORDER).intoArray(dst, offset + i + j);
+            }
+            for (; j < run; j++) {
+                dst[offset + i + j] = TheUnsafe.readFloat(array, from + j);
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset},
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     */
+    public void set(long index, float[] src, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                writeFloat(address(index + i), src[offset + i]);
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            if (!storage.isArray()) {
+                storage.buffer(address).asFloatBuffer().put(storage.index(address), src, offset + i, run);
+                i += run;
+                continue;
+            }
+            byte[] array = storage.array(address);
+            int to = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                FloatVector.fromArray(SPECIES, src, offset + i + j).intoByteArray(array, (to + j) * Float.BYTES, BYTE_ORDER);
+            }
+            for (; j < run; j++) {
+                TheUnsafe.write(array, to + j, src[offset + i + j]);
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Replaces every element of {@code this} by its exponential inplace.
+     */
+    public void exp() {
+        apply(UnaryOperation.EXP, this);
+    }
+
+    /**
+     * Stores the exponential of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void exp(Matrix<Float> destination) {
+        apply(UnaryOperation.EXP, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its natural logarithm inplace.
+     */
+    public void log() {
+        apply(UnaryOperation.LOG, this);
+    }
+
+    /**
+     * Stores the natural logarithm of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void log(Matrix<Float> destination) {
+        apply(UnaryOperation.LOG, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its square root inplace.
+     */
+    public void sqrt() {
+        apply(UnaryOperation.SQRT, this);
+    }
+
+    /**
+     * Stores the square root of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sqrt(Matrix<Float> destination) {
+        apply(UnaryOperation.SQRT, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its hyperbolic tangent inplace.
+     */
+    public void tanh() {
+        apply(UnaryOperation.TANH, this);
+    }
+
+    /**
+     * Stores the hyperbolic tangent of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void tanh(Matrix<Float> destination) {
+        apply(UnaryOperation.TANH, destination);
+    }
+
+    /**
+     * Replaces every element {@code x} of {@code this} by {@code 1 / (1 + e^-x)} inplace.
+     */
+    public void sigmoid() {
+        apply(UnaryOperation.SIGMOID, this);
+    }
+
+    /**
+     * Stores {@code 1 / (1 + e^-x)} of every element {@code x} of {@code this} in {@code destination},
+     * which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sigmoid(Matrix<Float> destination) {
+        apply(UnaryOperation.SIGMOID, destination);
+    }
+
+    @Override
+    public Matrix<Float> copy() {
+        int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
+        return new FloatMatrix(contiguousStorage(), dimensions);
+    }
+
+    public static class FloatMatrixBuilder extends AbstractBuilder<Float> {
+
+        public FloatMatrixBuilder() {
+        }
+
+        FloatMatrixBuilder(int rows, int columns) {
+            super(rows, columns);
+        }
+
+        /**
+         * Adds a copy of {@code row}, without boxing its elements.
+         */
+        public FloatMatrixBuilder row(float[] row) {
+            int offset = appendRow(row.length);
+            byte[] data = data();
+            int i = 0;
+            for (; i < SPECIES.loopBound(row.length); i += SPECIES.length()) {
+                FloatVector.fromArray(SPECIES, row, i).intoByteArray(data, (offset + i) * Float.BYTES, BYTE_ORDER);
+            }
+            for (; i < row.length; i++) {
+                TheUnsafe.write(data, offset + i, row[i]);
+            }
+            return this;
+        }
+
+        @Override
+        protected void fill(int offset, byte[] data, Float... row) {
+            for (int i = 0; i < row.length; i++) {
+                TheUnsafe.write(data, offset + i, row[i]);
+            }
+        }
+
+        @Override
+        protected FloatMatrix doBuild(byte[] data, int rows, int columns) {
+            return new FloatMatrix(data, rows, columns);
+        }
+
+        @Override
+        protected int byteSize() {
+            return Float.BYTES;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package num4j.impl;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+
+import static num4j.impl.HalfFloatMatrix.SHORTS;
+import static num4j.impl.InMemoryMatrix.BYTE_ORDER;
+
+/**
+ * Cache blocked matrix multiplication kernel for 16 bit float matrices, blocked like {@link FloatGemm}.
+ * Packed panels hold the operands converted to floats. A {@code MC x NC} block of the result is accumulated
+ * over the whole inner dimension in floats as well, so every element of the result is only rounded once.
+ */
+final class HalfFloatGemm {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int L = SPECIES.length();
+
+    // micro tile: MR rows times NR columns (two vectors) of the result
+    private static final int MR = 4;
+    private static final int NR = 2 * L;
+
+    // cache blocks, MC has to be a multiple of MR, NC a multiple of NR
+    private static final int KC = 256;
+    private static final int MC = 128;
+    private static final int NC = 2048;
+
+    private HalfFloatGemm() {
+    }
+
+    /**
+     * Adds the product of the {@code m x n} matrix {@code a} and the {@code n x p} matrix {@code b} to the
+     * {@code m x p} matrix {@code c}, all of them stored in {@code format}. All offsets and strides are given
+     * in elements, {@code c} is stored row major with {@code ldc} elements between two subsequent rows.
+     */
+    static void gemm(HalfFloatMatrix.Format format, Storage a, int aOffset, int aRowStride, int aColumnStride,
+                     Storage b, int bOffset, int bRowStride, int bColumnStride,
+                     Storage c, int cOffset, int ldc, int m, int n, int p) {
+        if (m == 0 || n == 0 || p == 0) {
+            return;
+        }
+        int kcMax = Math.min(KC, n);
+        int mcMax = roundUp(Math.min(MC, m), MR);
+        int ncMax = roundUp(Math.min(NC, p), NR);
+        float[] packedA = new float[mcMax * kcMax];
+        float[] packedB = new float[ncMax * kcMax];
+        float[] block = new float[mcMax * ncMax];
+
+        for (int jc = 0; jc < p; jc += NC) {
+            int nc = Math.min(NC, p - jc);
+            int ldb = roundUp(nc, NR);
+            for (int ic = 0; ic < m; ic += MC) {
+                int mc = Math.min(MC, m - ic);
+                int blockOffset = cOffset + ic * ldc + jc;
+                load(format, c, blockOffset, ldc, mc, nc, block, ldb);
+                // packing the right-hand side again for every block of rows costs 1 / MC of the multiplication
+                for (int pc = 0; pc < n; pc += KC) {
+                    int kc = Math.min(KC, n - pc);
+                    packB(format, b, bOffset + pc * bRowStride + jc * bColumnStride, bRowStride, bColumnStride, kc, nc, packedB);
+                    packA(format, a, aOffset + ic * aRowStride + pc * aColumnStride, aRowStride, aColumnStride, mc, kc, packedA);
+                    for (int jr = 0; jr < nc; jr += NR) {
+                        for (int ir = 0; ir < mc; ir += MR) {
+                            kernel(kc, packedA, ir * kc, packedB, jr * kc, block, ir * ldb + jr, ldb);
+                        }
+                    }
+                }
+                store(format, block, ldb, c, blockOffset, ldc, mc, nc);
+            }
+        }
+    }
+
+    /**
+     * Converts {@code rows x cols} of {@code c} to {@code block}, which has {@code ldb} elements per row.
+     */
+    private static void load(HalfFloatMatrix.Format format, Storage c, int offset, int ldc, int rows, int cols,
+                             float[] block, int ldb) {
+        for (int r = 0; r < rows; r++) {
+            int src = offset + r * ldc;
+            int j = 0;
+            if (c.remaining(src) >= cols) {
+                ByteBuffer buffer = c.buffer(src);
+                int index = c.index(src);
+                for (; j < SPECIES.loopBound(cols); j += L) {
+                    format.widen(ShortVector.fromByteBuffer(SHORTS, buffer, (index + j) * Short.BYTES, BYTE_ORDER))
+                        .intoArray(block, r * ldb + j);
+                }
+            }
+            for (; j < cols; j++) {
+                block[r * ldb + j] = format.toFloat(c.getShort(src + j));
+            }
+        }
+    }
+
+    /**
+     * Rounds {@code rows x cols} of {@code block}, which has {@code ldb} elements per row, to {@code c}.
+     */
+    private static void store(HalfFloatMatrix.Format format, float[] block, int ldb, Storage c, int offset, int ldc,
+                              int rows, int cols) {
+        for (int r = 0; r < rows; r++) {
+            int dst = offset + r * ldc;
+            int j = 0;
+            if (c.remaining(dst) >= cols) {
+                ByteBuffer buffer = c.buffer(dst);
+                int index = c.index(dst);
+                for (; j < SPECIES.loopBound(cols); j += L) {
+                    format.narrow(FloatVector.fromArray(SPECIES, block, r * ldb + j))
+                        .intoByteBuffer(buffer, (index + j) * Short.BYTES, BYTE_ORDER);
+                }
+            }
+            for (; j < cols; j++) {
+                c.putShort(dst + j, format.fromFloat(block[r * ldb + j]));
+            }
+        }
+    }
+
+    /**
+     * Packs {@code rows x kc} of {@code a} into panels of {@code MR} rows, stored column by column.
+     * Rows exceeding {@code rows} are padded with zeros.
+     */
+    private static void packA(HalfFloatMatrix.Format format, Storage a, int offset, int rowStride, int columnStride,
+                              int rows, int kc, float[] packed) {
+        int idx = 0;
+        for (int ir = 0; ir < rows; ir += MR) {
+            int panelRows = Math.min(MR, rows - ir);
+            for (int k = 0; k < kc; k++) {
+                for (int r = 0; r < MR; r++) {
+                    int address = offset + (ir + r) * rowStride + k * columnStride;
+                    packed[idx++] = r < panelRows ? format.toFloat(a.getShort(address)) : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs {@code kc x cols} of {@code b} into panels of {@code NR} columns, stored row by row.
+     * Columns exceeding {@code cols} are padded with zeros.
+     */
+    private static void packB(HalfFloatMatrix.Format format, Storage b, int offset, int rowStride, int columnStride,
+                              int kc, int cols, float[] packed) {
+        int idx = 0;
+        for (int jr = 0; jr < cols; jr += NR) {
+            VectorMask<Short> m0 = SPECIES.indexInRange(jr, cols).cast(SHORTS);
+            VectorMask<Short> m1 = SPECIES.indexInRange(jr + L, cols).cast(SHORTS);
+            for (int k = 0; k < kc; k++) {
+                int src = offset + k * rowStride + jr * columnStride;
+                if (columnStride == 1 && b.remaining(src) >= NR) {
+                    ByteBuffer buffer = b.buffer(src);
+                    int index = b.index(src);
+                    format.widen(ShortVector.fromByteBuffer(SHORTS, buffer, index * Short.BYTES, BYTE_ORDER, m0))
+                        .intoArray(packed, idx);
+                    format.widen(ShortVector.fromByteBuffer(SHORTS, buffer, (index + L) * Short.BYTES, BYTE_ORDER, m1))
+                        .intoArray(packed, idx + L);
+                } else {
+                    for (int j = 0; j < NR; j++) {
+                        packed[idx + j] = jr + j < cols ? format.toFloat(b.getShort(src + j * columnStride)) : 0;
+                    }
+                }
+                idx += NR;
+            }
+        }
+    }
+
+    /**
+     * Adds the product of a packed panel of {@code a} and one of {@code b} to the tile at {@code cIdx} of
+     * {@code c}, which is padded to whole tiles.
+     */
+    private static void kernel(int kc, float[] a, int aIdx, float[] b, int bIdx, float[] c, int cIdx, int ldc) {
+        FloatVector c00 = FloatVector.zero(SPECIES), c01 = FloatVector.zero(SPECIES);
+        FloatVector c10 = FloatVector.zero(SPECIES), c11 = FloatVector.zero(SPECIES);
+        FloatVector c20 = FloatVector.zero(SPECIES), c21 = FloatVector.zero(SPECIES);
+        FloatVector c30 = FloatVector.zero(SPECIES), c31 = FloatVector.zero(SPECIES);
+
+        for (int k = 0; k < kc; k++) {
+            FloatVector b0 = FloatVector.fromArray(SPECIES, b, bIdx);
+            FloatVector b1 = FloatVector.fromArray(SPECIES, b, bIdx + L);
+
+            FloatVector a0 = FloatVector.broadcast(SPECIES, a[aIdx]);
+            c00 = a0.fma(b0, c00);
+            c01 = a0.fma(b1, c01);
+            FloatVector a1 = FloatVector.broadcast(SPECIES, a[aIdx + 1]);
+            c10 = a1.fma(b0, c10);
+            c11 = a1.fma(b1, c11);
+            FloatVector a2 = FloatVector.broadcast(SPECIES, a[aIdx + 2]);
+            c20 = a2.fma(b0, c20);
+            c21 = a2.fma(b1, c21);
+            FloatVector a3 = FloatVector.broadcast(SPECIES, a[aIdx + 3]);
+            c30 = a3.fma(b0, c30);
+            c31 = a3.fma(b1, c31);
+
+            aIdx += MR;
+            bIdx += NR;
+        }
+
+        update(c, cIdx, c00, c01);
+        update(c, cIdx + ldc, c10, c11);
+        update(c, cIdx + 2 * ldc, c20, c21);
+        update(c, cIdx + 3 * ldc, c30, c31);
+    }
+
+    private static void update(float[] c, int cIdx, FloatVector v0, FloatVector v1) {
+        FloatVector.fromArray(SPECIES, c, cIdx).add(v0).intoArray(c, cIdx);
+        FloatVector.fromArray(SPECIES, c, cIdx + L).add(v1).intoArray(c, cIdx + L);
+    }
+
+    private static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+}
@@ -0,0 +1,859 @@
+package num4j.impl;
+
+import jdk.incubator.vector.*;
+import num4j.api.Matrix;
+import num4j.unsafe.TheUnsafe;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A float matrix, which stores its elements with 16 bits (in one of the {@link Format formats}), halving the memory
+ * and the bandwidth used by float matrices. Elements are converted to floats when they are loaded and rounded to the
+ * nearest 16 bit value when they are stored, so all operations compute with floats: sums and products are only
+ * rounded once per element of the result.
+ * <p>
+ * Operands stored in another format (e.g. a {@link FloatMatrix}) are converted to the format of the matrix
+ * they are combined with, which takes an additional pass over their elements.
+ */
+public class HalfFloatMatrix extends InMemoryMatrix<Float> {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = SPECIES.withLanes(int.class);
+    // 16 bit elements loaded for a vector of floats
+    static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class,
+        VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Encoding of the elements.
+     */
+    public enum Format {
+
+        /**
+         * IEEE 754 half precision: 5 exponent and 10 mantissa bits, representing magnitudes up to {@code 65504}.
+         * Smaller ones than {@code 6.1e-5} lose precision, those below {@code 6e-8} are rounded to zero.
+         */
+        FLOAT16(MemoryMappedMatrix.FLOAT16_TYPE),
+
+        /**
+         * bfloat16: the upper half of a float, with the same 8 exponent bits (thus the same range), but 7 mantissa bits.
+         */
+        BFLOAT16(MemoryMappedMatrix.BFLOAT16_TYPE);
+
+        private final byte type;
+
+        Format(byte type) {
+            this.type = type;
+        }
+
+        byte type() {
+            return type;
+        }
+
+        /**
+         * @return the float represented by {@code bits}
+         */
+        float toFloat(short bits) {
+            if (this == BFLOAT16) {
+                return Float.intBitsToFloat(bits << 16);
+            }
+            int magnitude = bits & 0x7FFF;
+            int floatBits;
+            if (magnitude < 0x0400) {
+                // subnormal
+                floatBits = Float.floatToRawIntBits(magnitude * 0x1p-24f);
+            } else if (magnitude >= 0x7C00) {
+                // infinity or NaN
+                floatBits = magnitude << 13 | 0x7F800000;
+            } else {
+                floatBits = (magnitude << 13) + ((127 - 15) << 23);
+            }
+            return Float.intBitsToFloat(floatBits | (bits & 0x8000) << 16);
+        }
+
+        /**
+         * @return the bits of the 16 bit value nearest to {@code value}, ties being rounded to an even mantissa
+         */
+        short fromFloat(float value) {
+            int bits = Float.floatToRawIntBits(value);
+            if (this == BFLOAT16) {
+                if ((bits & 0x7FFFFFFF) > 0x7F800000) {
+                    // keep NaNs quiet, which could be rounded to infinity otherwise
+                    return (short) (bits >>> 16 | 0x40);
+                }
+                return (short) ((bits + 0x7FFF + (bits >>> 16 & 1)) >>> 16);
+            }
+            int magnitude = bits & 0x7FFFFFFF;
+            int halfBits;
+            if (magnitude >= 0x47800000) {
+                // too large (or infinite) and NaN
+                halfBits = magnitude > 0x7F800000 ? 0x7E00 : 0x7C00;
+            } else if (magnitude < 0x38800000) {
+                // subnormal: adding 0.5 moves the mantissa to the lowest bits, rounded by the addition itself
+                halfBits = Float.floatToRawIntBits(Float.intBitsToFloat(magnitude) + 0.5f) - 0x3F000000;
+            } else {
+                halfBits = (magnitude + ((15 - 127) << 23) + 0xFFF + (magnitude >>> 13 & 1)) >>> 13;
+            }
+            return (short) (halfBits | bits >>> 16 & 0x8000);
+        }
+
+        /**
+         * @return the floats represented by the lanes of {@code bits}
+         */
+        FloatVector widen(ShortVector bits) {
+            IntVector v = (IntVector) bits.convertShape(VectorOperators.S2I, INTS, 0);
+            if (this == BFLOAT16) {
+                return asFloats(v.lanewise(VectorOperators.LSHL, 16));
+            }
+            // only integer operations on normal numbers: floats below 2^-126 are very slow on some processors
+            IntVector magnitude = v.and(0x7FFF);
+            IntVector normal = magnitude.lanewise(VectorOperators.LSHL, 13).add((127 - 15) << 23);
+            IntVector subnormal = asInts(((FloatVector) magnitude.convertShape(VectorOperators.I2F, SPECIES, 0))
+                .mul(0x1p-24f));
+            IntVector floatBits = normal.blend(subnormal, magnitude.compare(VectorOperators.LT, 0x0400))
+                .blend(normal.or(0x7F800000), magnitude.compare(VectorOperators.GE, 0x7C00));
+            return asFloats(floatBits.or(v.and(0x8000).lanewise(VectorOperators.LSHL, 16)));
+        }
+
+        /**
+         * @return the bits of the 16 bit values nearest to the lanes of {@code values}, as {@link #fromFloat(float)}
+         */
+        ShortVector narrow(FloatVector values) {
+            IntVector bits = asInts(values);
+            IntVector halfBits;
+            if (this == BFLOAT16) {
+                IntVector upper = bits.lanewise(VectorOperators.LSHR, 16);
+                halfBits = bits.add(0x7FFF).add(upper.and(1)).lanewise(VectorOperators.LSHR, 16)
+                    .blend(upper.or(0x40), bits.and(0x7FFFFFFF).compare(VectorOperators.GT, 0x7F800000));
+            } else {
+                IntVector magnitude = bits.and(0x7FFFFFFF);
+                IntVector normal = magnitude.add(((15 - 127) << 23) + 0xFFF)
+                    .add(magnitude.lanewise(VectorOperators.LSHR, 13).and(1))
+                    .lanewise(VectorOperators.LSHR, 13);
+                IntVector subnormal = asInts(asFloats(magnitude).add(0.5f)).sub(0x3F000000);
+                IntVector special = IntVector.broadcast(INTS, 0x7C00)
+                    .blend(0x7E00, magnitude.compare(VectorOperators.GT, 0x7F800000));
+                halfBits = normal.blend(subnormal, magnitude.compare(VectorOperators.LT, 0x38800000))
+                    .blend(special, magnitude.compare(VectorOperators.GE, 0x47800000))
+                    .or(bits.lanewise(VectorOperators.LSHR, 16).and(0x8000));
+            }
+            return (ShortVector) halfBits.convertShape(VectorOperators.I2S, SHORTS, 0);
+        }
+    }
+
+    // the species are passed explicitly, reinterpretAsFloats() and the like do not always compile to a single instruction
+    private static FloatVector asFloats(IntVector v) {
+        return (FloatVector) v.reinterpretShape(SPECIES, 0);
+    }
+
+    private static IntVector asInts(FloatVector v) {
+        return (IntVector) v.reinterpretShape(INTS, 0);
+    }
+
+    private final Format format;
+
+    /**
+     * Creates a new matrix of the given {@code format} with the specified {@code dimensions}, filled with {@code 0}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static HalfFloatMatrix zeros(Format format, int ... dimensions) {
+        Storage storage = Storage.allocate(nrElements(dimensions), Short.BYTES);
+        return new HalfFloatMatrix(format, storage, dimensions);
+    }
+
+    /**
+     * Creates a new matrix of the given {@code format} with the specified {@code dimensions}, filled with {@code 1}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static HalfFloatMatrix ones(Format format, int ... dimensions) {
+        Storage storage = Storage.allocate(nrElements(dimensions), Short.BYTES);
+        short one = format.fromFloat(1.0f);
+        for (int i = 0; i < storage.nrChunks(); i++) {
+            byte[] chunk = storage.chunk(i);
+            for (int j = 0; j < chunk.length / Short.BYTES; j++) {
+                TheUnsafe.write(chunk, j, one);
+            }
+        }
+        return new HalfFloatMatrix(format, storage, dimensions);
+    }
+
+    /**
+     * @return a new matrix of the given {@code format}, containing the elements of {@code matrix} rounded to it
+     */
+    public static HalfFloatMatrix copyOf(Format format, Matrix<Float> matrix) {
+        HalfFloatMatrix copy = zeros(format, Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        if (!(matrix instanceof FloatMatrix floats)) {
+            copy.copyFrom(matrix);
+            return copy;
+        }
+        float[] block = new float[Math.min(copy.size(), 1 << 14)];
+        for (int i = 0; i < copy.size(); i += block.length) {
+            int length = Math.min(block.length, copy.size() - i);
+            floats.get(i, block, 0, length);
+            copy.set(i, block, 0, length);
+        }
+        return copy;
+    }
+
+    public static HalfFloatMatrixBuilder builder(Format format) {
+        return new HalfFloatMatrixBuilder(format);
+    }
+
+    HalfFloatMatrix(Format format, Storage storage, int... dimensions) {
+        super(SPECIES, storage, dimensions);
+        this.format = format;
+    }
+
+    HalfFloatMatrix(Format format, Storage storage, int offset, int[] strides, int... dimensions) {
+        super(SPECIES, storage, offset, strides, dimensions);
+        this.format = format;
+    }
+
+    /**
+     * @return the format of the elements
+     */
+    public Format format() {
+        return format;
+    }
+
+    /**
+     * @return a new float matrix containing the elements of {@code this}
+     */
+    public FloatMatrix toFloatMatrix() {
+        FloatMatrix floats = FloatMatrix.zeros(Arrays.copyOf(dimensions(), dimensions().length));
+        float[] block = new float[Math.min(size(), 1 << 14)];
+        for (int i = 0; i < size(); i += block.length) {
+            int length = Math.min(block.length, size() - i);
+            get(i, block, 0, length);
+            floats.set(i, block, 0, length);
+        }
+        return floats;
+    }
+
+    @Override
+    protected int elementSize() {
+        return Short.BYTES;
+    }
+
+    @Override
+    public Vector<Float> toVec(long offset, VectorMask<Float> m) {
+        int address = address(offset / Short.BYTES);
+        if (isContiguous() && (storage.remaining(address) >= SPECIES.length() || storage.nrChunks() == 1)) {
+            int index = storage.index(address) * Short.BYTES;
+            return storage.isArray()
+                ? load(storage.array(address), index, m)
+                : load(storage.buffer(address), index, m);
+        }
+        return load(gather(offset, SHORTS.vectorByteSize()), 0, m);
+    }
+
+    private FloatVector load(byte[] a, int offset) {
+        return format.widen(ShortVector.fromByteArray(SHORTS, a, offset, BYTE_ORDER));
+    }
+
+    private FloatVector load(byte[] a, int offset, VectorMask<Float> m) {
+        return format.widen(ShortVector.fromByteArray(SHORTS, a, offset, BYTE_ORDER, m.cast(SHORTS)));
+    }
+
+    private FloatVector load(ByteBuffer a, int offset) {
+        return format.widen(ShortVector.fromByteBuffer(SHORTS, a, offset, BYTE_ORDER));
+    }
+
+    private FloatVector load(ByteBuffer a, int offset, VectorMask<Float> m) {
+        return format.widen(ShortVector.fromByteBuffer(SHORTS, a, offset, BYTE_ORDER, m.cast(SHORTS)));
+    }
+
+    private float element(ByteBuffer a, int offset) {
+        return format.toFloat(a.getShort(offset));
+    }
+
+    private void store(FloatVector v, byte[] c, int offset) {
+        format.narrow(v).intoByteArray(c, offset, BYTE_ORDER);
+    }
+
+    private void store(FloatVector v, byte[] c, int offset, VectorMask<Float> m) {
+        format.narrow(v).intoByteArray(c, offset, BYTE_ORDER, m.cast(SHORTS));
+    }
+
+    private void store(FloatVector v, ByteBuffer c, int offset) {
+        format.narrow(v).intoByteBuffer(c, offset, BYTE_ORDER);
+    }
+
+    private void store(FloatVector v, ByteBuffer c, int offset, VectorMask<Float> m) {
+        format.narrow(v).intoByteBuffer(c, offset, BYTE_ORDER, m.cast(SHORTS));
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, byte[] b, int bOffset,
+                         byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            store(apply(operation, load(a, aOffset + offset), load(b, bOffset + offset)), c, cOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            store(apply(operation, load(a, aOffset + offset, m), load(b, bOffset + offset, m)), c, cOffset + offset, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset,
+                         ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            store(apply(operation, load(a, aOffset + offset), load(b, bOffset + offset)), c, cOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            store(apply(operation, load(a, aOffset + offset, m), load(b, bOffset + offset, m)), c, cOffset + offset, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+        apply(operation, a, aOffset, b, bOffset, a, aOffset, length);
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, Storage b, int bAddress, int length) {
+        FloatVector vb = FloatVector.broadcast(SPECIES, format.toFloat(b.getShort(bAddress)));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Short.BYTES;
+            store(apply(operation, load(a, offset), vb), a, offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Short.BYTES;
+            store(apply(operation, load(a, offset, m), vb), a, offset, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, Storage b, int bAddress, int length) {
+        FloatVector vb = FloatVector.broadcast(SPECIES, format.toFloat(b.getShort(bAddress)));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Short.BYTES;
+            store(apply(operation, load(a, offset), vb), a, offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Short.BYTES;
+            store(apply(operation, load(a, offset, m), vb), a, offset, m);
+        }
+    }
+
+    @Override
+    protected void fma(byte[] a, int aOffset, byte[] b, int bOffset, byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            FloatVector va = load(a, aOffset + offset);
+            store(va.fma(load(b, bOffset + offset), load(c, cOffset + offset)), a, aOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            FloatVector va = load(a, aOffset + offset, m);
+            store(va.fma(load(b, bOffset + offset, m), load(c, cOffset + offset, m)), a, aOffset + offset, m);
+        }
+    }
+
+    @Override
+    protected void fma(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            FloatVector va = load(a, aOffset + offset);
+            store(va.fma(load(b, bOffset + offset), load(c, cOffset + offset)), a, aOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            FloatVector va = load(a, aOffset + offset, m);
+            store(va.fma(load(b, bOffset + offset, m), load(c, cOffset + offset, m)), a, aOffset + offset, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Float alpha, byte[] x, int xOffset, byte[] y, int yOffset, int length) {
+        FloatVector va = FloatVector.broadcast(SPECIES, (float) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            store(load(x, xOffset + offset).fma(va, load(y, yOffset + offset)), y, yOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            store(load(x, xOffset + offset, m).fma(va, load(y, yOffset + offset, m)), y, yOffset + offset, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Float alpha, ByteBuffer x, int xOffset, ByteBuffer y, int yOffset, int length) {
+        FloatVector va = FloatVector.broadcast(SPECIES, (float) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            store(load(x, xOffset + offset).fma(va, load(y, yOffset + offset)), y, yOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            store(load(x, xOffset + offset, m).fma(va, load(y, yOffset + offset, m)), y, yOffset + offset, m);
+        }
+    }
+
+    @Override
+    protected Float reduce(Reduction reduction, ByteBuffer a, int offset, int length) {
+        // a single accumulator: the conversion of each vector hides the latency of the reduction
+        FloatVector acc = FloatVector.broadcast(SPECIES, identity(reduction));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            acc = reduce(reduction, acc, load(a, offset + i * Short.BYTES));
+        }
+        float result = switch (reduction) {
+            case SUM -> acc.reduceLanes(VectorOperators.ADD);
+            case PROD -> acc.reduceLanes(VectorOperators.MUL);
+            case MIN -> acc.reduceLanes(VectorOperators.MIN);
+            case MAX -> acc.reduceLanes(VectorOperators.MAX);
+        };
+        for (; i < length; i++) {
+            result = combine(reduction, result, element(a, offset + i * Short.BYTES));
+        }
+        return result;
+    }
+
+    @Override
+    protected void accumulate(Reduction reduction, ByteBuffer a, int aOffset,
+                              ByteBuffer b, int bOffset, int bStride, int rows, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            FloatVector va = load(a, aOffset + offset);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, load(b, o));
+            }
+            store(va, a, aOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            FloatVector va = load(a, aOffset + offset, m);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, load(b, o, m));
+            }
+            store(va, a, aOffset + offset, m);
+        }
+    }
+
+    @Override
+    protected Float valueOf(int value) {
+        return (float) value;
+    }
+
+    private static FloatVector reduce(Reduction reduction, FloatVector a, FloatVector b) {
+        return switch (reduction) {
+            case SUM -> a.add(b);
+            case PROD -> a.mul(b);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    private static float identity(Reduction reduction) {
+        return switch (reduction) {
+            case SUM -> 0;
+            case PROD -> 1;
+            case MIN -> Float.POSITIVE_INFINITY;
+            case MAX -> Float.NEGATIVE_INFINITY;
+        };
+    }
+
+    @Override
+    protected Float combine(Reduction reduction, Float a, Float b) {
+        return switch (reduction) {
+            case SUM -> a + b;
+            case PROD -> a * b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+        };
+    }
+
+    @Override
+    protected double sumAsDouble(ByteBuffer a, int offset, int length, boolean squares) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            acc = sumAsDouble(acc, load(a, offset + i * Short.BYTES), squares);
+        }
+        if (i < length) {
+            // lanes outside of the range are loaded as 0
+            acc = sumAsDouble(acc, load(a, offset + i * Short.BYTES, SPECIES.indexInRange(i, length)), squares);
+        }
+        return acc.reduceLanes(VectorOperators.ADD);
+    }
+
+    private static DoubleVector sumAsDouble(DoubleVector acc, FloatVector v, boolean squares) {
+        DoubleVector low = (DoubleVector) v.convertShape(VectorOperators.F2D, DOUBLES, 0);
+        DoubleVector high = (DoubleVector) v.convertShape(VectorOperators.F2D, DOUBLES, 1);
+        return squares ? high.fma(high, low.fma(low, acc)) : acc.add(low).add(high);
+    }
+
+    @Override
+    protected int arg(VectorOperators.Comparison comparison, ByteBuffer a, int offset, int length) {
+        boolean max = comparison == VectorOperators.GT;
+        FloatVector best = FloatVector.broadcast(SPECIES, identity(max ? Reduction.MAX : Reduction.MIN));
+        IntVector bestIndex = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        IntVector index = IntVector.zero(INTS).addIndex(1);
+        IntVector step = IntVector.broadcast(INTS, SPECIES.length());
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            FloatVector v = load(a, offset + i * Short.BYTES);
+            // NaN is propagated like by max and min, so the first one is returned
+            VectorMask<Float> nan = v.test(VectorOperators.IS_NAN);
+            if (nan.anyTrue()) {
+                return i + nan.firstTrue();
+            }
+            VectorMask<Float> better = max ? best.lt(v) : v.lt(best);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better.cast(INTS));
+            index = index.add(step);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            FloatVector v = load(a, offset + i * Short.BYTES, m);
+            VectorMask<Float> nan = v.test(VectorOperators.IS_NAN).and(m);
+            if (nan.anyTrue()) {
+                return i + nan.firstTrue();
+            }
+            VectorMask<Float> better = (max ? best.lt(v) : v.lt(best)).and(m);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better.cast(INTS));
+        }
+        float value = max ? best.reduceLanes(VectorOperators.MAX) : best.reduceLanes(VectorOperators.MIN);
+        int position = bestIndex.reduceLanes(VectorOperators.MIN, best.eq(value).cast(INTS));
+        // no element is better than the identity, so the first one is returned
+        return position == Integer.MAX_VALUE ? 0 : position;
+    }
+
+    @Override
+    protected void apply(UnaryOperation operation, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            store(apply(operation, load(a, aOffset + offset)), c, cOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            store(apply(operation, load(a, aOffset + offset, m)), c, cOffset + offset, m);
+        }
+    }
+
+    private static FloatVector apply(UnaryOperation operation, FloatVector a) {
+        return switch (operation) {
+            case ABS -> a.abs();
+            case EXP -> a.lanewise(VectorOperators.EXP);
+            case LOG -> a.lanewise(VectorOperators.LOG);
+            case SQRT -> a.sqrt();
+            case TANH -> a.lanewise(VectorOperators.TANH);
+            // 1 / (1 + e^-x)
+            case SIGMOID -> FloatVector.broadcast(SPECIES, 1.0f).div(a.neg().lanewise(VectorOperators.EXP).add(1.0f));
+        };
+    }
+
+    @Override
+    protected void clamp(Float min, Float max, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        FloatVector vMin = FloatVector.broadcast(SPECIES, (float) min);
+        FloatVector vMax = FloatVector.broadcast(SPECIES, (float) max);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Short.BYTES;
+            store(load(a, aOffset + offset).max(vMin).min(vMax), c, cOffset + offset);
+        }
+        if (i < length) {
+            VectorMask<Float> m = SPECIES.indexInRange(i, length);
+            int offset = i * Short.BYTES;
+            store(load(a, aOffset + offset, m).max(vMin).min(vMax), c, cOffset + offset, m);
+        }
+    }
+
+    private static FloatVector apply(Operation operation, FloatVector a, FloatVector b) {
+        return switch (operation) {
+            case ADD -> a.add(b);
+            case SUB -> a.sub(b);
+            case MUL -> a.mul(b);
+            case DIV -> a.div(b);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    @Override
+    protected void gemm(Storage a, int aOffset, int aRowStride, int aColumnStride,
+                        Storage b, int bOffset, int bRowStride, int bColumnStride,
+                        Storage c, int cOffset, int ldc, int m, int n, int p) {
+        HalfFloatGemm.gemm(format, a, aOffset, aRowStride, aColumnStride, b, bOffset, bRowStride, bColumnStride,
+            c, cOffset, ldc, m, n, p);
+    }
+
+    @Override
+    protected Matrix<Float> createEmptyMatrix(int[] dimensions) {
+        return zeros(format, dimensions);
+    }
+
+    @Override
+    protected Matrix<Float> createView(Storage storage, int offset, int[] strides, int[] dimensions) {
+        return new HalfFloatMatrix(format, storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected void set(Float value, int address) {
+        writeFloat(address, value);
+    }
+
+    @Override
+    protected byte type() {
+        return format.type;
+    }
+
+    @Override
+    protected Float read(int address) {
+        return readFloat(address);
+    }
+
+    private float readFloat(int address) {
+        return format.toFloat(storage.getShort(address));
+    }
+
+    private void writeFloat(int address, float value) {
+        storage.putShort(address, format.fromFloat(value));
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public float getFloat(int ... position) {
+        return readFloat(address(position));
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public float getFloat(int row, int column) {
+        return readFloat(address(row, column));
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public float getFloat(long index) {
+        return readFloat(address(index));
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}, rounded to the format.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setFloat(int[] position, float value) {
+        writeFloat(address(position), value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}, rounded to the format.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setFloat(int row, int column, float value) {
+        writeFloat(address(row, column), value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}, rounded to the format.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public void setFloat(long index, float value) {
+        writeFloat(address(index), value);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, float[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                dst[offset + i] = readFloat(address(index + i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            ByteBuffer buffer = storage.buffer(address);
+            int from = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                load(buffer, (from + j) * Short.BYTES).intoArray(dst, offset + i + j);
+            }
+            for (; j < run; j++) {
+                dst[offset + i + j] = readFloat(address + j);
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset}, rounded to the format,
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     */
+    public void set(long index, float[] src, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                writeFloat(address(index + i), src[offset + i]);
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            ByteBuffer buffer = storage.buffer(address);
+            int to = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                store(FloatVector.fromArray(SPECIES, src, offset + i + j), buffer, (to + j) * Short.BYTES);
+            }
+            for (; j < run; j++) {
+                writeFloat(address + j, src[offset + i + j]);
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Replaces every element of {@code this} by its exponential inplace.
+     */
+    public void exp() {
+        apply(UnaryOperation.EXP, this);
+    }
+
+    /**
+     * Stores the exponential of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void exp(Matrix<Float> destination) {
+        apply(UnaryOperation.EXP, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its natural logarithm inplace.
+     */
+    public void log() {
+        apply(UnaryOperation.LOG, this);
+    }
+
+    /**
+     * Stores the natural logarithm of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void log(Matrix<Float> destination) {
+        apply(UnaryOperation.LOG, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its square root inplace.
+     */
+    public void sqrt() {
+        apply(UnaryOperation.SQRT, this);
+    }
+
+    /**
+     * Stores the square root of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sqrt(Matrix<Float> destination) {
+        apply(UnaryOperation.SQRT, destination);
+    }
+
+    /**
+     * Replaces every element of {@code this} by its hyperbolic tangent inplace.
+     */
+    public void tanh() {
+        apply(UnaryOperation.TANH, this);
+    }
+
+    /**
+     * Stores the hyperbolic tangent of every element of {@code this} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void tanh(Matrix<Float> destination) {
+        apply(UnaryOperation.TANH, destination);
+    }
+
+    /**
+     * Replaces every element {@code x} of {@code this} by {@code 1 / (1 + e^-x)} inplace.
+     */
+    public void sigmoid() {
+        apply(UnaryOperation.SIGMOID, this);
+    }
+
+    /**
+     * Stores {@code 1 / (1 + e^-x)} of every element {@code x} of {@code this} in {@code destination},
+     * which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sigmoid(Matrix<Float> destination) {
+        apply(UnaryOperation.SIGMOID, destination);
+    }
+
+    @Override
+    public Matrix<Float> copy() {
+        int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
+        return new HalfFloatMatrix(format, contiguousStorage(), dimensions);
+    }
+
+    public static class HalfFloatMatrixBuilder extends AbstractBuilder<Float> {
+
+        private final Format format;
+
+        HalfFloatMatrixBuilder(Format format) {
+            this.format = format;
+        }
+
+        @Override
+        protected void fill(int offset, byte[] data, Float... row) {
+            for (int i = 0; i < row.length; i++) {
+                TheUnsafe.write(data, offset + i, format.fromFloat(row[i]));
+            }
+        }
+
+        @Override
+        protected HalfFloatMatrix doBuild(byte[] data, int rows, int columns) {
+            return new HalfFloatMatrix(format, Storage.wrap(data, Short.BYTES), rows, columns);
+        }
+
+        @Override
+        protected int byteSize() {
+            return Short.BYTES;
+        }
+    }
+}
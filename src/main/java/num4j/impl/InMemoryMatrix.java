@@ -1,356 +1,1827 @@
 package num4j.impl;
 
-import jdk.incubator.vector.Vector;
-import jdk.incubator.vector.VectorMask;
 import jdk.incubator.vector.VectorOperators;
 import jdk.incubator.vector.VectorSpecies;
 import num4j.api.Builder;
+import num4j.api.Expression;
 import num4j.api.Matrix;
 import num4j.exceptions.IncompatibleDimensionsException;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
-import java.util.stream.IntStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 
 abstract class InMemoryMatrix<T extends Number> implements Matrix<T> {
 
     protected static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
 
+    /**
+     * Number of multiply-adds from which on {@link #mmul(Matrix)} is split across multiple threads.
+     */
+    protected static final long PARALLEL_THRESHOLD = 1L << 21;
+
+    /**
+     * Number of elements from which on reductions are split across multiple threads.
+     */
+    protected static final int PARALLEL_REDUCTION_THRESHOLD = 1 << 20;
+
+    // maximal number of elements reduced by a single call of a kernel, and by a single task of a parallel reduction
+    private static final int REDUCTION_BLOCK = 1024;
+    private static final int REDUCTION_TASK = 1 << 18;
+    // maximal number of elements of a row accumulated at once, and number of rows accumulated sequentially
+    private static final int REDUCTION_TILE = 1024;
+    private static final int REDUCTION_ROWS = 64;
+    // number of rows accumulated by a single call of a kernel, while the accumulators are kept in registers
+    private static final int ROWS_PER_KERNEL = 8;
+
+    // strided views, whose runs of contiguous elements are shorter, are copied before the kernels process them
+    private static final int MIN_STRIDED_RUN = 64;
+
+    // minimal size of a result tile computed by a single task of a parallel mmul
+    private static final int MIN_TILE_ROWS = 32;
+    private static final int MIN_TILE_COLUMNS = 64;
+
+    /**
+     * Elementwise operations, which are implemented by the vectorized kernels of the subclasses.
+     */
+    protected enum Operation {
+        ADD, SUB, MUL, DIV, MIN, MAX
+    }
+
+    /**
+     * Functions applied to every element, which are implemented by the vectorized kernels of the subclasses.
+     * Integral matrices only support {@link #ABS}.
+     */
+    protected enum UnaryOperation {
+        ABS, EXP, LOG, SQRT, TANH, SIGMOID
+    }
+
+    /**
+     * Reductions, which are implemented by the vectorized kernels of the subclasses.
+     */
+    protected enum Reduction {
+        SUM, PROD, MIN, MAX
+    }
+
     /**
      * @return number of elements a matrix with the specified {@code dimensions} contains.
+     * @throws IllegalArgumentException if a matrix cannot contain that many elements
      */
     protected static int nrElements(int ... dimensions) {
-        return Arrays.stream(dimensions)
-            .reduce((i1, i2) -> i1 * i2)
-            .orElse(0);
+        if (dimensions.length == 0) {
+            return 0;
+        }
+        long nrElements = 1;
+        for (int dimension : dimensions) {
+            nrElements *= dimension;
+            if (nrElements > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("A matrix must not contain more than " + Integer.MAX_VALUE + " elements");
+            }
+        }
+        return (int) nrElements;
+    }
+
+    private static void ensureValidDimensions(long nrElements, int ... dimensions) {
+        if (nrElements != nrElements(dimensions)) {
+            throw new IncompatibleDimensionsException("Dimensions do not fit in data");
+        }
+    }
+
+    /**
+     * @throws IncompatibleDimensionsException if {@code length} elements do not fit the {@code dimensions}
+     */
+    static void ensureLength(int length, int ... dimensions) {
+        ensureValidDimensions(length, dimensions);
+    }
+
+    /**
+     * @return a storage using the bytes of {@code buffer} from its position to its limit, without copying them
+     * @throws IncompatibleDimensionsException if the bytes do not hold a whole number of elements
+     */
+    static Storage storageOf(ByteBuffer buffer, int elementSize) {
+        if (buffer.remaining() % elementSize != 0) {
+            throw new IncompatibleDimensionsException("Dimensions do not fit in data");
+        }
+        return Storage.wrap(buffer.slice(), elementSize);
+    }
+
+    /**
+     * @return the strides (in elements) of a matrix with the specified {@code dimensions}, stored in row major order
+     */
+    protected static int[] rowMajorStrides(int ... dimensions) {
+        int[] strides = new int[dimensions.length];
+        int stride = 1;
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            strides[i] = stride;
+            stride *= dimensions[i];
+        }
+        return strides;
+    }
+
+    private final VectorSpecies<T> species;
+    protected Storage storage;
+    // position of the first element and distance between two elements of a dimension in storage, both in elements
+    private int offset;
+    private int[] strides;
+    private int[] dimensions;
+    private final int size;
+    private boolean contiguous;
+
+    InMemoryMatrix(VectorSpecies<T> species, byte[] data, int ... dimensions) {
+        this(species, Storage.wrap(data, species.elementSize() / 8), dimensions);
+        if (data.length % elementSize() != 0) {
+            throw new IncompatibleDimensionsException("Dimensions do not fit in data");
+        }
+    }
+
+    InMemoryMatrix(VectorSpecies<T> species, Storage storage, int ... dimensions) {
+        ensureValidDimensions(storage.nrElements(), dimensions);
+        this.species = species;
+        this.storage = storage;
+        this.offset = 0;
+        this.strides = rowMajorStrides(dimensions);
+        this.dimensions = dimensions;
+        this.size = nrElements(dimensions);
+        this.contiguous = true;
+    }
+
+    /**
+     * Creates a view on {@code storage}, which shares the elements with all other matrices using {@code storage}.
+     */
+    InMemoryMatrix(VectorSpecies<T> species, Storage storage, int offset, int[] strides, int ... dimensions) {
+        this.species = species;
+        this.storage = storage;
+        this.offset = offset;
+        this.strides = strides;
+        this.dimensions = dimensions;
+        this.size = nrElements(dimensions);
+        this.contiguous = isContiguous(strides, dimensions);
+    }
+
+    private static boolean isContiguous(int[] strides, int[] dimensions) {
+        int expected = 1;
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            if (dimensions[i] != 1 && strides[i] != expected) {
+                return false;
+            }
+            expected *= dimensions[i];
+        }
+        return true;
+    }
+
+    @Override
+    public Expression<T> lazy() {
+        return new LazyExpression.Leaf<>(this);
+    }
+
+    @Override
+    public void add(Matrix<T> other) {
+        apply(Operation.ADD, other);
+    }
+
+    @Override
+    public void sub(Matrix<T> other) {
+        apply(Operation.SUB, other);
+    }
+
+    @Override
+    public void mul(Matrix<T> other) {
+        apply(Operation.MUL, other);
+    }
+
+    @Override
+    public void div(Matrix<T> other) {
+        apply(Operation.DIV, other);
+    }
+
+    @Override
+    public void add(Matrix<T> other, Matrix<T> destination) {
+        apply(Operation.ADD, other, destination);
+    }
+
+    @Override
+    public void sub(Matrix<T> other, Matrix<T> destination) {
+        apply(Operation.SUB, other, destination);
+    }
+
+    @Override
+    public void mul(Matrix<T> other, Matrix<T> destination) {
+        apply(Operation.MUL, other, destination);
+    }
+
+    @Override
+    public void div(Matrix<T> other, Matrix<T> destination) {
+        apply(Operation.DIV, other, destination);
+    }
+
+    /**
+     * Applies {@code operation} elementwise and stores the result in {@code destination}. Operands with the dimensions
+     * of {@code this} are combined in a single pass, otherwise {@code this} is copied into the destination first.
+     */
+    private void apply(Operation operation, Matrix<T> other, Matrix<T> destination) {
+        if (!Arrays.equals(dimensions, destination.dimensions())) {
+            throw new IncompatibleDimensionsException("Dimensions of the destination do not match");
+        }
+        InMemoryMatrix<T> target = writableMatrix(destination);
+        checkAliasing(target, this, true);
+        checkAliasing(target, other, true);
+        if (target.type() != type()) {
+            target.copyFrom(withResult(result -> apply(operation, other, result)));
+            return;
+        }
+        if (target.sameElements(this)) {
+            target.apply(operation, other);
+            return;
+        }
+        if (!target.contiguous || !Arrays.equals(dimensions, other.dimensions())) {
+            // the destination is written first, so an operand sharing its elements has to be copied
+            InMemoryMatrix<T> elements = elementsOf(other);
+            Matrix<T> operand = elements != null && target.sameElements(elements) ? other.copy() : other;
+            target.copyFrom(this);
+            target.apply(operation, operand);
+            return;
+        }
+        InMemoryMatrix<T> a = contiguousMatrix();
+        InMemoryMatrix<T> b = contiguousMatrix(sameFormat(other));
+        int elementSize = elementSize();
+        int aAddress = a.offset;
+        int bAddress = b.offset;
+        int cAddress = target.offset;
+        Storage c = target.storage;
+        for (int length = size; length > 0; ) {
+            int run = Math.min(Math.min(length, a.storage.remaining(aAddress)),
+                Math.min(b.storage.remaining(bAddress), c.remaining(cAddress)));
+            int aIndex = a.storage.index(aAddress) * elementSize;
+            int bIndex = b.storage.index(bAddress) * elementSize;
+            int cIndex = c.index(cAddress) * elementSize;
+            if (a.storage.isArray() && b.storage.isArray() && c.isArray()) {
+                apply(operation, a.storage.array(aAddress), aIndex, b.storage.array(bAddress), bIndex, c.array(cAddress), cIndex, run);
+            } else {
+                apply(operation, a.storage.buffer(aAddress), aIndex, b.storage.buffer(bAddress), bIndex,
+                    c.buffer(cAddress), cIndex, run);
+            }
+            aAddress += run;
+            bAddress += run;
+            cAddress += run;
+            length -= run;
+        }
+    }
+
+    @Override
+    public void addScalar(T value) {
+        apply(Operation.ADD, scalar(value));
+    }
+
+    @Override
+    public void subScalar(T value) {
+        apply(Operation.SUB, scalar(value));
+    }
+
+    @Override
+    public void mulScalar(T value) {
+        apply(Operation.MUL, scalar(value));
+    }
+
+    @Override
+    public void divScalar(T value) {
+        apply(Operation.DIV, scalar(value));
+    }
+
+    @Override
+    public void minScalar(T value) {
+        apply(Operation.MIN, scalar(value));
+    }
+
+    @Override
+    public void maxScalar(T value) {
+        apply(Operation.MAX, scalar(value));
+    }
+
+    @Override
+    public void clamp(T min, T max) {
+        if (min.doubleValue() > max.doubleValue()) {
+            throw new IllegalArgumentException("min must not be larger than max");
+        }
+        map((a, aOffset, c, cOffset, length) -> clamp(min, max, a, aOffset, c, cOffset, length), this);
+    }
+
+    @Override
+    public void abs() {
+        apply(UnaryOperation.ABS, this);
+    }
+
+    /**
+     * Applies {@code operation} to every element of {@code this} and stores the results in {@code destination},
+     * which may be {@code this}.
+     * @throws IncompatibleDimensionsException if the dimensions do not match
+     */
+    protected void apply(UnaryOperation operation, Matrix<T> destination) {
+        map((a, aOffset, c, cOffset, length) -> apply(operation, a, aOffset, c, cOffset, length), destination);
+    }
+
+    /**
+     * Maps a run of contiguous elements to the same number of elements.
+     */
+    @FunctionalInterface
+    private interface RunMapper {
+        void map(ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length);
+    }
+
+    /**
+     * Maps all elements of {@code this} to those of {@code destination} in runs, each of them lying within a single chunk
+     * of both matrices. A strided destination, or one stored in another format, is written through a contiguous
+     * temporary matrix.
+     */
+    private void map(RunMapper mapper, Matrix<T> destination) {
+        if (!Arrays.equals(dimensions, destination.dimensions())) {
+            throw new IncompatibleDimensionsException("Dimensions do not match");
+        }
+        InMemoryMatrix<T> target = writableMatrix(destination);
+        checkAliasing(target, this, true);
+        if (!target.contiguous || target.type() != type()) {
+            target.copyFrom(withResult(result -> map(mapper, result)));
+            return;
+        }
+        InMemoryMatrix<T> source = contiguousMatrix();
+        int elementSize = elementSize();
+        int aAddress = source.offset;
+        int cAddress = target.offset;
+        for (int length = size; length > 0; ) {
+            int run = Math.min(length, Math.min(source.storage.remaining(aAddress), target.storage.remaining(cAddress)));
+            mapper.map(source.storage.buffer(aAddress), source.storage.index(aAddress) * elementSize,
+                target.storage.buffer(cAddress), target.storage.index(cAddress) * elementSize, run);
+            aAddress += run;
+            cAddress += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * @return the in memory matrix, whose elements are written to modify {@code matrix}
+     * @throws IllegalArgumentException if {@code matrix} is neither an in memory nor a memory mapped matrix
+     * @throws UnsupportedOperationException if {@code matrix} cannot be modified
+     */
+    private static <T extends Number> InMemoryMatrix<T> writableMatrix(Matrix<T> matrix) {
+        if (matrix instanceof InMemoryMatrix<T> inMemory) {
+            return inMemory;
+        }
+        if (matrix instanceof MemoryMappedMatrix<T> mapped) {
+            return mapped.writableElements();
+        }
+        throw new IllegalArgumentException("Unsupported matrix " + matrix.getClass().getName());
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code destination} shares elements with {@code operand},
+     * unless {@code samePositions} allows them to be at the same positions of both matrices
+     */
+    private static <T extends Number> void checkAliasing(InMemoryMatrix<T> destination, Matrix<T> operand, boolean samePositions) {
+        InMemoryMatrix<T> elements = elementsOf(operand);
+        if (elements != null && destination.overlaps(elements) && !(samePositions && destination.sameElements(elements))) {
+            throw new IllegalArgumentException("Destination must not overlap an operand");
+        }
+    }
+
+    /**
+     * @return the in memory matrix sharing its elements with {@code matrix}, or {@code null} if there is none
+     */
+    private static <T extends Number> InMemoryMatrix<T> elementsOf(Matrix<T> matrix) {
+        if (matrix instanceof InMemoryMatrix<T> inMemory) {
+            return inMemory;
+        }
+        if (matrix instanceof MemoryMappedMatrix<T> mapped) {
+            return mapped.elements();
+        }
+        return null;
+    }
+
+    /**
+     * The check is conservative: matrices overlap, if the ranges of their addresses within the same storage intersect.
+     * @return whether {@code this} and {@code other} may share elements
+     */
+    private boolean overlaps(InMemoryMatrix<T> other) {
+        if (storage != other.storage || size == 0 || other.size == 0) {
+            return false;
+        }
+        return offset <= other.lastAddress() && other.offset <= lastAddress();
+    }
+
+    private int lastAddress() {
+        int last = offset;
+        for (int d = 0; d < dimensions.length; d++) {
+            last += strides[d] * (dimensions[d] - 1);
+        }
+        return last;
+    }
+
+    /**
+     * @return whether {@code this} and {@code other} consist of the same elements at the same positions
+     */
+    private boolean sameElements(InMemoryMatrix<T> other) {
+        if (storage != other.storage || offset != other.offset || !Arrays.equals(dimensions, other.dimensions)) {
+            return false;
+        }
+        for (int d = 0; d < dimensions.length; d++) {
+            if (dimensions[d] > 1 && strides[d] != other.strides[d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return a matrix with the dimensions {@code [1]} containing {@code value}, which is broadcast to all elements
+     */
+    private Matrix<T> scalar(T value) {
+        Matrix<T> scalar = createView(Storage.allocate(1, elementSize()), 0, new int[] {1}, new int[] {1});
+        scalar.set(value, 0);
+        return scalar;
+    }
+
+    /**
+     * Computes {@code this * b + c} in a single pass, if both operands have the same dimensions as {@code this},
+     * else they are broadcast and the multiplication and the addition are done one after another.
+     */
+    @Override
+    public void fma(Matrix<T> b, Matrix<T> c) {
+        if (!Arrays.equals(dimensions, b.dimensions()) || !Arrays.equals(dimensions, c.dimensions())) {
+            // the multiplication must not change the addend
+            InMemoryMatrix<T> elements = elementsOf(c);
+            Matrix<T> addend = elements != null && overlaps(elements) ? c.copy() : c;
+            mul(b);
+            add(addend);
+            return;
+        }
+        if (!contiguous) {
+            updateStrided(copy -> copy.fma(b, c));
+            return;
+        }
+        InMemoryMatrix<T> bSource = contiguousMatrix(withoutOverlap(sameFormat(b)));
+        InMemoryMatrix<T> cSource = contiguousMatrix(withoutOverlap(sameFormat(c)));
+        int elementSize = elementSize();
+        int aAddress = offset;
+        int bAddress = bSource.offset;
+        int cAddress = cSource.offset;
+        Storage bStorage = bSource.storage;
+        Storage cStorage = cSource.storage;
+        for (int length = size; length > 0; ) {
+            int run = Math.min(Math.min(length, storage.remaining(aAddress)),
+                Math.min(bStorage.remaining(bAddress), cStorage.remaining(cAddress)));
+            int aIndex = storage.index(aAddress) * elementSize;
+            int bIndex = bStorage.index(bAddress) * elementSize;
+            int cIndex = cStorage.index(cAddress) * elementSize;
+            if (storage.isArray() && bStorage.isArray() && cStorage.isArray()) {
+                fma(storage.array(aAddress), aIndex, bStorage.array(bAddress), bIndex, cStorage.array(cAddress), cIndex, run);
+            } else {
+                fma(storage.buffer(aAddress), aIndex, bStorage.buffer(bAddress), bIndex, cStorage.buffer(cAddress), cIndex, run);
+            }
+            aAddress += run;
+            bAddress += run;
+            cAddress += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * Computes {@code alpha * x + this} in a single pass, if {@code x} has the same dimensions as {@code this},
+     * else a scaled copy of {@code x} is broadcast.
+     */
+    @Override
+    public void axpy(T alpha, Matrix<T> x) {
+        if (!Arrays.equals(dimensions, x.dimensions())) {
+            ensureBroadcastable(x.dimensions());
+            Matrix<T> scaled = x.copy();
+            scaled.mulScalar(alpha);
+            add(scaled);
+            return;
+        }
+        if (!contiguous) {
+            updateStrided(copy -> copy.axpy(alpha, x));
+            return;
+        }
+        InMemoryMatrix<T> xSource = contiguousMatrix(withoutOverlap(sameFormat(x)));
+        int elementSize = elementSize();
+        int yAddress = offset;
+        int xAddress = xSource.offset;
+        Storage xStorage = xSource.storage;
+        for (int length = size; length > 0; ) {
+            int run = Math.min(length, Math.min(storage.remaining(yAddress), xStorage.remaining(xAddress)));
+            int yIndex = storage.index(yAddress) * elementSize;
+            int xIndex = xStorage.index(xAddress) * elementSize;
+            if (storage.isArray() && xStorage.isArray()) {
+                axpy(alpha, xStorage.array(xAddress), xIndex, storage.array(yAddress), yIndex, run);
+            } else {
+                axpy(alpha, xStorage.buffer(xAddress), xIndex, storage.buffer(yAddress), yIndex, run);
+            }
+            yAddress += run;
+            xAddress += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * Applies {@code operation} elementwise and inplace, broadcasting {@code other} if its dimensions differ.
+     */
+    private void apply(Operation operation, Matrix<T> operand) {
+        Matrix<T> other = withoutOverlap(sameFormat(operand));
+        boolean broadcast = !Arrays.equals(dimensions, other.dimensions());
+        if (broadcast) {
+            ensureBroadcastable(other.dimensions());
+        }
+        if (broadcast || !contiguous || other instanceof InMemoryMatrix<T> inMemory && !inMemory.contiguous) {
+            applyStrided(operation, other);
+            return;
+        }
+        applyRun(operation, offset, storage(other), other instanceof InMemoryMatrix<T> inMemory ? inMemory.offset : 0, size);
+    }
+
+    /**
+     * @return {@code matrix}, or a copy of it, if it shares elements with {@code this} at other positions,
+     * which could be overwritten before they are read
+     */
+    private Matrix<T> withoutOverlap(Matrix<T> matrix) {
+        InMemoryMatrix<T> elements = elementsOf(matrix);
+        return elements != null && overlapsElsewhere(elements) ? matrix.copy() : matrix;
+    }
+
+    /**
+     * @return whether {@code other} shares elements with {@code this} at other positions
+     */
+    boolean overlapsElsewhere(InMemoryMatrix<T> other) {
+        return overlaps(other) && !sameElements(other);
+    }
+
+    /**
+     * Applies {@code operation} to {@code other}, whose elements are repeated along the dimensions it lacks
+     * or has of size 1, without copying them. Both matrices may be strided views: the elements are processed in runs
+     * over the trailing dimensions, along which the elements of {@code this} are contiguous and those of {@code other}
+     * either contiguous or constant. Views, whose runs are short, are copied instead.
+     */
+    private void applyStrided(Operation operation, Matrix<T> other) {
+        Storage b;
+        int bAddress;
+        int[] bStrides;
+        if (other instanceof InMemoryMatrix<T> inMemory) {
+            b = inMemory.storage;
+            bAddress = inMemory.offset;
+            bStrides = broadcastStrides(inMemory.dimensions, inMemory.strides);
+        } else {
+            b = storage(other);
+            bAddress = 0;
+            bStrides = broadcastStrides(other.dimensions(), rowMajorStrides(other.dimensions()));
+        }
+
+        boolean constant = true;
+        boolean sequential = true;
+        int run = 1;
+        int split = dimensions.length;
+        for (; split > 0; split--) {
+            int d = split - 1;
+            if (dimensions[d] == 1) {
+                continue;
+            }
+            boolean extendsConstant = constant && bStrides[d] == 0;
+            boolean extendsSequential = sequential && bStrides[d] == run;
+            if (strides[d] != run || !extendsConstant && !extendsSequential) {
+                break;
+            }
+            constant = extendsConstant;
+            sequential = extendsSequential;
+            run *= dimensions[d];
+        }
+
+        if (run < MIN_STRIDED_RUN && run < size) {
+            if (other instanceof InMemoryMatrix<T> inMemory && !inMemory.contiguous) {
+                apply(operation, inMemory.contiguousMatrix());
+                return;
+            }
+            if (!contiguous) {
+                updateStrided(copy -> copy.apply(operation, other));
+                return;
+            }
+        }
+
+        int[] index = new int[split];
+        int aAddress = offset;
+        for (int processed = 0; processed < size; processed += run) {
+            if (constant) {
+                applyConstant(operation, aAddress, b, bAddress, run);
+            } else {
+                applyRun(operation, aAddress, b, bAddress, run);
+            }
+            // next position of the leading dimensions
+            for (int d = split - 1; d >= 0; d--) {
+                aAddress += strides[d];
+                bAddress += bStrides[d];
+                if (++index[d] < dimensions[d]) {
+                    break;
+                }
+                aAddress -= strides[d] * dimensions[d];
+                bAddress -= bStrides[d] * dimensions[d];
+                index[d] = 0;
+            }
+        }
+    }
+
+    /**
+     * Applies {@code operation} to {@code length} contiguous elements of both matrices, starting at the given
+     * addresses. The elements are processed in runs, each of them lying within a single chunk of both matrices.
+     */
+    private void applyRun(Operation operation, int aAddress, Storage b, int bAddress, int length) {
+        int elementSize = elementSize();
+        while (length > 0) {
+            int run = Math.min(length, Math.min(storage.remaining(aAddress), b.remaining(bAddress)));
+            int aIndex = storage.index(aAddress) * elementSize;
+            int bIndex = b.index(bAddress) * elementSize;
+            if (storage.isArray() && b.isArray()) {
+                byte[] a = storage.array(aAddress);
+                apply(operation, a, aIndex, b.array(bAddress), bIndex, a, aIndex, run);
+            } else {
+                apply(operation, storage.buffer(aAddress), aIndex, b.buffer(bAddress), bIndex, run);
+            }
+            aAddress += run;
+            bAddress += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * Applies {@code operation} to {@code length} contiguous elements of {@code this}, starting at {@code aAddress},
+     * and the element at {@code bAddress} of {@code b}.
+     */
+    private void applyConstant(Operation operation, int aAddress, Storage b, int bAddress, int length) {
+        int elementSize = elementSize();
+        while (length > 0) {
+            int run = Math.min(length, storage.remaining(aAddress));
+            int aIndex = storage.index(aAddress) * elementSize;
+            if (storage.isArray()) {
+                apply(operation, storage.array(aAddress), aIndex, b, bAddress, run);
+            } else {
+                apply(operation, storage.buffer(aAddress), aIndex, b, bAddress, run);
+            }
+            aAddress += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * @return the strides of a matrix with {@code otherStrides} and {@code otherDimensions}, when it is broadcast
+     * to the dimensions of {@code this}: they are {@code 0} along the dimensions its elements are repeated
+     */
+    private int[] broadcastStrides(int[] otherDimensions, int[] otherStrides) {
+        int shift = dimensions.length - otherDimensions.length;
+        int[] broadcastStrides = new int[dimensions.length];
+        for (int d = shift; d < dimensions.length; d++) {
+            if (otherDimensions[d - shift] != 1) {
+                broadcastStrides[d] = otherStrides[d - shift];
+            }
+        }
+        return broadcastStrides;
+    }
+
+    /**
+     * Checks whether a matrix with {@code otherDimensions} can be broadcast to the dimensions of {@code this}:
+     * aligned at the last dimension, each of its dimensions has to be either equal or 1.
+     * @throws IncompatibleDimensionsException if it cannot be broadcast
+     */
+    private void ensureBroadcastable(int[] otherDimensions) {
+        int shift = dimensions.length - otherDimensions.length;
+        if (shift < 0) {
+            throw new IncompatibleDimensionsException("Dimensions do not match");
+        }
+        for (int d = 0; d < otherDimensions.length; d++) {
+            if (otherDimensions[d] != 1 && otherDimensions[d] != dimensions[d + shift]) {
+                throw new IncompatibleDimensionsException("Dimensions do not match");
+            }
+        }
+    }
+
+    /**
+     * Applies {@code update} to a contiguous copy of {@code this} and writes the result back into the strided elements.
+     */
+    private void updateStrided(Consumer<InMemoryMatrix<T>> update) {
+        InMemoryMatrix<T> contiguousCopy = contiguousMatrix();
+        update.accept(contiguousCopy);
+        StridedCopy.copy(contiguousCopy.storage, 0, rowMajorStrides(dimensions), storage, offset, strides, dimensions);
+    }
+
+    /**
+     * @return {@code this}, or a contiguous copy if it is a strided view
+     */
+    InMemoryMatrix<T> contiguousMatrix() {
+        return contiguous ? this : (InMemoryMatrix<T>) copy();
+    }
+
+    /**
+     * @return {@code this}, if its elements can be processed in place in long runs, or a contiguous copy
+     */
+    private InMemoryMatrix<T> matrixWithLongRuns() {
+        return contiguous || contiguousRun() >= MIN_STRIDED_RUN ? this : contiguousMatrix();
+    }
+
+    /**
+     * @return the number of subsequent elements in row major order, which are subsequent in {@link #storage} as well
+     */
+    private int contiguousRun() {
+        int run = 1;
+        for (int d = dimensions.length - 1; d >= 0; d--) {
+            if (dimensions[d] != 1 && strides[d] != run) {
+                break;
+            }
+            run *= dimensions[d];
+        }
+        return run;
+    }
+
+    /**
+     * @return {@code matrix}, or a contiguous matrix containing its elements, if it is a strided view or not stored in memory
+     */
+    private InMemoryMatrix<T> contiguousMatrix(Matrix<T> matrix) {
+        if (matrix instanceof InMemoryMatrix<T> inMemory) {
+            return inMemory.contiguousMatrix();
+        }
+        return (InMemoryMatrix<T>) createView(storage(matrix), 0, rowMajorStrides(matrix.dimensions()), matrix.dimensions());
+    }
+
+    /**
+     * @return the elements of {@code matrix}, in the byte order used by the vectorized operations
+     */
+    private Storage storage(Matrix<T> matrix) {
+        if (matrix instanceof InMemoryMatrix<T> inMemory) {
+            return inMemory.storage;
+        }
+        if (matrix instanceof MemoryMappedMatrix<T> mapped) {
+            return mapped.storage;
+        }
+        return Storage.wrap(matrix.data(), elementSize());
+    }
+
+    /**
+     * @return {@code matrix}, or a copy of it in the format of {@code this}, if its elements are stored differently
+     * (e.g. with 16 instead of 32 bits), so that the kernels can read both of them alike
+     */
+    Matrix<T> sameFormat(Matrix<T> matrix) {
+        InMemoryMatrix<T> elements = elementsOf(matrix);
+        if (elements == null || elements.type() == type()) {
+            return matrix;
+        }
+        InMemoryMatrix<T> copy = (InMemoryMatrix<T>) createEmptyMatrix(Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        copy.copyFrom(elements);
+        return copy;
+    }
+
+    /**
+     * @return a new matrix with the dimensions of {@code this}, into which {@code operation} has written its result
+     */
+    private InMemoryMatrix<T> withResult(Consumer<InMemoryMatrix<T>> operation) {
+        InMemoryMatrix<T> result = (InMemoryMatrix<T>) createEmptyMatrix(Arrays.copyOf(dimensions, dimensions.length));
+        operation.accept(result);
+        return result;
+    }
+
+    private int[] padMatrix(int[] dimensions, int offset) {
+        int[] paddedMatrix = new int[dimensions.length + offset];
+        Arrays.fill(paddedMatrix, 1);
+        System.arraycopy(dimensions, 0, paddedMatrix, offset, dimensions.length);
+        return paddedMatrix;
+    }
+
+    /**
+     * @return a view with leading dimensions of size 1 added, so that it has {@code nDim} dimensions
+     */
+    private InMemoryMatrix<T> padded(int nDim) {
+        if (dimensions.length == nDim) {
+            return this;
+        }
+        int[] paddedStrides = new int[nDim];
+        System.arraycopy(strides, 0, paddedStrides, nDim - strides.length, strides.length);
+        return (InMemoryMatrix<T>) createView(storage, offset, paddedStrides, padMatrix(dimensions, nDim - dimensions.length));
+    }
+
+    public Matrix<T> mmul(Matrix<T> other) {
+        return mmul(other, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    public Matrix<T> mmul(Matrix<T> other, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        InMemoryMatrix<T> result = (InMemoryMatrix<T>) createEmptyMatrix(mmulDimensions(other));
+        mmul(other, result, parallelism);
+        return result;
+    }
+
+    @Override
+    public void mmul(Matrix<T> other, Matrix<T> destination) {
+        int[] productDimensions = mmulDimensions(other);
+        if (!Arrays.equals(productDimensions, destination.dimensions())) {
+            throw new IncompatibleDimensionsException("Dimensions of the destination do not match the product");
+        }
+        InMemoryMatrix<T> target = writableMatrix(destination);
+        checkAliasing(target, this, false);
+        checkAliasing(target, other, false);
+        if (!target.contiguous || target.type() != type()) {
+            target.copyFrom(mmul(other));
+            return;
+        }
+        target.storage.clear(target.offset, target.size);
+        mmul(other, target, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Checks whether {@code this} and {@code other} can be multiplied, adding leading dimensions of size 1
+     * to the one with fewer dimensions.
+     * @return the dimensions of the product
+     */
+    int[] mmulDimensions(Matrix<T> other) {
+        if (dimensions().length < 2 || other.dimensions().length < 2) {
+            throw new IllegalArgumentException("Require at least 2D Matrices");
+        }
+
+        // before checking the dimensions: add dimension-padding to the smaller matrix, without reshaping it
+        int nDim = Math.max(dimensions.length, other.dimensions().length);
+        int[] aDimensions = padMatrix(dimensions, nDim - dimensions.length);
+        int[] bDimensions = padMatrix(other.dimensions(), nDim - other.dimensions().length);
+
+        // check if n-dimensions except 2D is compatible
+        int[] resultDimensions = new int[nDim];
+
+        for (int i = 0; i < nDim - 2; i++) {
+            int d1 = aDimensions[i];
+            int d2 = bDimensions[i];
+            if (d1 != d2 && d1 != 1 && d2 != 1) {
+                throw new IncompatibleDimensionsException("Matrices cannot be multiplied");
+            } else {
+                resultDimensions[i] = Math.max(d1, d2);
+            }
+        }
+
+        // check if 2 - dimension is compatible
+        if (aDimensions[nDim - 1] != bDimensions[nDim - 2]) {
+            throw new IncompatibleDimensionsException("Matrices cannot be multiplied: Invalid rows/cols");
+        }
+
+        resultDimensions[nDim - 2] = aDimensions[nDim - 2];
+        resultDimensions[nDim - 1] = bDimensions[nDim - 1];
+        return resultDimensions;
+    }
+
+    /**
+     * Adds the product of {@code this} and {@code other} to {@code result}, whose dimensions are given by
+     * {@link #mmulDimensions(Matrix)}. The result has to be stored in row major order.
+     */
+    void mmul(Matrix<T> operand, InMemoryMatrix<T> result, int parallelism) {
+        Matrix<T> other = sameFormat(operand);
+        int nDim = result.dimensions.length;
+        if (dimensions.length != nDim || other.dimensions().length != nDim) {
+            InMemoryMatrix<T> elements = elementsOf(other);
+            padded(nDim).mmul((elements != null ? elements : contiguousMatrix(other)).padded(nDim), result, parallelism);
+            return;
+        }
+        int[] resultDimensions = result.dimensions;
+        int[] otherStrides = other instanceof InMemoryMatrix<T> inMemory ? inMemory.strides : rowMajorStrides(other.dimensions());
+        int otherOffset = other instanceof InMemoryMatrix<T> inMemory ? inMemory.offset : 0;
+        List<MmulTile> tiles = new ArrayList<>();
+        mmul(other, otherStrides, result, nDim-1, offset, otherOffset, 0, tiles);
+
+        int m = resultDimensions[nDim - 2];
+        int n = dimensions[nDim - 1];
+        int p = resultDimensions[nDim - 1];
+        Storage b = storage(other);
+        int bRowStride = otherStrides[nDim - 2];
+        int bColumnStride = otherStrides[nDim - 1];
+        Storage c = result.storage;
+        int cOffset = result.offset;
+        if (parallelism == 1 || (long) tiles.size() * m * n * p < PARALLEL_THRESHOLD) {
+            for (MmulTile tile : tiles) {
+                runTile(tile, b, bRowStride, bColumnStride, c, cOffset, n, p);
+            }
+            return;
+        }
+
+        tiles = splitTiles(tiles, m, p, parallelism);
+        int groups = Math.min(parallelism, tiles.size());
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            List<MmulTile> group = tiles.subList(g * tiles.size() / groups, (g + 1) * tiles.size() / groups);
+            tasks.add(ForkJoinTask.adapt(() -> group.forEach(tile -> runTile(tile, b, bRowStride, bColumnStride, c, cOffset, n, p))));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private void runTile(MmulTile tile, Storage b, int bRowStride, int bColumnStride, Storage c, int cOffset, int n, int p) {
+        int aRowStride = strides[strides.length - 2];
+        int aColumnStride = strides[strides.length - 1];
+        gemm(storage, tile.tS + tile.row * aRowStride, aRowStride, aColumnStride,
+            b, tile.oS + tile.column * bColumnStride, bRowStride, bColumnStride,
+            c, cOffset + tile.offset + tile.row * p + tile.column, p,
+            tile.rows, n, tile.columns);
+    }
+
+    /**
+     * Splits the {@code m x p} result of each tile into smaller tiles,
+     * so that every thread gets a couple of tiles to work on.
+     */
+    private List<MmulTile> splitTiles(List<MmulTile> tiles, int m, int p, int parallelism) {
+        int perBatch = ceilDiv(4 * parallelism, tiles.size());
+        int rowTiles = Math.max(1, Math.min(perBatch, m / MIN_TILE_ROWS));
+        int columnTiles = Math.max(1, Math.min(ceilDiv(perBatch, rowTiles), p / MIN_TILE_COLUMNS));
+        int rowStep = ceilDiv(m, rowTiles);
+        int columnStep = ceilDiv(p, columnTiles);
+
+        List<MmulTile> split = new ArrayList<>(tiles.size() * rowTiles * columnTiles);
+        for (MmulTile tile : tiles) {
+            for (int row = 0; row < m; row += rowStep) {
+                for (int column = 0; column < p; column += columnStep) {
+                    split.add(new MmulTile(tile.tS, tile.oS, tile.offset,
+                        row, Math.min(rowStep, m - row), column, Math.min(columnStep, p - column)));
+                }
+            }
+        }
+        return split;
+    }
+
+    private static int ceilDiv(int x, int y) {
+        return (x + y - 1) / y;
+    }
+
+    /**
+     * Part of the result of a matrix multiplication: {@code rows x columns} elements of the 2D matrix
+     * starting at {@code offset}, computed from the 2D matrices starting at {@code tS} of this and {@code oS} of other.
+     */
+    private record MmulTile(int tS, int oS, int offset, int row, int rows, int column, int columns) {
+    }
+
+    /**
+     * multiplies two matrices with the same length
+     * @param other other matrix
+     * @param otherStrides strides of the other matrix
+     * @param result resulting matrix
+     * @param level current matrix dimension (level + == current dimension. f.e.: level=1 => 2D Matrix)
+     * @param tS start index of this within its data
+     * @param oS start index of other within its data
+     * @param offset offset for destination index
+     * @param tiles collects the 2D multiplications to be done
+     * */
+    private void mmul(Matrix<T> other, int[] otherStrides, Matrix<T> result, int level, int tS, int oS, int offset, List<MmulTile> tiles) {
+        if (level == 1) {
+            int m = result.dimensions()[result.dimensions().length - 2];
+            int p = result.dimensions()[result.dimensions().length - 1];
+            tiles.add(new MmulTile(tS, oS, offset, 0, m, 0, p));
+        } else {
+            int nDim = dimensions.length;
+            int d1 = dimensions[nDim-1 - level];
+            int d2 = other.dimensions()[nDim-1 - level];
+
+            int destNrElements = nrElements(Arrays.copyOfRange(result.dimensions(), nDim - level, nDim));
+
+            int tStride = strides[nDim-1 - level];
+            int oStride = otherStrides[nDim-1 - level];
+
+            if (d1 == 1) {
+                for (int i = 0; i < d2; i++) {
+                    mmul(other, otherStrides, result, level-1, tS, oS + i * oStride, offset + i * destNrElements, tiles);
+                }
+            } else if (d2 == 1) {
+                for (int i = 0; i < d1; i++) {
+                    mmul(other, otherStrides, result, level-1, tS + i * tStride, oS, offset + i * destNrElements, tiles);
+                }
+            } else {
+                for (int i = 0; i < d1; i++) {
+                    mmul(other, otherStrides, result, level-1, tS + i * tStride, oS + i * oStride, offset + (i * destNrElements), tiles);
+                }
+            }
+        }
+    }
+
+    @Override
+    public T sum() {
+        return reduce(Reduction.SUM);
+    }
+
+    @Override
+    public T prod() {
+        return reduce(Reduction.PROD);
+    }
+
+    @Override
+    public T min() {
+        ensureNotEmpty();
+        return reduce(Reduction.MIN);
+    }
+
+    @Override
+    public T max() {
+        ensureNotEmpty();
+        return reduce(Reduction.MAX);
+    }
+
+    @Override
+    public double mean() {
+        return sumAsDouble(false) / size;
+    }
+
+    @Override
+    public double norm2() {
+        return Math.sqrt(sumAsDouble(true));
+    }
+
+    @Override
+    public long argmin() {
+        return arg(VectorOperators.LT);
+    }
+
+    @Override
+    public long argmax() {
+        return arg(VectorOperators.GT);
+    }
+
+    @Override
+    public Matrix<T> sum(int axis) {
+        return reduce(Reduction.SUM, axis, false);
+    }
+
+    @Override
+    public Matrix<T> sum(int axis, boolean keepDimension) {
+        return reduce(Reduction.SUM, axis, keepDimension);
+    }
+
+    @Override
+    public Matrix<T> prod(int axis) {
+        return reduce(Reduction.PROD, axis, false);
+    }
+
+    @Override
+    public Matrix<T> prod(int axis, boolean keepDimension) {
+        return reduce(Reduction.PROD, axis, keepDimension);
+    }
+
+    @Override
+    public Matrix<T> min(int axis) {
+        return reduce(Reduction.MIN, axis, false);
+    }
+
+    @Override
+    public Matrix<T> min(int axis, boolean keepDimension) {
+        return reduce(Reduction.MIN, axis, keepDimension);
+    }
+
+    @Override
+    public Matrix<T> max(int axis) {
+        return reduce(Reduction.MAX, axis, false);
+    }
+
+    @Override
+    public Matrix<T> max(int axis, boolean keepDimension) {
+        return reduce(Reduction.MAX, axis, keepDimension);
+    }
+
+    @Override
+    public Matrix<T> mean(int axis) {
+        return mean(axis, false);
+    }
+
+    @Override
+    public Matrix<T> mean(int axis, boolean keepDimension) {
+        Matrix<T> sum = reduce(Reduction.SUM, axis, keepDimension);
+        if (dimensions[axis] > 0) {
+            sum.divScalar(valueOf(dimensions[axis]));
+        }
+        return sum;
+    }
+
+    private T reduce(Reduction reduction) {
+        if (size == 0) {
+            return reduce(reduction, ByteBuffer.allocate(0), 0, 0);
+        }
+        return reduce((buffer, offset, index, length) -> reduce(reduction, buffer, offset, length),
+            (left, right) -> combine(reduction, left, right));
+    }
+
+    private double sumAsDouble(boolean squares) {
+        if (size == 0) {
+            return 0;
+        }
+        return reduce((buffer, offset, index, length) -> sumAsDouble(buffer, offset, length, squares), Double::sum);
+    }
+
+    /**
+     * @return the index of the first element, which is not {@code comparison} to any other element
+     */
+    private long arg(VectorOperators.Comparison comparison) {
+        ensureNotEmpty();
+        InMemoryMatrix<T> source = matrixWithLongRuns();
+        return source.reduce((buffer, offset, index, length) -> (long) index + arg(comparison, buffer, offset, length),
+            (left, right) -> {
+                double l = source.read(source.address((long) left)).doubleValue();
+                double r = source.read(source.address((long) right)).doubleValue();
+                // the first NaN wins, like max and min propagate it
+                if (Double.isNaN(l) || Double.isNaN(r)) {
+                    return Double.isNaN(l) ? left : right;
+                }
+                return (comparison == VectorOperators.LT ? r < l : r > l) ? right : left;
+            });
+    }
+
+    private void ensureNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("Matrix is empty");
+        }
+    }
+
+    /**
+     * Reduces the elements along {@code axis}. Viewing {@code this} as {@code outer} blocks of {@code n} rows
+     * of {@code inner} elements, the last axis ({@code inner == 1}) is reduced like whole matrices,
+     * one block at a time, while all other axes are reduced by accumulating whole rows.
+     */
+    private Matrix<T> reduce(Reduction reduction, int axis, boolean keepDimension) {
+        checkAxis(axis);
+        int outer = 1;
+        for (int d = 0; d < axis; d++) {
+            outer *= dimensions[d];
+        }
+        int n = dimensions[axis];
+        int inner = 1;
+        for (int d = axis + 1; d < dimensions.length; d++) {
+            inner *= dimensions[d];
+        }
+        InMemoryMatrix<T> result = (InMemoryMatrix<T>) createEmptyMatrix(reducedDimensions(axis, keepDimension));
+        if (result.size == 0) {
+            return result;
+        }
+        if (n == 0) {
+            if (reduction == Reduction.MIN || reduction == Reduction.MAX) {
+                throw new IllegalStateException("Axis is empty");
+            }
+            T identity = reduce(reduction, ByteBuffer.allocate(0), 0, 0);
+            for (int i = 0; i < result.size; i++) {
+                result.set(identity, result.offset + i);
+            }
+            return result;
+        }
+        InMemoryMatrix<T> source = contiguousMatrix();
+        if (inner == 1) {
+            RunReducer<T> reducer = (buffer, offset, index, length) -> reduce(reduction, buffer, offset, length);
+            BinaryOperator<T> combiner = (left, right) -> combine(reduction, left, right);
+            for (int o = 0; o < outer; o++) {
+                result.set(source.reduce(reducer, combiner, o * n, (o + 1) * n), result.offset + o);
+            }
+        } else {
+            source.reduceRows(reduction, result, outer, n, inner);
+        }
+        return result;
+    }
+
+    private int[] reducedDimensions(int axis, boolean keepDimension) {
+        if (keepDimension) {
+            int[] reduced = Arrays.copyOf(dimensions, dimensions.length);
+            reduced[axis] = 1;
+            return reduced;
+        }
+        if (dimensions.length == 1) {
+            return new int[] {1};
+        }
+        int[] reduced = new int[dimensions.length - 1];
+        System.arraycopy(dimensions, 0, reduced, 0, axis);
+        System.arraycopy(dimensions, axis + 1, reduced, axis, dimensions.length - axis - 1);
+        return reduced;
+    }
+
+    /**
+     * Reduces the {@code n} rows of {@code inner} elements of each of the {@code outer} blocks of {@code this}
+     * into the rows of {@code result}, accumulating whole rows with vectorized kernels.
+     * Long rows are split into tiles, whose accumulators stay in the cache. Short rows are grouped,
+     * so that the accumulators are wide enough for the vectors: consecutive rows are contiguous,
+     * thus a group of them is accumulated like a single row, and the rows of its accumulator are combined at the end.
+     */
+    private void reduceRows(Reduction reduction, InMemoryMatrix<T> result, int outer, int n, int inner) {
+        int elementSize = elementSize();
+        int group = inner < REDUCTION_TILE ? Math.max(1, Math.min(n, REDUCTION_TILE / inner)) : 1;
+        int groups = n / group;
+        int rowStride = group * inner;
+        List<ByteBuffer> accumulators = new ArrayList<>();
+        for (int o = 0; o < outer; o++) {
+            int start = o * n * inner;
+            for (int column = 0; column < inner; column += REDUCTION_TILE) {
+                int length = group > 1 ? rowStride : Math.min(REDUCTION_TILE, inner - column);
+                int resultLength = Math.min(length, inner);
+                reduceRows(reduction, accumulators, 0, start + column, rowStride, 0, groups, length);
+                ByteBuffer accumulator = accumulators.get(0);
+                for (int row = 1; row < group; row++) {
+                    accumulate(reduction, accumulator, 0, accumulator, row * inner * elementSize, 0, 1, inner);
+                }
+                for (int row = groups * group; row < n; row++) {
+                    accumulateRow(reduction, accumulator, offset + start + row * inner + column, resultLength);
+                }
+                Storage.copy(Storage.wrap(accumulator.array(), elementSize), 0,
+                    result.storage, result.offset + o * inner + column, resultLength);
+            }
+        }
+    }
+
+    /**
+     * Stores {@code reduction} of the rows {@code from} to {@code to} in the accumulator at {@code level},
+     * each row consisting of {@code length} elements, the first one starting at index {@code start}.
+     * Blocks of rows are combined pairwise, using the accumulators of the following levels.
+     */
+    private void reduceRows(Reduction reduction, List<ByteBuffer> accumulators, int level,
+                            int start, int rowStride, int from, int to, int length) {
+        while (accumulators.size() <= level) {
+            accumulators.add(ByteBuffer.allocate(REDUCTION_TILE * elementSize()));
+        }
+        ByteBuffer accumulator = accumulators.get(level);
+        if (to - from <= REDUCTION_ROWS) {
+            Storage.copy(storage, offset + start + from * rowStride, Storage.wrap(accumulator.array(), elementSize()), 0, length);
+            for (int row = from + 1; row < to; row += ROWS_PER_KERNEL) {
+                accumulateRows(reduction, accumulator, offset + start + row * rowStride, rowStride,
+                    Math.min(ROWS_PER_KERNEL, to - row), length);
+            }
+            return;
+        }
+        int middle = from + ceilDiv(to - from, REDUCTION_ROWS) / 2 * REDUCTION_ROWS;
+        reduceRows(reduction, accumulators, level, start, rowStride, from, middle, length);
+        reduceRows(reduction, accumulators, level + 1, start, rowStride, middle, to, length);
+        accumulate(reduction, accumulator, 0, accumulators.get(level + 1), 0, 0, 1, length);
+    }
+
+    /**
+     * Accumulates {@code rows} rows of {@code length} contiguous elements into {@code accumulator},
+     * the first one starting at {@code address}. The rows are accumulated by a single call of the kernel,
+     * unless they cross the border of a chunk.
+     */
+    private void accumulateRows(Reduction reduction, ByteBuffer accumulator, int address, int rowStride, int rows, int length) {
+        int elementSize = elementSize();
+        if (storage.remaining(address) >= (rows - 1) * rowStride + length) {
+            accumulate(reduction, accumulator, 0, storage.buffer(address), storage.index(address) * elementSize,
+                rowStride * elementSize, rows, length);
+            return;
+        }
+        for (int row = 0; row < rows; row++) {
+            accumulateRow(reduction, accumulator, address + row * rowStride, length);
+        }
+    }
+
+    /**
+     * Accumulates {@code length} contiguous elements, starting at {@code address}, into {@code accumulator}.
+     */
+    private void accumulateRow(Reduction reduction, ByteBuffer accumulator, int address, int length) {
+        int elementSize = elementSize();
+        for (int done = 0; done < length; ) {
+            int run = Math.min(length - done, storage.remaining(address));
+            accumulate(reduction, accumulator, done * elementSize, storage.buffer(address), storage.index(address) * elementSize,
+                0, 1, run);
+            address += run;
+            done += run;
+        }
+    }
+
+    /**
+     * Reduces a run of contiguous elements to a partial result.
+     */
+    @FunctionalInterface
+    private interface RunReducer<P> {
+        /**
+         * @param offset byte offset of the first element in {@code buffer}
+         * @param index index (in row major order) of the first element in the matrix
+         */
+        P reduce(ByteBuffer buffer, int offset, int index, int length);
+    }
+
+    /**
+     * Reduces all elements of a non-empty matrix. The elements are split into halves recursively,
+     * whose partial results are combined pairwise, so that rounding errors of sums grow only logarithmically.
+     * Large matrices are reduced by multiple threads, the halves being split and combined the same way.
+     * Strided views are reduced in place, unless their runs of contiguous elements are short.
+     */
+    private <P> P reduce(RunReducer<P> reducer, BinaryOperator<P> combiner) {
+        InMemoryMatrix<T> source = matrixWithLongRuns();
+        if (size < PARALLEL_REDUCTION_THRESHOLD) {
+            return source.reduce(reducer, combiner, 0, size);
+        }
+        return ForkJoinPool.commonPool().invoke(new ReductionTask<>(source, reducer, combiner, 0, size));
+    }
+
+    private <P> P reduce(RunReducer<P> reducer, BinaryOperator<P> combiner, int from, int to) {
+        if (to - from <= REDUCTION_BLOCK) {
+            return reduceRuns(reducer, combiner, from, to);
+        }
+        int middle = middle(from, to);
+        return combiner.apply(reduce(reducer, combiner, from, middle), reduce(reducer, combiner, middle, to));
+    }
+
+    /**
+     * @return the end of the first half of the elements from {@code from} to {@code to}, at the border of a block
+     */
+    private static int middle(int from, int to) {
+        int blocks = ceilDiv(to - from, REDUCTION_BLOCK);
+        return from + blocks / 2 * REDUCTION_BLOCK;
+    }
+
+    /**
+     * Reduces the elements from {@code from} to {@code to}, each run lying within a single chunk
+     * and a single run of contiguous elements.
+     */
+    private <P> P reduceRuns(RunReducer<P> reducer, BinaryOperator<P> combiner, int from, int to) {
+        P result = null;
+        int run = contiguous ? size : contiguousRun();
+        for (int index = from; index < to; ) {
+            int address = address((long) index);
+            int length = Math.min(Math.min(to - index, run - index % run), storage.remaining(address));
+            P partial = reducer.reduce(storage.buffer(address), storage.index(address) * elementSize(), index, length);
+            result = result == null ? partial : combiner.apply(result, partial);
+            index += length;
+        }
+        return result;
+    }
+
+    private static final class ReductionTask<T extends Number, P> extends RecursiveTask<P> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final InMemoryMatrix<T> matrix;
+        private final RunReducer<P> reducer;
+        private final BinaryOperator<P> combiner;
+        private final int from;
+        private final int to;
+
+        ReductionTask(InMemoryMatrix<T> matrix, RunReducer<P> reducer, BinaryOperator<P> combiner, int from, int to) {
+            this.matrix = matrix;
+            this.reducer = reducer;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected P compute() {
+            if (to - from <= REDUCTION_TASK) {
+                return matrix.reduce(reducer, combiner, from, to);
+            }
+            int middle = middle(from, to);
+            ReductionTask<T, P> left = new ReductionTask<>(matrix, reducer, combiner, from, middle);
+            left.fork();
+            P right = new ReductionTask<>(matrix, reducer, combiner, middle, to).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+
+    /**
+     * Transposes {@code this} without copying any elements:
+     * the returned matrix is a view, sharing its elements with {@code this}.
+     */
+    public Matrix<T> transpose(int ... swap) {
+        checkSwapPermutation(swap);
+        int[] newDimensions = new int[dimensions().length];
+        int[] newStrides = new int[dimensions().length];
+        for (int i = 0; i < newDimensions.length; i++) {
+            newDimensions[i] = dimensions()[swap[i]];
+            newStrides[i] = strides[swap[i]];
+        }
+        return createView(storage, offset, newStrides, newDimensions);
     }
 
-    private static void ensureValidDimensions(int elementSize, byte[] data, int ... dimensions) {
-        int nrElements = Arrays.stream(dimensions)
-            .reduce((i1, i2) -> i1 * i2)
-            .orElse(0);
+    @Override
+    public void transpose(Matrix<T> destination, int ... swap) {
+        Matrix<T> transposed = transpose(swap);
+        if (!Arrays.equals(transposed.dimensions(), destination.dimensions())) {
+            throw new IncompatibleDimensionsException("Dimensions of the destination do not match");
+        }
+        InMemoryMatrix<T> target = writableMatrix(destination);
+        checkAliasing(target, this, false);
+        target.copyFrom(transposed);
+    }
 
-        if (data.length != nrElements * (elementSize / 8)) {
-            throw new IncompatibleDimensionsException("Dimensions do not fit in data");
+    /**
+     * Slices {@code this} without copying any elements:
+     * the returned matrix is a view, sharing its elements with {@code this}.
+     */
+    @Override
+    public Matrix<T> slice(int axis, int start, int end, int step) {
+        checkAxis(axis);
+        if (step < 1) {
+            throw new IllegalArgumentException("Step must be positive");
         }
+        Objects.checkFromToIndex(start, end, dimensions[axis]);
+        int[] newDimensions = Arrays.copyOf(dimensions, dimensions.length);
+        int[] newStrides = Arrays.copyOf(strides, strides.length);
+        newDimensions[axis] = ceilDiv(end - start, step);
+        newStrides[axis] = strides[axis] * step;
+        return createView(storage, offset + start * strides[axis], newStrides, newDimensions);
     }
 
-    private final VectorSpecies<T> species;
-    private final byte[] data;
-    private int[] dimensions;
+    @Override
+    public Matrix<T> slice(int axis, int start, int end) {
+        return slice(axis, start, end, 1);
+    }
 
-    InMemoryMatrix(VectorSpecies<T> species, byte[] data, int ... dimensions) {
-        ensureValidDimensions(species.elementSize(), data, dimensions);
-        this.species = species;
-        this.data = data;
-        this.dimensions = dimensions;
+    /**
+     * Selects a row without copying any elements:
+     * the returned matrix is a view, sharing its elements with {@code this}.
+     */
+    @Override
+    public Matrix<T> row(int index) {
+        return select(0, index);
     }
 
+    /**
+     * Selects a column without copying any elements:
+     * the returned matrix is a view, sharing its elements with {@code this}.
+     */
     @Override
-    public void add(Matrix<T> other) {
-        ensureSameDimensions(other);
-        int upperBound = data.length / elementSize();
+    public Matrix<T> col(int index) {
+        return select(dimensions.length - 1, index);
+    }
 
-        for (int offset = 0; offset < upperBound; offset += species.length()) {
-            VectorMask<T> mask = species.indexInRange(offset, upperBound);
-            Vector<T> va = toVec(elementSize() * offset, mask);
-            Vector<T> vo = other.toVec(elementSize() * offset, mask);
+    /**
+     * @return a view on the elements at {@code index} of {@code axis}, without {@code axis}
+     */
+    private Matrix<T> select(int axis, int index) {
+        checkAxis(axis);
+        int address = offset + Objects.checkIndex(index, dimensions[axis]) * strides[axis];
+        if (dimensions.length == 1) {
+            return createView(storage, address, new int[] {1}, new int[] {1});
+        }
+        int[] newDimensions = new int[dimensions.length - 1];
+        int[] newStrides = new int[dimensions.length - 1];
+        for (int d = 0, i = 0; d < dimensions.length; d++) {
+            if (d != axis) {
+                newDimensions[i] = dimensions[d];
+                newStrides[i++] = strides[d];
+            }
+        }
+        return createView(storage, address, newStrides, newDimensions);
+    }
 
-            va = va.add(vo);
-            va.intoByteArray(data, elementSize() * offset, BYTE_ORDER, mask);
+    private void checkAxis(int axis) {
+        if (axis < 0 || axis >= dimensions.length) {
+            throw new IncompatibleDimensionsException("Axis outside of bounds for this matrix.");
         }
     }
 
     @Override
-    public void sub(Matrix<T> other) {
-        ensureSameDimensions(other);
-        int upperBound = data.length / elementSize();
+    public void copyInto(Matrix<T> destination) {
+        if (!Arrays.equals(dimensions, destination.dimensions())) {
+            throw new IncompatibleDimensionsException("Dimensions of the destination do not match");
+        }
+        InMemoryMatrix<T> target = writableMatrix(destination);
+        checkAliasing(target, this, true);
+        if (!target.sameElements(this)) {
+            target.copyFrom(this);
+        }
+    }
 
-        for (int offset = 0; offset < upperBound; offset += species.length()) {
-            VectorMask<T> mask = species.indexInRange(offset, upperBound);
-            Vector<T> va = toVec(elementSize() * offset, mask);
-            Vector<T> vo = other.toVec(elementSize() * offset, mask);
+    private void checkSwapPermutation(int[] swap) {
+        if (swap.length != dimensions().length) {
+            throw new IncompatibleDimensionsException("Incompatible swap parameters.");
+        }
 
-            va = va.sub(vo);
-            va.intoByteArray(data, elementSize() * offset, BYTE_ORDER, mask);
+        boolean[] seen = new boolean[swap.length];
+        for (int s : swap) {
+            if (s < 0 || s >= dimensions().length) {
+                throw new IncompatibleDimensionsException("Swap parameter targets dimensions outside of bounds for this matrix.");
+            }
+            if (seen[s]) {
+                throw new IllegalArgumentException("All swap parameters have to be distinct from each other.");
+            }
+            seen[s] = true;
         }
     }
 
-    @Override
-    public void mul(Matrix<T> other) {
-        ensureSameDimensions(other);
-        int upperBound = data.length / elementSize();
+    protected abstract Matrix<T> createEmptyMatrix(int[] dimensions);
 
-        for (int offset = 0; offset < upperBound; offset += species.length()) {
-            VectorMask<T> mask = species.indexInRange(offset, upperBound);
-            Vector<T> va = toVec(elementSize() * offset, mask);
-            Vector<T> vo = other.toVec(elementSize() * offset, mask);
+    /**
+     * @return a matrix of the same type, using the elements of {@code storage} with the given layout
+     */
+    protected abstract Matrix<T> createView(Storage storage, int offset, int[] strides, int[] dimensions);
 
-            va = va.mul(vo);
-            va.intoByteArray(data, elementSize() * offset, BYTE_ORDER, mask);
-        }
-    }
+    /**
+     * Adds the product of the {@code m x n} matrix {@code a} and the {@code n x p} matrix {@code b}
+     * to the {@code m x p} matrix {@code c}. Offsets and strides are given in elements,
+     * {@code ldc} is the distance between two rows of {@code c}.
+     */
+    protected abstract void gemm(Storage a, int aOffset, int aRowStride, int aColumnStride,
+                                 Storage b, int bOffset, int bRowStride, int bColumnStride,
+                                 Storage c, int cOffset, int ldc, int m, int n, int p);
 
-    @Override
-    public void div(Matrix<T> other) {
-        ensureSameDimensions(other);
-        int upperBound = data.length / elementSize();
+    /**
+     * Applies {@code operation} to {@code length} elements of {@code a} and {@code b}, starting at the
+     * given byte offsets, and stores the results in {@code c}, which may be {@code a} or {@code b}.
+     */
+    protected abstract void apply(Operation operation, byte[] a, int aOffset, byte[] b, int bOffset,
+                                  byte[] c, int cOffset, int length);
 
-        for (int offset = 0; offset < upperBound; offset += species.length()) {
-            VectorMask<T> mask = species.indexInRange(offset, upperBound);
-            Vector<T> va = toVec(elementSize() * offset, mask);
-            Vector<T> vo = other.toVec(elementSize() * offset, mask);
+    /**
+     * Applies {@code operation} to {@code length} elements of {@code a} and {@code b}, starting at the
+     * given byte offsets, and stores the results in {@code c}, which may be {@code a} or {@code b}.
+     */
+    protected abstract void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset,
+                                  ByteBuffer c, int cOffset, int length);
 
-            va = va.div(vo);
-            va.intoByteArray(data, elementSize() * offset, BYTE_ORDER, mask);
-        }
-    }
+    /**
+     * Applies {@code operation} to {@code length} elements of {@code a} and {@code b}, starting at the
+     * given byte offsets, and stores the results in {@code a}.
+     */
+    protected abstract void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length);
 
-    private int[] padMatrix(int[] dimensions, int offset) {
-        int[] paddedMatrix = new int[dimensions.length + offset];
-        Arrays.fill(paddedMatrix, 1);
-        System.arraycopy(dimensions, 0, paddedMatrix, offset, dimensions.length);
-        return paddedMatrix;
-    }
+    /**
+     * Applies {@code operation} to {@code length} elements of {@code a}, starting at byte {@code aOffset},
+     * and the element at {@code bAddress} of {@code b}, and stores the results in {@code a}.
+     */
+    protected abstract void apply(Operation operation, byte[] a, int aOffset, Storage b, int bAddress, int length);
 
-    public Matrix<T> mmul(Matrix<T> other) {
-        if (dimensions().length < 2 || other.dimensions().length < 2) {
-            throw new IllegalArgumentException("Require at least 2D Matrices");
-        }
+    /**
+     * Applies {@code operation} to {@code length} elements of {@code a}, starting at byte {@code aOffset},
+     * and the element at {@code bAddress} of {@code b}, and stores the results in {@code a}.
+     */
+    protected abstract void apply(Operation operation, ByteBuffer a, int aOffset, Storage b, int bAddress, int length);
 
-        // before checking the dimensions: add dimension-padding to the smaller matrix
-        if (dimensions.length > other.dimensions().length) {
-            other.reshape(padMatrix(other.dimensions(), dimensions.length - other.dimensions().length));
-        } else if (dimensions.length < other.dimensions().length) {
-            reshape(padMatrix(dimensions, other.dimensions().length - dimensions.length));
-        } // else equal -> do nothing
+    /**
+     * Computes {@code a = a * b + c} for {@code length} elements, starting at the given byte offsets.
+     */
+    protected abstract void fma(byte[] a, int aOffset, byte[] b, int bOffset, byte[] c, int cOffset, int length);
 
-        int nDim = dimensions.length;
-        // check if n-dimensions except 2D is compatible
-        int[] resultDimensions = new int[nDim];
+    /**
+     * Computes {@code a = a * b + c} for {@code length} elements, starting at the given byte offsets.
+     */
+    protected abstract void fma(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, ByteBuffer c, int cOffset, int length);
 
-        for (int i = 0; i < nDim - 2; i++) {
-            int d1 = dimensions[i];
-            int d2 = other.dimensions()[i];
-            if (d1 != d2 && d1 != 1 && d2 != 1) {
-                throw new IncompatibleDimensionsException("Matrices cannot be multiplied");
-            } else {
-                resultDimensions[i] = Math.max(d1, d2);
-            }
-        }
+    /**
+     * Computes {@code y = alpha * x + y} for {@code length} elements, starting at the given byte offsets.
+     */
+    protected abstract void axpy(T alpha, byte[] x, int xOffset, byte[] y, int yOffset, int length);
 
-        // check if 2 - dimension is compatible
-        if (dimensions()[nDim-1] != other.dimensions()[nDim-2]) {
-            throw new IncompatibleDimensionsException("Matrices cannot be multiplied: Invalid rows/cols");
-        }
+    /**
+     * Computes {@code y = alpha * x + y} for {@code length} elements, starting at the given byte offsets.
+     */
+    protected abstract void axpy(T alpha, ByteBuffer x, int xOffset, ByteBuffer y, int yOffset, int length);
 
-        resultDimensions[nDim - 2] = dimensions[nDim - 2];
-        resultDimensions[nDim - 1] = other.dimensions()[nDim - 1];
+    /**
+     * Applies {@code operation} to {@code length} elements of {@code a} and stores the results in {@code c},
+     * starting at the given byte offsets. Both ranges are either equal or disjoint.
+     * @throws UnsupportedOperationException if the element type does not support {@code operation}
+     */
+    protected abstract void apply(UnaryOperation operation, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length);
 
-        int[] swap = IntStream.range(0, nDim).toArray();
-        swap[nDim-1] = nDim-2;
-        swap[nDim-2] = nDim-1;
+    /**
+     * Limits {@code length} elements of {@code a} to the range from {@code min} to {@code max}
+     * and stores the results in {@code c}, starting at the given byte offsets.
+     */
+    protected abstract void clamp(T min, T max, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length);
 
-        Matrix<T> result = createEmptyMatrix(resultDimensions);
-        mmul(other.transpose(swap), result, nDim-1, 0, 0, 0);
-        return result;
-    }
+    /**
+     * Reductions read all elements through buffers: vectors are loaded from buffers wrapping arrays
+     * as fast as from the arrays themselves.
+     * @return {@code reduction} of {@code length} elements of {@code a}, starting at byte {@code offset},
+     * which is the identity of the reduction if {@code length} is {@code 0}
+     */
+    protected abstract T reduce(Reduction reduction, ByteBuffer a, int offset, int length);
 
     /**
-     * multiplies two matrices with the same length
-     * @param other other matrix
-     * @param result resulting matrix
-     * @param level current matrix dimension (level + == current dimension. f.e.: level=1 => 2D Matrix)
-     * @param tS start index of this
-     * @param oS start index of other
-     * @param offset offset for destination index
-     * */
-    private void mmul(Matrix<T> other, Matrix<T> result, int level, int tS, int oS, int offset) {
-        if (level == 1) {
-            int m = dimensions()[dimensions.length - 2];
-            int p = other.dimensions()[other.dimensions().length-2];
-            int n = dimensions()[dimensions.length - 1];
-            int[] d = new int[] {m, p};
-
-            for (int i = 0; i < m; i++) {
-                for (int j = 0; j < p; j++) {
-                    T sum = getDefaultValue();
-                    for (int k = 0; k < n; k+= species.length()) {
-                        VectorMask<T> mask = species.indexInRange(k, n);
-                        Vector<T> va = toVec(elementSize() * (n * i +  k + tS) , mask);
-                        Vector<T> vb = other.toVec(elementSize() * (n * j + k + oS), mask);
-
-                        va = va.mul(vb);
-                        sum = add(sum,reduceLanes(va, VectorOperators.ADD));
-                    }
-
-                    int baseAddress = addressToIndex(new int[]{i, j}, d, 0);
-                    int[] toIDx = indexToAddress(result.dimensions(),baseAddress + offset);
-                    result.set(sum, toIDx);
-                }
-            }
-        } else {
-            int nDim = dimensions.length;
-            int d1 = dimensions[nDim-1 - level];
-            int d2 = other.dimensions()[nDim-1 - level];
+     * @return {@code reduction} of two partial results
+     */
+    protected abstract T combine(Reduction reduction, T a, T b);
 
-            int destNrElements = nrElements(Arrays.copyOfRange(result.dimensions(), nDim - level, nDim));
+    /**
+     * Combines {@code length} elements of {@code a} with those of {@code rows} rows of {@code b} by {@code reduction},
+     * starting at the given byte offsets, and stores the results in {@code a}.
+     * @param bStride distance between two rows of {@code b} in bytes
+     */
+    protected abstract void accumulate(Reduction reduction, ByteBuffer a, int aOffset,
+                                       ByteBuffer b, int bOffset, int bStride, int rows, int length);
 
-            if (d1 == 1) {
-                for (int i = 0; i < d2; i++) {
-                    int e2 = nrElements(Arrays.copyOfRange(other.dimensions(), 0, nDim - level));
-                    mmul(other, result, level-1, tS, oS + i * other.size()/e2, offset + i * destNrElements);
-                }
-            } else if (d2 == 1) {
-                int e1 = nrElements(Arrays.copyOfRange(dimensions, 0, nDim - level));
-                for (int i = 0; i < d1; i++) {
-                    mmul(other, result, level-1, tS + i * size()/e1, oS, offset + i * destNrElements);
-                }
-            } else {
-                int e1 = nrElements(Arrays.copyOfRange(dimensions, 0, nDim - level));
-                int e2 = nrElements(Arrays.copyOfRange(other.dimensions(), 0, nDim - level));
-                for (int i = 0; i < d1; i++) {
-                    mmul(other, result, level-1, tS + i * size()/e1, oS + i * other.size()/e2, offset + (i * destNrElements));
-                }
-            }
-        }
-    }
+    /**
+     * @return {@code value} converted to the element type
+     */
+    protected abstract T valueOf(int value);
 
-    public Matrix<T> transpose(int ... swap) {
-        checkSwapPermutation(swap);
-        int[] newDimensions = new int[dimensions().length];
-        for (int i = 0; i < newDimensions.length; i++) {
-            newDimensions[i] = dimensions()[swap[i]];
-        }
+    /**
+     * @return the sum of {@code length} elements (or of their squares) of {@code a}, starting at byte {@code offset},
+     * computed with doubles
+     */
+    protected abstract double sumAsDouble(ByteBuffer a, int offset, int length, boolean squares);
 
-        int from = 0;
-        boolean first;
-        byte[] next;
-        byte[] overwritten = new byte[elementSize()];
+    /**
+     * @return the position of the first of {@code length} elements of {@code a}, starting at byte {@code offset},
+     * which is not {@code comparison} to any other of these elements
+     */
+    protected abstract int arg(VectorOperators.Comparison comparison, ByteBuffer a, int offset, int length);
 
-        HashSet<Integer> visited = new HashSet<>();
-        Matrix<T> transposed = createEmptyMatrix(newDimensions);
+    /**
+     * Sets the element at {@code address} of {@link #storage} to {@code value}.
+     */
+    protected abstract void set(T value, int address);
 
-        for (int i = 0; i <= size(); i++) {
-            first = true;
-            while (!visited.contains(from)) {
-                int[] fromCoords = indexToAddress(dimensions, from);
-                int to = addressToIndex(swapCoords(fromCoords, swap), newDimensions, 0);
-                int destPos = to * elementSize();
-                next = overwritten.clone();
-                System.arraycopy(data, to* elementSize(), overwritten, 0, elementSize());
+    /**
+     * @return the element at {@code address} of {@link #storage}
+     */
+    protected abstract T read(int address);
 
-                if (first) {
-                    System.arraycopy(data, from * elementSize(), transposed.data(), destPos, elementSize());
-                } else {
-                    System.arraycopy(next, 0, transposed.data(), destPos, elementSize());
-                }
-                visited.add(from);
-                from = to;
-                first = false;
-            }
-            from = i;
-        }
+    protected int elementSize() {
+        // divide by 8, as elementSize() is in bits, not bytes
+        return species.elementSize() / 8;
+    }
 
-        return transposed;
+    /**
+     * @return whether the elements are stored in row major order without any gaps
+     */
+    protected boolean isContiguous() {
+        return contiguous;
     }
 
-    private void checkSwapPermutation(int[] swap) {
-        if (swap.length != dimensions().length) {
-            throw new IncompatibleDimensionsException("Incompatible swap parameters.");
+    /**
+     * @return the {@code length} bytes starting at byte {@code offset} (in row major order) of the matrix,
+     * which allows loading vectors from views which are not contiguous
+     */
+    protected byte[] gather(long offset, int length) {
+        byte[] gathered = new byte[length];
+        int first = (int) (offset / elementSize());
+        int last = (int) Math.min(size(), (offset + length) / elementSize());
+        for (int i = first; i < last; i++) {
+            storage.read(address(i), gathered, (i - first) * elementSize());
         }
+        return gathered;
+    }
 
-        HashSet<Integer> temp = new HashSet<>();
-        for (int s : swap) {
-            if (s >= dimensions().length) {
-                throw new IncompatibleDimensionsException("Swap parameter targets dimensions outside of bounds for this matrix.");
-            }
-            temp.add(s);
+    /**
+     * @return the position in {@link #storage} (in elements) of the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    protected int address(long index) {
+        int remainder = (int) Objects.checkIndex(index, size);
+        if (contiguous) {
+            return offset + remainder;
         }
-
-        if (temp.size() != swap.length) {
-            throw new IllegalArgumentException("All swap parameters have to be distinct from each other.");
+        int address = offset;
+        for (int d = dimensions.length - 1; d >= 0; d--) {
+            address += (remainder % dimensions[d]) * strides[d];
+            remainder /= dimensions[d];
         }
+        return address;
     }
 
-    private int[] swapCoords(int[] coords, int[] swap) {
-        if (coords.length != swap.length) {
-            throw new IncompatibleDimensionsException("Value coordinates and swap dimensions do not match");
+    /**
+     * @return the position in {@link #storage} (in elements) of the element at {@code position}
+     * @throws IncompatibleDimensionsException if the position cannot be addressed
+     */
+    protected int address(int ... position) {
+        if (position.length != dimensions.length) {
+            throw new IncompatibleDimensionsException("Position does not match the dimensions of the matrix");
         }
-        int[] result = new int[coords.length];
-        for (int i = 0; i < swap.length; i++) {
-            result[i] = coords[swap[i]];
+        int address = offset;
+        for (int d = 0; d < dimensions.length; d++) {
+            address += coordinate(position[d], d) * strides[d];
         }
-        return result;
+        return address;
     }
 
-    private int[] indexToAddress(int[] dimensions, int idx) {
-        int[] coords = new int[dimensions.length];
-        int remainder = idx;
-
-        for (int i = 0; i < dimensions.length-1; i++) {
-            int p = Arrays.stream(dimensions).skip(i+1).reduce(1, (a,b) -> a * b);
-            coords[i] = remainder / p;
-            remainder = remainder % p;
+    /**
+     * @return the position in {@link #storage} (in elements) of the element at {@code row} and {@code column} of a 2D matrix
+     * @throws IncompatibleDimensionsException if the position cannot be addressed
+     */
+    protected int address(int row, int column) {
+        if (dimensions.length != 2) {
+            throw new IncompatibleDimensionsException("Position does not match the dimensions of the matrix");
         }
-        coords[coords.length - 1] = remainder;
-
-        return coords;
+        return offset + coordinate(row, 0) * strides[0] + coordinate(column, 1) * strides[1];
     }
 
-    private int addressToIndex(int[] coords, int[] dimensions, int start){
-        if (coords.length != dimensions.length) {
-            throw new IncompatibleDimensionsException("Coordinates and target matrix dimensions do not match");
-        }
-        int address = 0;
-        for (int i = start; i < start + dimensions.length; i++) {
-            int a = coords[i];
-            for (int j = i+1; j < coords.length; j++) {
-                a *= dimensions[j];
-            }
-            address += a;
+    private int coordinate(int coordinate, int dimension) {
+        if (coordinate < 0 || coordinate >= dimensions[dimension]) {
+            throw new IncompatibleDimensionsException("Position is outside of the matrix");
         }
-        return address;
+        return coordinate;
     }
 
-    protected abstract Matrix<T> createEmptyMatrix(int[] dimensions);
-
-    protected abstract T reduceLanes(Vector<T> vector, VectorOperators.Associative op);
+    /**
+     * @return a new array containing the elements in row major order
+     * @throws UnsupportedOperationException if the elements do not fit into a single array
+     */
+    protected byte[] contiguousData() {
+        long nrBytes = (long) size * elementSize();
+        if (nrBytes > Integer.MAX_VALUE) {
+            throw new UnsupportedOperationException("Matrix is too large to be stored in a single array");
+        }
+        Storage copy = Storage.wrap(new byte[(int) nrBytes], elementSize());
+        copyInto(copy);
+        return copy.array(0);
+    }
 
-    protected abstract T getDefaultValue();
+    /**
+     * @return a new storage containing the elements in row major order
+     */
+    protected Storage contiguousStorage() {
+        Storage copy = allocate(size);
+        copyInto(copy);
+        return copy;
+    }
 
-    protected abstract T add(T t1, T t2);
+    /**
+     * @return a new storage for {@code nrElements} elements, filled with zeros
+     */
+    protected Storage allocate(int nrElements) {
+        return Storage.allocate(nrElements, elementSize());
+    }
 
-    protected abstract void set(T value, int address);
+    /**
+     * Replaces the elements of {@code this} by the ones of {@code other}, which are converted one by one
+     * if they are stored in another format.
+     * @throws IncompatibleDimensionsException if the dimensions do not match
+     */
+    protected void copyFrom(Matrix<T> other) {
+        ensureSameDimensions(other);
+        InMemoryMatrix<T> elements = elementsOf(other);
+        if (elements != null && elements.type() != type()) {
+            for (int i = 0; i < size; i++) {
+                set(elements.read(elements.address(i)), address(i));
+            }
+            return;
+        }
+        if (other instanceof InMemoryMatrix<T> inMemory) {
+            StridedCopy.copy(inMemory.storage, inMemory.offset, inMemory.strides, storage, offset, strides, dimensions);
+        } else {
+            StridedCopy.copy(storage(other), 0, rowMajorStrides(dimensions), storage, offset, strides, dimensions);
+        }
+    }
 
-    protected int elementSize() {
-        // divide by 8, as elementSize() is in bits, not bytes
-        return species.elementSize() / 8;
+    private void copyInto(Storage copy) {
+        if (contiguous) {
+            Storage.copy(storage, offset, copy, 0, size);
+        } else {
+            StridedCopy.copy(storage, offset, strides, copy, 0, rowMajorStrides(dimensions), dimensions);
+        }
     }
 
     @Override
     public void set(T value, int... position) {
-        if (position.length % dimensions.length != 0) {
+        if (dimensions.length == 0 || position.length % dimensions.length != 0) {
             throw new IllegalArgumentException("Excepts positions dimension coordinate format");
         }
 
         for (int i = 0; i < position.length; i+=dimensions.length) {
-            int baseAddress = addressToIndex(position, dimensions, i);
-            set(value, baseAddress);
+            int address = offset;
+            for (int d = 0; d < dimensions.length; d++) {
+                address += coordinate(position[i + d], d) * strides[d];
+            }
+            set(value, address);
         }
     }
 
+    @Override
+    public T get(int... position) {
+        return read(address(position));
+    }
+
+    /**
+     * Reshapes {@code this}. Views which are not contiguous are copied first, unless only dimensions of size 1 change,
+     * afterwards they no longer share their elements.
+     */
     @Override
     public void reshape(int... dimensions) {
         if (nrElements(dimensions) != size()) {
             throw new IllegalArgumentException("Incompatible dimensions for this matrix data");
         }
+        int[] newStrides = contiguous ? rowMajorStrides(dimensions) : stridesWithoutCopy(dimensions);
+        if (newStrides == null) {
+            storage = contiguousStorage();
+            offset = 0;
+            newStrides = rowMajorStrides(dimensions);
+        }
+        this.strides = newStrides;
         this.dimensions = dimensions;
+        this.contiguous = isContiguous(newStrides, dimensions);
+    }
+
+    /**
+     * @return the strides for the new {@code dimensions}, if they only add or remove dimensions of size 1, else null
+     */
+    private int[] stridesWithoutCopy(int[] dimensions) {
+        int[] newStrides = new int[dimensions.length];
+        int j = 0;
+        for (int i = 0; i < dimensions.length; i++) {
+            if (dimensions[i] == 1) {
+                newStrides[i] = 1;
+                continue;
+            }
+            while (j < this.dimensions.length && this.dimensions[j] == 1) {
+                j++;
+            }
+            if (j == this.dimensions.length || this.dimensions[j] != dimensions[i]) {
+                return null;
+            }
+            newStrides[i] = strides[j++];
+        }
+        return newStrides;
     }
 
     @Override
@@ -360,47 +1831,55 @@ abstract class InMemoryMatrix<T extends Number> implements Matrix<T> {
 
     @Override
     public int size() {
-        return data.length * 8 / species.elementSize();
+        return size;
     }
 
+    /**
+     * @return the raw bytes of the elements. For views, which do not span their whole storage,
+     * a copy of the elements in row major order is returned.
+     * @throws UnsupportedOperationException if the elements do not fit into a single array
+     */
     @Override
     public byte[] data() {
-        return data;
+        if (contiguous && offset == 0 && storage.isArray() && storage.nrChunks() == 1
+            && storage.chunk(0).length == (long) size * elementSize()) {
+            return storage.chunk(0);
+        }
+        return contiguousData();
     }
 
     @Override
     public void write(OutputStream out) throws IOException {
-        writeType(out);
-        DataOutputStream dataOutputStream = new DataOutputStream(out);
-        dataOutputStream.writeByte(dimensions.length);
-        for (int dim : dimensions) {
-            dataOutputStream.writeInt(dim);
-        }
-        dataOutputStream.writeInt(data.length / elementSize());
-        out.write(data);
+        MemoryMappedMatrix.writeHeader(new DataOutputStream(out), type(), dimensions);
+        InMemoryMatrix<T> source = contiguousMatrix();
+        source.storage.write(out, source.offset, size);
     }
 
-    protected abstract void writeType(OutputStream out) throws IOException;
+    /**
+     * @return the type of the elements, as stored in the header written by {@link #write(OutputStream)}
+     */
+    protected abstract byte type();
 
     @Override
     public boolean equals(Object o) {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        // matrices on and off the heap are equal if they contain the same elements
+        if (!(o instanceof InMemoryMatrix<?> that)) {
             return false;
         }
 
-        InMemoryMatrix<?> that = (InMemoryMatrix<?>) o;
-
-        if (!Objects.equals(species, that.species)) {
+        if (!Objects.equals(species, that.species) || type() != that.type()) {
             return false;
         }
 
         if (!Arrays.equals(dimensions, that.dimensions)) {
             return false;
         }
-        return Arrays.equals(data, that.data);
+        InMemoryMatrix<?> a = contiguousMatrix();
+        InMemoryMatrix<?> b = that.contiguousMatrix();
+        return Storage.equals(a.storage, a.offset, b.storage, b.offset, size);
     }
 
     @Override
@@ -418,46 +1897,106 @@ abstract class InMemoryMatrix<T extends Number> implements Matrix<T> {
 
     protected abstract static class AbstractBuilder<T extends Number> implements Builder<T> {
 
-        private byte[] data = new byte[1024]; // holds 1024 / 8 = 128 doubles
+        // some VMs cannot allocate arrays of exactly Integer.MAX_VALUE elements
+        private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+        private byte[] data;
         private int rows = 0;
         private int columns = -1;
+        // the rows may be used by the built matrix, so that they must not be changed afterwards
+        private boolean built = false;
+
+        protected AbstractBuilder() {
+            data = new byte[1024]; // holds 1024 / 8 = 128 doubles
+        }
+
+        /**
+         * Reserves space for {@code rows} rows of {@code columns} elements, so that the rows are neither copied
+         * on growing nor on building the matrix.
+         * @throws IllegalArgumentException if a dimension is negative or the matrix does not fit into an array
+         */
+        protected AbstractBuilder(int rows, int columns) {
+            if (rows < 0 || columns < 0) {
+                throw new IllegalArgumentException("Dimensions must not be negative");
+            }
+            long requiredBytes = (long) rows * columns * byteSize();
+            if (requiredBytes > MAX_ARRAY_SIZE) {
+                throw new IllegalArgumentException("Matrix is too large to be built row by row");
+            }
+            data = new byte[(int) requiredBytes];
+            this.columns = columns;
+        }
 
         @Override
         public AbstractBuilder<T> row(T... row) {
-            if (columns != -1 && row.length != columns) {
+            int offset = appendRow(row.length);
+            fill(offset, data, row);
+            return this;
+        }
+
+        /**
+         * Adds a row of {@code length} elements, which must be written to {@link #data()} afterwards.
+         * @return the index of the first element of the row
+         */
+        protected int appendRow(int length) {
+            ensureNotBuilt();
+            if (columns != -1 && length != columns) {
                 throw new IncompatibleDimensionsException("Subsequent calls must have same columns");
             }
             if (columns == -1) {
-                columns = row.length;
+                columns = length;
             }
 
             rows++;
-            int requiredSize = rows * columns;
+            long requiredSize = (long) rows * columns;
             ensureCapacity(requiredSize);
-            int offset = (rows - 1) * columns;
-            fill(offset, data, row);
-            return this;
+            return (rows - 1) * columns;
+        }
+
+        /**
+         * @return the array holding the rows added so far, which is replaced when growing
+         */
+        protected byte[] data() {
+            return data;
         }
 
         protected abstract void fill(int offset, byte[] data, T... row);
 
         @Override
         public Matrix<T> build() {
-            if (columns == -1) {
+            ensureNotBuilt();
+            if (rows == 0) {
                 throw new IllegalStateException("Must at least add 1 row");
             }
-            byte[] validBytes = Arrays.copyOfRange(data, 0, rows * columns * byteSize());
+            built = true;
+            int bytes = rows * columns * byteSize();
+            byte[] validBytes;
+            if (data.length == bytes) {
+                // a presized builder hands over its rows without copying them
+                validBytes = data;
+            } else {
+                validBytes = Arrays.copyOfRange(data, 0, bytes);
+            }
             return doBuild(validBytes, rows, columns);
         }
 
         protected abstract Matrix<T> doBuild(byte[] data, int rows, int columns);
 
-        private void ensureCapacity(int requiredSize) {
-            if (data.length >= requiredSize * byteSize()) {
+        private void ensureNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("Builder must not be accessed after building the matrix");
+            }
+        }
+
+        private void ensureCapacity(long requiredSize) {
+            long requiredBytes = requiredSize * byteSize();
+            if (data.length >= requiredBytes) {
                 return;
             }
-            int newSize = requiredSize * 2 * byteSize();
-            data = Arrays.copyOf(data, newSize);
+            if (requiredBytes > MAX_ARRAY_SIZE) {
+                throw new IllegalStateException("Matrix is too large to be built row by row");
+            }
+            data = MatrixArena.grow(data, data.length, (int) Math.min(MAX_ARRAY_SIZE, 2 * requiredBytes));
         }
 
         protected abstract int byteSize();
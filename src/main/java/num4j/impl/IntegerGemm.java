@@ -0,0 +1,194 @@
+package num4j.impl;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+
+import static num4j.impl.InMemoryMatrix.BYTE_ORDER;
+
+/**
+ * Cache blocked matrix multiplication kernel for int matrices.
+ * Operands are split into blocks which fit into the caches ({@code KC x NC} of the right-hand side,
+ * {@code MC x KC} of the left-hand side), packed into contiguous panels and multiplied by a micro kernel,
+ * which keeps a {@code MR x NR} tile of the result in vector registers.
+ */
+final class IntegerGemm {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int L = SPECIES.length();
+
+    // micro tile: MR rows times NR columns (two vectors) of the result
+    private static final int MR = 4;
+    private static final int NR = 2 * L;
+
+    // cache blocks, MC has to be a multiple of MR, NC a multiple of NR
+    private static final int KC = 256;
+    private static final int MC = 128;
+    private static final int NC = 2048;
+
+    private IntegerGemm() {
+    }
+
+    /**
+     * Adds the product of the {@code m x n} matrix {@code a} and the {@code n x p} matrix {@code b} to the
+     * {@code m x p} matrix {@code c}. All offsets and strides are given in elements,
+     * {@code c} is stored row major with {@code ldc} elements between two subsequent rows.
+     */
+    static void gemm(Storage a, int aOffset, int aRowStride, int aColumnStride,
+                     Storage b, int bOffset, int bRowStride, int bColumnStride,
+                     Storage c, int cOffset, int ldc, int m, int n, int p) {
+        if (m == 0 || n == 0 || p == 0) {
+            return;
+        }
+        int kcMax = Math.min(KC, n);
+        int[] packedA = new int[roundUp(Math.min(MC, m), MR) * kcMax];
+        int[] packedB = new int[roundUp(Math.min(NC, p), NR) * kcMax];
+        int[] edge = new int[MR * NR];
+
+        for (int jc = 0; jc < p; jc += NC) {
+            int nc = Math.min(NC, p - jc);
+            for (int pc = 0; pc < n; pc += KC) {
+                int kc = Math.min(KC, n - pc);
+                packB(b, bOffset + pc * bRowStride + jc * bColumnStride, bRowStride, bColumnStride, kc, nc, packedB);
+                for (int ic = 0; ic < m; ic += MC) {
+                    int mc = Math.min(MC, m - ic);
+                    packA(a, aOffset + ic * aRowStride + pc * aColumnStride, aRowStride, aColumnStride, mc, kc, packedA);
+                    for (int jr = 0; jr < nc; jr += NR) {
+                        for (int ir = 0; ir < mc; ir += MR) {
+                            kernel(kc, packedA, ir * kc, packedB, jr * kc,
+                                c, cOffset + (ic + ir) * ldc + jc + jr, ldc,
+                                Math.min(MR, mc - ir), Math.min(NR, nc - jr), edge);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs {@code rows x kc} of {@code a} into panels of {@code MR} rows, stored column by column.
+     * Rows exceeding {@code rows} are padded with zeros.
+     */
+    private static void packA(Storage a, int offset, int rowStride, int columnStride, int rows, int kc, int[] packed) {
+        int idx = 0;
+        for (int ir = 0; ir < rows; ir += MR) {
+            int panelRows = Math.min(MR, rows - ir);
+            for (int k = 0; k < kc; k++) {
+                for (int r = 0; r < MR; r++) {
+                    int address = offset + (ir + r) * rowStride + k * columnStride;
+                    packed[idx++] = r < panelRows ? a.getInt(address) : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs {@code kc x cols} of {@code b} into panels of {@code NR} columns, stored row by row.
+     * Columns exceeding {@code cols} are padded with zeros.
+     */
+    private static void packB(Storage b, int offset, int rowStride, int columnStride, int kc, int cols, int[] packed) {
+        int idx = 0;
+        for (int jr = 0; jr < cols; jr += NR) {
+            VectorMask<Integer> m0 = SPECIES.indexInRange(jr, cols);
+            VectorMask<Integer> m1 = SPECIES.indexInRange(jr + L, cols);
+            for (int k = 0; k < kc; k++) {
+                int src = offset + k * rowStride + jr * columnStride;
+                if (columnStride == 1 && b.remaining(src) >= NR) {
+                    ByteBuffer buffer = b.buffer(src);
+                    int index = b.index(src);
+                    IntVector.fromByteBuffer(SPECIES, buffer, index * Integer.BYTES, BYTE_ORDER, m0).intoArray(packed, idx);
+                    IntVector.fromByteBuffer(SPECIES, buffer, (index + L) * Integer.BYTES, BYTE_ORDER, m1).intoArray(packed, idx + L);
+                } else {
+                    for (int j = 0; j < NR; j++) {
+                        int address = src + j * columnStride;
+                        packed[idx + j] = jr + j < cols ? b.buffer(address).getInt(b.index(address) * Integer.BYTES) : 0;
+                    }
+                }
+                idx += NR;
+            }
+        }
+    }
+
+    private static void kernel(int kc, int[] a, int aIdx, int[] b, int bIdx,
+                               Storage c, int cIdx, int ldc, int rows, int cols, int[] edge) {
+        IntVector c00 = IntVector.zero(SPECIES), c01 = IntVector.zero(SPECIES);
+        IntVector c10 = IntVector.zero(SPECIES), c11 = IntVector.zero(SPECIES);
+        IntVector c20 = IntVector.zero(SPECIES), c21 = IntVector.zero(SPECIES);
+        IntVector c30 = IntVector.zero(SPECIES), c31 = IntVector.zero(SPECIES);
+
+        for (int k = 0; k < kc; k++) {
+            IntVector b0 = IntVector.fromArray(SPECIES, b, bIdx);
+            IntVector b1 = IntVector.fromArray(SPECIES, b, bIdx + L);
+
+            int a0 = a[aIdx];
+            c00 = b0.mul(a0).add(c00);
+            c01 = b1.mul(a0).add(c01);
+            int a1 = a[aIdx + 1];
+            c10 = b0.mul(a1).add(c10);
+            c11 = b1.mul(a1).add(c11);
+            int a2 = a[aIdx + 2];
+            c20 = b0.mul(a2).add(c20);
+            c21 = b1.mul(a2).add(c21);
+            int a3 = a[aIdx + 3];
+            c30 = b0.mul(a3).add(c30);
+            c31 = b1.mul(a3).add(c31);
+
+            aIdx += MR;
+            bIdx += NR;
+        }
+
+        if (rows == MR && cols == NR && c.sameChunk(cIdx, cIdx + 3 * ldc + NR - 1)) {
+            int index = c.index(cIdx);
+            if (c.isArray()) {
+                byte[] array = c.array(cIdx);
+                update(array, index, c00, c01);
+                update(array, index + ldc, c10, c11);
+                update(array, index + 2 * ldc, c20, c21);
+                update(array, index + 3 * ldc, c30, c31);
+            } else {
+                ByteBuffer buffer = c.buffer(cIdx);
+                update(buffer, index, c00, c01);
+                update(buffer, index + ldc, c10, c11);
+                update(buffer, index + 2 * ldc, c20, c21);
+                update(buffer, index + 3 * ldc, c30, c31);
+            }
+            return;
+        }
+
+        // partial tile at the border of the result, or spanning two chunks
+        c00.intoArray(edge, 0);
+        c01.intoArray(edge, L);
+        c10.intoArray(edge, NR);
+        c11.intoArray(edge, NR + L);
+        c20.intoArray(edge, 2 * NR);
+        c21.intoArray(edge, 2 * NR + L);
+        c30.intoArray(edge, 3 * NR);
+        c31.intoArray(edge, 3 * NR + L);
+        for (int r = 0; r < rows; r++) {
+            for (int j = 0; j < cols; j++) {
+                int address = cIdx + r * ldc + j;
+                c.putInt(address, c.getInt(address) + edge[r * NR + j]);
+            }
+        }
+    }
+
+    private static void update(byte[] c, int cIdx, IntVector v0, IntVector v1) {
+        int offset = cIdx * Integer.BYTES;
+        IntVector.fromByteArray(SPECIES, c, offset, BYTE_ORDER).add(v0).intoByteArray(c, offset, BYTE_ORDER);
+        offset += L * Integer.BYTES;
+        IntVector.fromByteArray(SPECIES, c, offset, BYTE_ORDER).add(v1).intoByteArray(c, offset, BYTE_ORDER);
+    }
+
+    private static void update(ByteBuffer c, int cIdx, IntVector v0, IntVector v1) {
+        int offset = cIdx * Integer.BYTES;
+        IntVector.fromByteBuffer(SPECIES, c, offset, BYTE_ORDER).add(v0).intoByteBuffer(c, offset, BYTE_ORDER);
+        offset += L * Integer.BYTES;
+        IntVector.fromByteBuffer(SPECIES, c, offset, BYTE_ORDER).add(v1).intoByteBuffer(c, offset, BYTE_ORDER);
+    }
+
+    private static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+}
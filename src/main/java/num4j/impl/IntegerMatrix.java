@@ -2,15 +2,21 @@ package num4j.impl;
 
 import jdk.incubator.vector.*;
 import num4j.api.Matrix;
+import num4j.exceptions.IncompatibleDimensionsException;
 import num4j.unsafe.TheUnsafe;
 
-import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Objects;
 
 public class IntegerMatrix extends InMemoryMatrix<Integer> {
 
     private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorMask<Integer> ALL = SPECIES.maskAll(true);
+    // ints converted to doubles lane by lane
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> HALF = VectorSpecies.of(int.class,
+        VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
 
     /**
      * Creates a new int matrix with the specified {@code dimensions}, filled with {@code 0}.
@@ -18,10 +24,8 @@ public class IntegerMatrix extends InMemoryMatrix<Integer> {
      * @return the newly created matrix
      */
     public static IntegerMatrix zeros(int ... dimensions) {
-        // we need to divide by 8, as elementSize() is in bits, not bytes
-        int nrBytes = nrElements(dimensions) * (SPECIES.elementSize() / 8);
-        byte[] data = new byte[nrBytes];
-        return new IntegerMatrix(data, dimensions);
+        Storage storage = Storage.allocate(nrElements(dimensions), Integer.BYTES);
+        return new IntegerMatrix(storage, dimensions);
     }
 
     /**
@@ -30,42 +34,453 @@ public class IntegerMatrix extends InMemoryMatrix<Integer> {
      * @return the newly created matrix
      */
     public static IntegerMatrix ones(int ... dimensions) {
-        int nrElements = nrElements(dimensions);
-        // we need to divide by 8, as elementSize() is in bits, not bytes
-        int nrBytes = nrElements * (SPECIES.elementSize() / 8);
-        byte[] data = new byte[nrBytes];
-        for (int i = 0; i < nrElements; i++) {
-            TheUnsafe.write(data, i, 1);
+        Storage storage = Storage.allocate(nrElements(dimensions), Integer.BYTES);
+        for (int i = 0; i < storage.nrChunks(); i++) {
+            byte[] chunk = storage.chunk(i);
+            for (int j = 0; j < chunk.length / Integer.BYTES; j++) {
+                TheUnsafe.write(chunk, j, 1);
+            }
+        }
+        return new IntegerMatrix(storage, dimensions);
+    }
+
+    /**
+     * Creates a new int matrix with the specified {@code dimensions}, holding a copy of {@code data}
+     * in row major order.
+     * @throws IncompatibleDimensionsException if the length of {@code data} does not fit the dimensions
+     */
+    public static IntegerMatrix of(int[] data, int ... dimensions) {
+        ensureLength(data.length, dimensions);
+        IntegerMatrix matrix = zeros(dimensions);
+        matrix.set(0, data, 0, data.length);
+        return matrix;
+    }
+
+    /**
+     * Creates a new int matrix holding a copy of {@code rows}.
+     * @throws IncompatibleDimensionsException if the rows differ in length
+     * @throws IllegalArgumentException if there are no rows
+     */
+    public static IntegerMatrix fromRows(int[][] rows) {
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Must at least contain 1 row");
         }
+        int columns = rows[0].length;
+        IntegerMatrix matrix = zeros(rows.length, columns);
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != columns) {
+                throw new IncompatibleDimensionsException("All rows must have same columns");
+            }
+            matrix.set((long) i * columns, rows[i], 0, columns);
+        }
+        return matrix;
+    }
+
+    /**
+     * Creates a int matrix using the elements stored little endian in {@code data}, without copying them.
+     * @throws IncompatibleDimensionsException if the length of {@code data} does not fit the dimensions
+     */
+    public static IntegerMatrix wrap(byte[] data, int ... dimensions) {
         return new IntegerMatrix(data, dimensions);
     }
 
+    /**
+     * Creates a int matrix using the elements stored little endian in {@code buffer} from its position
+     * to its limit, without copying them. The matrix can only be modified, if the buffer is writable.
+     * @throws IncompatibleDimensionsException if the remaining bytes do not fit the dimensions
+     */
+    public static IntegerMatrix wrap(ByteBuffer buffer, int ... dimensions) {
+        return new IntegerMatrix(storageOf(buffer, Integer.BYTES), dimensions);
+    }
+
     public static IntegerMatrixBuilder builder() {
         return new IntegerMatrixBuilder();
     }
 
+    /**
+     * @return a builder with space reserved for {@code rows} rows of {@code columns} elements, which builds
+     * the matrix without copying the rows once all of them are added
+     */
+    public static IntegerMatrixBuilder builder(int rows, int columns) {
+        return new IntegerMatrixBuilder(rows, columns);
+    }
+
     IntegerMatrix(byte[] data, int... dimensions) {
         super(SPECIES, data, dimensions);
     }
 
+    IntegerMatrix(Storage storage, int... dimensions) {
+        super(SPECIES, storage, dimensions);
+    }
+
+    IntegerMatrix(Storage storage, int offset, int[] strides, int... dimensions) {
+        super(SPECIES, storage, offset, strides, dimensions);
+    }
+
+    @Override
+    public Vector<Integer> toVec(long offset, VectorMask<Integer> m) {
+        int address = address(offset / Integer.BYTES);
+        if (isContiguous() && (storage.remaining(address) >= SPECIES.length() || storage.nrChunks() == 1)) {
+            int index = storage.index(address) * Integer.BYTES;
+            return storage.isArray()
+                ? IntVector.fromByteArray(SPECIES, storage.array(address), index, BYTE_ORDER, m)
+                : IntVector.fromByteBuffer(SPECIES, storage.buffer(address), index, BYTE_ORDER, m);
+        }
+        return IntVector.fromByteArray(SPECIES, gather(offset, SPECIES.vectorByteSize()), 0, BYTE_ORDER, m);
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, byte[] b, int bOffset,
+                         byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            IntVector vb = IntVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteArray(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            IntVector vb = IntVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteArray(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset,
+                         ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            IntVector vb = IntVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            IntVector vb = IntVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            IntVector vb = IntVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            IntVector vb = IntVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, Storage b, int bAddress, int length) {
+        IntVector vb = IntVector.broadcast(SPECIES, b.getInt(bAddress));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Integer.BYTES;
+            IntVector va = IntVector.fromByteArray(SPECIES, a, offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteArray(a, offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Integer.BYTES;
+            IntVector va = IntVector.fromByteArray(SPECIES, a, offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteArray(a, offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, Storage b, int bAddress, int length) {
+        IntVector vb = IntVector.broadcast(SPECIES, b.getInt(bAddress));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteBuffer(a, offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteBuffer(a, offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void fma(byte[] a, int aOffset, byte[] b, int bOffset, byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            IntVector vb = IntVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            IntVector vc = IntVector.fromByteArray(SPECIES, c, cOffset + offset, BYTE_ORDER);
+            va.mul(vb).add(vc).intoByteArray(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            IntVector vb = IntVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            IntVector vc = IntVector.fromByteArray(SPECIES, c, cOffset + offset, BYTE_ORDER, m);
+            va.mul(vb).add(vc).intoByteArray(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void fma(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            IntVector vb = IntVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            IntVector vc = IntVector.fromByteBuffer(SPECIES, c, cOffset + offset, BYTE_ORDER);
+            va.mul(vb).add(vc).intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            IntVector vb = IntVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            IntVector vc = IntVector.fromByteBuffer(SPECIES, c, cOffset + offset, BYTE_ORDER, m);
+            va.mul(vb).add(vc).intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Integer alpha, byte[] x, int xOffset, byte[] y, int yOffset, int length) {
+        IntVector va = IntVector.broadcast(SPECIES, (int) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector vx = IntVector.fromByteArray(SPECIES, x, xOffset + offset, BYTE_ORDER);
+            IntVector vy = IntVector.fromByteArray(SPECIES, y, yOffset + offset, BYTE_ORDER);
+            vx.mul(va).add(vy).intoByteArray(y, yOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector vx = IntVector.fromByteArray(SPECIES, x, xOffset + offset, BYTE_ORDER, m);
+            IntVector vy = IntVector.fromByteArray(SPECIES, y, yOffset + offset, BYTE_ORDER, m);
+            vx.mul(va).add(vy).intoByteArray(y, yOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Integer alpha, ByteBuffer x, int xOffset, ByteBuffer y, int yOffset, int length) {
+        IntVector va = IntVector.broadcast(SPECIES, (int) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector vx = IntVector.fromByteBuffer(SPECIES, x, xOffset + offset, BYTE_ORDER);
+            IntVector vy = IntVector.fromByteBuffer(SPECIES, y, yOffset + offset, BYTE_ORDER);
+            vx.mul(va).add(vy).intoByteBuffer(y, yOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector vx = IntVector.fromByteBuffer(SPECIES, x, xOffset + offset, BYTE_ORDER, m);
+            IntVector vy = IntVector.fromByteBuffer(SPECIES, y, yOffset + offset, BYTE_ORDER, m);
+            vx.mul(va).add(vy).intoByteBuffer(y, yOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected Integer reduce(Reduction reduction, ByteBuffer a, int offset, int length) {
+        IntVector identity = IntVector.broadcast(SPECIES, identity(reduction));
+        IntVector acc0 = identity, acc1 = identity, acc2 = identity, acc3 = identity;
+        int step = SPECIES.length();
+        int bytes = SPECIES.vectorByteSize();
+        int i = 0;
+        for (int bound = length - length % (4 * step); i < bound; i += 4 * step) {
+            int o = offset + i * Integer.BYTES;
+            acc0 = reduce(reduction, acc0, IntVector.fromByteBuffer(SPECIES, a, o, BYTE_ORDER));
+            acc1 = reduce(reduction, acc1, IntVector.fromByteBuffer(SPECIES, a, o + bytes, BYTE_ORDER));
+            acc2 = reduce(reduction, acc2, IntVector.fromByteBuffer(SPECIES, a, o + 2 * bytes, BYTE_ORDER));
+            acc3 = reduce(reduction, acc3, IntVector.fromByteBuffer(SPECIES, a, o + 3 * bytes, BYTE_ORDER));
+        }
+        for (; i < SPECIES.loopBound(length); i += step) {
+            acc0 = reduce(reduction, acc0, IntVector.fromByteBuffer(SPECIES, a, offset + i * Integer.BYTES, BYTE_ORDER));
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            IntVector v = IntVector.fromByteBuffer(SPECIES, a, offset + i * Integer.BYTES, BYTE_ORDER, m);
+            acc0 = acc0.blend(reduce(reduction, acc0, v), m);
+        }
+        IntVector acc = reduce(reduction, reduce(reduction, acc0, acc1), reduce(reduction, acc2, acc3));
+        return switch (reduction) {
+            case SUM -> acc.reduceLanes(VectorOperators.ADD);
+            case PROD -> acc.reduceLanes(VectorOperators.MUL);
+            case MIN -> acc.reduceLanes(VectorOperators.MIN);
+            case MAX -> acc.reduceLanes(VectorOperators.MAX);
+        };
+    }
+
+    @Override
+    protected void accumulate(Reduction reduction, ByteBuffer a, int aOffset,
+                              ByteBuffer b, int bOffset, int bStride, int rows, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, IntVector.fromByteBuffer(SPECIES, b, o, BYTE_ORDER));
+            }
+            va.intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector va = IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, IntVector.fromByteBuffer(SPECIES, b, o, BYTE_ORDER, m));
+            }
+            va.intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
     @Override
-    protected Integer getDefaultValue() {
-        return 0;
+    protected Integer valueOf(int value) {
+        return value;
+    }
+
+    private static IntVector reduce(Reduction reduction, IntVector a, IntVector b) {
+        return switch (reduction) {
+            case SUM -> a.add(b);
+            case PROD -> a.mul(b);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    private static int identity(Reduction reduction) {
+        return switch (reduction) {
+            case SUM -> 0;
+            case PROD -> 1;
+            case MIN -> Integer.MAX_VALUE;
+            case MAX -> Integer.MIN_VALUE;
+        };
     }
 
     @Override
-    protected Integer reduceLanes(Vector<Integer> vector, VectorOperators.Associative op) {
-        return vector.reinterpretAsInts().reduceLanes(op);
+    protected Integer combine(Reduction reduction, Integer a, Integer b) {
+        return switch (reduction) {
+            case SUM -> a + b;
+            case PROD -> a * b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+        };
     }
 
     @Override
-    protected Integer add(Integer t1, Integer t2) {
-        return t1 + t2;
+    protected double sumAsDouble(ByteBuffer a, int offset, int length, boolean squares) {
+        DoubleVector acc = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (; i < HALF.loopBound(length); i += HALF.length()) {
+            DoubleVector v = (DoubleVector) IntVector.fromByteBuffer(HALF, a, offset + i * Integer.BYTES, BYTE_ORDER)
+                .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            acc = squares ? v.fma(v, acc) : acc.add(v);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = HALF.indexInRange(i, length);
+            DoubleVector v = (DoubleVector) IntVector.fromByteBuffer(HALF, a, offset + i * Integer.BYTES, BYTE_ORDER, m)
+                .convertShape(VectorOperators.I2D, DOUBLES, 0);
+            acc = squares ? v.fma(v, acc) : acc.add(v);
+        }
+        return acc.reduceLanes(VectorOperators.ADD);
     }
 
     @Override
-    public Vector<Integer> toVec(int offset, VectorMask<Integer> m) {
-        return IntVector.fromByteArray(SPECIES, data(), offset, BYTE_ORDER, m);
+    protected int arg(VectorOperators.Comparison comparison, ByteBuffer a, int offset, int length) {
+        boolean max = comparison == VectorOperators.GT;
+        IntVector best = IntVector.broadcast(SPECIES, identity(max ? Reduction.MAX : Reduction.MIN));
+        IntVector bestIndex = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        IntVector index = IntVector.zero(SPECIES).addIndex(1);
+        IntVector step = IntVector.broadcast(SPECIES, SPECIES.length());
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            IntVector v = IntVector.fromByteBuffer(SPECIES, a, offset + i * Integer.BYTES, BYTE_ORDER);
+            VectorMask<Integer> better = max ? best.lt(v) : v.lt(best);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better);
+            index = index.add(step);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            IntVector v = IntVector.fromByteBuffer(SPECIES, a, offset + i * Integer.BYTES, BYTE_ORDER, m);
+            VectorMask<Integer> better = (max ? best.lt(v) : v.lt(best)).and(m);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better);
+        }
+        int value = max ? best.reduceLanes(VectorOperators.MAX) : best.reduceLanes(VectorOperators.MIN);
+        int position = bestIndex.reduceLanes(VectorOperators.MIN, best.eq(value));
+        // no element is better than the identity, so all are equal to it
+        return position == Integer.MAX_VALUE ? 0 : position;
+    }
+
+    @Override
+    protected void apply(UnaryOperation operation, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        if (operation != UnaryOperation.ABS) {
+            throw new UnsupportedOperationException(operation + " is not supported by int matrices");
+        }
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER).abs().intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m).abs().intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void clamp(Integer min, Integer max, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        IntVector vMin = IntVector.broadcast(SPECIES, (int) min);
+        IntVector vMax = IntVector.broadcast(SPECIES, (int) max);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Integer.BYTES;
+            IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER).max(vMin).min(vMax)
+                .intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Integer> m = SPECIES.indexInRange(i, length);
+            int offset = i * Integer.BYTES;
+            IntVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m).max(vMin).min(vMax)
+                .intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    private static IntVector apply(Operation operation, IntVector a, IntVector b, VectorMask<Integer> m) {
+        return switch (operation) {
+            case ADD -> a.add(b);
+            case SUB -> a.sub(b);
+            case MUL -> a.mul(b);
+            // lanes outside of the mask are zero and must not be divided by
+            case DIV -> a.div(b, m);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    @Override
+    protected void gemm(Storage a, int aOffset, int aRowStride, int aColumnStride,
+                        Storage b, int bOffset, int bRowStride, int bColumnStride,
+                        Storage c, int cOffset, int ldc, int m, int n, int p) {
+        IntegerGemm.gemm(a, aOffset, aRowStride, aColumnStride, b, bOffset, bRowStride, bColumnStride, c, cOffset, ldc, m, n, p);
     }
 
     @Override
@@ -73,25 +488,183 @@ public class IntegerMatrix extends InMemoryMatrix<Integer> {
         return zeros(dimensions);
     }
 
+    @Override
+    protected Matrix<Integer> createView(Storage storage, int offset, int[] strides, int[] dimensions) {
+        return new IntegerMatrix(storage, offset, strides, dimensions);
+    }
+
     @Override
     protected void set(Integer value, int address) {
-        TheUnsafe.write(data(), address, value);
+        writeInt(address, value);
+    }
+
+    @Override
+    protected Integer read(int address) {
+        return readInt(address);
+    }
+
+    private int readInt(int address) {
+        return storage.getInt(address);
+    }
+
+    private void writeInt(int address, int value) {
+        storage.putInt(address, value);
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public int getInt(int ... position) {
+        return readInt(address(position));
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public int getInt(int row, int column) {
+        return readInt(address(row, column));
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public int getInt(long index) {
+        return readInt(address(index));
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setInt(int[] position, int value) {
+        writeInt(address(position), value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setInt(int row, int column, int value) {
+        writeInt(address(row, column), value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public void setInt(long index, int value) {
+        writeInt(address(index), value);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, int[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                dst[offset + i] = readInt(address(index + i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            if (!storage.isArray()) {
+                storage.buffer(address).asIntBuffer().get(storage.index(address), dst, offset + i, run);
+                i += run;
+                continue;
+            }
+            byte[] array = storage.array(address);
+            int from = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                IntVector.fromByteArray(SPECIES, array, (from + j) * Integer.BYTES, BYTE_ORDER).intoArray(dst, offset + i + j);
+            }
+            for (; j < run; j++) {
+                dst[offset + i + j] = TheUnsafe.readInt(array, from + j);
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset},
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     */
+    public void set(long index, int[] src, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                writeInt(address(index + i), src[offset + i]);
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            if (!storage.isArray()) {
+                storage.buffer(address).asIntBuffer().put(storage.index(address), src, offset + i, run);
+                i += run;
+                continue;
+            }
+            byte[] array = storage.array(address);
+            int to = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                IntVector.fromArray(SPECIES, src, offset + i + j).intoByteArray(array, (to + j) * Integer.BYTES, BYTE_ORDER);
+            }
+            for (; j < run; j++) {
+                TheUnsafe.write(array, to + j, src[offset + i + j]);
+            }
+            i += run;
+        }
     }
 
     @Override
     public Matrix<Integer> copy() {
-        byte[] data = Arrays.copyOf(data(), data().length);
         int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
-        return new IntegerMatrix(data, dimensions);
+        return new IntegerMatrix(contiguousStorage(), dimensions);
     }
 
     @Override
-    protected void writeType(OutputStream out) throws IOException {
-        out.write(MemoryMappedIntegerMatrix.INT_TYPE);
+    protected byte type() {
+        return MemoryMappedMatrix.INT_TYPE;
     }
 
     public static class IntegerMatrixBuilder extends AbstractBuilder<Integer> {
 
+        public IntegerMatrixBuilder() {
+        }
+
+        IntegerMatrixBuilder(int rows, int columns) {
+            super(rows, columns);
+        }
+
+        /**
+         * Adds a copy of {@code row}, without boxing its elements.
+         */
+        public IntegerMatrixBuilder row(int[] row) {
+            int offset = appendRow(row.length);
+            byte[] data = data();
+            int i = 0;
+            for (; i < SPECIES.loopBound(row.length); i += SPECIES.length()) {
+                IntVector.fromArray(SPECIES, row, i).intoByteArray(data, (offset + i) * Integer.BYTES, BYTE_ORDER);
+            }
+            for (; i < row.length; i++) {
+                TheUnsafe.write(data, offset + i, row[i]);
+            }
+            return this;
+        }
+
         @Override
         protected void fill(int offset, byte[] data, Integer... row) {
             for (int i = 0; i < row.length; i++) {
@@ -0,0 +1,344 @@
+package num4j.impl;
+
+import num4j.api.Expression;
+import num4j.api.Matrix;
+import num4j.exceptions.IncompatibleDimensionsException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Node of the graph built by an {@link Expression}: either a matrix, or an operation combining two nodes.
+ * <p>
+ * The graph is evaluated in blocks of {@link #BLOCK} elements. For each block, the operations are applied
+ * by the vectorized kernels of {@link InMemoryMatrix} in topological order, keeping the intermediate results
+ * in buffers small enough to stay in the cache. Thus every matrix is read once and the result is written once,
+ * regardless of the number of operations.
+ */
+abstract class LazyExpression<T extends Number> implements Expression<T> {
+
+    /**
+     * Number of elements processed at once, so that the intermediate results fit into the L1 cache.
+     */
+    static final int BLOCK = 1024;
+
+    private final int[] dimensions;
+
+    LazyExpression(int[] dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public Expression<T> add(Matrix<T> other) {
+        return add(other.lazy());
+    }
+
+    @Override
+    public Expression<T> add(Expression<T> other) {
+        return new Operation<>(InMemoryMatrix.Operation.ADD, this, node(other));
+    }
+
+    @Override
+    public Expression<T> sub(Matrix<T> other) {
+        return sub(other.lazy());
+    }
+
+    @Override
+    public Expression<T> sub(Expression<T> other) {
+        return new Operation<>(InMemoryMatrix.Operation.SUB, this, node(other));
+    }
+
+    @Override
+    public Expression<T> mul(Matrix<T> other) {
+        return mul(other.lazy());
+    }
+
+    @Override
+    public Expression<T> mul(Expression<T> other) {
+        return new Operation<>(InMemoryMatrix.Operation.MUL, this, node(other));
+    }
+
+    @Override
+    public Expression<T> div(Matrix<T> other) {
+        return div(other.lazy());
+    }
+
+    @Override
+    public Expression<T> div(Expression<T> other) {
+        return new Operation<>(InMemoryMatrix.Operation.DIV, this, node(other));
+    }
+
+    private static <T extends Number> LazyExpression<T> node(Expression<T> expression) {
+        if (expression instanceof LazyExpression<T> node) {
+            return node;
+        }
+        throw new IllegalArgumentException("Unsupported expression " + expression.getClass().getName());
+    }
+
+    @Override
+    public int[] dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public Matrix<T> eval() {
+        InMemoryMatrix<T> result = (InMemoryMatrix<T>) anyMatrix().createEmptyMatrix(Arrays.copyOf(dimensions, dimensions.length));
+        new Program<>(this).run(result);
+        return result;
+    }
+
+    /**
+     * Evaluates the expression into {@code destination}. Operands sharing their elements with the destination
+     * at other positions are evaluated into a temporary matrix first.
+     */
+    @Override
+    public void into(Matrix<T> destination) {
+        if (!Arrays.equals(dimensions, destination.dimensions())) {
+            throw new IncompatibleDimensionsException("Dimensions do not match");
+        }
+        InMemoryMatrix<T> target;
+        if (destination instanceof InMemoryMatrix<T> inMemory) {
+            target = inMemory;
+        } else if (destination instanceof MemoryMappedMatrix<T> mapped) {
+            target = mapped.writableElements();
+        } else {
+            throw new IllegalArgumentException("Unsupported matrix " + destination.getClass().getName());
+        }
+        if (target.isContiguous() && target.type() == anyMatrix().type() && !overlapsElsewhere(target)) {
+            new Program<>(this).run(target);
+        } else {
+            target.copyFrom(eval());
+        }
+    }
+
+    /**
+     * @return one of the matrices of the expression, which provides the kernels
+     */
+    protected abstract InMemoryMatrix<T> anyMatrix();
+
+    /**
+     * @return whether a matrix of the expression shares elements with {@code target} at other positions,
+     * which could be overwritten before they are read
+     */
+    protected abstract boolean overlapsElsewhere(InMemoryMatrix<T> target);
+
+    static final class Leaf<T extends Number> extends LazyExpression<T> {
+
+        private final InMemoryMatrix<T> matrix;
+
+        Leaf(InMemoryMatrix<T> matrix) {
+            super(matrix.dimensions());
+            this.matrix = matrix;
+        }
+
+        @Override
+        protected InMemoryMatrix<T> anyMatrix() {
+            return matrix;
+        }
+
+        @Override
+        protected boolean overlapsElsewhere(InMemoryMatrix<T> target) {
+            return target.overlapsElsewhere(matrix);
+        }
+    }
+
+    static final class Operation<T extends Number> extends LazyExpression<T> {
+
+        private final InMemoryMatrix.Operation operation;
+        private final LazyExpression<T> left;
+        private final LazyExpression<T> right;
+
+        Operation(InMemoryMatrix.Operation operation, LazyExpression<T> left, LazyExpression<T> right) {
+            super(left.dimensions());
+            if (!Arrays.equals(left.dimensions(), right.dimensions())) {
+                throw new IncompatibleDimensionsException("Dimensions do not match");
+            }
+            this.operation = operation;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        protected InMemoryMatrix<T> anyMatrix() {
+            return left.anyMatrix();
+        }
+
+        @Override
+        protected boolean overlapsElsewhere(InMemoryMatrix<T> target) {
+            return left.overlapsElsewhere(target) || right.overlapsElsewhere(target);
+        }
+    }
+
+    /**
+     * The operations of an expression in topological order, each node being computed only once per block,
+     * even if it is used several times. The result of an operation is stored in a buffer, preferably in the one
+     * of an operand which is not used anymore, the result of the last one directly in the destination.
+     * Operands stored in arrays are read directly from the matrices, all others are copied block by block.
+     */
+    private static final class Program<T extends Number> {
+
+        /**
+         * Computes {@code target = left operation right}, where operands without a buffer ({@code -1})
+         * are read from their {@code source}.
+         */
+        private record Step<T extends Number>(InMemoryMatrix.Operation operation,
+                                              int left, InMemoryMatrix<T> leftSource,
+                                              int right, InMemoryMatrix<T> rightSource, int target) {
+        }
+
+        private final InMemoryMatrix<T> kernel;
+        private final int elementSize;
+        private final int blockSize;
+        private final List<Step<T>> steps = new ArrayList<>();
+        // contiguous matrix of the root, if it is a leaf
+        private final InMemoryMatrix<T> rootSource;
+        private final List<byte[]> buffers = new ArrayList<>();
+        private byte[] leftScratch;
+        private byte[] rightScratch;
+
+        Program(LazyExpression<T> root) {
+            this.kernel = root.anyMatrix();
+            this.elementSize = kernel.elementSize();
+            this.blockSize = Math.max(1, Math.min(BLOCK, InMemoryMatrix.nrElements(root.dimensions())));
+            Map<LazyExpression<T>, Integer> uses = new IdentityHashMap<>();
+            Map<LazyExpression<T>, InMemoryMatrix<T>> sources = new IdentityHashMap<>();
+            List<Operation<T>> operations = new ArrayList<>();
+            sort(root, uses, sources, operations);
+            allocate(operations, uses, sources);
+            this.rootSource = sources.get(root);
+        }
+
+        /**
+         * Collects the operations below {@code node} in topological order, counts how often each node is used
+         * and gets the contiguous matrices of the leaves, converted to the format of the kernel.
+         */
+        private void sort(LazyExpression<T> node, Map<LazyExpression<T>, Integer> uses,
+                          Map<LazyExpression<T>, InMemoryMatrix<T>> sources, List<Operation<T>> operations) {
+            if (uses.merge(node, 1, Integer::sum) > 1) {
+                return;
+            }
+            if (node instanceof Operation<T> operation) {
+                sort(operation.left, uses, sources, operations);
+                sort(operation.right, uses, sources, operations);
+                operations.add(operation);
+            } else {
+                // the kernel reads all operands alike, so they have to be stored in its format
+                sources.put(node, (InMemoryMatrix<T>) kernel.sameFormat(((Leaf<T>) node).matrix.contiguousMatrix()));
+            }
+        }
+
+        private void allocate(List<Operation<T>> operations, Map<LazyExpression<T>, Integer> uses,
+                              Map<LazyExpression<T>, InMemoryMatrix<T>> sources) {
+            Map<LazyExpression<T>, Integer> buffer = new IdentityHashMap<>();
+            Deque<Integer> free = new ArrayDeque<>();
+            for (Operation<T> operation : operations) {
+                int left = buffer.getOrDefault(operation.left, -1);
+                int right = buffer.getOrDefault(operation.right, -1);
+                int target;
+                if (left != -1 && uses.get(operation.left) == 1) {
+                    target = left;
+                } else if (right != -1 && uses.get(operation.right) == 1) {
+                    target = right;
+                } else if (!free.isEmpty()) {
+                    target = free.pop();
+                } else {
+                    target = buffers.size();
+                    buffers.add(new byte[blockSize * elementSize]);
+                }
+                release(operation.left, left, target, uses, free);
+                release(operation.right, right, target, uses, free);
+                buffer.put(operation, target);
+                steps.add(new Step<>(operation.operation, left, sources.get(operation.left),
+                    right, sources.get(operation.right), target));
+            }
+        }
+
+        private void release(LazyExpression<T> node, int buffer, int target, Map<LazyExpression<T>, Integer> uses,
+                             Deque<Integer> free) {
+            if (uses.merge(node, -1, Integer::sum) == 0 && buffer != -1 && buffer != target) {
+                free.push(buffer);
+            }
+        }
+
+        void run(InMemoryMatrix<T> target) {
+            Storage storage = target.storage;
+            int size = target.size();
+            for (int start = 0; start < size; start += blockSize) {
+                int length = Math.min(blockSize, size - start);
+                int address = target.address(start);
+                if (rootSource != null) {
+                    Storage.copy(rootSource.storage, rootSource.address(start), storage, address, length);
+                    continue;
+                }
+                boolean direct = isDirect(storage, address, length);
+                for (int i = 0; i < steps.size(); i++) {
+                    Step<T> step = steps.get(i);
+                    byte[] a = operand(step.left, step.leftSource, start, length, true);
+                    int aOffset = offset(step.left, step.leftSource, start, length);
+                    byte[] b = operand(step.right, step.rightSource, start, length, false);
+                    int bOffset = offset(step.right, step.rightSource, start, length);
+                    if (i == steps.size() - 1 && direct) {
+                        kernel.apply(step.operation, a, aOffset, b, bOffset,
+                            storage.array(address), storage.index(address) * elementSize, length);
+                    } else {
+                        kernel.apply(step.operation, a, aOffset, b, bOffset, buffers.get(step.target), 0, length);
+                    }
+                }
+                if (!direct) {
+                    Storage.copy(Storage.wrap(buffers.get(steps.get(steps.size() - 1).target), elementSize), 0,
+                        storage, address, length);
+                }
+            }
+        }
+
+        private static boolean isDirect(Storage storage, int address, int length) {
+            return storage.isArray() && storage.remaining(address) >= length;
+        }
+
+        /**
+         * @return the array containing the block of an operand, which is copied if it cannot be read directly
+         */
+        private byte[] operand(int buffer, InMemoryMatrix<T> source, int start, int length, boolean left) {
+            if (buffer != -1) {
+                return buffers.get(buffer);
+            }
+            int address = source.address(start);
+            if (isDirect(source.storage, address, length)) {
+                return source.storage.array(address);
+            }
+            byte[] scratch = left ? leftScratch() : rightScratch();
+            Storage.copy(source.storage, address, Storage.wrap(scratch, elementSize), 0, length);
+            return scratch;
+        }
+
+        /**
+         * @return the byte offset of the block of an operand within the array returned by {@link #operand}
+         */
+        private int offset(int buffer, InMemoryMatrix<T> source, int start, int length) {
+            if (buffer != -1) {
+                return 0;
+            }
+            int address = source.address(start);
+            return isDirect(source.storage, address, length) ? source.storage.index(address) * elementSize : 0;
+        }
+
+        private byte[] leftScratch() {
+            if (leftScratch == null) {
+                leftScratch = new byte[blockSize * elementSize];
+            }
+            return leftScratch;
+        }
+
+        private byte[] rightScratch() {
+            if (rightScratch == null) {
+                rightScratch = new byte[blockSize * elementSize];
+            }
+            return rightScratch;
+        }
+    }
+}
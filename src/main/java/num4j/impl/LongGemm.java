@@ -0,0 +1,194 @@
+package num4j.impl;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+
+import static num4j.impl.InMemoryMatrix.BYTE_ORDER;
+
+/**
+ * Cache blocked matrix multiplication kernel for long matrices.
+ * Operands are split into blocks which fit into the caches ({@code KC x NC} of the right-hand side,
+ * {@code MC x KC} of the left-hand side), packed into contiguous panels and multiplied by a micro kernel,
+ * which keeps a {@code MR x NR} tile of the result in vector registers.
+ */
+final class LongGemm {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int L = SPECIES.length();
+
+    // micro tile: MR rows times NR columns (two vectors) of the result
+    private static final int MR = 4;
+    private static final int NR = 2 * L;
+
+    // cache blocks, MC has to be a multiple of MR, NC a multiple of NR
+    private static final int KC = 256;
+    private static final int MC = 96;
+    private static final int NC = 2048;
+
+    private LongGemm() {
+    }
+
+    /**
+     * Adds the product of the {@code m x n} matrix {@code a} and the {@code n x p} matrix {@code b} to the
+     * {@code m x p} matrix {@code c}. All offsets and strides are given in elements,
+     * {@code c} is stored row major with {@code ldc} elements between two subsequent rows.
+     */
+    static void gemm(Storage a, int aOffset, int aRowStride, int aColumnStride,
+                     Storage b, int bOffset, int bRowStride, int bColumnStride,
+                     Storage c, int cOffset, int ldc, int m, int n, int p) {
+        if (m == 0 || n == 0 || p == 0) {
+            return;
+        }
+        int kcMax = Math.min(KC, n);
+        long[] packedA = new long[roundUp(Math.min(MC, m), MR) * kcMax];
+        long[] packedB = new long[roundUp(Math.min(NC, p), NR) * kcMax];
+        long[] edge = new long[MR * NR];
+
+        for (int jc = 0; jc < p; jc += NC) {
+            int nc = Math.min(NC, p - jc);
+            for (int pc = 0; pc < n; pc += KC) {
+                int kc = Math.min(KC, n - pc);
+                packB(b, bOffset + pc * bRowStride + jc * bColumnStride, bRowStride, bColumnStride, kc, nc, packedB);
+                for (int ic = 0; ic < m; ic += MC) {
+                    int mc = Math.min(MC, m - ic);
+                    packA(a, aOffset + ic * aRowStride + pc * aColumnStride, aRowStride, aColumnStride, mc, kc, packedA);
+                    for (int jr = 0; jr < nc; jr += NR) {
+                        for (int ir = 0; ir < mc; ir += MR) {
+                            kernel(kc, packedA, ir * kc, packedB, jr * kc,
+                                c, cOffset + (ic + ir) * ldc + jc + jr, ldc,
+                                Math.min(MR, mc - ir), Math.min(NR, nc - jr), edge);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs {@code rows x kc} of {@code a} into panels of {@code MR} rows, stored column by column.
+     * Rows exceeding {@code rows} are padded with zeros.
+     */
+    private static void packA(Storage a, int offset, int rowStride, int columnStride, int rows, int kc, long[] packed) {
+        int idx = 0;
+        for (int ir = 0; ir < rows; ir += MR) {
+            int panelRows = Math.min(MR, rows - ir);
+            for (int k = 0; k < kc; k++) {
+                for (int r = 0; r < MR; r++) {
+                    int address = offset + (ir + r) * rowStride + k * columnStride;
+                    packed[idx++] = r < panelRows ? a.getLong(address) : 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs {@code kc x cols} of {@code b} into panels of {@code NR} columns, stored row by row.
+     * Columns exceeding {@code cols} are padded with zeros.
+     */
+    private static void packB(Storage b, int offset, int rowStride, int columnStride, int kc, int cols, long[] packed) {
+        int idx = 0;
+        for (int jr = 0; jr < cols; jr += NR) {
+            VectorMask<Long> m0 = SPECIES.indexInRange(jr, cols);
+            VectorMask<Long> m1 = SPECIES.indexInRange(jr + L, cols);
+            for (int k = 0; k < kc; k++) {
+                int src = offset + k * rowStride + jr * columnStride;
+                if (columnStride == 1 && b.remaining(src) >= NR) {
+                    ByteBuffer buffer = b.buffer(src);
+                    int index = b.index(src);
+                    LongVector.fromByteBuffer(SPECIES, buffer, index * Long.BYTES, BYTE_ORDER, m0).intoArray(packed, idx);
+                    LongVector.fromByteBuffer(SPECIES, buffer, (index + L) * Long.BYTES, BYTE_ORDER, m1).intoArray(packed, idx + L);
+                } else {
+                    for (int j = 0; j < NR; j++) {
+                        int address = src + j * columnStride;
+                        packed[idx + j] = jr + j < cols ? b.buffer(address).getLong(b.index(address) * Long.BYTES) : 0;
+                    }
+                }
+                idx += NR;
+            }
+        }
+    }
+
+    private static void kernel(int kc, long[] a, int aIdx, long[] b, int bIdx,
+                               Storage c, int cIdx, int ldc, int rows, int cols, long[] edge) {
+        LongVector c00 = LongVector.zero(SPECIES), c01 = LongVector.zero(SPECIES);
+        LongVector c10 = LongVector.zero(SPECIES), c11 = LongVector.zero(SPECIES);
+        LongVector c20 = LongVector.zero(SPECIES), c21 = LongVector.zero(SPECIES);
+        LongVector c30 = LongVector.zero(SPECIES), c31 = LongVector.zero(SPECIES);
+
+        for (int k = 0; k < kc; k++) {
+            LongVector b0 = LongVector.fromArray(SPECIES, b, bIdx);
+            LongVector b1 = LongVector.fromArray(SPECIES, b, bIdx + L);
+
+            long a0 = a[aIdx];
+            c00 = b0.mul(a0).add(c00);
+            c01 = b1.mul(a0).add(c01);
+            long a1 = a[aIdx + 1];
+            c10 = b0.mul(a1).add(c10);
+            c11 = b1.mul(a1).add(c11);
+            long a2 = a[aIdx + 2];
+            c20 = b0.mul(a2).add(c20);
+            c21 = b1.mul(a2).add(c21);
+            long a3 = a[aIdx + 3];
+            c30 = b0.mul(a3).add(c30);
+            c31 = b1.mul(a3).add(c31);
+
+            aIdx += MR;
+            bIdx += NR;
+        }
+
+        if (rows == MR && cols == NR && c.sameChunk(cIdx, cIdx + 3 * ldc + NR - 1)) {
+            int index = c.index(cIdx);
+            if (c.isArray()) {
+                byte[] array = c.array(cIdx);
+                update(array, index, c00, c01);
+                update(array, index + ldc, c10, c11);
+                update(array, index + 2 * ldc, c20, c21);
+                update(array, index + 3 * ldc, c30, c31);
+            } else {
+                ByteBuffer buffer = c.buffer(cIdx);
+                update(buffer, index, c00, c01);
+                update(buffer, index + ldc, c10, c11);
+                update(buffer, index + 2 * ldc, c20, c21);
+                update(buffer, index + 3 * ldc, c30, c31);
+            }
+            return;
+        }
+
+        // partial tile at the border of the result, or spanning two chunks
+        c00.intoArray(edge, 0);
+        c01.intoArray(edge, L);
+        c10.intoArray(edge, NR);
+        c11.intoArray(edge, NR + L);
+        c20.intoArray(edge, 2 * NR);
+        c21.intoArray(edge, 2 * NR + L);
+        c30.intoArray(edge, 3 * NR);
+        c31.intoArray(edge, 3 * NR + L);
+        for (int r = 0; r < rows; r++) {
+            for (int j = 0; j < cols; j++) {
+                int address = cIdx + r * ldc + j;
+                c.putLong(address, c.getLong(address) + edge[r * NR + j]);
+            }
+        }
+    }
+
+    private static void update(byte[] c, int cIdx, LongVector v0, LongVector v1) {
+        int offset = cIdx * Long.BYTES;
+        LongVector.fromByteArray(SPECIES, c, offset, BYTE_ORDER).add(v0).intoByteArray(c, offset, BYTE_ORDER);
+        offset += L * Long.BYTES;
+        LongVector.fromByteArray(SPECIES, c, offset, BYTE_ORDER).add(v1).intoByteArray(c, offset, BYTE_ORDER);
+    }
+
+    private static void update(ByteBuffer c, int cIdx, LongVector v0, LongVector v1) {
+        int offset = cIdx * Long.BYTES;
+        LongVector.fromByteBuffer(SPECIES, c, offset, BYTE_ORDER).add(v0).intoByteBuffer(c, offset, BYTE_ORDER);
+        offset += L * Long.BYTES;
+        LongVector.fromByteBuffer(SPECIES, c, offset, BYTE_ORDER).add(v1).intoByteBuffer(c, offset, BYTE_ORDER);
+    }
+
+    private static int roundUp(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+}
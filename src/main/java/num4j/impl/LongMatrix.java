@@ -0,0 +1,682 @@
+package num4j.impl;
+
+import jdk.incubator.vector.*;
+import num4j.api.Matrix;
+import num4j.exceptions.IncompatibleDimensionsException;
+import num4j.unsafe.TheUnsafe;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+public class LongMatrix extends InMemoryMatrix<Long> {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final VectorMask<Long> ALL = SPECIES.maskAll(true);
+
+    /**
+     * Creates a new long matrix with the specified {@code dimensions}, filled with {@code 0}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static LongMatrix zeros(int ... dimensions) {
+        Storage storage = Storage.allocate(nrElements(dimensions), Long.BYTES);
+        return new LongMatrix(storage, dimensions);
+    }
+
+    /**
+     * Creates a new long matrix with the specified {@code dimensions}, filled with {@code 1}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static LongMatrix ones(int ... dimensions) {
+        Storage storage = Storage.allocate(nrElements(dimensions), Long.BYTES);
+        for (int i = 0; i < storage.nrChunks(); i++) {
+            byte[] chunk = storage.chunk(i);
+            for (int j = 0; j < chunk.length / Long.BYTES; j++) {
+                TheUnsafe.write(chunk, j, 1L);
+            }
+        }
+        return new LongMatrix(storage, dimensions);
+    }
+
+    /**
+     * Creates a new long matrix with the specified {@code dimensions}, holding a copy of {@code data}
+     * in row major order.
+     * @throws IncompatibleDimensionsException if the length of {@code data} does not fit the dimensions
+     */
+    public static LongMatrix of(long[] data, int ... dimensions) {
+        ensureLength(data.length, dimensions);
+        LongMatrix matrix = zeros(dimensions);
+        matrix.set(0, data, 0, data.length);
+        return matrix;
+    }
+
+    /**
+     * Creates a new long matrix holding a copy of {@code rows}.
+     * @throws IncompatibleDimensionsException if the rows differ in length
+     * @throws IllegalArgumentException if there are no rows
+     */
+    public static LongMatrix fromRows(long[][] rows) {
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Must at least contain 1 row");
+        }
+        int columns = rows[0].length;
+        LongMatrix matrix = zeros(rows.length, columns);
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i].length != columns) {
+                throw new IncompatibleDimensionsException("All rows must have same columns");
+            }
+            matrix.set((long) i * columns, rows[i], 0, columns);
+        }
+        return matrix;
+    }
+
+    /**
+     * Creates a long matrix using the elements stored little endian in {@code data}, without copying them.
+     * @throws IncompatibleDimensionsException if the length of {@code data} does not fit the dimensions
+     */
+    public static LongMatrix wrap(byte[] data, int ... dimensions) {
+        return new LongMatrix(data, dimensions);
+    }
+
+    /**
+     * Creates a long matrix using the elements stored little endian in {@code buffer} from its position
+     * to its limit, without copying them. The matrix can only be modified, if the buffer is writable.
+     * @throws IncompatibleDimensionsException if the remaining bytes do not fit the dimensions
+     */
+    public static LongMatrix wrap(ByteBuffer buffer, int ... dimensions) {
+        return new LongMatrix(storageOf(buffer, Long.BYTES), dimensions);
+    }
+
+    public static LongMatrixBuilder builder() {
+        return new LongMatrixBuilder();
+    }
+
+    /**
+     * @return a builder with space reserved for {@code rows} rows of {@code columns} elements, which builds
+     * the matrix without copying the rows once all of them are added
+     */
+    public static LongMatrixBuilder builder(int rows, int columns) {
+        return new LongMatrixBuilder(rows, columns);
+    }
+
+    LongMatrix(byte[] data, int... dimensions) {
+        super(SPECIES, data, dimensions);
+    }
+
+    LongMatrix(Storage storage, int... dimensions) {
+        super(SPECIES, storage, dimensions);
+    }
+
+    LongMatrix(Storage storage, int offset, int[] strides, int... dimensions) {
+        super(SPECIES, storage, offset, strides, dimensions);
+    }
+
+    @Override
+    public Vector<Long> toVec(long offset, VectorMask<Long> m) {
+        int address = address(offset / Long.BYTES);
+        if (isContiguous() && (storage.remaining(address) >= SPECIES.length() || storage.nrChunks() == 1)) {
+            int index = storage.index(address) * Long.BYTES;
+            return storage.isArray()
+                ? LongVector.fromByteArray(SPECIES, storage.array(address), index, BYTE_ORDER, m)
+                : LongVector.fromByteBuffer(SPECIES, storage.buffer(address), index, BYTE_ORDER, m);
+        }
+        return LongVector.fromByteArray(SPECIES, gather(offset, SPECIES.vectorByteSize()), 0, BYTE_ORDER, m);
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, byte[] b, int bOffset,
+                         byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            LongVector vb = LongVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteArray(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            LongVector vb = LongVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteArray(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset,
+                         ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            LongVector vb = LongVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            LongVector vb = LongVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            LongVector vb = LongVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            LongVector vb = LongVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, byte[] a, int aOffset, Storage b, int bAddress, int length) {
+        LongVector vb = LongVector.broadcast(SPECIES, b.getLong(bAddress));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Long.BYTES;
+            LongVector va = LongVector.fromByteArray(SPECIES, a, offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteArray(a, offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Long.BYTES;
+            LongVector va = LongVector.fromByteArray(SPECIES, a, offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteArray(a, offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void apply(Operation operation, ByteBuffer a, int aOffset, Storage b, int bAddress, int length) {
+        LongVector vb = LongVector.broadcast(SPECIES, b.getLong(bAddress));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = aOffset + i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, offset, BYTE_ORDER);
+            apply(operation, va, vb, ALL).intoByteBuffer(a, offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = aOffset + i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, offset, BYTE_ORDER, m);
+            apply(operation, va, vb, m).intoByteBuffer(a, offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void fma(byte[] a, int aOffset, byte[] b, int bOffset, byte[] c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            LongVector vb = LongVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            LongVector vc = LongVector.fromByteArray(SPECIES, c, cOffset + offset, BYTE_ORDER);
+            va.mul(vb).add(vc).intoByteArray(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteArray(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            LongVector vb = LongVector.fromByteArray(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            LongVector vc = LongVector.fromByteArray(SPECIES, c, cOffset + offset, BYTE_ORDER, m);
+            va.mul(vb).add(vc).intoByteArray(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void fma(ByteBuffer a, int aOffset, ByteBuffer b, int bOffset, ByteBuffer c, int cOffset, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            LongVector vb = LongVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER);
+            LongVector vc = LongVector.fromByteBuffer(SPECIES, c, cOffset + offset, BYTE_ORDER);
+            va.mul(vb).add(vc).intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            LongVector vb = LongVector.fromByteBuffer(SPECIES, b, bOffset + offset, BYTE_ORDER, m);
+            LongVector vc = LongVector.fromByteBuffer(SPECIES, c, cOffset + offset, BYTE_ORDER, m);
+            va.mul(vb).add(vc).intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Long alpha, byte[] x, int xOffset, byte[] y, int yOffset, int length) {
+        LongVector va = LongVector.broadcast(SPECIES, (long) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector vx = LongVector.fromByteArray(SPECIES, x, xOffset + offset, BYTE_ORDER);
+            LongVector vy = LongVector.fromByteArray(SPECIES, y, yOffset + offset, BYTE_ORDER);
+            vx.mul(va).add(vy).intoByteArray(y, yOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector vx = LongVector.fromByteArray(SPECIES, x, xOffset + offset, BYTE_ORDER, m);
+            LongVector vy = LongVector.fromByteArray(SPECIES, y, yOffset + offset, BYTE_ORDER, m);
+            vx.mul(va).add(vy).intoByteArray(y, yOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void axpy(Long alpha, ByteBuffer x, int xOffset, ByteBuffer y, int yOffset, int length) {
+        LongVector va = LongVector.broadcast(SPECIES, (long) alpha);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector vx = LongVector.fromByteBuffer(SPECIES, x, xOffset + offset, BYTE_ORDER);
+            LongVector vy = LongVector.fromByteBuffer(SPECIES, y, yOffset + offset, BYTE_ORDER);
+            vx.mul(va).add(vy).intoByteBuffer(y, yOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector vx = LongVector.fromByteBuffer(SPECIES, x, xOffset + offset, BYTE_ORDER, m);
+            LongVector vy = LongVector.fromByteBuffer(SPECIES, y, yOffset + offset, BYTE_ORDER, m);
+            vx.mul(va).add(vy).intoByteBuffer(y, yOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected Long reduce(Reduction reduction, ByteBuffer a, int offset, int length) {
+        LongVector identity = LongVector.broadcast(SPECIES, identity(reduction));
+        LongVector acc0 = identity, acc1 = identity, acc2 = identity, acc3 = identity;
+        int step = SPECIES.length();
+        int bytes = SPECIES.vectorByteSize();
+        int i = 0;
+        for (int bound = length - length % (4 * step); i < bound; i += 4 * step) {
+            int o = offset + i * Long.BYTES;
+            acc0 = reduce(reduction, acc0, LongVector.fromByteBuffer(SPECIES, a, o, BYTE_ORDER));
+            acc1 = reduce(reduction, acc1, LongVector.fromByteBuffer(SPECIES, a, o + bytes, BYTE_ORDER));
+            acc2 = reduce(reduction, acc2, LongVector.fromByteBuffer(SPECIES, a, o + 2 * bytes, BYTE_ORDER));
+            acc3 = reduce(reduction, acc3, LongVector.fromByteBuffer(SPECIES, a, o + 3 * bytes, BYTE_ORDER));
+        }
+        for (; i < SPECIES.loopBound(length); i += step) {
+            acc0 = reduce(reduction, acc0, LongVector.fromByteBuffer(SPECIES, a, offset + i * Long.BYTES, BYTE_ORDER));
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            LongVector v = LongVector.fromByteBuffer(SPECIES, a, offset + i * Long.BYTES, BYTE_ORDER, m);
+            acc0 = acc0.blend(reduce(reduction, acc0, v), m);
+        }
+        LongVector acc = reduce(reduction, reduce(reduction, acc0, acc1), reduce(reduction, acc2, acc3));
+        return switch (reduction) {
+            case SUM -> acc.reduceLanes(VectorOperators.ADD);
+            case PROD -> acc.reduceLanes(VectorOperators.MUL);
+            case MIN -> acc.reduceLanes(VectorOperators.MIN);
+            case MAX -> acc.reduceLanes(VectorOperators.MAX);
+        };
+    }
+
+    @Override
+    protected void accumulate(Reduction reduction, ByteBuffer a, int aOffset,
+                              ByteBuffer b, int bOffset, int bStride, int rows, int length) {
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, LongVector.fromByteBuffer(SPECIES, b, o, BYTE_ORDER));
+            }
+            va.intoByteBuffer(a, aOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector va = LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m);
+            for (int row = 0, o = bOffset + offset; row < rows; row++, o += bStride) {
+                va = reduce(reduction, va, LongVector.fromByteBuffer(SPECIES, b, o, BYTE_ORDER, m));
+            }
+            va.intoByteBuffer(a, aOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected Long valueOf(int value) {
+        return (long) value;
+    }
+
+    private static LongVector reduce(Reduction reduction, LongVector a, LongVector b) {
+        return switch (reduction) {
+            case SUM -> a.add(b);
+            case PROD -> a.mul(b);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    private static long identity(Reduction reduction) {
+        return switch (reduction) {
+            case SUM -> 0;
+            case PROD -> 1;
+            case MIN -> Long.MAX_VALUE;
+            case MAX -> Long.MIN_VALUE;
+        };
+    }
+
+    @Override
+    protected Long combine(Reduction reduction, Long a, Long b) {
+        return switch (reduction) {
+            case SUM -> a + b;
+            case PROD -> a * b;
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+        };
+    }
+
+    @Override
+    protected double sumAsDouble(ByteBuffer a, int offset, int length, boolean squares) {
+        // longs and doubles have the same number of lanes
+        DoubleVector acc = DoubleVector.zero(SPECIES.withLanes(double.class));
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            DoubleVector v = (DoubleVector) LongVector.fromByteBuffer(SPECIES, a, offset + i * Long.BYTES, BYTE_ORDER)
+                .convert(VectorOperators.L2D, 0);
+            acc = squares ? v.fma(v, acc) : acc.add(v);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            DoubleVector v = (DoubleVector) LongVector.fromByteBuffer(SPECIES, a, offset + i * Long.BYTES, BYTE_ORDER, m)
+                .convert(VectorOperators.L2D, 0);
+            acc = squares ? v.fma(v, acc) : acc.add(v);
+        }
+        return acc.reduceLanes(VectorOperators.ADD);
+    }
+
+    @Override
+    protected int arg(VectorOperators.Comparison comparison, ByteBuffer a, int offset, int length) {
+        boolean max = comparison == VectorOperators.GT;
+        LongVector best = LongVector.broadcast(SPECIES, identity(max ? Reduction.MAX : Reduction.MIN));
+        LongVector bestIndex = LongVector.broadcast(SPECIES, Long.MAX_VALUE);
+        LongVector index = LongVector.zero(SPECIES).addIndex(1);
+        LongVector step = LongVector.broadcast(SPECIES, SPECIES.length());
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            LongVector v = LongVector.fromByteBuffer(SPECIES, a, offset + i * Long.BYTES, BYTE_ORDER);
+            VectorMask<Long> better = max ? best.lt(v) : v.lt(best);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better);
+            index = index.add(step);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            LongVector v = LongVector.fromByteBuffer(SPECIES, a, offset + i * Long.BYTES, BYTE_ORDER, m);
+            VectorMask<Long> better = (max ? best.lt(v) : v.lt(best)).and(m);
+            best = best.blend(v, better);
+            bestIndex = bestIndex.blend(index, better);
+        }
+        long value = max ? best.reduceLanes(VectorOperators.MAX) : best.reduceLanes(VectorOperators.MIN);
+        long position = bestIndex.reduceLanes(VectorOperators.MIN, best.eq(value));
+        // no element is better than the identity, so all are equal to it
+        return position == Long.MAX_VALUE ? 0 : (int) position;
+    }
+
+    @Override
+    protected void apply(UnaryOperation operation, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        if (operation != UnaryOperation.ABS) {
+            throw new UnsupportedOperationException(operation + " is not supported by long matrices");
+        }
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER).abs().intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m).abs().intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    @Override
+    protected void clamp(Long min, Long max, ByteBuffer a, int aOffset, ByteBuffer c, int cOffset, int length) {
+        LongVector vMin = LongVector.broadcast(SPECIES, (long) min);
+        LongVector vMax = LongVector.broadcast(SPECIES, (long) max);
+        int i = 0;
+        for (; i < SPECIES.loopBound(length); i += SPECIES.length()) {
+            int offset = i * Long.BYTES;
+            LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER).max(vMin).min(vMax)
+                .intoByteBuffer(c, cOffset + offset, BYTE_ORDER);
+        }
+        if (i < length) {
+            VectorMask<Long> m = SPECIES.indexInRange(i, length);
+            int offset = i * Long.BYTES;
+            LongVector.fromByteBuffer(SPECIES, a, aOffset + offset, BYTE_ORDER, m).max(vMin).min(vMax)
+                .intoByteBuffer(c, cOffset + offset, BYTE_ORDER, m);
+        }
+    }
+
+    private static LongVector apply(Operation operation, LongVector a, LongVector b, VectorMask<Long> m) {
+        return switch (operation) {
+            case ADD -> a.add(b);
+            case SUB -> a.sub(b);
+            case MUL -> a.mul(b);
+            // lanes outside of the mask are zero and must not be divided by
+            case DIV -> a.div(b, m);
+            case MIN -> a.min(b);
+            case MAX -> a.max(b);
+        };
+    }
+
+    @Override
+    protected void gemm(Storage a, int aOffset, int aRowStride, int aColumnStride,
+                        Storage b, int bOffset, int bRowStride, int bColumnStride,
+                        Storage c, int cOffset, int ldc, int m, int n, int p) {
+        LongGemm.gemm(a, aOffset, aRowStride, aColumnStride, b, bOffset, bRowStride, bColumnStride, c, cOffset, ldc, m, n, p);
+    }
+
+    @Override
+    protected Matrix<Long> createEmptyMatrix(int[] dimensions) {
+        return zeros(dimensions);
+    }
+
+    @Override
+    protected Matrix<Long> createView(Storage storage, int offset, int[] strides, int[] dimensions) {
+        return new LongMatrix(storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected void set(Long value, int address) {
+        writeLong(address, value);
+    }
+
+    @Override
+    protected Long read(int address) {
+        return readLong(address);
+    }
+
+    private long readLong(int address) {
+        return storage.getLong(address);
+    }
+
+    private void writeLong(int address, long value) {
+        storage.putLong(address, value);
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public long getLong(int ... position) {
+        return readLong(address(position));
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public long getLong(int row, int column) {
+        return readLong(address(row, column));
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public long getLong(long index) {
+        return readLong(address(index));
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setLong(int[] position, long value) {
+        writeLong(address(position), value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public void setLong(int row, int column, long value) {
+        writeLong(address(row, column), value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public void setLong(long index, long value) {
+        writeLong(address(index), value);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, long[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                dst[offset + i] = readLong(address(index + i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            if (!storage.isArray()) {
+                storage.buffer(address).asLongBuffer().get(storage.index(address), dst, offset + i, run);
+                i += run;
+                continue;
+            }
+            byte[] array = storage.array(address);
+            int from = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                LongVector.fromByteArray(SPECIES, array, (from + j) * Long.BYTES, BYTE_ORDER).intoArray(dst, offset + i + j);
+            }
+            for (; j < run; j++) {
+                dst[offset + i + j] = TheUnsafe.readLong(array, from + j);
+            }
+            i += run;
+        }
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset},
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     */
+    public void set(long index, long[] src, int offset, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (!isContiguous()) {
+            for (int i = 0; i < length; i++) {
+                writeLong(address(index + i), src[offset + i]);
+            }
+            return;
+        }
+        for (int i = 0; i < length; ) {
+            int address = address(index + i);
+            int run = Math.min(length - i, storage.remaining(address));
+            if (!storage.isArray()) {
+                storage.buffer(address).asLongBuffer().put(storage.index(address), src, offset + i, run);
+                i += run;
+                continue;
+            }
+            byte[] array = storage.array(address);
+            int to = storage.index(address);
+            int j = 0;
+            for (; j < SPECIES.loopBound(run); j += SPECIES.length()) {
+                LongVector.fromArray(SPECIES, src, offset + i + j).intoByteArray(array, (to + j) * Long.BYTES, BYTE_ORDER);
+            }
+            for (; j < run; j++) {
+                TheUnsafe.write(array, to + j, src[offset + i + j]);
+            }
+            i += run;
+        }
+    }
+
+    @Override
+    public Matrix<Long> copy() {
+        int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
+        return new LongMatrix(contiguousStorage(), dimensions);
+    }
+
+    @Override
+    protected byte type() {
+        return MemoryMappedMatrix.LONG_TYPE;
+    }
+
+    public static class LongMatrixBuilder extends AbstractBuilder<Long> {
+
+        public LongMatrixBuilder() {
+        }
+
+        LongMatrixBuilder(int rows, int columns) {
+            super(rows, columns);
+        }
+
+        /**
+         * Adds a copy of {@code row}, without boxing its elements.
+         */
+        public LongMatrixBuilder row(long[] row) {
+            int offset = appendRow(row.length);
+            byte[] data = data();
+            int i = 0;
+            for (; i < SPECIES.loopBound(row.length); i += SPECIES.length()) {
+                LongVector.fromArray(SPECIES, row, i).intoByteArray(data, (offset + i) * Long.BYTES, BYTE_ORDER);
+            }
+            for (; i < row.length; i++) {
+                TheUnsafe.write(data, offset + i, row[i]);
+            }
+            return this;
+        }
+
+        @Override
+        protected void fill(int offset, byte[] data, Long... row) {
+            for (int i = 0; i < row.length; i++) {
+                TheUnsafe.write(data, offset + i, row[i]);
+            }
+        }
+
+        @Override
+        protected LongMatrix doBuild(byte[] data, int rows, int columns) {
+            return new LongMatrix(data, rows, columns);
+        }
+
+        @Override
+        protected int byteSize() {
+            return Long.BYTES;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package num4j.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scope, within which the arrays of new matrices on the heap are drawn from a pool of reusable arrays,
+ * to which they are returned when the scope is closed, instead of being left to the garbage collector:
+ * <pre>{@code
+ * try (MatrixArena arena = MatrixArena.open()) {
+ *     Matrix<Double> hidden = input.mmul(weights);
+ *     hidden.add(bias);
+ *     hidden.mmul(output, result); // result was allocated outside of the scope
+ * }
+ * }</pre>
+ * The pool keeps arrays in size classes of powers of two, so an array can be reused by any matrix of about the same size.
+ * <p>
+ * Arenas are confined to the thread which opened them and can be nested, the innermost one being used.
+ * Matrices allocated within a scope must not be used after it is closed, as their arrays are reused afterwards.
+ * Matrices off the heap, memory mapped matrices and arrays smaller than {@link #MIN_POOLED_BYTES} are not pooled.
+ */
+public final class MatrixArena implements AutoCloseable {
+
+    /**
+     * Size of the smallest pooled array: smaller ones are cheap to allocate and to collect.
+     */
+    public static final int MIN_POOLED_BYTES = 1 << 12;
+
+    /**
+     * Number of bytes the pool holds at most, unless changed by {@link #setMaxPooledBytes(long)}.
+     */
+    public static final long DEFAULT_MAX_POOLED_BYTES = 256L << 20;
+
+    // largest size class, the one of the largest chunks of a storage
+    private static final int MAX_SIZE_CLASS = Integer.numberOfTrailingZeros(Storage.CHUNK_BYTES);
+
+    private static final ThreadLocal<Deque<MatrixArena>> OPEN = ThreadLocal.withInitial(ArrayDeque::new);
+    // arrays of 1 << i bytes at index i
+    private static final List<ConcurrentLinkedDeque<byte[]>> POOL = new ArrayList<>();
+    private static final AtomicLong POOLED_BYTES = new AtomicLong();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong DISCARDED = new AtomicLong();
+    private static volatile long maxPooledBytes = DEFAULT_MAX_POOLED_BYTES;
+
+    static {
+        for (int i = 0; i <= MAX_SIZE_CLASS; i++) {
+            POOL.add(new ConcurrentLinkedDeque<>());
+        }
+    }
+
+    /**
+     * Counters of the pool, which are shared by all arenas.
+     * @param hits number of arrays taken from the pool
+     * @param misses number of arrays allocated, because the pool had none of the required size
+     * @param discarded number of arrays not returned to the pool, because it was full
+     * @param pooledBytes number of bytes currently held by the pool
+     */
+    public record Statistics(long hits, long misses, long discarded, long pooledBytes) {
+    }
+
+    private final Thread owner = Thread.currentThread();
+    private final List<byte[]> acquired = new ArrayList<>();
+    private boolean closed;
+
+    private MatrixArena() {
+    }
+
+    /**
+     * Opens a new scope on the current thread, which is used until it (or a scope nested in it) is closed.
+     */
+    public static MatrixArena open() {
+        MatrixArena arena = new MatrixArena();
+        OPEN.get().push(arena);
+        return arena;
+    }
+
+    /**
+     * @return the current counters of the pool
+     */
+    public static Statistics statistics() {
+        return new Statistics(HITS.get(), MISSES.get(), DISCARDED.get(), POOLED_BYTES.get());
+    }
+
+    /**
+     * Limits the number of bytes held by the pool, arrays returned to a full pool are left to the garbage collector.
+     * Arrays exceeding a smaller limit are dropped immediately.
+     * @throws IllegalArgumentException if {@code bytes} is negative
+     */
+    public static void setMaxPooledBytes(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("Maximum must not be negative");
+        }
+        maxPooledBytes = bytes;
+        for (int i = MAX_SIZE_CLASS; i >= 0 && POOLED_BYTES.get() > bytes; i--) {
+            byte[] array;
+            while (POOLED_BYTES.get() > bytes && (array = POOL.get(i).poll()) != null) {
+                POOLED_BYTES.addAndGet(-array.length);
+            }
+        }
+    }
+
+    /**
+     * Drops all arrays held by the pool.
+     */
+    public static void clearPool() {
+        for (ConcurrentLinkedDeque<byte[]> arrays : POOL) {
+            byte[] array;
+            while ((array = arrays.poll()) != null) {
+                POOLED_BYTES.addAndGet(-array.length);
+            }
+        }
+    }
+
+    /**
+     * Returns the arrays of all matrices allocated within this scope to the pool. Does nothing if called again.
+     * @throws IllegalStateException if called by another thread, or a scope nested in this one is still open
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Arena has to be closed by the thread which opened it");
+        }
+        Deque<MatrixArena> open = OPEN.get();
+        if (open.peek() != this) {
+            throw new IllegalStateException("Nested arena has to be closed first");
+        }
+        open.pop();
+        closed = true;
+        for (byte[] array : acquired) {
+            release(array);
+        }
+        acquired.clear();
+    }
+
+    /**
+     * @return an array of at least {@code bytes} bytes, whose first {@code bytes} are zero. It is taken from the pool
+     * and returned to it when the current scope is closed, if there is one.
+     */
+    static byte[] acquire(int bytes) {
+        MatrixArena arena = OPEN.get().peek();
+        if (arena == null) {
+            return new byte[bytes];
+        }
+        byte[] array = take(bytes);
+        arena.acquired.add(array);
+        return array;
+    }
+
+    /**
+     * @return an array containing the first {@code length} bytes of {@code data}, with at least {@code bytes} bytes.
+     * Within a scope, the array is taken from the pool and {@code data} is returned to it, as it is no longer used,
+     * but neither of them is bound to the scope.
+     */
+    static byte[] grow(byte[] data, int length, int bytes) {
+        if (OPEN.get().peek() == null) {
+            return Arrays.copyOf(data, bytes);
+        }
+        byte[] grown = take(bytes);
+        System.arraycopy(data, 0, grown, 0, length);
+        release(data);
+        return grown;
+    }
+
+    /**
+     * @return an array from the pool, or a new one of exactly {@code bytes} bytes if it should not be pooled
+     */
+    private static byte[] take(int bytes) {
+        int sizeClass = 32 - Integer.numberOfLeadingZeros(bytes - 1);
+        if (bytes < MIN_POOLED_BYTES || sizeClass > MAX_SIZE_CLASS) {
+            return new byte[bytes];
+        }
+        byte[] array = POOL.get(sizeClass).poll();
+        if (array == null) {
+            MISSES.incrementAndGet();
+            return new byte[1 << sizeClass];
+        }
+        POOLED_BYTES.addAndGet(-array.length);
+        HITS.incrementAndGet();
+        Arrays.fill(array, 0, bytes, (byte) 0);
+        return array;
+    }
+
+    private static void release(byte[] array) {
+        int length = array.length;
+        if (length < MIN_POOLED_BYTES || Integer.bitCount(length) != 1 || length > Storage.CHUNK_BYTES) {
+            return;
+        }
+        if (POOLED_BYTES.addAndGet(length) > maxPooledBytes) {
+            POOLED_BYTES.addAndGet(-length);
+            DISCARDED.incrementAndGet();
+            return;
+        }
+        POOL.get(Integer.numberOfTrailingZeros(length)).push(array);
+    }
+}
@@ -0,0 +1,230 @@
+package num4j.impl;
+
+import jdk.incubator.vector.Vector;
+import jdk.incubator.vector.VectorMask;
+import num4j.api.Matrix;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class MemoryMappedDoubleMatrix extends MemoryMappedMatrix<Double> {
+
+    /**
+     * Maps the double matrix stored at {@code path}, which cannot be modified.
+     * @throws IllegalArgumentException if the file does not contain a double matrix
+     */
+    public static MemoryMappedDoubleMatrix from(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Maps the double matrix stored at {@code path} in the given {@code mode}.
+     * @throws IllegalArgumentException if the file does not contain a double matrix
+     */
+    public static MemoryMappedDoubleMatrix open(Path path, FileChannel.MapMode mode) throws IOException {
+        MemoryMappedMatrix<?> matrix = MemoryMappedMatrix.open(path, mode);
+        if (matrix instanceof MemoryMappedDoubleMatrix doubleMatrix) {
+            return doubleMatrix;
+        }
+        matrix.close();
+        throw new IllegalArgumentException("References file does not contain double matrix");
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains a double matrix with the specified
+     * {@code dimensions} filled with {@code 0.0}, and maps it {@code READ_WRITE}.
+     */
+    public static MemoryMappedDoubleMatrix create(Path path, int ... dimensions) throws IOException {
+        return (MemoryMappedDoubleMatrix) create(path, DOUBLE_TYPE, dimensions);
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains the elements of {@code matrix},
+     * and maps it {@code READ_WRITE}. The elements are copied block by block, so {@code matrix} may also be
+     * a view (e.g. transposed) on another mapped matrix, which does not fit into memory.
+     */
+    public static MemoryMappedDoubleMatrix copyOf(Matrix<Double> matrix, Path path) throws IOException {
+        MemoryMappedDoubleMatrix copy = create(path, Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        try {
+            copy.writableElements().copyFrom(matrix);
+        } catch (RuntimeException e) {
+            copy.close();
+            throw e;
+        }
+        return copy;
+    }
+
+    MemoryMappedDoubleMatrix(FileChannel channel, Storage storage, int[] dimensions, boolean writable) {
+        super(channel, storage, dimensions, writable);
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public double getDouble(int ... position) {
+        return doubles().getDouble(position);
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public double getDouble(int row, int column) {
+        return doubles().getDouble(row, column);
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public double getDouble(long index) {
+        return doubles().getDouble(index);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, double[] dst, int offset, int length) {
+        doubles().get(index, dst, offset, length);
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setDouble(int[] position, double value) {
+        writableDoubles().setDouble(position, value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setDouble(int row, int column, double value) {
+        writableDoubles().setDouble(row, column, value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setDouble(long index, double value) {
+        writableDoubles().setDouble(index, value);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset},
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void set(long index, double[] src, int offset, int length) {
+        writableDoubles().set(index, src, offset, length);
+    }
+
+    /**
+     * Replaces every element by its exponential inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void exp() {
+        writableDoubles().exp();
+    }
+
+    /**
+     * Stores the exponential of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void exp(Matrix<Double> destination) {
+        doubles().exp(destination);
+    }
+
+    /**
+     * Replaces every element by its natural logarithm inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void log() {
+        writableDoubles().log();
+    }
+
+    /**
+     * Stores the natural logarithm of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void log(Matrix<Double> destination) {
+        doubles().log(destination);
+    }
+
+    /**
+     * Replaces every element by its square root inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void sqrt() {
+        writableDoubles().sqrt();
+    }
+
+    /**
+     * Stores the square root of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sqrt(Matrix<Double> destination) {
+        doubles().sqrt(destination);
+    }
+
+    /**
+     * Replaces every element by its hyperbolic tangent inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void tanh() {
+        writableDoubles().tanh();
+    }
+
+    /**
+     * Stores the hyperbolic tangent of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void tanh(Matrix<Double> destination) {
+        doubles().tanh(destination);
+    }
+
+    /**
+     * Replaces every element {@code x} by {@code 1 / (1 + e^-x)} inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void sigmoid() {
+        writableDoubles().sigmoid();
+    }
+
+    /**
+     * Stores {@code 1 / (1 + e^-x)} of every element {@code x} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sigmoid(Matrix<Double> destination) {
+        doubles().sigmoid(destination);
+    }
+
+    private DoubleMatrix doubles() {
+        return (DoubleMatrix) elements();
+    }
+
+    private DoubleMatrix writableDoubles() {
+        return (DoubleMatrix) writableElements();
+    }
+
+    @Override
+    protected InMemoryMatrix<Double> createView(Storage storage, int[] dimensions) {
+        return new DoubleMatrix(storage, dimensions);
+    }
+
+    @Override
+    public Vector<Double> toVec(long offset, VectorMask<Double> mask) {
+        return elements().toVec(offset, mask);
+    }
+}
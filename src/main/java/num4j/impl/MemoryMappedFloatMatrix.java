@@ -0,0 +1,230 @@
+package num4j.impl;
+
+import jdk.incubator.vector.Vector;
+import jdk.incubator.vector.VectorMask;
+import num4j.api.Matrix;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class MemoryMappedFloatMatrix extends MemoryMappedMatrix<Float> {
+
+    /**
+     * Maps the float matrix stored at {@code path}, which cannot be modified.
+     * @throws IllegalArgumentException if the file does not contain a float matrix
+     */
+    public static MemoryMappedFloatMatrix from(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Maps the float matrix stored at {@code path} in the given {@code mode}.
+     * @throws IllegalArgumentException if the file does not contain a float matrix
+     */
+    public static MemoryMappedFloatMatrix open(Path path, FileChannel.MapMode mode) throws IOException {
+        MemoryMappedMatrix<?> matrix = MemoryMappedMatrix.open(path, mode);
+        if (matrix instanceof MemoryMappedFloatMatrix floatMatrix) {
+            return floatMatrix;
+        }
+        matrix.close();
+        throw new IllegalArgumentException("References file does not contain float matrix");
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains a float matrix with the specified
+     * {@code dimensions} filled with {@code 0}, and maps it {@code READ_WRITE}.
+     */
+    public static MemoryMappedFloatMatrix create(Path path, int ... dimensions) throws IOException {
+        return (MemoryMappedFloatMatrix) create(path, FLOAT_TYPE, dimensions);
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains the elements of {@code matrix},
+     * and maps it {@code READ_WRITE}. The elements are copied block by block, so {@code matrix} may also be
+     * a view (e.g. transposed) on another mapped matrix, which does not fit into memory.
+     */
+    public static MemoryMappedFloatMatrix copyOf(Matrix<Float> matrix, Path path) throws IOException {
+        MemoryMappedFloatMatrix copy = create(path, Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        try {
+            copy.writableElements().copyFrom(matrix);
+        } catch (RuntimeException e) {
+            copy.close();
+            throw e;
+        }
+        return copy;
+    }
+
+    MemoryMappedFloatMatrix(FileChannel channel, Storage storage, int[] dimensions, boolean writable) {
+        super(channel, storage, dimensions, writable);
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public float getFloat(int ... position) {
+        return floats().getFloat(position);
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public float getFloat(int row, int column) {
+        return floats().getFloat(row, column);
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public float getFloat(long index) {
+        return floats().getFloat(index);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, float[] dst, int offset, int length) {
+        floats().get(index, dst, offset, length);
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setFloat(int[] position, float value) {
+        writableFloats().setFloat(position, value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setFloat(int row, int column, float value) {
+        writableFloats().setFloat(row, column, value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setFloat(long index, float value) {
+        writableFloats().setFloat(index, value);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset},
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void set(long index, float[] src, int offset, int length) {
+        writableFloats().set(index, src, offset, length);
+    }
+
+    /**
+     * Replaces every element by its exponential inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void exp() {
+        writableFloats().exp();
+    }
+
+    /**
+     * Stores the exponential of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void exp(Matrix<Float> destination) {
+        floats().exp(destination);
+    }
+
+    /**
+     * Replaces every element by its natural logarithm inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void log() {
+        writableFloats().log();
+    }
+
+    /**
+     * Stores the natural logarithm of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void log(Matrix<Float> destination) {
+        floats().log(destination);
+    }
+
+    /**
+     * Replaces every element by its square root inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void sqrt() {
+        writableFloats().sqrt();
+    }
+
+    /**
+     * Stores the square root of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sqrt(Matrix<Float> destination) {
+        floats().sqrt(destination);
+    }
+
+    /**
+     * Replaces every element by its hyperbolic tangent inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void tanh() {
+        writableFloats().tanh();
+    }
+
+    /**
+     * Stores the hyperbolic tangent of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void tanh(Matrix<Float> destination) {
+        floats().tanh(destination);
+    }
+
+    /**
+     * Replaces every element {@code x} by {@code 1 / (1 + e^-x)} inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void sigmoid() {
+        writableFloats().sigmoid();
+    }
+
+    /**
+     * Stores {@code 1 / (1 + e^-x)} of every element {@code x} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sigmoid(Matrix<Float> destination) {
+        floats().sigmoid(destination);
+    }
+
+    private FloatMatrix floats() {
+        return (FloatMatrix) elements();
+    }
+
+    private FloatMatrix writableFloats() {
+        return (FloatMatrix) writableElements();
+    }
+
+    @Override
+    protected InMemoryMatrix<Float> createView(Storage storage, int[] dimensions) {
+        return new FloatMatrix(storage, dimensions);
+    }
+
+    @Override
+    public Vector<Float> toVec(long offset, VectorMask<Float> mask) {
+        return elements().toVec(offset, mask);
+    }
+}
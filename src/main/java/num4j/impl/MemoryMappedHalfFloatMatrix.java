@@ -0,0 +1,248 @@
+package num4j.impl;
+
+import jdk.incubator.vector.Vector;
+import jdk.incubator.vector.VectorMask;
+import num4j.api.Matrix;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A float matrix mapped from a file, which stores its elements with 16 bits like a {@link HalfFloatMatrix},
+ * halving the size of the file.
+ */
+public class MemoryMappedHalfFloatMatrix extends MemoryMappedMatrix<Float> {
+
+    /**
+     * Maps the 16 bit float matrix stored at {@code path}, which cannot be modified.
+     * @throws IllegalArgumentException if the file does not contain a 16 bit float matrix
+     */
+    public static MemoryMappedHalfFloatMatrix from(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Maps the 16 bit float matrix stored at {@code path} in the given {@code mode}.
+     * @throws IllegalArgumentException if the file does not contain a 16 bit float matrix
+     */
+    public static MemoryMappedHalfFloatMatrix open(Path path, FileChannel.MapMode mode) throws IOException {
+        MemoryMappedMatrix<?> matrix = MemoryMappedMatrix.open(path, mode);
+        if (matrix instanceof MemoryMappedHalfFloatMatrix halfFloatMatrix) {
+            return halfFloatMatrix;
+        }
+        matrix.close();
+        throw new IllegalArgumentException("References file does not contain 16 bit float matrix");
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains a matrix of the given
+     * {@code format} with the specified {@code dimensions} filled with {@code 0}, and maps it {@code READ_WRITE}.
+     */
+    public static MemoryMappedHalfFloatMatrix create(HalfFloatMatrix.Format format, Path path, int ... dimensions)
+        throws IOException {
+        return (MemoryMappedHalfFloatMatrix) create(path, format.type(), dimensions);
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains the elements of {@code matrix}
+     * rounded to {@code format}, and maps it {@code READ_WRITE}. The elements are copied block by block, so
+     * {@code matrix} may also be a view (e.g. transposed) on another mapped matrix, which does not fit into memory.
+     */
+    public static MemoryMappedHalfFloatMatrix copyOf(HalfFloatMatrix.Format format, Matrix<Float> matrix, Path path)
+        throws IOException {
+        MemoryMappedHalfFloatMatrix copy = create(format, path,
+            Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        try {
+            copy.writableElements().copyFrom(matrix);
+        } catch (RuntimeException e) {
+            copy.close();
+            throw e;
+        }
+        return copy;
+    }
+
+    private final HalfFloatMatrix.Format format;
+
+    MemoryMappedHalfFloatMatrix(HalfFloatMatrix.Format format, FileChannel channel, Storage storage, int[] dimensions,
+                                boolean writable) {
+        super(channel, storage, dimensions, writable);
+        this.format = format;
+    }
+
+    /**
+     * @return the format of the elements
+     */
+    public HalfFloatMatrix.Format format() {
+        return format;
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public float getFloat(int ... position) {
+        return halfFloats().getFloat(position);
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public float getFloat(int row, int column) {
+        return halfFloats().getFloat(row, column);
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public float getFloat(long index) {
+        return halfFloats().getFloat(index);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, float[] dst, int offset, int length) {
+        halfFloats().get(index, dst, offset, length);
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}, rounded to the format.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setFloat(int[] position, float value) {
+        writableHalfFloats().setFloat(position, value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}, rounded to the format.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setFloat(int row, int column, float value) {
+        writableHalfFloats().setFloat(row, column, value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}, rounded to the format.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setFloat(long index, float value) {
+        writableHalfFloats().setFloat(index, value);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset}, rounded to the format,
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void set(long index, float[] src, int offset, int length) {
+        writableHalfFloats().set(index, src, offset, length);
+    }
+
+    /**
+     * Replaces every element by its exponential inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void exp() {
+        writableHalfFloats().exp();
+    }
+
+    /**
+     * Stores the exponential of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void exp(Matrix<Float> destination) {
+        halfFloats().exp(destination);
+    }
+
+    /**
+     * Replaces every element by its natural logarithm inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void log() {
+        writableHalfFloats().log();
+    }
+
+    /**
+     * Stores the natural logarithm of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void log(Matrix<Float> destination) {
+        halfFloats().log(destination);
+    }
+
+    /**
+     * Replaces every element by its square root inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void sqrt() {
+        writableHalfFloats().sqrt();
+    }
+
+    /**
+     * Stores the square root of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sqrt(Matrix<Float> destination) {
+        halfFloats().sqrt(destination);
+    }
+
+    /**
+     * Replaces every element by its hyperbolic tangent inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void tanh() {
+        writableHalfFloats().tanh();
+    }
+
+    /**
+     * Stores the hyperbolic tangent of every element in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void tanh(Matrix<Float> destination) {
+        halfFloats().tanh(destination);
+    }
+
+    /**
+     * Replaces every element {@code x} by {@code 1 / (1 + e^-x)} inplace.
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void sigmoid() {
+        writableHalfFloats().sigmoid();
+    }
+
+    /**
+     * Stores {@code 1 / (1 + e^-x)} of every element {@code x} in {@code destination}, which may be {@code this}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the dimensions do not match
+     */
+    public void sigmoid(Matrix<Float> destination) {
+        halfFloats().sigmoid(destination);
+    }
+
+    private HalfFloatMatrix halfFloats() {
+        return (HalfFloatMatrix) elements();
+    }
+
+    private HalfFloatMatrix writableHalfFloats() {
+        return (HalfFloatMatrix) writableElements();
+    }
+
+    @Override
+    protected InMemoryMatrix<Float> createView(Storage storage, int[] dimensions) {
+        return new HalfFloatMatrix(format, storage, dimensions);
+    }
+
+    @Override
+    public Vector<Float> toVec(long offset, VectorMask<Float> mask) {
+        return elements().toVec(offset, mask);
+    }
+}
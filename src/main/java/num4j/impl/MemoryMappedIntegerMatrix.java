@@ -1,67 +1,150 @@
 package num4j.impl;
 
-import jdk.incubator.vector.IntVector;
 import jdk.incubator.vector.Vector;
 import jdk.incubator.vector.VectorMask;
-import jdk.incubator.vector.VectorSpecies;
 import num4j.api.Matrix;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.RandomAccessFile;
-import java.nio.ByteBuffer;
-import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.Arrays;
 
 public class MemoryMappedIntegerMatrix extends MemoryMappedMatrix<Integer> {
 
+    /**
+     * Maps the int matrix stored at {@code path}, which cannot be modified.
+     * @throws IllegalArgumentException if the file does not contain an int matrix
+     */
     public static MemoryMappedIntegerMatrix from(Path path) throws IOException {
-        RandomAccessFile file = new RandomAccessFile(path.toFile(), "r");
-        byte type = file.readByte();
-        if (type != INT_TYPE) {
-            throw new IllegalArgumentException("References file does not contain integer matrix");
+        return open(path, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Maps the int matrix stored at {@code path} in the given {@code mode}.
+     * @throws IllegalArgumentException if the file does not contain an int matrix
+     */
+    public static MemoryMappedIntegerMatrix open(Path path, FileChannel.MapMode mode) throws IOException {
+        MemoryMappedMatrix<?> matrix = MemoryMappedMatrix.open(path, mode);
+        if (matrix instanceof MemoryMappedIntegerMatrix intMatrix) {
+            return intMatrix;
         }
-        byte nrDimensions = file.readByte();
-        int[] dimensions = new int[nrDimensions];
+        matrix.close();
+        throw new IllegalArgumentException("References file does not contain integer matrix");
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains an int matrix with the specified
+     * {@code dimensions} filled with {@code 0}, and maps it {@code READ_WRITE}.
+     */
+    public static MemoryMappedIntegerMatrix create(Path path, int ... dimensions) throws IOException {
+        return (MemoryMappedIntegerMatrix) create(path, INT_TYPE, dimensions);
+    }
 
-        for (int i = 0; i < nrDimensions; i++) {
-            dimensions[i] = file.readInt();
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains the elements of {@code matrix},
+     * and maps it {@code READ_WRITE}. The elements are copied block by block, so {@code matrix} may also be
+     * a view (e.g. transposed) on another mapped matrix, which does not fit into memory.
+     */
+    public static MemoryMappedIntegerMatrix copyOf(Matrix<Integer> matrix, Path path) throws IOException {
+        MemoryMappedIntegerMatrix copy = create(path, Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        try {
+            copy.writableElements().copyFrom(matrix);
+        } catch (RuntimeException e) {
+            copy.close();
+            throw e;
         }
+        return copy;
+    }
 
-        int nrElements = file.readInt();
-        long sizeBytes = (long) nrElements * Integer.BYTES;
-        int startData = Byte.BYTES + Byte.BYTES + (nrDimensions * Integer.BYTES) + Integer.BYTES;
+    MemoryMappedIntegerMatrix(FileChannel channel, Storage storage, int[] dimensions, boolean writable) {
+        super(channel, storage, dimensions, writable);
+    }
 
-        FileChannel channel = file.getChannel();
-        MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, startData, sizeBytes);
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public int getInt(int ... position) {
+        return ints().getInt(position);
+    }
 
-        return new MemoryMappedIntegerMatrix(channel, data, dimensions);
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public int getInt(int row, int column) {
+        return ints().getInt(row, column);
     }
 
-    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public int getInt(long index) {
+        return ints().getInt(index);
+    }
 
-    private MemoryMappedIntegerMatrix(FileChannel channel, ByteBuffer data, int[] dimensions) {
-        super(channel, data, dimensions);
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, int[] dst, int offset, int length) {
+        ints().get(index, dst, offset, length);
     }
 
-    @Override
-    public Matrix<Integer> copy() {
-        this.data.position(0);
-        int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
-        byte[] data = new byte[size() * Integer.BYTES];
-        this.data.get(data);
-        return new IntegerMatrix(data, dimensions);
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setInt(int[] position, int value) {
+        writableInts().setInt(position, value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setInt(int row, int column, int value) {
+        writableInts().setInt(row, column, value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setInt(long index, int value) {
+        writableInts().setInt(index, value);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset},
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void set(long index, int[] src, int offset, int length) {
+        writableInts().set(index, src, offset, length);
+    }
+
+    private IntegerMatrix ints() {
+        return (IntegerMatrix) elements();
+    }
+
+    private IntegerMatrix writableInts() {
+        return (IntegerMatrix) writableElements();
     }
 
     @Override
-    public Vector<Integer> toVec(int offset, VectorMask<Integer> mask) {
-        return IntVector.fromByteBuffer(SPECIES, data, offset, BYTE_ORDER, mask);
+    protected InMemoryMatrix<Integer> createView(Storage storage, int[] dimensions) {
+        return new IntegerMatrix(storage, dimensions);
     }
 
     @Override
-    protected void writeType(OutputStream out) throws IOException {
-        out.write(MemoryMappedMatrix.INT_TYPE);
+    public Vector<Integer> toVec(long offset, VectorMask<Integer> mask) {
+        return elements().toVec(offset, mask);
     }
 }
@@ -0,0 +1,150 @@
+package num4j.impl;
+
+import jdk.incubator.vector.Vector;
+import jdk.incubator.vector.VectorMask;
+import num4j.api.Matrix;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class MemoryMappedLongMatrix extends MemoryMappedMatrix<Long> {
+
+    /**
+     * Maps the long matrix stored at {@code path}, which cannot be modified.
+     * @throws IllegalArgumentException if the file does not contain a long matrix
+     */
+    public static MemoryMappedLongMatrix from(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Maps the long matrix stored at {@code path} in the given {@code mode}.
+     * @throws IllegalArgumentException if the file does not contain a long matrix
+     */
+    public static MemoryMappedLongMatrix open(Path path, FileChannel.MapMode mode) throws IOException {
+        MemoryMappedMatrix<?> matrix = MemoryMappedMatrix.open(path, mode);
+        if (matrix instanceof MemoryMappedLongMatrix longMatrix) {
+            return longMatrix;
+        }
+        matrix.close();
+        throw new IllegalArgumentException("References file does not contain long matrix");
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains a long matrix with the specified
+     * {@code dimensions} filled with {@code 0}, and maps it {@code READ_WRITE}.
+     */
+    public static MemoryMappedLongMatrix create(Path path, int ... dimensions) throws IOException {
+        return (MemoryMappedLongMatrix) create(path, LONG_TYPE, dimensions);
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains the elements of {@code matrix},
+     * and maps it {@code READ_WRITE}. The elements are copied block by block, so {@code matrix} may also be
+     * a view (e.g. transposed) on another mapped matrix, which does not fit into memory.
+     */
+    public static MemoryMappedLongMatrix copyOf(Matrix<Long> matrix, Path path) throws IOException {
+        MemoryMappedLongMatrix copy = create(path, Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        try {
+            copy.writableElements().copyFrom(matrix);
+        } catch (RuntimeException e) {
+            copy.close();
+            throw e;
+        }
+        return copy;
+    }
+
+    MemoryMappedLongMatrix(FileChannel channel, Storage storage, int[] dimensions, boolean writable) {
+        super(channel, storage, dimensions, writable);
+    }
+
+    /**
+     * @return the element at the addressed {@code position}
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public long getLong(int ... position) {
+        return longs().getLong(position);
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column} of a 2D matrix
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     */
+    public long getLong(int row, int column) {
+        return longs().getLong(row, column);
+    }
+
+    /**
+     * @return the element at {@code index} of the matrix in row major order
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     */
+    public long getLong(long index) {
+        return longs().getLong(index);
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code index} of the matrix in row major order,
+     * to {@code dst}, starting at {@code offset}.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code dst}
+     */
+    public void get(long index, long[] dst, int offset, int length) {
+        longs().get(index, dst, offset, length);
+    }
+
+    /**
+     * Sets the element at the addressed {@code position} to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setLong(int[] position, long value) {
+        writableLongs().setLong(position, value);
+    }
+
+    /**
+     * Sets the element at {@code row} and {@code column} of a 2D matrix to {@code value}.
+     * @throws num4j.exceptions.IncompatibleDimensionsException if the position cannot be addressed
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setLong(int row, int column, long value) {
+        writableLongs().setLong(row, column, value);
+    }
+
+    /**
+     * Sets the element at {@code index} of the matrix in row major order to {@code value}.
+     * @throws IndexOutOfBoundsException if the index is outside of the matrix
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void setLong(long index, long value) {
+        writableLongs().setLong(index, value);
+    }
+
+    /**
+     * Copies {@code length} elements of {@code src}, starting at {@code offset},
+     * to the matrix, starting at {@code index} in row major order.
+     * @throws IndexOutOfBoundsException if a range is outside of the matrix or {@code src}
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    public void set(long index, long[] src, int offset, int length) {
+        writableLongs().set(index, src, offset, length);
+    }
+
+    private LongMatrix longs() {
+        return (LongMatrix) elements();
+    }
+
+    private LongMatrix writableLongs() {
+        return (LongMatrix) writableElements();
+    }
+
+    @Override
+    protected InMemoryMatrix<Long> createView(Storage storage, int[] dimensions) {
+        return new LongMatrix(storage, dimensions);
+    }
+
+    @Override
+    public Vector<Long> toVec(long offset, VectorMask<Long> mask) {
+        return elements().toVec(offset, mask);
+    }
+}
@@ -1,61 +1,485 @@
 package num4j.impl;
 
+import num4j.api.Expression;
 import num4j.api.Matrix;
 
-import java.io.DataOutputStream;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
+import java.io.RandomAccessFile;
 import java.nio.ByteOrder;
-import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
+/**
+ * A matrix, which is mapped from a file written by {@link Matrix#write(OutputStream)}.
+ * Matrices mapped {@link FileChannel.MapMode#READ_ONLY} cannot be modified. Matrices mapped
+ * {@link FileChannel.MapMode#READ_WRITE} are modified in place, and the changes are written back to the file
+ * ({@link #force()} waits until they are), changes to matrices mapped {@link FileChannel.MapMode#PRIVATE} are not.
+ * The dimensions of a mapped matrix are stored in the file and cannot be changed.
+ * <p>
+ * Files are mapped in segments of at most 1 GB, so their size is only limited by the number of elements of a matrix.
+ * The mapping is released by {@link #close()}, afterwards neither the matrix nor its views must be used anymore.
+ * <p>
+ * Operations stream the mapped elements block by block, so that only the blocks in use have to be kept in memory,
+ * and the operating system is free to page out all others. Together with {@link #mmul(Matrix, Path)} and copies into
+ * new files (e.g. {@link MemoryMappedIntegerMatrix#copyOf(Matrix, Path)}), this allows computing with matrices,
+ * which are larger than the available memory.
+ */
 public abstract class MemoryMappedMatrix<T extends Number> implements Matrix<T>, AutoCloseable {
 
     protected static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
 
     protected static final byte INT_TYPE = 0x0;
     protected static final byte DOUBLE_TYPE = 0x1;
+    protected static final byte FLOAT_TYPE = 0x2;
+    protected static final byte LONG_TYPE = 0x3;
+    protected static final byte FLOAT16_TYPE = 0x4;
+    protected static final byte BFLOAT16_TYPE = 0x5;
+
+    /**
+     * Flag of the type byte, marking files whose elements start at a multiple of {@link Storage#ALIGNMENT} bytes.
+     * Files without it (written by earlier versions) can still be mapped, but their elements are not aligned.
+     */
+    protected static final byte ALIGNED = (byte) 0x80;
+
+    /**
+     * Maps the matrix stored at {@code path}, which cannot be modified.
+     * @return a {@link MemoryMappedIntegerMatrix}, {@link MemoryMappedLongMatrix}, {@link MemoryMappedFloatMatrix},
+     * {@link MemoryMappedHalfFloatMatrix} or {@link MemoryMappedDoubleMatrix}, depending on the type of the matrix
+     * @throws IllegalArgumentException if the file does not contain a matrix
+     */
+    public static MemoryMappedMatrix<?> open(Path path) throws IOException {
+        return open(path, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Maps the matrix stored at {@code path} in the given {@code mode}.
+     * @return a {@link MemoryMappedIntegerMatrix}, {@link MemoryMappedLongMatrix}, {@link MemoryMappedFloatMatrix},
+     * {@link MemoryMappedHalfFloatMatrix} or {@link MemoryMappedDoubleMatrix}, depending on the type of the matrix
+     * @throws IllegalArgumentException if the file does not contain a matrix
+     */
+    public static MemoryMappedMatrix<?> open(Path path, FileChannel.MapMode mode) throws IOException {
+        return open(path, mode, Storage.CHUNK_BYTES);
+    }
+
+    /**
+     * @param segmentBytes maximum size of a mapped segment, which has to be a power of two
+     */
+    static MemoryMappedMatrix<?> open(Path path, FileChannel.MapMode mode, int segmentBytes) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), mode == FileChannel.MapMode.READ_ONLY ? "r" : "rw");
+        try {
+            return map(file, mode, Header.read(file), segmentBytes);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a file at {@code path} (replacing an existing one), which contains a matrix of {@code type}
+     * with the specified {@code dimensions} filled with zeros, and maps it {@code READ_WRITE}.
+     */
+    protected static MemoryMappedMatrix<?> create(Path path, byte type, int[] dimensions) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+        try {
+            file.setLength(0);
+            writeHeader(file, type, dimensions);
+            Header header = new Header(type, dimensions, file.getFilePointer());
+            file.setLength(header.dataStart() + (long) header.nrElements() * header.elementSize());
+            return map(file, FileChannel.MapMode.READ_WRITE, header, Storage.CHUNK_BYTES);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    private static MemoryMappedMatrix<?> map(RandomAccessFile file, FileChannel.MapMode mode, Header header,
+                                             int segmentBytes) throws IOException {
+        FileChannel channel = file.getChannel();
+        Storage storage = Storage.map(channel, mode, header.dataStart(), header.nrElements(), header.elementSize(), segmentBytes);
+        boolean writable = mode != FileChannel.MapMode.READ_ONLY;
+        return switch (header.type()) {
+            case INT_TYPE -> new MemoryMappedIntegerMatrix(channel, storage, header.dimensions(), writable);
+            case DOUBLE_TYPE -> new MemoryMappedDoubleMatrix(channel, storage, header.dimensions(), writable);
+            case FLOAT_TYPE -> new MemoryMappedFloatMatrix(channel, storage, header.dimensions(), writable);
+            case LONG_TYPE -> new MemoryMappedLongMatrix(channel, storage, header.dimensions(), writable);
+            case FLOAT16_TYPE -> new MemoryMappedHalfFloatMatrix(HalfFloatMatrix.Format.FLOAT16, channel, storage,
+                header.dimensions(), writable);
+            case BFLOAT16_TYPE -> new MemoryMappedHalfFloatMatrix(HalfFloatMatrix.Format.BFLOAT16, channel, storage,
+                header.dimensions(), writable);
+            default -> throw new IllegalStateException("Unknown type " + header.type());
+        };
+    }
+
+    /**
+     * Writes the header of a matrix of {@code type} with the specified {@code dimensions} to {@code out},
+     * followed by zeros up to the next multiple of {@link Storage#ALIGNMENT} bytes, where the elements start.
+     */
+    static void writeHeader(DataOutput out, byte type, int[] dimensions) throws IOException {
+        out.writeByte(type | ALIGNED);
+        out.writeByte(dimensions.length);
+        for (int dim : dimensions) {
+            out.writeInt(dim);
+        }
+        out.writeInt(InMemoryMatrix.nrElements(dimensions));
+        int headerSize = Header.size(dimensions.length);
+        for (int i = headerSize; i < Header.alignedSize(headerSize); i++) {
+            out.writeByte(0);
+        }
+    }
+
+    /**
+     * Type and dimensions of a matrix stored in a file, whose elements start at {@code dataStart}.
+     */
+    private record Header(byte type, int[] dimensions, long dataStart) {
+
+        static Header read(RandomAccessFile file) throws IOException {
+            byte typeByte = file.readByte();
+            byte type = (byte) (typeByte & ~ALIGNED);
+            if (type < INT_TYPE || type > BFLOAT16_TYPE) {
+                throw new IllegalArgumentException("Referenced file does not contain a matrix");
+            }
+            byte nrDimensions = file.readByte();
+            if (nrDimensions < 0) {
+                throw new IllegalArgumentException("Referenced file does not contain a valid matrix");
+            }
+            int[] dimensions = new int[nrDimensions];
+            for (int i = 0; i < nrDimensions; i++) {
+                dimensions[i] = file.readInt();
+            }
+            int nrElements = file.readInt();
+            if (nrElements != InMemoryMatrix.nrElements(dimensions)) {
+                throw new IllegalArgumentException("Referenced file does not contain a valid matrix");
+            }
+            int headerSize = size(nrDimensions);
+            return new Header(type, dimensions, (typeByte & ALIGNED) != 0 ? alignedSize(headerSize) : headerSize);
+        }
+
+        static int size(int nrDimensions) {
+            return Byte.BYTES + Byte.BYTES + (nrDimensions * Integer.BYTES) + Integer.BYTES;
+        }
+
+        static int alignedSize(int size) {
+            return (size + Storage.ALIGNMENT - 1) / Storage.ALIGNMENT * Storage.ALIGNMENT;
+        }
+
+        int nrElements() {
+            return InMemoryMatrix.nrElements(dimensions);
+        }
+
+        int elementSize() {
+            return switch (type) {
+                case INT_TYPE -> Integer.BYTES;
+                case FLOAT_TYPE -> Float.BYTES;
+                case LONG_TYPE -> Long.BYTES;
+                case FLOAT16_TYPE, BFLOAT16_TYPE -> Short.BYTES;
+                default -> Double.BYTES;
+            };
+        }
+    }
 
     private final FileChannel channel;
-    protected final ByteBuffer data;
+    protected final Storage storage;
     private final int[] dimensions;
+    private final boolean writable;
+    // shares its elements with the mapping and implements the operations
+    private InMemoryMatrix<T> elements;
 
-    public MemoryMappedMatrix(FileChannel channel, ByteBuffer data, int[] dimensions) {
+    protected MemoryMappedMatrix(FileChannel channel, Storage storage, int[] dimensions, boolean writable) {
         this.channel = channel;
-        this.data = data;
+        this.storage = storage;
         this.dimensions = dimensions;
+        this.writable = writable;
+    }
+
+    /**
+     * @return a lazy expression of {@code this}, which must not be evaluated after the matrix is closed
+     */
+    @Override
+    public Expression<T> lazy() {
+        return elements().lazy();
     }
 
     @Override
     public void add(Matrix<T> other) {
-        throw unmodifiable();
+        writableElements().add(other);
     }
 
     @Override
     public void sub(Matrix<T> other) {
-        throw unmodifiable();
+        writableElements().sub(other);
     }
 
     @Override
     public void mul(Matrix<T> other) {
-        throw unmodifiable();
+        writableElements().mul(other);
     }
 
     @Override
     public void div(Matrix<T> other) {
-        throw unmodifiable();
+        writableElements().div(other);
+    }
+
+    @Override
+    public void add(Matrix<T> other, Matrix<T> destination) {
+        elements().add(other, destination);
+    }
+
+    @Override
+    public void sub(Matrix<T> other, Matrix<T> destination) {
+        elements().sub(other, destination);
+    }
+
+    @Override
+    public void mul(Matrix<T> other, Matrix<T> destination) {
+        elements().mul(other, destination);
     }
 
+    @Override
+    public void div(Matrix<T> other, Matrix<T> destination) {
+        elements().div(other, destination);
+    }
+
+    @Override
+    public void addScalar(T value) {
+        writableElements().addScalar(value);
+    }
+
+    @Override
+    public void subScalar(T value) {
+        writableElements().subScalar(value);
+    }
+
+    @Override
+    public void mulScalar(T value) {
+        writableElements().mulScalar(value);
+    }
+
+    @Override
+    public void divScalar(T value) {
+        writableElements().divScalar(value);
+    }
+
+    @Override
+    public void minScalar(T value) {
+        writableElements().minScalar(value);
+    }
+
+    @Override
+    public void maxScalar(T value) {
+        writableElements().maxScalar(value);
+    }
+
+    @Override
+    public void clamp(T min, T max) {
+        writableElements().clamp(min, max);
+    }
+
+    @Override
+    public void abs() {
+        writableElements().abs();
+    }
+
+    @Override
+    public void fma(Matrix<T> b, Matrix<T> c) {
+        writableElements().fma(b, c);
+    }
+
+    @Override
+    public void axpy(T alpha, Matrix<T> x) {
+        writableElements().axpy(alpha, x);
+    }
+
+    @Override
+    public T sum() {
+        return elements().sum();
+    }
+
+    @Override
+    public T prod() {
+        return elements().prod();
+    }
+
+    @Override
+    public T min() {
+        return elements().min();
+    }
+
+    @Override
+    public T max() {
+        return elements().max();
+    }
+
+    @Override
+    public double mean() {
+        return elements().mean();
+    }
+
+    @Override
+    public double norm2() {
+        return elements().norm2();
+    }
+
+    @Override
+    public long argmin() {
+        return elements().argmin();
+    }
+
+    @Override
+    public long argmax() {
+        return elements().argmax();
+    }
+
+    @Override
+    public Matrix<T> sum(int axis) {
+        return elements().sum(axis);
+    }
+
+    @Override
+    public Matrix<T> sum(int axis, boolean keepDimension) {
+        return elements().sum(axis, keepDimension);
+    }
+
+    @Override
+    public Matrix<T> prod(int axis) {
+        return elements().prod(axis);
+    }
+
+    @Override
+    public Matrix<T> prod(int axis, boolean keepDimension) {
+        return elements().prod(axis, keepDimension);
+    }
+
+    @Override
+    public Matrix<T> min(int axis) {
+        return elements().min(axis);
+    }
+
+    @Override
+    public Matrix<T> min(int axis, boolean keepDimension) {
+        return elements().min(axis, keepDimension);
+    }
+
+    @Override
+    public Matrix<T> max(int axis) {
+        return elements().max(axis);
+    }
+
+    @Override
+    public Matrix<T> max(int axis, boolean keepDimension) {
+        return elements().max(axis, keepDimension);
+    }
+
+    @Override
+    public Matrix<T> mean(int axis) {
+        return elements().mean(axis);
+    }
+
+    @Override
+    public Matrix<T> mean(int axis, boolean keepDimension) {
+        return elements().mean(axis, keepDimension);
+    }
+
+    /**
+     * Transposes {@code this} without copying any elements: the returned matrix is a view on the mapping,
+     * which must not be used after the matrix is closed. The view can only be modified, if the matrix can be.
+     */
     @Override
     public Matrix<T> transpose(int... swap) {
-        return copy().transpose(swap);
+        return view().transpose(swap);
+    }
+
+    @Override
+    public void transpose(Matrix<T> destination, int... swap) {
+        elements().transpose(destination, swap);
+    }
+
+    /**
+     * Slices {@code this} without copying any elements: the returned matrix is a view on the mapping,
+     * which must not be used after the matrix is closed. The view can only be modified, if the matrix can be.
+     */
+    @Override
+    public Matrix<T> slice(int axis, int start, int end, int step) {
+        return view().slice(axis, start, end, step);
+    }
+
+    /**
+     * Slices {@code this} without copying any elements, like {@link #slice(int, int, int, int)}.
+     */
+    @Override
+    public Matrix<T> slice(int axis, int start, int end) {
+        return view().slice(axis, start, end);
     }
 
+    /**
+     * Selects a row without copying any elements, like {@link #slice(int, int, int, int)}.
+     */
+    @Override
+    public Matrix<T> row(int index) {
+        return view().row(index);
+    }
+
+    /**
+     * Selects a column without copying any elements, like {@link #slice(int, int, int, int)}.
+     */
+    @Override
+    public Matrix<T> col(int index) {
+        return view().col(index);
+    }
+
+    /**
+     * Multiplies {@code this} and {@code other}, the product is stored on the heap.
+     */
     @Override
     public Matrix<T> mmul(Matrix<T> other) {
-        throw unmodifiable();
+        return view().mmul(other);
+    }
+
+    /**
+     * Multiplies {@code this} and {@code other}, the product is stored on the heap.
+     */
+    @Override
+    public Matrix<T> mmul(Matrix<T> other, int parallelism) {
+        return view().mmul(other, parallelism);
+    }
+
+    @Override
+    public void mmul(Matrix<T> other, Matrix<T> destination) {
+        view().mmul(other, destination);
+    }
+
+    /**
+     * Multiplies {@code this} and {@code other} out of core: the product is stored in a new file at {@code output}
+     * (replacing an existing one), which is mapped {@code READ_WRITE}. The operands are packed block by block and
+     * the product is computed tile by tile, so none of them has to fit into memory.
+     */
+    public MemoryMappedMatrix<T> mmul(Matrix<T> other, Path output) throws IOException {
+        return mmul(other, output, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Multiplies {@code this} and {@code other} out of core, using at most {@code parallelism} threads.
+     * @see #mmul(Matrix, Path)
+     */
+    @SuppressWarnings("unchecked")
+    public MemoryMappedMatrix<T> mmul(Matrix<T> other, Path output, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        InMemoryMatrix<T> a = view();
+        int[] dimensions = a.mmulDimensions(other);
+        MemoryMappedMatrix<T> product = (MemoryMappedMatrix<T>) create(output, a.type(), dimensions);
+        try {
+            a.mmul(other, product.writableElements(), parallelism);
+        } catch (RuntimeException e) {
+            product.close();
+            throw e;
+        }
+        return product;
     }
 
     @Override
@@ -65,9 +489,81 @@ public abstract class MemoryMappedMatrix<T extends Number> implements Matrix<T>,
 
     @Override
     public void set(T value, int... position) {
-        throw unmodifiable();
+        writableElements().set(value, position);
+    }
+
+    @Override
+    public T get(int... position) {
+        return elements().get(position);
     }
 
+    @Override
+    public Matrix<T> copy() {
+        return elements().copy();
+    }
+
+    @Override
+    public void copyInto(Matrix<T> destination) {
+        elements().copyInto(destination);
+    }
+
+    /**
+     * @return whether the matrix can be modified
+     */
+    public boolean isWritable() {
+        return writable;
+    }
+
+    /**
+     * Writes all changes to the file and waits until they are written. Does nothing, unless mapped {@code READ_WRITE}.
+     */
+    public void force() {
+        storage.force(0, size());
+    }
+
+    /**
+     * Writes the changes of {@code length} elements, starting at {@code index} in row major order, to the file
+     * and waits until they are written. Does nothing, unless mapped {@code READ_WRITE}.
+     * @throws IndexOutOfBoundsException if the range is outside of the matrix
+     */
+    public void force(long index, int length) {
+        Objects.checkFromIndexSize(index, length, size());
+        storage.force((int) index, length);
+    }
+
+    /**
+     * @return a new matrix sharing its elements with the mapping, whose dimensions can be changed independently
+     */
+    private InMemoryMatrix<T> view() {
+        return createView(storage, Arrays.copyOf(dimensions, dimensions.length));
+    }
+
+    /**
+     * @return a matrix sharing its elements with the mapping
+     */
+    protected InMemoryMatrix<T> elements() {
+        if (elements == null) {
+            elements = createView(storage, dimensions);
+        }
+        return elements;
+    }
+
+    /**
+     * @return a matrix sharing its elements with the mapping
+     * @throws UnsupportedOperationException if the matrix cannot be modified
+     */
+    protected InMemoryMatrix<T> writableElements() {
+        if (!writable) {
+            throw unmodifiable();
+        }
+        return elements();
+    }
+
+    /**
+     * @return a matrix using the elements of {@code storage}
+     */
+    protected abstract InMemoryMatrix<T> createView(Storage storage, int[] dimensions);
+
     @Override
     public int[] dimensions() {
         return dimensions;
@@ -85,26 +581,20 @@ public abstract class MemoryMappedMatrix<T extends Number> implements Matrix<T>,
         throw unmodifiable();
     }
 
+    /**
+     * Releases the mapping and closes the file.
+     */
     @Override
     public void close() throws IOException {
+        storage.free();
         channel.close();
     }
 
     @Override
     public void write(OutputStream out) throws IOException {
-        writeType(out);
-        DataOutputStream dataOutputStream = new DataOutputStream(out);
-        dataOutputStream.writeByte(dimensions.length);
-        for (int dim : dimensions) {
-            dataOutputStream.writeInt(dim);
-        }
-        dataOutputStream.writeInt(size());
-        data.position(0);
-        Channels.newChannel(out).write(data);
+        elements().write(out);
     }
 
-    protected abstract void writeType(OutputStream out) throws IOException;
-
     private UnsupportedOperationException unmodifiable() {
         return new UnsupportedOperationException("Matrix cannot be modified");
     }
@@ -0,0 +1,87 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * A double matrix, which is stored outside of the heap in chunks aligned to 64 bytes, so that it neither
+ * adds to the size of the heap nor to the work of the garbage collector.
+ * Its memory is freed by {@link #close()}, or when the matrix is garbage collected, whichever happens first.
+ * <p>
+ * Views (e.g. transposed matrices) and results (e.g. copies and products) of an off-heap matrix are stored off-heap as well.
+ * A view shares the memory of the matrix it was created from, so closing either of them frees it;
+ * afterwards, accessing any of them fails with an exception. A matrix must not be closed while it is in use by another thread.
+ * <p>
+ * The amount of memory available off-heap is limited by {@code -XX:MaxDirectMemorySize}.
+ */
+public final class OffHeapDoubleMatrix extends DoubleMatrix implements AutoCloseable {
+
+    /**
+     * Creates a new off-heap double matrix with the specified {@code dimensions}, filled with {@code 0}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static OffHeapDoubleMatrix zeros(int ... dimensions) {
+        return new OffHeapDoubleMatrix(Storage.allocateDirect(nrElements(dimensions), Double.BYTES), dimensions);
+    }
+
+    /**
+     * Creates a new off-heap double matrix with the specified {@code dimensions}, filled with {@code 1}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static OffHeapDoubleMatrix ones(int ... dimensions) {
+        OffHeapDoubleMatrix matrix = zeros(dimensions);
+        for (int i = 0; i < matrix.size(); i++) {
+            matrix.storage.putDouble(i, 1.0);
+        }
+        return matrix;
+    }
+
+    /**
+     * @return a new off-heap matrix with the dimensions and elements of {@code matrix}
+     */
+    public static OffHeapDoubleMatrix copyOf(Matrix<Double> matrix) {
+        OffHeapDoubleMatrix copy = zeros(Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        copy.copyFrom(matrix);
+        return copy;
+    }
+
+    OffHeapDoubleMatrix(Storage storage, int... dimensions) {
+        super(storage, dimensions);
+    }
+
+    OffHeapDoubleMatrix(Storage storage, int offset, int[] strides, int... dimensions) {
+        super(storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected Matrix<Double> createEmptyMatrix(int[] dimensions) {
+        return zeros(dimensions);
+    }
+
+    @Override
+    protected Matrix<Double> createView(Storage storage, int offset, int[] strides, int[] dimensions) {
+        return new OffHeapDoubleMatrix(storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected Storage allocate(int nrElements) {
+        return Storage.allocateDirect(nrElements, Double.BYTES);
+    }
+
+    @Override
+    public OffHeapDoubleMatrix copy() {
+        int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
+        return new OffHeapDoubleMatrix(contiguousStorage(), dimensions);
+    }
+
+    /**
+     * Frees the memory of this matrix and of all views sharing it. Closing a matrix again has no effect.
+     */
+    @Override
+    public void close() {
+        storage.free();
+    }
+}
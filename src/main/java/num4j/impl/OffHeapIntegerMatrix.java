@@ -0,0 +1,87 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * An int matrix, which is stored outside of the heap in chunks aligned to 64 bytes, so that it neither
+ * adds to the size of the heap nor to the work of the garbage collector.
+ * Its memory is freed by {@link #close()}, or when the matrix is garbage collected, whichever happens first.
+ * <p>
+ * Views (e.g. transposed matrices) and results (e.g. copies and products) of an off-heap matrix are stored off-heap as well.
+ * A view shares the memory of the matrix it was created from, so closing either of them frees it;
+ * afterwards, accessing any of them fails with an exception. A matrix must not be closed while it is in use by another thread.
+ * <p>
+ * The amount of memory available off-heap is limited by {@code -XX:MaxDirectMemorySize}.
+ */
+public final class OffHeapIntegerMatrix extends IntegerMatrix implements AutoCloseable {
+
+    /**
+     * Creates a new off-heap int matrix with the specified {@code dimensions}, filled with {@code 0}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static OffHeapIntegerMatrix zeros(int ... dimensions) {
+        return new OffHeapIntegerMatrix(Storage.allocateDirect(nrElements(dimensions), Integer.BYTES), dimensions);
+    }
+
+    /**
+     * Creates a new off-heap int matrix with the specified {@code dimensions}, filled with {@code 1}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static OffHeapIntegerMatrix ones(int ... dimensions) {
+        OffHeapIntegerMatrix matrix = zeros(dimensions);
+        for (int i = 0; i < matrix.size(); i++) {
+            matrix.storage.putInt(i, 1);
+        }
+        return matrix;
+    }
+
+    /**
+     * @return a new off-heap matrix with the dimensions and elements of {@code matrix}
+     */
+    public static OffHeapIntegerMatrix copyOf(Matrix<Integer> matrix) {
+        OffHeapIntegerMatrix copy = zeros(Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        copy.copyFrom(matrix);
+        return copy;
+    }
+
+    OffHeapIntegerMatrix(Storage storage, int... dimensions) {
+        super(storage, dimensions);
+    }
+
+    OffHeapIntegerMatrix(Storage storage, int offset, int[] strides, int... dimensions) {
+        super(storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected Matrix<Integer> createEmptyMatrix(int[] dimensions) {
+        return zeros(dimensions);
+    }
+
+    @Override
+    protected Matrix<Integer> createView(Storage storage, int offset, int[] strides, int[] dimensions) {
+        return new OffHeapIntegerMatrix(storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected Storage allocate(int nrElements) {
+        return Storage.allocateDirect(nrElements, Integer.BYTES);
+    }
+
+    @Override
+    public OffHeapIntegerMatrix copy() {
+        int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
+        return new OffHeapIntegerMatrix(contiguousStorage(), dimensions);
+    }
+
+    /**
+     * Frees the memory of this matrix and of all views sharing it. Closing a matrix again has no effect.
+     */
+    @Override
+    public void close() {
+        storage.free();
+    }
+}
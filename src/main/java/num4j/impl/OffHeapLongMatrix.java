@@ -0,0 +1,87 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * A long matrix, which is stored outside of the heap in chunks aligned to 64 bytes, so that it neither
+ * adds to the size of the heap nor to the work of the garbage collector.
+ * Its memory is freed by {@link #close()}, or when the matrix is garbage collected, whichever happens first.
+ * <p>
+ * Views (e.g. transposed matrices) and results (e.g. copies and products) of an off-heap matrix are stored off-heap as well.
+ * A view shares the memory of the matrix it was created from, so closing either of them frees it;
+ * afterwards, accessing any of them fails with an exception. A matrix must not be closed while it is in use by another thread.
+ * <p>
+ * The amount of memory available off-heap is limited by {@code -XX:MaxDirectMemorySize}.
+ */
+public final class OffHeapLongMatrix extends LongMatrix implements AutoCloseable {
+
+    /**
+     * Creates a new off-heap long matrix with the specified {@code dimensions}, filled with {@code 0}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static OffHeapLongMatrix zeros(int ... dimensions) {
+        return new OffHeapLongMatrix(Storage.allocateDirect(nrElements(dimensions), Long.BYTES), dimensions);
+    }
+
+    /**
+     * Creates a new off-heap long matrix with the specified {@code dimensions}, filled with {@code 1}.
+     * @param dimensions dimensions of the matrix
+     * @return the newly created matrix
+     */
+    public static OffHeapLongMatrix ones(int ... dimensions) {
+        OffHeapLongMatrix matrix = zeros(dimensions);
+        for (int i = 0; i < matrix.size(); i++) {
+            matrix.storage.putLong(i, 1L);
+        }
+        return matrix;
+    }
+
+    /**
+     * @return a new off-heap matrix with the dimensions and elements of {@code matrix}
+     */
+    public static OffHeapLongMatrix copyOf(Matrix<Long> matrix) {
+        OffHeapLongMatrix copy = zeros(Arrays.copyOf(matrix.dimensions(), matrix.dimensions().length));
+        copy.copyFrom(matrix);
+        return copy;
+    }
+
+    OffHeapLongMatrix(Storage storage, int... dimensions) {
+        super(storage, dimensions);
+    }
+
+    OffHeapLongMatrix(Storage storage, int offset, int[] strides, int... dimensions) {
+        super(storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected Matrix<Long> createEmptyMatrix(int[] dimensions) {
+        return zeros(dimensions);
+    }
+
+    @Override
+    protected Matrix<Long> createView(Storage storage, int offset, int[] strides, int[] dimensions) {
+        return new OffHeapLongMatrix(storage, offset, strides, dimensions);
+    }
+
+    @Override
+    protected Storage allocate(int nrElements) {
+        return Storage.allocateDirect(nrElements, Long.BYTES);
+    }
+
+    @Override
+    public OffHeapLongMatrix copy() {
+        int[] dimensions = Arrays.copyOf(dimensions(), dimensions().length);
+        return new OffHeapLongMatrix(contiguousStorage(), dimensions);
+    }
+
+    /**
+     * Frees the memory of this matrix and of all views sharing it. Closing a matrix again has no effect.
+     */
+    @Override
+    public void close() {
+        storage.free();
+    }
+}
@@ -0,0 +1,402 @@
+package num4j.impl;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+import num4j.api.Matrix;
+import num4j.exceptions.IncompatibleDimensionsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A 2D matrix of real numbers, which are stored as int8 codes {@code q} with a scale {@code s} and a zero point
+ * {@code z}, representing {@code s * (q - z)}. Scale and zero point are either shared by all elements
+ * ({@link #quantize(Matrix)}) or chosen for every row ({@link #quantizeRows(Matrix)}), which keeps rows with small
+ * elements precise. The codes need a quarter of the memory of an {@link IntegerMatrix} or a {@link FloatMatrix}.
+ * <p>
+ * Products multiply the codes into int32 accumulators and apply scales and zero points once per element of the result.
+ * A row of the result contains up to {@code 2^31 / 128^2 = 131072} products, accumulators of longer rows may overflow.
+ */
+public final class QuantizedMatrix {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    // codes are widened to shorts, whose products cannot overflow, and those to ints
+    private static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class, INTS.vectorShape());
+    private static final VectorSpecies<Byte> BYTES = VectorSpecies.of(byte.class,
+        VectorShape.forBitSize(INTS.vectorBitSize() / 2));
+
+    // rows of the left-hand side multiplied with the same row of the right-hand side,
+    // more accumulators do not fit into the registers along with the widened codes
+    private static final int ROWS = 2;
+    // bytes of the right-hand side, which are multiplied with all rows of the left-hand side before moving on
+    private static final int BLOCK_BYTES = 1 << 18;
+
+    private final byte[] codes;
+    private final int rows;
+    private final int columns;
+    private final boolean perRow;
+    // one element per row, or a single one shared by all rows
+    private final float[] scales;
+    private final int[] zeroPoints;
+    // sum of the codes of every row, to apply the zero points of the other operand
+    private final int[] rowSums;
+
+    private QuantizedMatrix(byte[] codes, int rows, int columns, boolean perRow, float[] scales, int[] zeroPoints) {
+        this.codes = codes;
+        this.rows = rows;
+        this.columns = columns;
+        this.perRow = perRow;
+        this.scales = scales;
+        this.zeroPoints = zeroPoints;
+        this.rowSums = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            int sum = 0;
+            for (int j = 0, o = i * columns; j < columns; j++) {
+                sum += codes[o + j];
+            }
+            rowSums[i] = sum;
+        }
+    }
+
+    /**
+     * Quantizes {@code matrix} with a scale and a zero point shared by all elements,
+     * mapping the range of its elements (including {@code 0}) to the 256 codes.
+     * @throws IllegalArgumentException if the matrix is not 2D or has more than {@code Integer.MAX_VALUE - 8} elements
+     */
+    public static QuantizedMatrix quantize(Matrix<Float> matrix) {
+        return quantize(matrix, false);
+    }
+
+    /**
+     * Quantizes every row of {@code matrix} with its own scale and zero point,
+     * mapping the range of its elements (including {@code 0}) to the 256 codes.
+     * @throws IllegalArgumentException if the matrix is not 2D or has more than {@code Integer.MAX_VALUE - 8} elements
+     */
+    public static QuantizedMatrix quantizeRows(Matrix<Float> matrix) {
+        return quantize(matrix, true);
+    }
+
+    private static QuantizedMatrix quantize(Matrix<Float> matrix, boolean perRow) {
+        int[] dimensions = matrix.dimensions();
+        if (dimensions.length != 2) {
+            throw new IllegalArgumentException("Require a 2D matrix");
+        }
+        int rows = dimensions[0];
+        int columns = dimensions[1];
+        if ((long) rows * columns > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matrix is too large to be quantized");
+        }
+        float[] values = new float[columns];
+        float[] min = new float[perRow ? rows : 1];
+        float[] max = new float[perRow ? rows : 1];
+        for (int i = 0; i < rows; i++) {
+            read(matrix, i, values);
+            int r = perRow ? i : 0;
+            for (float value : values) {
+                min[r] = Math.min(min[r], value);
+                max[r] = Math.max(max[r], value);
+            }
+        }
+
+        float[] scales = new float[min.length];
+        int[] zeroPoints = new int[min.length];
+        for (int r = 0; r < min.length; r++) {
+            float range = max[r] - min[r];
+            scales[r] = range > 0 ? range / 255 : 1;
+            zeroPoints[r] = clamp(Math.round(Byte.MIN_VALUE - min[r] / scales[r]));
+        }
+
+        byte[] codes = new byte[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            read(matrix, i, values);
+            int r = perRow ? i : 0;
+            for (int j = 0; j < columns; j++) {
+                codes[i * columns + j] = (byte) clamp(Math.round(values[j] / scales[r]) + zeroPoints[r]);
+            }
+        }
+        return new QuantizedMatrix(codes, rows, columns, perRow, scales, zeroPoints);
+    }
+
+    private static void read(Matrix<Float> matrix, int row, float[] values) {
+        long index = (long) row * values.length;
+        if (matrix instanceof FloatMatrix floats) {
+            floats.get(index, values, 0, values.length);
+        } else if (matrix instanceof MemoryMappedFloatMatrix mapped) {
+            mapped.get(index, values, 0, values.length);
+        } else if (matrix instanceof HalfFloatMatrix halfFloats) {
+            halfFloats.get(index, values, 0, values.length);
+        } else if (matrix instanceof MemoryMappedHalfFloatMatrix mapped) {
+            mapped.get(index, values, 0, values.length);
+        } else {
+            for (int j = 0; j < values.length; j++) {
+                values[j] = matrix.get(row, j);
+            }
+        }
+    }
+
+    private static int clamp(int code) {
+        return Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, code));
+    }
+
+    /**
+     * @return the number of rows and columns
+     */
+    public int[] dimensions() {
+        return new int[] {rows, columns};
+    }
+
+    /**
+     * @return whether every row has its own scale and zero point
+     */
+    public boolean isQuantizedPerRow() {
+        return perRow;
+    }
+
+    /**
+     * @return the scale of the elements of {@code row}
+     */
+    public float scale(int row) {
+        return scales[parameterIndex(row)];
+    }
+
+    /**
+     * @return the code representing {@code 0} in {@code row}
+     */
+    public int zeroPoint(int row) {
+        return zeroPoints[parameterIndex(row)];
+    }
+
+    /**
+     * @return the code of the element at {@code row} and {@code column}
+     * @throws IndexOutOfBoundsException if the position is outside of the matrix
+     */
+    public byte getCode(int row, int column) {
+        return codes[index(row, column)];
+    }
+
+    /**
+     * @return the value represented by the element at {@code row} and {@code column}
+     * @throws IndexOutOfBoundsException if the position is outside of the matrix
+     */
+    public float getFloat(int row, int column) {
+        return scale(row) * (codes[index(row, column)] - zeroPoint(row));
+    }
+
+    private int index(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Position (" + row + ", " + column + ") is outside of the matrix");
+        }
+        return row * columns + column;
+    }
+
+    private int parameterIndex(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " is outside of the matrix");
+        }
+        return perRow ? row : 0;
+    }
+
+    /**
+     * @return a new float matrix with the values represented by the codes
+     */
+    public FloatMatrix dequantize() {
+        FloatMatrix matrix = FloatMatrix.zeros(rows, columns);
+        float[] values = new float[columns];
+        for (int i = 0; i < rows; i++) {
+            float scale = scale(i);
+            int zeroPoint = zeroPoint(i);
+            for (int j = 0; j < columns; j++) {
+                values[j] = scale * (codes[i * columns + j] - zeroPoint);
+            }
+            matrix.set((long) i * columns, values, 0, columns);
+        }
+        return matrix;
+    }
+
+    /**
+     * @return a new matrix with the rows and columns of this one swapped, sharing its scale and zero point
+     * @throws UnsupportedOperationException if the matrix is quantized per row
+     */
+    public QuantizedMatrix transpose() {
+        if (perRow) {
+            throw new UnsupportedOperationException("Matrices quantized per row cannot be transposed");
+        }
+        byte[] transposed = new byte[codes.length];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                transposed[j * rows + i] = codes[i * columns + j];
+            }
+        }
+        return new QuantizedMatrix(transposed, columns, rows, false, scales, zeroPoints);
+    }
+
+    /**
+     * @return the product of {@code this} and {@code other}
+     * @throws IncompatibleDimensionsException if the columns of {@code this} do not match the rows of {@code other}
+     * @throws UnsupportedOperationException if {@code other} is quantized per row, which cannot be applied to
+     * the sums of products. Store its transposed matrix quantized per row and use {@link #mmulTransposed} instead.
+     */
+    public FloatMatrix mmul(QuantizedMatrix other) {
+        if (columns != other.rows) {
+            throw new IncompatibleDimensionsException("Matrices cannot be multiplied: Invalid rows/cols");
+        }
+        return mmulTransposed(other.transpose());
+    }
+
+    /**
+     * @return the product of {@code this} and the transposed {@code other}, e.g. the scores of queries (rows of
+     * {@code this}) against embeddings (rows of {@code other}). Both operands may be quantized per row.
+     * @throws IncompatibleDimensionsException if the columns of both matrices do not match
+     */
+    public FloatMatrix mmulTransposed(QuantizedMatrix other) {
+        return mmulTransposed(other, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * @param parallelism maximum number of threads computing the product
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public FloatMatrix mmulTransposed(QuantizedMatrix other, int parallelism) {
+        FloatMatrix result = FloatMatrix.zeros(rows, other.rows);
+        multiply(other, parallelism, (row, sums) -> {
+            float[] values = new float[sums.length];
+            float scale = scale(row);
+            for (int j = 0; j < sums.length; j++) {
+                values[j] = scale * other.scale(j) * sums[j];
+            }
+            result.set((long) row * sums.length, values, 0, sums.length);
+        });
+        return result;
+    }
+
+    /**
+     * @return the sums of the products of the codes of {@code this} and the transposed {@code other},
+     * minus their zero points, which only have to be multiplied by the scales of both operands
+     * @throws IncompatibleDimensionsException if the columns of both matrices do not match
+     */
+    public IntegerMatrix mmulTransposedInt(QuantizedMatrix other) {
+        IntegerMatrix result = IntegerMatrix.zeros(rows, other.rows);
+        multiply(other, ForkJoinPool.getCommonPoolParallelism(),
+            (row, sums) -> result.set((long) row * sums.length, sums, 0, sums.length));
+        return result;
+    }
+
+    private interface RowConsumer {
+        void accept(int row, int[] sums);
+    }
+
+    /**
+     * Computes the rows of the product of {@code this} and the transposed {@code other}, each of which is passed to
+     * {@code consumer} as the sums of the products of codes minus zero points, possibly by several threads.
+     */
+    private void multiply(QuantizedMatrix other, int parallelism, RowConsumer consumer) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (columns != other.columns) {
+            throw new IncompatibleDimensionsException("Matrices cannot be multiplied: Invalid rows/cols");
+        }
+        long work = (long) rows * other.rows * columns;
+        int blocks = parallelism == 1 || work < InMemoryMatrix.PARALLEL_THRESHOLD
+            ? 1
+            : Math.min(4 * parallelism, (rows + ROWS - 1) / ROWS);
+        if (blocks <= 1) {
+            multiply(other, 0, rows, consumer);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int b = 0; b < blocks; b++) {
+            // blocks start at multiples of ROWS, so that only the last one has a partial group of rows
+            int from = (int) ((long) b * rows / blocks / ROWS * ROWS);
+            int to = b == blocks - 1 ? rows : (int) ((long) (b + 1) * rows / blocks / ROWS * ROWS);
+            tasks.add(ForkJoinTask.adapt(() -> multiply(other, from, to, consumer)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private void multiply(QuantizedMatrix other, int from, int to, RowConsumer consumer) {
+        int p = other.rows;
+        int n = columns;
+        int[] sums = new int[(to - from) * p];
+        int blockRows = Math.max(1, BLOCK_BYTES / Math.max(1, n));
+        // rows of other are reused for all rows of this while they are cached
+        for (int jb = 0; jb < p; jb += blockRows) {
+            int jEnd = Math.min(p, jb + blockRows);
+            int i = from;
+            for (; i + ROWS <= to; i += ROWS) {
+                for (int j = jb; j < jEnd; j++) {
+                    dots(codes, i * n, other.codes, j * n, n, sums, (i - from) * p + j, p);
+                }
+            }
+            for (; i < to; i++) {
+                for (int j = jb; j < jEnd; j++) {
+                    sums[(i - from) * p + j] = dot(codes, i * n, other.codes, j * n, n);
+                }
+            }
+        }
+
+        int[] row = new int[p];
+        for (int i = from; i < to; i++) {
+            int za = zeroPoint(i);
+            for (int j = 0; j < p; j++) {
+                int zb = other.zeroPoint(j);
+                // sum of (a - za) * (b - zb) over the codes a of row i and b of row j
+                row[j] = sums[(i - from) * p + j] - zb * rowSums[i] - za * other.rowSums[j] + n * za * zb;
+            }
+            consumer.accept(i, row);
+        }
+    }
+
+    /**
+     * Stores the sums of the products of {@link #ROWS} subsequent rows of {@code a} with the row of {@code b}
+     * in {@code sums}, starting at {@code sumsOffset} with {@code stride} elements between two sums.
+     */
+    private static void dots(byte[] a, int aOffset, byte[] b, int bOffset, int n, int[] sums, int sumsOffset, int stride) {
+        IntVector s0 = IntVector.zero(INTS), s1 = s0;
+        int k = 0;
+        for (; k < BYTES.loopBound(n); k += BYTES.length()) {
+            ShortVector vb = widen(ByteVector.fromArray(BYTES, b, bOffset + k));
+            s0 = accumulate(s0, widen(ByteVector.fromArray(BYTES, a, aOffset + k)).mul(vb));
+            s1 = accumulate(s1, widen(ByteVector.fromArray(BYTES, a, aOffset + n + k)).mul(vb));
+        }
+        if (k < n) {
+            VectorMask<Byte> m = BYTES.indexInRange(k, n);
+            ShortVector vb = widen(ByteVector.fromArray(BYTES, b, bOffset + k, m));
+            s0 = accumulate(s0, widen(ByteVector.fromArray(BYTES, a, aOffset + k, m)).mul(vb));
+            s1 = accumulate(s1, widen(ByteVector.fromArray(BYTES, a, aOffset + n + k, m)).mul(vb));
+        }
+        sums[sumsOffset] = s0.reduceLanes(VectorOperators.ADD);
+        sums[sumsOffset + stride] = s1.reduceLanes(VectorOperators.ADD);
+    }
+
+    private static int dot(byte[] a, int aOffset, byte[] b, int bOffset, int n) {
+        IntVector sum = IntVector.zero(INTS);
+        int k = 0;
+        for (; k < BYTES.loopBound(n); k += BYTES.length()) {
+            ShortVector vb = widen(ByteVector.fromArray(BYTES, b, bOffset + k));
+            sum = accumulate(sum, widen(ByteVector.fromArray(BYTES, a, aOffset + k)).mul(vb));
+        }
+        if (k < n) {
+            VectorMask<Byte> m = BYTES.indexInRange(k, n);
+            ShortVector vb = widen(ByteVector.fromArray(BYTES, b, bOffset + k, m));
+            sum = accumulate(sum, widen(ByteVector.fromArray(BYTES, a, aOffset + k, m)).mul(vb));
+        }
+        return sum.reduceLanes(VectorOperators.ADD);
+    }
+
+    private static ShortVector widen(ByteVector v) {
+        return (ShortVector) v.convertShape(VectorOperators.B2S, SHORTS, 0);
+    }
+
+    private static IntVector accumulate(IntVector sum, ShortVector products) {
+        return sum.add(products.convertShape(VectorOperators.S2I, INTS, 0))
+            .add(products.convertShape(VectorOperators.S2I, INTS, 1));
+    }
+}
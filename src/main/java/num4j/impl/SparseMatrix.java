@@ -0,0 +1,579 @@
+package num4j.impl;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import num4j.api.Matrix;
+import num4j.exceptions.IncompatibleDimensionsException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A 2D float matrix, which only stores its non-zero elements in compressed rows ({@link Format#CSR}) or compressed
+ * columns ({@link Format#CSC}): the minor indices and values of the elements of major line {@code i} (a row of CSR,
+ * a column of CSC) are found between {@code pointers[i]} and {@code pointers[i + 1]}, sorted by index.
+ * Matrices are immutable and built from coordinates by a {@link CooBuilder} or from a dense matrix.
+ * <p>
+ * Products with dense matrices and elementwise operations gather the dense elements at the stored indices.
+ */
+public final class SparseMatrix {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final int L = SPECIES.length();
+
+    /**
+     * The order in which the non-zero elements are stored.
+     */
+    public enum Format {
+        /**
+         * Compressed sparse rows, whose products run row by row in parallel.
+         */
+        CSR,
+        /**
+         * Compressed sparse columns, which store the same indices as the transposed matrix in {@link #CSR}.
+         */
+        CSC
+    }
+
+    private final Format format;
+    private final int rows;
+    private final int columns;
+    private final int[] pointers;
+    private final int[] indices;
+    private final float[] values;
+
+    private SparseMatrix(Format format, int rows, int columns, int[] pointers, int[] indices, float[] values) {
+        this.format = format;
+        this.rows = rows;
+        this.columns = columns;
+        this.pointers = pointers;
+        this.indices = indices;
+        this.values = values;
+    }
+
+    /**
+     * @return a builder of a {@code rows x columns} matrix, whose elements are given as coordinates
+     * @throws IllegalArgumentException if a dimension is negative
+     */
+    public static CooBuilder builder(int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Dimensions must not be negative");
+        }
+        return new CooBuilder(rows, columns);
+    }
+
+    /**
+     * Stores the non-zero elements of the 2D {@code matrix} in {@code format}.
+     * @throws IllegalArgumentException if the matrix is not 2D
+     */
+    public static SparseMatrix fromDense(Matrix<Float> matrix, Format format) {
+        int[] dimensions = matrix.dimensions();
+        if (dimensions.length != 2) {
+            throw new IllegalArgumentException("Require a 2D matrix");
+        }
+        int rows = dimensions[0];
+        int columns = dimensions[1];
+        float[] dense = elements(matrix);
+        int[] pointers = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int j = 0;
+            int count = 0;
+            for (; j < SPECIES.loopBound(columns); j += L) {
+                count += FloatVector.fromArray(SPECIES, dense, i * columns + j)
+                    .compare(VectorOperators.NE, 0).trueCount();
+            }
+            for (; j < columns; j++) {
+                count += dense[i * columns + j] != 0 ? 1 : 0;
+            }
+            pointers[i + 1] = pointers[i] + count;
+        }
+        int[] indices = new int[pointers[rows]];
+        float[] values = new float[pointers[rows]];
+        for (int i = 0, k = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                float value = dense[i * columns + j];
+                if (value != 0) {
+                    indices[k] = j;
+                    values[k++] = value;
+                }
+            }
+        }
+        return new SparseMatrix(Format.CSR, rows, columns, pointers, indices, values).toFormat(format);
+    }
+
+    /**
+     * @return the number of rows and columns
+     */
+    public int[] dimensions() {
+        return new int[] {rows, columns};
+    }
+
+    /**
+     * @return the order in which the elements are stored
+     */
+    public Format format() {
+        return format;
+    }
+
+    /**
+     * @return the number of stored elements
+     */
+    public int nonZeros() {
+        return values.length;
+    }
+
+    /**
+     * @return the element at {@code row} and {@code column}
+     * @throws IndexOutOfBoundsException if the position is outside of the matrix
+     */
+    public float getFloat(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Position (" + row + ", " + column + ") is outside of the matrix");
+        }
+        int major = format == Format.CSR ? row : column;
+        int minor = format == Format.CSR ? column : row;
+        int k = Arrays.binarySearch(indices, pointers[major], pointers[major + 1], minor);
+        return k >= 0 ? values[k] : 0;
+    }
+
+    /**
+     * @return the matrix stored in {@code format}, which is {@code this} if it already is
+     */
+    public SparseMatrix toFormat(Format format) {
+        if (format == this.format) {
+            return this;
+        }
+        return new SparseMatrix(format, rows, columns, null, null, null).compress(majors(), indices, values);
+    }
+
+    /**
+     * @return the transposed matrix, which shares the elements of {@code this} stored in the other format
+     */
+    public SparseMatrix transpose() {
+        Format transposed = format == Format.CSR ? Format.CSC : Format.CSR;
+        return new SparseMatrix(transposed, columns, rows, pointers, indices, values);
+    }
+
+    /**
+     * @return a new dense matrix with the elements of {@code this}
+     */
+    public FloatMatrix toDense() {
+        float[] dense = new float[checkedSize()];
+        scatterAdd(dense);
+        return wrap(dense, rows, columns);
+    }
+
+    /**
+     * @return the product of {@code this} and the dense {@code other}, which is either a vector with dimensions
+     * {@code [n]} or a matrix {@code [n, p]}. The product has the dimensions {@code [m]} or {@code [m, p]} respectively.
+     * @throws IncompatibleDimensionsException if the columns of {@code this} do not match the rows of {@code other}
+     */
+    public FloatMatrix mmul(Matrix<Float> other) {
+        return mmul(other, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Products of {@link Format#CSC} matrices with vectors run on the calling thread, they scatter the columns of
+     * {@code this} into the whole result. Products with matrices convert {@code this} to {@link Format#CSR} first.
+     * @param parallelism maximum number of threads computing the product
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public FloatMatrix mmul(Matrix<Float> other, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        int[] dimensions = other.dimensions();
+        if (dimensions.length > 2 || dimensions[0] != columns) {
+            throw new IncompatibleDimensionsException("Matrices cannot be multiplied: Invalid rows/cols");
+        }
+        int p = dimensions.length == 2 ? dimensions[1] : 1;
+        float[] b = elements(other);
+        FloatMatrix result = dimensions.length == 2 ? FloatMatrix.zeros(rows, p) : FloatMatrix.zeros(rows);
+        if (p == 1) {
+            float[] y = new float[rows];
+            if (format == Format.CSR) {
+                forEachBlock(parallelism, values.length, (from, to) -> multiplyRows(b, y, from, to));
+            } else {
+                multiplyColumns(b, y);
+            }
+            result.set(0, y, 0, rows);
+        } else {
+            SparseMatrix csr = toFormat(Format.CSR);
+            csr.forEachBlock(parallelism, (long) values.length * p, (from, to) -> csr.multiplyRows(b, p, result, from, to));
+        }
+        return result;
+    }
+
+    /**
+     * @return a new dense matrix with the sums of the elements of {@code this} and {@code other}
+     * @throws IncompatibleDimensionsException if {@code other} does not have the dimensions of {@code this}
+     */
+    public FloatMatrix add(Matrix<Float> other) {
+        float[] dense = elements(checkDimensions(other));
+        scatterAdd(dense);
+        return wrap(dense, rows, columns);
+    }
+
+    /**
+     * @return a new dense matrix with the differences of the elements of {@code this} and {@code other}
+     * @throws IncompatibleDimensionsException if {@code other} does not have the dimensions of {@code this}
+     */
+    public FloatMatrix sub(Matrix<Float> other) {
+        float[] dense = elements(checkDimensions(other));
+        // 0 - x instead of -x, elements, which are not stored, become 0 - 0 = +0 like in a dense subtraction
+        FloatVector zero = FloatVector.zero(SPECIES);
+        int i = 0;
+        for (; i < SPECIES.loopBound(dense.length); i += L) {
+            zero.sub(FloatVector.fromArray(SPECIES, dense, i)).intoArray(dense, i);
+        }
+        for (; i < dense.length; i++) {
+            dense[i] = 0 - dense[i];
+        }
+        scatterAdd(dense);
+        return wrap(dense, rows, columns);
+    }
+
+    /**
+     * Multiplies {@code this} by {@code other} elementwise. Elements, which are not stored, remain {@code 0}
+     * even if they are multiplied by an infinite or NaN element of {@code other}.
+     * @return a new sparse matrix with the same format and non-zero positions as {@code this}
+     * @throws IncompatibleDimensionsException if {@code other} does not have the dimensions of {@code this}
+     */
+    public SparseMatrix mul(Matrix<Float> other) {
+        float[] dense = elements(checkDimensions(other));
+        float[] products = new float[values.length];
+        for (int i = 0; i < pointers.length - 1; i++) {
+            int k = pointers[i];
+            int end = pointers[i + 1];
+            if (format == Format.CSR) {
+                for (; k + L <= end; k += L) {
+                    FloatVector.fromArray(SPECIES, values, k)
+                        .mul(FloatVector.fromArray(SPECIES, dense, i * columns, indices, k))
+                        .intoArray(products, k);
+                }
+            }
+            for (; k < end; k++) {
+                products[k] = values[k] * dense[position(i, indices[k])];
+            }
+        }
+        return new SparseMatrix(format, rows, columns, pointers, indices, products);
+    }
+
+    private Matrix<Float> checkDimensions(Matrix<Float> other) {
+        int[] dimensions = other.dimensions();
+        if (dimensions.length != 2 || dimensions[0] != rows || dimensions[1] != columns) {
+            throw new IncompatibleDimensionsException("Dimensions of the matrices do not match");
+        }
+        return other;
+    }
+
+    /**
+     * @return the index of the element of major line {@code major} and minor line {@code minor} in row major order
+     */
+    private int position(int major, int minor) {
+        return format == Format.CSR ? major * columns + minor : minor * columns + major;
+    }
+
+    private int checkedSize() {
+        if ((long) rows * columns > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matrix is too large to be stored densely");
+        }
+        return rows * columns;
+    }
+
+    /**
+     * Adds the elements of {@code this} to the {@code rows x columns} elements of {@code dense} in row major order.
+     * The indices of a row are distinct, so gathering and scattering a vector of them never adds to an element twice.
+     */
+    private void scatterAdd(float[] dense) {
+        for (int i = 0; i < pointers.length - 1; i++) {
+            int k = pointers[i];
+            int end = pointers[i + 1];
+            if (format == Format.CSR) {
+                for (; k + L <= end; k += L) {
+                    FloatVector.fromArray(SPECIES, dense, i * columns, indices, k)
+                        .add(FloatVector.fromArray(SPECIES, values, k))
+                        .intoArray(dense, i * columns, indices, k);
+                }
+            }
+            for (; k < end; k++) {
+                dense[position(i, indices[k])] += values[k];
+            }
+        }
+    }
+
+    /**
+     * Stores the dot products of the rows {@code from} to {@code to} of a CSR matrix and {@code x} in {@code y}.
+     */
+    private void multiplyRows(float[] x, float[] y, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int k = pointers[i];
+            int end = pointers[i + 1];
+            float sum = 0;
+            if (end - k >= L) {
+                FloatVector acc = FloatVector.zero(SPECIES);
+                for (; k + L <= end; k += L) {
+                    acc = FloatVector.fromArray(SPECIES, values, k)
+                        .fma(FloatVector.fromArray(SPECIES, x, 0, indices, k), acc);
+                }
+                sum = acc.reduceLanes(VectorOperators.ADD);
+            }
+            for (; k < end; k++) {
+                sum += values[k] * x[indices[k]];
+            }
+            y[i] = sum;
+        }
+    }
+
+    /**
+     * Adds the columns of a CSC matrix multiplied by the elements of {@code x} to {@code y}.
+     */
+    private void multiplyColumns(float[] x, float[] y) {
+        for (int j = 0; j < columns; j++) {
+            float scale = x[j];
+            if (scale == 0) {
+                continue;
+            }
+            int k = pointers[j];
+            int end = pointers[j + 1];
+            FloatVector s = FloatVector.broadcast(SPECIES, scale);
+            for (; k + L <= end; k += L) {
+                FloatVector.fromArray(SPECIES, values, k)
+                    .fma(s, FloatVector.fromArray(SPECIES, y, 0, indices, k))
+                    .intoArray(y, 0, indices, k);
+            }
+            for (; k < end; k++) {
+                y[indices[k]] += values[k] * scale;
+            }
+        }
+    }
+
+    /**
+     * Computes the rows {@code from} to {@code to} of the product of a CSR matrix and the {@code n x p} matrix
+     * {@code b}: every stored element scales the row of {@code b} selected by its column.
+     */
+    private void multiplyRows(float[] b, int p, FloatMatrix result, int from, int to) {
+        float[] row = new float[p];
+        for (int i = from; i < to; i++) {
+            Arrays.fill(row, 0);
+            for (int k = pointers[i]; k < pointers[i + 1]; k++) {
+                float scale = values[k];
+                int offset = indices[k] * p;
+                FloatVector s = FloatVector.broadcast(SPECIES, scale);
+                int j = 0;
+                for (; j < SPECIES.loopBound(p); j += L) {
+                    FloatVector.fromArray(SPECIES, b, offset + j)
+                        .fma(s, FloatVector.fromArray(SPECIES, row, j))
+                        .intoArray(row, j);
+                }
+                for (; j < p; j++) {
+                    row[j] += scale * b[offset + j];
+                }
+            }
+            result.set((long) i * p, row, 0, p);
+        }
+    }
+
+    private interface RowRange {
+        void compute(int from, int to);
+    }
+
+    /**
+     * Splits the rows of a CSR matrix into blocks with similar numbers of stored elements,
+     * which are computed by up to {@code parallelism} threads.
+     */
+    private void forEachBlock(int parallelism, long work, RowRange range) {
+        int blocks = parallelism == 1 || work < InMemoryMatrix.PARALLEL_THRESHOLD ? 1 : Math.min(4 * parallelism, rows);
+        if (blocks <= 1) {
+            range.compute(0, rows);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        int from = 0;
+        for (int b = 1; b <= blocks && from < rows; b++) {
+            int to = b == blocks ? rows : firstRowAt((int) ((long) b * values.length / blocks));
+            if (to > from) {
+                int start = from;
+                tasks.add(ForkJoinTask.adapt(() -> range.compute(start, to)));
+                from = to;
+            }
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * @return the first row, whose elements start at or after the stored element {@code k}
+     */
+    private int firstRowAt(int k) {
+        int i = Arrays.binarySearch(pointers, k);
+        if (i < 0) {
+            return -i - 1;
+        }
+        // the first of several empty rows starting at k
+        while (i > 0 && pointers[i - 1] == k) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * @return the major line of every stored element
+     */
+    private int[] majors() {
+        int[] majors = new int[values.length];
+        for (int i = 0; i < pointers.length - 1; i++) {
+            Arrays.fill(majors, pointers[i], pointers[i + 1], i);
+        }
+        return majors;
+    }
+
+    /**
+     * Stores the elements given by their minor lines {@code minors}, the major lines of this format, and their
+     * {@code values}, sorted by major and minor line. Elements at the same position are summed up.
+     * @return a new matrix with the format and dimensions of {@code this}
+     */
+    private SparseMatrix compress(int[] minors, int[] majors, float[] values) {
+        int majorSize = format == Format.CSR ? rows : columns;
+        int minorSize = format == Format.CSR ? columns : rows;
+        // grouping the elements by minor line first leaves the minor lines of every major line sorted
+        int[] byMinor = group(minors, minorSize);
+        int[] byMajor = group(majors, majorSize);
+        int[] next = Arrays.copyOf(byMajor, majorSize);
+        int[] order = new int[values.length];
+        int[] sorted = new int[values.length];
+        int[] minorNext = Arrays.copyOf(byMinor, minorSize);
+        for (int k = 0; k < values.length; k++) {
+            order[minorNext[minors[k]]++] = k;
+        }
+        for (int k : order) {
+            sorted[next[majors[k]]++] = k;
+        }
+
+        int[] pointers = new int[majorSize + 1];
+        int[] indices = new int[values.length];
+        float[] summed = new float[values.length];
+        int n = 0;
+        for (int i = 0; i < majorSize; i++) {
+            for (int s = byMajor[i]; s < byMajor[i + 1]; s++) {
+                int k = sorted[s];
+                if (n > pointers[i] && indices[n - 1] == minors[k]) {
+                    summed[n - 1] += values[k];
+                } else {
+                    indices[n] = minors[k];
+                    summed[n++] = values[k];
+                }
+            }
+            pointers[i + 1] = n;
+        }
+        if (n < values.length) {
+            indices = Arrays.copyOf(indices, n);
+            summed = Arrays.copyOf(summed, n);
+        }
+        return new SparseMatrix(format, rows, columns, pointers, indices, summed);
+    }
+
+    /**
+     * @return the offsets of the groups of elements with the same {@code key}, followed by the number of elements
+     */
+    private static int[] group(int[] keys, int size) {
+        int[] offsets = new int[size + 1];
+        for (int key : keys) {
+            offsets[key + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return offsets;
+    }
+
+    /**
+     * @return the elements of the dense {@code matrix} in row major order
+     * @throws IllegalArgumentException if the matrix has more than {@code Integer.MAX_VALUE - 8} elements
+     */
+    private static float[] elements(Matrix<Float> matrix) {
+        long size = 1;
+        for (int dimension : matrix.dimensions()) {
+            size *= dimension;
+        }
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matrix is too large to be read densely");
+        }
+        float[] elements = new float[(int) size];
+        if (matrix instanceof FloatMatrix floats) {
+            floats.get(0, elements, 0, elements.length);
+        } else if (matrix instanceof MemoryMappedFloatMatrix mapped) {
+            mapped.get(0, elements, 0, elements.length);
+        } else if (matrix instanceof HalfFloatMatrix halfFloats) {
+            halfFloats.get(0, elements, 0, elements.length);
+        } else if (matrix instanceof MemoryMappedHalfFloatMatrix mapped) {
+            mapped.get(0, elements, 0, elements.length);
+        } else {
+            FloatMatrix copy = FloatMatrix.zeros(matrix.dimensions());
+            matrix.copyInto(copy);
+            copy.get(0, elements, 0, elements.length);
+        }
+        return elements;
+    }
+
+    private static FloatMatrix wrap(float[] elements, int rows, int columns) {
+        FloatMatrix matrix = FloatMatrix.zeros(rows, columns);
+        matrix.set(0, elements, 0, elements.length);
+        return matrix;
+    }
+
+    /**
+     * Collects the elements of a sparse matrix as coordinates (COO), in any order.
+     * Elements added several times at the same position are summed up.
+     */
+    public static final class CooBuilder {
+
+        private final int rows;
+        private final int columns;
+        private int[] rowIndices = new int[16];
+        private int[] columnIndices = new int[16];
+        private float[] values = new float[16];
+        private int size;
+
+        private CooBuilder(int rows, int columns) {
+            this.rows = rows;
+            this.columns = columns;
+        }
+
+        /**
+         * Adds {@code value} to the element at {@code row} and {@code column}.
+         * @throws IndexOutOfBoundsException if the position is outside of the matrix
+         */
+        public CooBuilder add(int row, int column, float value) {
+            if (row < 0 || row >= rows || column < 0 || column >= columns) {
+                throw new IndexOutOfBoundsException("Position (" + row + ", " + column + ") is outside of the matrix");
+            }
+            if (size == values.length) {
+                int capacity = values.length + (values.length >> 1);
+                rowIndices = Arrays.copyOf(rowIndices, capacity);
+                columnIndices = Arrays.copyOf(columnIndices, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            rowIndices[size] = row;
+            columnIndices[size] = column;
+            values[size++] = value;
+            return this;
+        }
+
+        /**
+         * @return a new matrix with the added elements stored in {@code format}
+         */
+        public SparseMatrix build(Format format) {
+            int[] rowIndices = Arrays.copyOf(this.rowIndices, size);
+            int[] columnIndices = Arrays.copyOf(this.columnIndices, size);
+            float[] values = Arrays.copyOf(this.values, size);
+            SparseMatrix empty = new SparseMatrix(format, rows, columns, null, null, null);
+            return format == Format.CSR
+                ? empty.compress(columnIndices, rowIndices, values)
+                : empty.compress(rowIndices, columnIndices, values);
+        }
+    }
+}
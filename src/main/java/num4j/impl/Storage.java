@@ -0,0 +1,463 @@
+package num4j.impl;
+
+import num4j.unsafe.TheUnsafe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+import static num4j.impl.InMemoryMatrix.BYTE_ORDER;
+
+/**
+ * Elements of a matrix, addressed by their position (in elements).
+ * As a single array is limited to 2 GB, the elements are split into chunks of {@code 1 << shift} elements,
+ * all of them full except for the last one. Elements never cross the border between two chunks,
+ * so every element (and every run of elements within a chunk) can be accessed as part of a single array.
+ * <p>
+ * Chunks are either arrays on the heap, or buffers: direct buffers allocated off-heap, which are freed by {@link #free()},
+ * or buffers which can only be read (e.g. memory mapped files).
+ */
+final class Storage {
+
+    /**
+     * Maximum size of a single chunk.
+     */
+    static final int CHUNK_BYTES = 1 << 30;
+
+    /**
+     * Alignment (in bytes) of chunks allocated off-heap, which is the size of the largest vectors.
+     */
+    static final int ALIGNMENT = 64;
+
+    // replaces the chunks of freed storages, so that accessing them fails instead of reading freed memory
+    private static final ByteBuffer FREED = ByteBuffer.allocate(0).order(BYTE_ORDER);
+    // copied into buffers to clear them
+    private static final byte[] ZEROS = new byte[4096];
+
+    private final byte[][] arrays;
+    // for chunks on the heap, buffers wrapping the arrays are created on demand
+    private ByteBuffer[] buffers;
+    // direct buffers as returned by the allocation, which have to be freed
+    private ByteBuffer[] allocated;
+    private final int shift;
+    private final int elementSize;
+    private final long nrElements;
+
+    private Storage(byte[][] arrays, ByteBuffer[] buffers, int shift, int elementSize, long nrElements) {
+        this.arrays = arrays;
+        this.buffers = buffers;
+        this.shift = shift;
+        this.elementSize = elementSize;
+        this.nrElements = nrElements;
+    }
+
+    /**
+     * @return a new storage for {@code nrElements} elements of {@code elementSize} bytes, filled with zeros.
+     * Within a {@link MatrixArena} its chunks are taken from the pool and may be larger than required.
+     */
+    static Storage allocate(long nrElements, int elementSize) {
+        return allocate(nrElements, elementSize, CHUNK_BYTES);
+    }
+
+    /**
+     * @param chunkBytes maximum size of a chunk, which has to be a power of two
+     */
+    static Storage allocate(long nrElements, int elementSize, int chunkBytes) {
+        int shift = Integer.numberOfTrailingZeros(chunkBytes / elementSize);
+        long chunkElements = 1L << shift;
+        int nrChunks = (int) ((nrElements + chunkElements - 1) >>> shift);
+        byte[][] arrays = new byte[Math.max(1, nrChunks)][];
+        arrays[0] = new byte[0];
+        for (int i = 0; i < nrChunks; i++) {
+            arrays[i] = MatrixArena.acquire((int) (Math.min(chunkElements, nrElements - i * chunkElements) * elementSize));
+        }
+        return new Storage(arrays, null, shift, elementSize, nrElements);
+    }
+
+    /**
+     * @return a new storage for {@code nrElements} elements of {@code elementSize} bytes outside of the heap,
+     * filled with zeros. Every chunk starts at an address aligned to {@link #ALIGNMENT} bytes.
+     */
+    static Storage allocateDirect(long nrElements, int elementSize) {
+        return allocateDirect(nrElements, elementSize, CHUNK_BYTES);
+    }
+
+    /**
+     * @param chunkBytes maximum size of a chunk, which has to be a power of two
+     */
+    static Storage allocateDirect(long nrElements, int elementSize, int chunkBytes) {
+        int shift = Integer.numberOfTrailingZeros(chunkBytes / elementSize);
+        long chunkElements = 1L << shift;
+        int nrChunks = (int) Math.max(1, (nrElements + chunkElements - 1) >>> shift);
+        ByteBuffer[] allocated = new ByteBuffer[nrChunks];
+        ByteBuffer[] buffers = new ByteBuffer[nrChunks];
+        try {
+            for (int i = 0; i < nrChunks; i++) {
+                int bytes = (int) (Math.min(chunkElements, nrElements - i * chunkElements) * elementSize);
+                // allocateDirect only guarantees an alignment of 8 bytes, alignedSlice aligns both start and end
+                int aligned = (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+                allocated[i] = ByteBuffer.allocateDirect(aligned + ALIGNMENT - 1);
+                buffers[i] = allocated[i].alignedSlice(ALIGNMENT).limit(bytes).slice().order(BYTE_ORDER);
+            }
+        } catch (OutOfMemoryError e) {
+            free(allocated);
+            throw e;
+        }
+        Storage storage = new Storage(null, buffers, shift, elementSize, nrElements);
+        storage.allocated = allocated;
+        return storage;
+    }
+
+    /**
+     * @return a storage for {@code nrElements} elements of {@code elementSize} bytes, which are mapped from
+     * {@code channel} starting at {@code position}. The chunks are unmapped by {@link #free()}.
+     * @param chunkBytes maximum size of a chunk, which has to be a power of two
+     */
+    static Storage map(FileChannel channel, FileChannel.MapMode mode, long position, long nrElements, int elementSize,
+                       int chunkBytes) throws IOException {
+        int shift = Integer.numberOfTrailingZeros(chunkBytes / elementSize);
+        long chunkElements = 1L << shift;
+        int nrChunks = (int) Math.max(1, (nrElements + chunkElements - 1) >>> shift);
+        ByteBuffer[] mapped = new ByteBuffer[nrChunks];
+        try {
+            for (int i = 0; i < nrChunks; i++) {
+                long bytes = Math.min(chunkElements, nrElements - i * chunkElements) * elementSize;
+                mapped[i] = channel.map(mode, position + i * chunkElements * elementSize, bytes).order(BYTE_ORDER);
+            }
+        } catch (IOException | RuntimeException e) {
+            free(mapped);
+            throw e;
+        }
+        Storage storage = new Storage(null, mapped.clone(), shift, elementSize, nrElements);
+        storage.allocated = mapped;
+        return storage;
+    }
+
+    /**
+     * @return a storage using {@code data} as its only chunk
+     */
+    static Storage wrap(byte[] data, int elementSize) {
+        return new Storage(new byte[][] {data}, null, shiftOf(data.length, elementSize), elementSize, data.length / elementSize);
+    }
+
+    /**
+     * @return a storage using {@code buffer} as its only chunk, starting at its position 0.
+     * The elements can only be modified, if the buffer is writable.
+     */
+    static Storage wrap(ByteBuffer buffer, int elementSize) {
+        ByteBuffer[] buffers = {buffer.duplicate().order(BYTE_ORDER)};
+        return new Storage(null, buffers, shiftOf(buffer.capacity(), elementSize), elementSize, buffer.capacity() / elementSize);
+    }
+
+    /**
+     * @return the shift of a single chunk, which is large enough for {@code length} bytes
+     */
+    private static int shiftOf(int length, int elementSize) {
+        int elements = Math.max(1, length / elementSize);
+        return 32 - Integer.numberOfLeadingZeros(elements - 1);
+    }
+
+    /**
+     * Frees the chunks allocated off-heap or unmaps the mapped chunks. Afterwards, accessing the elements fails
+     * with an exception. Does nothing for storages on the heap or if called again.
+     */
+    void free() {
+        if (allocated == null) {
+            return;
+        }
+        ByteBuffer[] toFree = allocated;
+        allocated = null;
+        Arrays.fill(buffers, FREED);
+        free(toFree);
+    }
+
+    private static void free(ByteBuffer[] allocated) {
+        for (ByteBuffer buffer : allocated) {
+            if (buffer != null) {
+                TheUnsafe.free(buffer);
+            }
+        }
+    }
+
+    /**
+     * Copies {@code length} elements, starting at {@code srcAddress} of {@code src}, to {@code dstAddress} of {@code dst}.
+     */
+    static void copy(Storage src, int srcAddress, Storage dst, int dstAddress, int length) {
+        int elementSize = src.elementSize;
+        boolean arrays = src.isArray() && dst.isArray();
+        while (length > 0) {
+            int run = Math.min(length, Math.min(src.remaining(srcAddress), dst.remaining(dstAddress)));
+            if (arrays) {
+                System.arraycopy(src.array(srcAddress), src.index(srcAddress) * elementSize,
+                    dst.array(dstAddress), dst.index(dstAddress) * elementSize, run * elementSize);
+            } else {
+                dst.buffer(dstAddress).put(dst.index(dstAddress) * elementSize,
+                    src.buffer(srcAddress), src.index(srcAddress) * elementSize, run * elementSize);
+            }
+            srcAddress += run;
+            dstAddress += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * Sets {@code length} elements, starting at {@code address}, to zero.
+     */
+    void clear(int address, int length) {
+        while (length > 0) {
+            int run = Math.min(length, remaining(address));
+            int from = index(address) * elementSize;
+            int bytes = run * elementSize;
+            if (isArray()) {
+                Arrays.fill(array(address), from, from + bytes, (byte) 0);
+            } else {
+                ByteBuffer buffer = buffer(address);
+                for (int i = 0; i < bytes; i += ZEROS.length) {
+                    buffer.put(from + i, ZEROS, 0, Math.min(ZEROS.length, bytes - i));
+                }
+            }
+            address += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * Copies the element at {@code srcAddress} of {@code src} to {@code dstAddress} of {@code dst}.
+     */
+    static void copyElement(Storage src, int srcAddress, Storage dst, int dstAddress) {
+        int elementSize = src.elementSize;
+        if (src.isArray() && dst.isArray()) {
+            TheUnsafe.copy(src.array(srcAddress), src.index(srcAddress), dst.array(dstAddress), dst.index(dstAddress), elementSize);
+            return;
+        }
+        ByteBuffer from = src.buffer(srcAddress);
+        ByteBuffer to = dst.buffer(dstAddress);
+        int s = src.index(srcAddress) * elementSize;
+        int d = dst.index(dstAddress) * elementSize;
+        switch (elementSize) {
+            case Long.BYTES -> to.putLong(d, from.getLong(s));
+            case Integer.BYTES -> to.putInt(d, from.getInt(s));
+            case Short.BYTES -> to.putShort(d, from.getShort(s));
+            case Byte.BYTES -> to.put(d, from.get(s));
+            default -> to.put(d, from, s, elementSize);
+        }
+    }
+
+    /**
+     * @return whether the {@code length} elements starting at {@code aAddress} of {@code a} and at
+     * {@code bAddress} of {@code b} have the same bytes
+     */
+    static boolean equals(Storage a, int aAddress, Storage b, int bAddress, int length) {
+        int elementSize = a.elementSize;
+        boolean arrays = a.isArray() && b.isArray();
+        while (length > 0) {
+            int run = Math.min(length, Math.min(a.remaining(aAddress), b.remaining(bAddress)));
+            int aFrom = a.index(aAddress) * elementSize;
+            int bFrom = b.index(bAddress) * elementSize;
+            int bytes = run * elementSize;
+            boolean equal = arrays
+                ? Arrays.equals(a.array(aAddress), aFrom, aFrom + bytes, b.array(bAddress), bFrom, bFrom + bytes)
+                : a.buffer(aAddress).slice(aFrom, bytes).equals(b.buffer(bAddress).slice(bFrom, bytes));
+            if (!equal) {
+                return false;
+            }
+            aAddress += run;
+            bAddress += run;
+            length -= run;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the bytes of {@code length} elements, starting at {@code address}, to {@code out}.
+     */
+    void write(OutputStream out, int address, int length) throws IOException {
+        WritableByteChannel channel = isArray() ? null : Channels.newChannel(out);
+        while (length > 0) {
+            int run = Math.min(length, remaining(address));
+            int from = index(address) * elementSize;
+            if (channel == null) {
+                out.write(array(address), from, run * elementSize);
+            } else {
+                channel.write(buffer(address).slice(from, run * elementSize));
+            }
+            address += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * Writes the changes of {@code length} mapped elements, starting at {@code address}, to their file
+     * and waits until they are written. Does nothing for chunks which are not mapped from a file.
+     */
+    void force(int address, int length) {
+        while (length > 0) {
+            int run = Math.min(length, remaining(address));
+            if (!isArray() && buffer(address) instanceof MappedByteBuffer mapped) {
+                mapped.force(index(address) * elementSize, run * elementSize);
+            }
+            address += run;
+            length -= run;
+        }
+    }
+
+    /**
+     * Copies the bytes of the element at {@code address} to {@code dst}, starting at {@code offset}.
+     */
+    void read(int address, byte[] dst, int offset) {
+        if (isArray()) {
+            System.arraycopy(array(address), index(address) * elementSize, dst, offset, elementSize);
+        } else {
+            buffer(address).get(index(address) * elementSize, dst, offset, elementSize);
+        }
+    }
+
+    int getInt(int address) {
+        return isArray()
+            ? TheUnsafe.readInt(array(address), index(address))
+            : buffer(address).getInt(index(address) * Integer.BYTES);
+    }
+
+    void putInt(int address, int value) {
+        if (isArray()) {
+            TheUnsafe.write(array(address), index(address), value);
+        } else {
+            buffer(address).putInt(index(address) * Integer.BYTES, value);
+        }
+    }
+
+    double getDouble(int address) {
+        return isArray()
+            ? TheUnsafe.readDouble(array(address), index(address))
+            : buffer(address).getDouble(index(address) * Double.BYTES);
+    }
+
+    void putDouble(int address, double value) {
+        if (isArray()) {
+            TheUnsafe.write(array(address), index(address), value);
+        } else {
+            buffer(address).putDouble(index(address) * Double.BYTES, value);
+        }
+    }
+
+    float getFloat(int address) {
+        return isArray()
+            ? TheUnsafe.readFloat(array(address), index(address))
+            : buffer(address).getFloat(index(address) * Float.BYTES);
+    }
+
+    void putFloat(int address, float value) {
+        if (isArray()) {
+            TheUnsafe.write(array(address), index(address), value);
+        } else {
+            buffer(address).putFloat(index(address) * Float.BYTES, value);
+        }
+    }
+
+    long getLong(int address) {
+        return isArray()
+            ? TheUnsafe.readLong(array(address), index(address))
+            : buffer(address).getLong(index(address) * Long.BYTES);
+    }
+
+    void putLong(int address, long value) {
+        if (isArray()) {
+            TheUnsafe.write(array(address), index(address), value);
+        } else {
+            buffer(address).putLong(index(address) * Long.BYTES, value);
+        }
+    }
+
+    short getShort(int address) {
+        return isArray()
+            ? TheUnsafe.readShort(array(address), index(address))
+            : buffer(address).getShort(index(address) * Short.BYTES);
+    }
+
+    void putShort(int address, short value) {
+        if (isArray()) {
+            TheUnsafe.write(array(address), index(address), value);
+        } else {
+            buffer(address).putShort(index(address) * Short.BYTES, value);
+        }
+    }
+
+    /**
+     * @return the array, which contains the element at {@code address}
+     */
+    byte[] array(int address) {
+        return arrays[address >>> shift];
+    }
+
+    /**
+     * @return the buffer, which contains the element at {@code address}, in the byte order of the matrices
+     */
+    ByteBuffer buffer(int address) {
+        if (buffers == null) {
+            ByteBuffer[] wrapped = new ByteBuffer[arrays.length];
+            for (int i = 0; i < arrays.length; i++) {
+                wrapped[i] = ByteBuffer.wrap(arrays[i]).order(BYTE_ORDER);
+            }
+            buffers = wrapped;
+        }
+        return buffers[address >>> shift];
+    }
+
+    /**
+     * @return the position (in elements) of {@code address} within its chunk
+     */
+    int index(int address) {
+        return address & ((1 << shift) - 1);
+    }
+
+    /**
+     * @return the number of elements from {@code address} to the end of its chunk
+     */
+    int remaining(int address) {
+        return (int) Math.min(Integer.MAX_VALUE, (1L << shift) - index(address));
+    }
+
+    /**
+     * @return whether the elements at both addresses are stored in the same chunk
+     */
+    boolean sameChunk(int first, int last) {
+        return first >>> shift == last >>> shift;
+    }
+
+    /**
+     * @return whether the elements are stored in arrays on the heap, else they are stored in buffers
+     */
+    boolean isArray() {
+        return arrays != null;
+    }
+
+    /**
+     * @return the number of chunks
+     */
+    int nrChunks() {
+        return arrays != null ? arrays.length : buffers.length;
+    }
+
+    /**
+     * @return the {@code i}-th chunk
+     */
+    byte[] chunk(int i) {
+        return arrays[i];
+    }
+
+    /**
+     * @return the number of elements
+     */
+    long nrElements() {
+        return nrElements;
+    }
+
+    int elementSize() {
+        return elementSize;
+    }
+}
@@ -0,0 +1,248 @@
+package num4j.impl;
+
+import num4j.unsafe.TheUnsafe;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Copies the elements of a strided matrix into another strided matrix of the same dimensions,
+ * which is used to materialize permuted (transposed) views.
+ * Offsets and strides are given in elements, not bytes.
+ * <p>
+ * Dimensions of size 1 are dropped and neighbouring dimensions, which are contiguous in both matrices, are merged.
+ * Afterwards, one of three kernels is used, stepping through the remaining dimensions like an odometer:
+ * <ul>
+ *     <li>whole rows are copied, if the innermost dimension is contiguous in both matrices</li>
+ *     <li>tiles are transposed, if the innermost dimension of the destination is contiguous in some other dimension of the source</li>
+ *     <li>elements are copied one by one otherwise</li>
+ * </ul>
+ * Large copies are split along the outermost dimension and copied in parallel.
+ * Tiles, which span two chunks of a {@link Storage} or are stored in buffers, are copied element by element.
+ */
+final class StridedCopy {
+
+    /**
+     * Number of elements from which on a copy is split across multiple threads.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    // bytes per row of a tile, so that a tile touches as few cache lines as possible
+    private static final int TILE_BYTES = 128;
+
+    private StridedCopy() {
+    }
+
+    static void copy(Storage src, int srcOffset, int[] srcStrides,
+                     Storage dst, int dstOffset, int[] dstStrides,
+                     int[] dimensions) {
+        int nrElements = InMemoryMatrix.nrElements(dimensions);
+        if (nrElements == 0) {
+            return;
+        }
+        Layout layout = Layout.simplify(srcStrides, dstStrides, dimensions);
+        if (nrElements < PARALLEL_THRESHOLD || layout.dimensions.length == 0) {
+            copy(src, srcOffset, dst, dstOffset, layout, 0, layout.dimensions.length == 0 ? 1 : layout.dimensions[0]);
+            return;
+        }
+        int minChunk = Math.max(1, layout.dimensions[0] / (4 * ForkJoinPool.getCommonPoolParallelism()));
+        ForkJoinPool.commonPool().invoke(
+            new CopyTask(src, srcOffset, dst, dstOffset, layout, 0, layout.dimensions[0], minChunk));
+    }
+
+    /**
+     * Copies the part of the matrix, which lies within {@code [from, to)} of the outermost dimension.
+     */
+    private static void copy(Storage src, int srcOffset, Storage dst, int dstOffset, Layout layout, int from, int to) {
+        int[] dimensions = layout.dimensions;
+        int[] srcStrides = layout.srcStrides;
+        int[] dstStrides = layout.dstStrides;
+        int n = dimensions.length;
+        if (n == 0) {
+            copyElements(src, srcOffset, 1, dst, dstOffset, 1, 1);
+            return;
+        }
+
+        int last = n - 1;
+        int tileDimension = -1;
+        if (dstStrides[last] == 1 && srcStrides[last] != 1) {
+            for (int i = 0; i < last; i++) {
+                if (srcStrides[i] == 1) {
+                    tileDimension = i;
+                }
+            }
+        }
+
+        // restrict the outermost dimension to [from, to)
+        dimensions = dimensions.clone();
+        dimensions[0] = to - from;
+        srcOffset += from * srcStrides[0];
+        dstOffset += from * dstStrides[0];
+
+        // all dimensions, which are not handled by the kernel, are stepped through like an odometer
+        int[] outer = new int[n];
+        int nrOuter = 0;
+        for (int i = 0; i < last; i++) {
+            if (i != tileDimension) {
+                outer[nrOuter++] = i;
+            }
+        }
+        int[] counter = new int[nrOuter];
+        int steps = 1;
+        for (int i = 0; i < nrOuter; i++) {
+            steps *= dimensions[outer[i]];
+        }
+
+        for (int step = 0; step < steps; step++) {
+            if (tileDimension >= 0) {
+                copyTiles(src, srcOffset, srcStrides[last], dst, dstOffset, dstStrides[tileDimension],
+                    dimensions[tileDimension], dimensions[last]);
+            } else if (srcStrides[last] == 1 && dstStrides[last] == 1) {
+                Storage.copy(src, srcOffset, dst, dstOffset, dimensions[last]);
+            } else {
+                copyElements(src, srcOffset, srcStrides[last], dst, dstOffset, dstStrides[last], dimensions[last]);
+            }
+
+            for (int k = nrOuter - 1; k >= 0; k--) {
+                int dimension = outer[k];
+                srcOffset += srcStrides[dimension];
+                dstOffset += dstStrides[dimension];
+                if (++counter[k] < dimensions[dimension]) {
+                    break;
+                }
+                srcOffset -= srcStrides[dimension] * dimensions[dimension];
+                dstOffset -= dstStrides[dimension] * dimensions[dimension];
+                counter[k] = 0;
+            }
+        }
+    }
+
+    /**
+     * Copies a {@code rows x columns} matrix, which is stored column major in {@code src}
+     * (distance {@code srcStride} between two columns) into row major order in {@code dst}
+     * (distance {@code dstStride} between two rows), tile by tile.
+     */
+    private static void copyTiles(Storage src, int srcOffset, int srcStride, Storage dst, int dstOffset, int dstStride,
+                                  int rows, int columns) {
+        int elementSize = src.elementSize();
+        int tile = Math.max(8, TILE_BYTES / elementSize);
+        for (int ii = 0; ii < rows; ii += tile) {
+            int rowEnd = Math.min(rows, ii + tile);
+            for (int jj = 0; jj < columns; jj += tile) {
+                int columnEnd = Math.min(columns, jj + tile);
+                int s = srcOffset + ii + jj * srcStride;
+                int d = dstOffset + ii * dstStride + jj;
+                if (!src.isArray() || !dst.isArray()
+                    || !src.sameChunk(s, srcOffset + (rowEnd - 1) + (columnEnd - 1) * srcStride)
+                    || !dst.sameChunk(d, dstOffset + (rowEnd - 1) * dstStride + columnEnd - 1)) {
+                    for (int i = ii; i < rowEnd; i++) {
+                        copyElements(src, srcOffset + i + jj * srcStride, srcStride, dst, dstOffset + i * dstStride + jj, 1, columnEnd - jj);
+                    }
+                    continue;
+                }
+                byte[] srcArray = src.array(s);
+                byte[] dstArray = dst.array(d);
+                s = src.index(s);
+                d = dst.index(d);
+                for (int i = ii; i < rowEnd; i++) {
+                    int si = s;
+                    int di = d;
+                    for (int j = jj; j < columnEnd; j++) {
+                        TheUnsafe.copy(srcArray, si, dstArray, di, elementSize);
+                        si += srcStride;
+                        di++;
+                    }
+                    s++;
+                    d += dstStride;
+                }
+            }
+        }
+    }
+
+    private static void copyElements(Storage src, int srcOffset, int srcStride, Storage dst, int dstOffset, int dstStride,
+                                     int length) {
+        for (int i = 0; i < length; i++) {
+            Storage.copyElement(src, srcOffset, dst, dstOffset);
+            srcOffset += srcStride;
+            dstOffset += dstStride;
+        }
+    }
+
+    /**
+     * Dimensions and strides of a copy, without dimensions of size 1 and with contiguous dimensions merged.
+     */
+    private record Layout(int[] dimensions, int[] srcStrides, int[] dstStrides) {
+
+        static Layout simplify(int[] srcStrides, int[] dstStrides, int[] dimensions) {
+            int[] newDimensions = new int[dimensions.length];
+            int[] newSrcStrides = new int[dimensions.length];
+            int[] newDstStrides = new int[dimensions.length];
+            int n = 0;
+            for (int i = 0; i < dimensions.length; i++) {
+                if (dimensions[i] == 1) {
+                    continue;
+                }
+                if (n > 0
+                    && newSrcStrides[n - 1] == srcStrides[i] * dimensions[i]
+                    && newDstStrides[n - 1] == dstStrides[i] * dimensions[i]) {
+                    newDimensions[n - 1] *= dimensions[i];
+                    newSrcStrides[n - 1] = srcStrides[i];
+                    newDstStrides[n - 1] = dstStrides[i];
+                    continue;
+                }
+                newDimensions[n] = dimensions[i];
+                newSrcStrides[n] = srcStrides[i];
+                newDstStrides[n] = dstStrides[i];
+                n++;
+            }
+            return new Layout(
+                Arrays.copyOf(newDimensions, n),
+                Arrays.copyOf(newSrcStrides, n),
+                Arrays.copyOf(newDstStrides, n)
+            );
+        }
+    }
+
+    /**
+     * Splits the outermost dimension in halves, until less than {@code minChunk} remain.
+     */
+    private static final class CopyTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Storage src;
+        private final int srcOffset;
+        private final Storage dst;
+        private final int dstOffset;
+        private final Layout layout;
+        private final int from;
+        private final int to;
+        private final int minChunk;
+
+        CopyTask(Storage src, int srcOffset, Storage dst, int dstOffset, Layout layout,
+                 int from, int to, int minChunk) {
+            this.src = src;
+            this.srcOffset = srcOffset;
+            this.dst = dst;
+            this.dstOffset = dstOffset;
+            this.layout = layout;
+            this.from = from;
+            this.to = to;
+            this.minChunk = minChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= minChunk) {
+                copy(src, srcOffset, dst, dstOffset, layout, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new CopyTask(src, srcOffset, dst, dstOffset, layout, from, middle, minChunk),
+                new CopyTask(src, srcOffset, dst, dstOffset, layout, middle, to, minChunk)
+            );
+        }
+    }
+}
@@ -3,6 +3,7 @@ package num4j.unsafe;
 import sun.misc.Unsafe;
 
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 
 public class TheUnsafe {
     private static final Unsafe UNSAFE;
@@ -29,6 +30,71 @@ public class TheUnsafe {
         UNSAFE.putDouble(data, offsetInByte, value);
     }
 
+    public static void write(byte[] data, long offset, float value) {
+        long offsetInByte = BYTE_ARRAY_OFFSET + offset * BYTE_ARRAY_SCALE * Float.BYTES;
+        UNSAFE.putFloat(data, offsetInByte, value);
+    }
+
+    public static void write(byte[] data, long offset, long value) {
+        long offsetInByte = BYTE_ARRAY_OFFSET + offset * BYTE_ARRAY_SCALE * Long.BYTES;
+        UNSAFE.putLong(data, offsetInByte, value);
+    }
+
+    public static void write(byte[] data, long offset, short value) {
+        long offsetInByte = BYTE_ARRAY_OFFSET + offset * BYTE_ARRAY_SCALE * Short.BYTES;
+        UNSAFE.putShort(data, offsetInByte, value);
+    }
+
+    public static int readInt(byte[] data, long offset) {
+        long offsetInByte = BYTE_ARRAY_OFFSET + offset * BYTE_ARRAY_SCALE * Integer.BYTES;
+        return UNSAFE.getInt(data, offsetInByte);
+    }
+
+    public static double readDouble(byte[] data, long offset) {
+        long offsetInByte = BYTE_ARRAY_OFFSET + offset * BYTE_ARRAY_SCALE * Double.BYTES;
+        return UNSAFE.getDouble(data, offsetInByte);
+    }
+
+    public static float readFloat(byte[] data, long offset) {
+        long offsetInByte = BYTE_ARRAY_OFFSET + offset * BYTE_ARRAY_SCALE * Float.BYTES;
+        return UNSAFE.getFloat(data, offsetInByte);
+    }
+
+    public static long readLong(byte[] data, long offset) {
+        long offsetInByte = BYTE_ARRAY_OFFSET + offset * BYTE_ARRAY_SCALE * Long.BYTES;
+        return UNSAFE.getLong(data, offsetInByte);
+    }
+
+    public static short readShort(byte[] data, long offset) {
+        long offsetInByte = BYTE_ARRAY_OFFSET + offset * BYTE_ARRAY_SCALE * Short.BYTES;
+        return UNSAFE.getShort(data, offsetInByte);
+    }
+
+    /**
+     * Copies the element at {@code srcOffset} of {@code src} to {@code dstOffset} of {@code dst}.
+     * Both offsets are given in elements of {@code elementSize} bytes.
+     */
+    public static void copy(byte[] src, long srcOffset, byte[] dst, long dstOffset, int elementSize) {
+        long from = BYTE_ARRAY_OFFSET + srcOffset * BYTE_ARRAY_SCALE * elementSize;
+        long to = BYTE_ARRAY_OFFSET + dstOffset * BYTE_ARRAY_SCALE * elementSize;
+        switch (elementSize) {
+            case Long.BYTES -> UNSAFE.putLong(dst, to, UNSAFE.getLong(src, from));
+            case Integer.BYTES -> UNSAFE.putInt(dst, to, UNSAFE.getInt(src, from));
+            case Short.BYTES -> UNSAFE.putShort(dst, to, UNSAFE.getShort(src, from));
+            case Byte.BYTES -> UNSAFE.putByte(dst, to, UNSAFE.getByte(src, from));
+            default -> UNSAFE.copyMemory(src, from, dst, to, elementSize);
+        }
+    }
+
+    /**
+     * Frees the memory of {@code directBuffer} immediately, instead of waiting for it to be garbage collected.
+     * The buffer (and all buffers sharing its memory) must not be accessed afterwards.
+     * @throws IllegalArgumentException if the buffer is not direct, or a slice or duplicate of another buffer
+     */
+    public static void free(ByteBuffer directBuffer) {
+        UNSAFE.invokeCleaner(directBuffer);
+    }
+
     public static void write(byte[] data, long offset, int ...values) {
         for (int i = 0; i < values.length; i++) {
             TheUnsafe.write(data, offset + i, values[i]);
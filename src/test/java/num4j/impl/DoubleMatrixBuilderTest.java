@@ -4,7 +4,11 @@ import num4j.api.Matrix;
 import num4j.exceptions.IncompatibleDimensionsException;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class DoubleMatrixBuilderTest {
@@ -36,4 +40,28 @@ public class DoubleMatrixBuilderTest {
             () -> DoubleMatrix.builder().build()
         );
     }
+
+    @Test
+    void wrappedBuffersShouldShareElements() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8 + 6 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putDouble(-1.0);
+        for (int i = 0; i < 6; i++) {
+            buffer.putDouble(i + 0.5);
+        }
+        buffer.position(8);
+
+        DoubleMatrix matrix = DoubleMatrix.wrap(buffer, 2, 3);
+        assertEquals(DoubleMatrix.fromRows(new double[][] {{0.5, 1.5, 2.5}, {3.5, 4.5, 5.5}}), matrix.copy());
+        matrix.mulScalar(2.0);
+        assertEquals(11.0, buffer.getDouble(8 + 5 * Double.BYTES));
+        assertEquals(-1.0, buffer.getDouble(0));
+
+        byte[] data = new byte[4 * Double.BYTES];
+        DoubleMatrix wrapped = DoubleMatrix.wrap(data, 2, 2);
+        wrapped.setDouble(1, 1, 3.0);
+        assertEquals(3.0, DoubleMatrix.wrap(data, 4).getDouble(3L));
+
+        assertThrows(IncompatibleDimensionsException.class, () -> DoubleMatrix.wrap(buffer, 2, 2));
+        assertThrows(IncompatibleDimensionsException.class, () -> DoubleMatrix.wrap(buffer.position(12), 5));
+    }
 }
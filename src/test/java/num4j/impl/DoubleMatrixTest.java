@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
 import java.nio.DoubleBuffer;
+import java.util.function.DoubleUnaryOperator;
 import java.util.stream.IntStream;
 
 class DoubleMatrixTest {
@@ -92,6 +93,94 @@ class DoubleMatrixTest {
         );
     }
 
+    @Test
+    void elementwiseOperationsShouldBroadcast() {
+        // rows longer than a vector, so that the tail of each row is masked
+        DoubleMatrix m = DoubleMatrix.zeros(3, 19);
+        DoubleMatrix bias = DoubleMatrix.zeros(19);
+        DoubleMatrix scale = DoubleMatrix.zeros(3, 1);
+        for (int j = 0; j < 19; j++) {
+            bias.setDouble(j, j);
+        }
+        for (int i = 0; i < 3; i++) {
+            scale.setDouble(i, 0.5 * (i + 1));
+        }
+
+        m.add(bias);
+        m.mul(scale);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 19; j++) {
+                assertEquals(j * 0.5 * (i + 1), m.getDouble(i, j));
+            }
+        }
+    }
+
+    @Test
+    void scalarAndFusedOperationsShouldWork() {
+        Matrix<Double> a = DoubleMatrix.builder()
+            .row(1.0, 2.0, 3.0)
+            .row(4.0, 5.0, 6.0)
+            .build();
+        a.mulScalar(2.0);
+        a.subScalar(1.0);
+        a.divScalar(4.0);
+        a.addScalar(0.25);
+        assertEquals(DoubleMatrix.builder().row(0.5, 1.0, 1.5).row(2.0, 2.5, 3.0).build(), a);
+
+        Matrix<Double> b = DoubleMatrix.builder().row(2.0, 2.0, 2.0).row(0.5, 0.5, 0.5).build();
+        a.fma(b, b);
+        assertEquals(DoubleMatrix.builder().row(3.0, 4.0, 5.0).row(1.5, 1.75, 2.0).build(), a);
+        a.axpy(-2.0, b);
+        assertEquals(DoubleMatrix.builder().row(-1.0, 0.0, 1.0).row(0.5, 0.75, 1.0).build(), a);
+
+        // rounded only once: (1 + 2^-30)^2 - (1 + 2^-29) = 2^-60
+        double x = 1 + Math.pow(2, -30);
+        Matrix<Double> fma = DoubleMatrix.builder().row(x).build();
+        fma.fma(DoubleMatrix.builder().row(x).build(), DoubleMatrix.builder().row(-(1 + Math.pow(2, -29))).build());
+        assertEquals(Math.pow(2, -60), fma.get(0, 0));
+    }
+
+    @Test
+    void fusedOperationsShouldReadOverlappingOperandsBeforeWriting() {
+        int n = 2048;
+        Matrix<Double> two = DoubleMatrix.zeros(n);
+        two.addScalar(2.0);
+        Matrix<Double> broadcastTwo = DoubleMatrix.of(new double[] {2.0}, 1);
+        for (int operation = 0; operation < 4; operation++) {
+            DoubleMatrix base = DoubleMatrix.zeros(n + 1);
+            for (int i = 0; i <= n; i++) {
+                base.setDouble(i, i);
+            }
+            // dst[i] is src[i + 1], so that single passes overwrite elements of src not read yet
+            Matrix<Double> dst = base.slice(0, 1, n + 1);
+            Matrix<Double> src = base.slice(0, 0, n);
+            Matrix<Double> expected = src.copy();
+            switch (operation) {
+                case 0 -> {
+                    expected.mulScalar(3.0);
+                    expected.add(dst.copy());
+                    dst.axpy(3.0, src);
+                }
+                case 1 -> {
+                    expected.add(dst.copy());
+                    expected.add(dst.copy());
+                    dst.fma(two, src);
+                }
+                case 2 -> {
+                    expected.mul(dst.copy());
+                    expected.add(two);
+                    dst.fma(src, two);
+                }
+                default -> {
+                    expected.add(dst.copy());
+                    expected.add(dst.copy());
+                    dst.fma(broadcastTwo, src);
+                }
+            }
+            assertEquals(expected, dst.copy());
+        }
+    }
+
     @Test
     void sumShouldWork() {
         Matrix<Double> a = DoubleMatrix.builder()
@@ -206,9 +295,10 @@ class DoubleMatrixTest {
                 8, 16
         };
 
-        doubleBuffer.clear();
-        doubleBuffer.put(expected);
-        assertArrayEquals(byteBuffer.array(), transposed.data());
+        // the transposed matrix is a view on the elements of matrix, so they must not be overwritten
+        ByteBuffer expectedBuffer = ByteBuffer.allocate(expected.length * 8);
+        expectedBuffer.asDoubleBuffer().put(expected);
+        assertArrayEquals(expectedBuffer.array(), transposed.data());
     }
 
     @Test
@@ -240,4 +330,238 @@ class DoubleMatrixTest {
 
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void matrixMultiplicationSpanningSeveralBlocks() {
+        int m = 67;
+        int n = 300;
+        int p = 45;
+        DoubleMatrix a = DoubleMatrix.zeros(m, n);
+        DoubleMatrix b = DoubleMatrix.zeros(n, p);
+        for (int i = 0; i < m * n; i++) {
+            TheUnsafe.write(a.data(), i, (double) (i % 7 - 3));
+        }
+        for (int i = 0; i < n * p; i++) {
+            TheUnsafe.write(b.data(), i, (double) (i % 5 - 2));
+        }
+
+        DoubleMatrix expected = DoubleMatrix.zeros(m, p);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < p; j++) {
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += TheUnsafe.readDouble(a.data(), i * n + k) * TheUnsafe.readDouble(b.data(), k * p + j);
+                }
+                TheUnsafe.write(expected.data(), i * p + j, sum);
+            }
+        }
+
+        assertEquals(expected, a.mmul(b));
+    }
+
+    @Test
+    void parallelMatrixMultiplicationShouldMatchSequential() {
+        DoubleMatrix a = DoubleMatrix.zeros(3, 150, 90);
+        DoubleMatrix b = DoubleMatrix.zeros(90, 200);
+        for (int i = 0; i < a.size(); i++) {
+            TheUnsafe.write(a.data(), i, (double) (i % 11 - 5));
+        }
+        for (int i = 0; i < b.size(); i++) {
+            TheUnsafe.write(b.data(), i, (double) (i % 13 - 6));
+        }
+
+        assertEquals(a.mmul(b, 1), a.mmul(b, 4));
+    }
+
+    @Test
+    void matrixMultiplicationRequiresPositiveParallelism() {
+        DoubleMatrix a = DoubleMatrix.ones(2, 2);
+        assertThrows(IllegalArgumentException.class, () -> a.mmul(a, 0));
+    }
+
+    @Test
+    void primitiveAccessorsShouldAddressElements() {
+        DoubleMatrix m = (DoubleMatrix) DoubleMatrix.builder()
+                .row(1.0, 2.0, 3.0)
+                .row(4.0, 5.0, 6.0)
+                .build();
+
+        assertEquals(6.0, m.getDouble(1, 2));
+        assertEquals(4.0, m.getDouble(3L));
+        assertEquals(2.0, m.get(0, 1));
+
+        m.setDouble(0, 1, 7.0);
+        m.setDouble(5L, 8.0);
+        double[] read = new double[6];
+        m.get(0, read, 0, 6);
+        assertArrayEquals(new double[] {1.0, 7.0, 3.0, 4.0, 5.0, 8.0}, read);
+
+        DoubleMatrix transposed = (DoubleMatrix) m.transpose(1, 0);
+        transposed.set(0, new double[] {9.0, 10.0}, 0, 2);
+        assertEquals(10.0, m.getDouble(1, 0));
+
+        DoubleMatrix cube = (DoubleMatrix) DoubleMatrix.zeros(2, 3, 4).transpose(2, 1, 0);
+        cube.setDouble(new int[] {3, 2, 1}, 1.5);
+        assertEquals(1.5, cube.getDouble(3, 2, 1));
+        assertEquals(1.5, ((DoubleMatrix) cube.transpose(2, 1, 0)).getDouble(1, 2, 3));
+    }
+
+    @Test
+    void operationsShouldSpanSeveralChunks() {
+        DoubleMatrix a = DoubleMatrix.zeros(3, 19, 23);
+        DoubleMatrix b = DoubleMatrix.zeros(3, 23, 17);
+        for (int i = 0; i < a.size(); i++) {
+            a.setDouble(i, i % 11 - 5);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            b.setDouble(i, i % 13 - 6);
+        }
+        // chunks of 8 elements, so that rows, vectors and tiles cross the borders of the chunks
+        DoubleMatrix chunkedA = chunked(a, 64);
+        DoubleMatrix chunkedB = chunked(b, 64);
+
+        assertEquals(a.mmul(b), chunkedA.mmul(chunkedB));
+
+        a.mul(a.copy());
+        chunkedA.mul(chunkedA.copy());
+        assertEquals(a, chunkedA);
+        assertEquals(a.transpose(2, 0, 1).copy(), chunkedA.transpose(2, 0, 1).copy());
+    }
+
+    @Test
+    void reductionsShouldMatchScalarLoop() {
+        DoubleMatrix a = DoubleMatrix.zeros(3, 1111);
+        double squares = 0;
+        for (int i = 0; i < a.size(); i++) {
+            double value = Math.sin(i) * 100;
+            a.setDouble(i, value);
+            squares += value * value;
+        }
+        a.setDouble(1234, -1000);
+        a.setDouble(17, 1000);
+        a.setDouble(3000, 1000);
+        squares += 3 * 1000 * 1000 - Math.pow(Math.sin(1234) * 100, 2) - Math.pow(Math.sin(17) * 100, 2) - Math.pow(Math.sin(3000) * 100, 2);
+
+        assertEquals(-1000, a.min());
+        assertEquals(1000, a.max());
+        assertEquals(1234, a.argmin());
+        assertEquals(17, a.argmax());
+        assertEquals(Math.sqrt(squares), a.norm2(), 1e-9);
+        assertEquals(a.sum() / a.size(), a.mean(), 1e-12);
+        assertEquals(a.sum(), chunked(a, 80).sum(), 1e-9);
+        assertEquals(17 * 3, a.transpose(1, 0).argmax());
+
+        // NaN is propagated like by max and min, the first one in a chunk and vector tail being found
+        DoubleMatrix nan = DoubleMatrix.of(new double[] {1, Double.NaN, 3}, 3);
+        assertEquals(1, nan.argmax());
+        assertEquals(1, nan.argmin());
+        assertEquals(nan.max(), nan.getDouble(nan.argmax()));
+        a.setDouble(2501, Double.NaN);
+        a.setDouble(2999, Double.NaN);
+        assertEquals(2501, a.argmax());
+        assertEquals(2501, a.argmin());
+        assertEquals(2501, chunked(a, 80).argmax());
+        assertTrue(Double.isNaN(a.max()));
+    }
+
+    @Test
+    void pairwiseSummationShouldBeAccurate() {
+        // large enough to be reduced by several tasks
+        int size = (1 << 21) + 3;
+        DoubleMatrix a = DoubleMatrix.zeros(size);
+        for (int i = 0; i < size; i++) {
+            a.setDouble(i, 0.1);
+        }
+        double naive = 0;
+        for (int i = 0; i < size; i++) {
+            naive += 0.1;
+        }
+        double exact = size * 0.1;
+        assertTrue(Math.abs(a.sum() - exact) < Math.abs(naive - exact) / 100);
+        assertEquals(a.sum(), a.sum());
+        assertEquals(a.sum(), chunked(a, 1 << 16).sum());
+        assertEquals(0.1, a.mean(), 1e-12);
+    }
+
+    @Test
+    void columnMeansShouldNormalizeFeatures() {
+        DoubleMatrix features = DoubleMatrix.zeros(1000, 7);
+        for (int i = 0; i < features.size(); i++) {
+            features.setDouble(i, (i % 7) * 10 + Math.sin(i));
+        }
+        Matrix<Double> means = features.mean(0, true);
+        assertArrayEquals(new int[] {1, 7}, means.dimensions());
+        features.sub(means);
+        Matrix<Double> centered = features.mean(0);
+        for (int column = 0; column < 7; column++) {
+            assertEquals(0, centered.get(column), 1e-12);
+        }
+        assertEquals(features.sum(1).sum(), features.sum(), 1e-9);
+    }
+
+    @Test
+    void unaryOperationsShouldMatchMath() {
+        DoubleMatrix a = DoubleMatrix.zeros(3, 101);
+        for (int i = 0; i < a.size(); i++) {
+            a.setDouble(i, (i - 150) / 37.0);
+        }
+        DoubleMatrix positive = (DoubleMatrix) a.copy();
+        positive.abs();
+        positive.addScalar(0.5);
+
+        DoubleMatrix result = DoubleMatrix.zeros(3, 101);
+        a.exp(result);
+        assertMatches(a, result, Math::exp);
+        positive.log(result);
+        assertMatches(positive, result, Math::log);
+        positive.sqrt(result);
+        assertMatches(positive, result, Math::sqrt);
+        a.tanh(result);
+        assertMatches(a, result, Math::tanh);
+        a.sigmoid(result);
+        assertMatches(a, result, x -> 1 / (1 + Math.exp(-x)));
+
+        // inplace, chunked and strided
+        DoubleMatrix chunked = chunked(a, 96);
+        chunked.tanh();
+        assertMatches(a, chunked, Math::tanh);
+        Matrix<Double> transposed = DoubleMatrix.zeros(101, 3).transpose(1, 0);
+        a.exp(transposed);
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(Math.exp(a.getDouble(i)), transposed.copy().get(i / 101, i % 101), 1e-12 * Math.exp(a.getDouble(i)));
+        }
+        assertThrows(IncompatibleDimensionsException.class, () -> a.exp(DoubleMatrix.zeros(101, 3)));
+    }
+
+    @Test
+    void clampShouldLimitElements() {
+        DoubleMatrix a = DoubleMatrix.zeros(50);
+        for (int i = 0; i < a.size(); i++) {
+            a.setDouble(i, i - 25.5);
+        }
+        a.clamp(-6.0, 6.0);
+        assertEquals(-6, a.min());
+        assertEquals(6, a.max());
+        assertEquals(0.5, a.getDouble(26L));
+        a.maxScalar(0.0);
+        a.minScalar(3.0);
+        assertEquals(0, a.getDouble(0L));
+        assertEquals(3, a.getDouble(49L));
+        assertThrows(IllegalArgumentException.class, () -> a.clamp(1.0, -1.0));
+    }
+
+    private static void assertMatches(DoubleMatrix input, DoubleMatrix output, DoubleUnaryOperator function) {
+        for (int i = 0; i < input.size(); i++) {
+            double expected = function.applyAsDouble(input.getDouble(i));
+            assertEquals(expected, output.getDouble(i), 1e-14 * Math.max(1, Math.abs(expected)));
+        }
+    }
+
+    private static DoubleMatrix chunked(DoubleMatrix matrix, int chunkBytes) {
+        double[] values = new double[matrix.size()];
+        matrix.get(0, values, 0, values.length);
+        DoubleMatrix chunked = new DoubleMatrix(Storage.allocate(values.length, Double.BYTES, chunkBytes), matrix.dimensions().clone());
+        chunked.set(0, values, 0, values.length);
+        return chunked;
+    }
+}
@@ -0,0 +1,124 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloatMatrixTest {
+
+    @Test
+    void elementwiseOperationsShouldMatchScalarArithmetic() {
+        FloatMatrix a = FloatMatrix.zeros(5, 37);
+        FloatMatrix b = FloatMatrix.zeros(5, 37);
+        for (int i = 0; i < a.size(); i++) {
+            a.setFloat(i, i % 11 - 5f);
+            b.setFloat(i, i % 7 + 1f);
+        }
+        Matrix<Float> c = a.copy();
+        c.mul(b);
+        c.addScalar(0.5f);
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.getFloat(i) * b.getFloat(i) + 0.5f, ((FloatMatrix) c).getFloat(i));
+        }
+        a.div(b, c);
+        assertEquals(a.getFloat(36) / b.getFloat(36), c.get(0, 36));
+    }
+
+    @Test
+    void mmulShouldMatchNaiveProduct() {
+        FloatMatrix a = FloatMatrix.zeros(19, 23);
+        FloatMatrix b = FloatMatrix.zeros(23, 41);
+        for (int i = 0; i < a.size(); i++) {
+            a.setFloat(i, i % 5 - 2f);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            b.setFloat(i, i % 3 - 1f);
+        }
+        Matrix<Float> product = a.mmul(b);
+        Matrix<Float> transposed = b.transpose(1, 0).copy();
+        for (int i = 0; i < 19; i++) {
+            for (int j = 0; j < 41; j++) {
+                float expected = 0;
+                for (int k = 0; k < 23; k++) {
+                    expected += a.getFloat(i, k) * transposed.get(j, k);
+                }
+                assertEquals(expected, product.get(i, j));
+            }
+        }
+    }
+
+    @Test
+    void reductionsShouldMatchScalarLoops() {
+        int size = 100_003;
+        FloatMatrix matrix = FloatMatrix.zeros(size);
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            float value = (float) Math.sin(i);
+            matrix.setFloat(i, value);
+            sum += value;
+        }
+        matrix.setFloat(77_777, 3f);
+        sum += 3f - (float) Math.sin(77_777);
+        assertEquals(sum / size, matrix.mean(), 1e-9);
+        assertEquals(77_777, matrix.argmax());
+        assertEquals(3f, matrix.max());
+        matrix.setFloat(90_001, Float.NaN);
+        assertEquals(90_001, matrix.argmax());
+        assertEquals(90_001, matrix.argmin());
+        matrix.setFloat(90_001, 0f);
+        // indices beyond 2^24 cannot be represented by floats
+        FloatMatrix large = FloatMatrix.zeros((1 << 24) + 3);
+        large.setFloat((1 << 24) + 1, -1f);
+        assertEquals((1 << 24) + 1, large.argmin());
+    }
+
+    @Test
+    void unaryOperationsShouldMatchMath() {
+        FloatMatrix matrix = FloatMatrix.zeros(21);
+        for (int i = 0; i < matrix.size(); i++) {
+            matrix.setFloat(i, i / 4f - 2.5f);
+        }
+        FloatMatrix sigmoid = FloatMatrix.zeros(21);
+        matrix.sigmoid(sigmoid);
+        matrix.tanh();
+        for (int i = 0; i < matrix.size(); i++) {
+            float x = i / 4f - 2.5f;
+            assertEquals(1 / (1 + Math.exp(-x)), sigmoid.getFloat(i), 1e-6);
+            assertEquals(Math.tanh(x), matrix.getFloat(i), 1e-6);
+        }
+    }
+
+    @Test
+    void shouldMapWrittenMatrix() throws IOException {
+        Matrix<Float> expected = FloatMatrix.builder()
+            .row(1.5f, 2.5f, 3.5f)
+            .row(4.5f, 5.5f, 6.5f)
+            .build();
+
+        Path path = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(path)) {
+                expected.write(outputStream);
+            }
+            try (MemoryMappedMatrix<?> mapped = MemoryMappedMatrix.open(path)) {
+                MemoryMappedFloatMatrix floats = assertInstanceOf(MemoryMappedFloatMatrix.class, mapped);
+                assertEquals(expected, floats.copy());
+                assertEquals(6.5f, floats.getFloat(1, 2));
+            }
+            assertThrows(IllegalArgumentException.class, () -> MemoryMappedDoubleMatrix.from(path));
+        } finally {
+            Files.delete(path);
+        }
+        try (OffHeapFloatMatrix offHeap = OffHeapFloatMatrix.copyOf(expected)) {
+            Matrix<Float> gram = expected.mmul(expected.transpose(1, 0));
+            assertEquals(gram, offHeap.mmul(offHeap.transpose(1, 0)).copy());
+            assertEquals(24f, offHeap.sum());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static num4j.impl.HalfFloatMatrix.Format.BFLOAT16;
+import static num4j.impl.HalfFloatMatrix.Format.FLOAT16;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HalfFloatMatrixTest {
+
+    @Test
+    void everyValueShouldSurviveRoundTrip() {
+        for (HalfFloatMatrix.Format format : HalfFloatMatrix.Format.values()) {
+            HalfFloatMatrix matrix = HalfFloatMatrix.zeros(format, 1 << 16);
+            float[] values = new float[1 << 16];
+            for (int bits = 0; bits < values.length; bits++) {
+                values[bits] = format.toFloat((short) bits);
+                if (!Float.isNaN(values[bits])) {
+                    assertEquals((short) bits, format.fromFloat(values[bits]));
+                }
+            }
+            // the vectorized conversions
+            matrix.set(0, values, 0, values.length);
+            float[] read = new float[values.length];
+            matrix.get(0, read, 0, read.length);
+            for (int bits = 0; bits < values.length; bits++) {
+                assertEquals(Float.floatToIntBits(values[bits]), Float.floatToIntBits(read[bits]));
+            }
+        }
+        assertEquals(65504f, FLOAT16.toFloat((short) 0x7BFF));
+        assertEquals(0x1p-24f, FLOAT16.toFloat((short) 0x0001));
+        assertEquals(-2f, BFLOAT16.toFloat((short) 0xC000));
+    }
+
+    @Test
+    void valuesShouldBeRoundedToNearestEven() {
+        assertEquals((short) 0x3C00, FLOAT16.fromFloat(1 + 0x1p-11f));
+        assertEquals((short) 0x3C02, FLOAT16.fromFloat(1 + 0x3p-11f));
+        assertEquals((short) 0x7BFF, FLOAT16.fromFloat(65519f));
+        assertEquals((short) 0x7C00, FLOAT16.fromFloat(65520f));
+        assertEquals((short) 0x0000, FLOAT16.fromFloat(0x1p-25f));
+        assertEquals((short) 0x0001, FLOAT16.fromFloat(0x1.01p-25f));
+        assertEquals((short) 0x3F80, BFLOAT16.fromFloat(1 + 0x1p-8f));
+        assertEquals((short) 0x3F82, BFLOAT16.fromFloat(1 + 0x3p-8f));
+        assertTrue(Float.isNaN(BFLOAT16.toFloat(BFLOAT16.fromFloat(Float.intBitsToFloat(0x7F800001)))));
+
+        Random random = new Random(42);
+        float[] values = new float[10_007];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (float) (random.nextGaussian() * Math.pow(2, random.nextInt(60) - 35));
+        }
+        for (HalfFloatMatrix.Format format : HalfFloatMatrix.Format.values()) {
+            HalfFloatMatrix vectorized = HalfFloatMatrix.zeros(format, values.length);
+            vectorized.set(0, values, 0, values.length);
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(format.toFloat(format.fromFloat(values[i])), vectorized.getFloat((long) i));
+            }
+        }
+    }
+
+    @Test
+    void operationsShouldComputeInFloat() {
+        FloatMatrix floats = FloatMatrix.zeros(7, 45);
+        for (int i = 0; i < floats.size(); i++) {
+            floats.setFloat(i, (i % 13 - 6) * 0.375f);
+        }
+        HalfFloatMatrix a = HalfFloatMatrix.copyOf(FLOAT16, floats);
+        assertEquals(floats, a.toFloatMatrix());
+        assertEquals(floats.sum(), a.sum());
+        assertEquals(floats.argmax(), a.argmax());
+
+        Matrix<Float> product = a.copy();
+        product.mul(floats);
+        product.addScalar(0.5f);
+        Matrix<Float> expected = floats.copy();
+        expected.mul(floats);
+        expected.addScalar(0.5f);
+        for (int i = 0; i < a.size(); i++) {
+            float value = ((FloatMatrix) expected).getFloat((long) i);
+            assertEquals(FLOAT16.toFloat(FLOAT16.fromFloat(value)), ((HalfFloatMatrix) product).getFloat((long) i));
+        }
+
+        // results are converted to the format of the destination
+        FloatMatrix destination = FloatMatrix.zeros(7, 45);
+        a.add(a, destination);
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(2 * floats.getFloat((long) i), destination.getFloat((long) i));
+        }
+        a.sqrt(destination);
+        assertEquals(floats.getFloat(1, 3), destination.getFloat(1, 3) * destination.getFloat(1, 3), 2e-3);
+        assertNotEquals(floats, a);
+    }
+
+    @Test
+    void mmulShouldRoundProductsOnce() {
+        FloatMatrix a = FloatMatrix.zeros(37, 600);
+        FloatMatrix b = FloatMatrix.zeros(600, 45);
+        for (int i = 0; i < a.size(); i++) {
+            a.setFloat(i, i % 7 * 0.25f);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            b.setFloat(i, i % 5 * 0.5f);
+        }
+        FloatMatrix expected = (FloatMatrix) a.mmul(b);
+        HalfFloatMatrix product = (HalfFloatMatrix) HalfFloatMatrix.copyOf(BFLOAT16, a)
+            .mmul(HalfFloatMatrix.copyOf(BFLOAT16, b).transpose(1, 0).transpose(1, 0), 1);
+        for (int i = 0; i < product.size(); i++) {
+            float value = expected.getFloat((long) i);
+            assertEquals(BFLOAT16.toFloat(BFLOAT16.fromFloat(value)), product.getFloat((long) i));
+        }
+        Matrix<Float> mixed = HalfFloatMatrix.zeros(BFLOAT16, 37, 45);
+        HalfFloatMatrix.copyOf(BFLOAT16, a).mmul(b, mixed);
+        assertEquals(product, mixed);
+    }
+
+    @Test
+    void writtenMatrixShouldTakeHalfTheSpace() throws IOException {
+        Matrix<Float> expected = HalfFloatMatrix.builder(FLOAT16)
+            .row(1.5f, 2.5f, 3.5f)
+            .row(4.5f, 5.5f, 1e-3f)
+            .build();
+
+        Path path = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(path)) {
+                expected.write(outputStream);
+            }
+            assertEquals(Storage.ALIGNMENT + 6 * Short.BYTES, Files.size(path));
+            try (MemoryMappedMatrix<?> mapped = MemoryMappedMatrix.open(path)) {
+                MemoryMappedHalfFloatMatrix halfFloats = assertInstanceOf(MemoryMappedHalfFloatMatrix.class, mapped);
+                assertEquals(FLOAT16, halfFloats.format());
+                assertEquals(expected, halfFloats.copy());
+                assertEquals(FLOAT16.toFloat(FLOAT16.fromFloat(1e-3f)), halfFloats.getFloat(1, 2));
+                assertEquals(expected.mmul(expected.transpose(1, 0)), halfFloats.mmul(halfFloats.transpose(1, 0)));
+            }
+            assertThrows(IllegalArgumentException.class, () -> MemoryMappedFloatMatrix.from(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
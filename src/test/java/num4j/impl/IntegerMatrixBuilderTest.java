@@ -5,6 +5,7 @@ import num4j.exceptions.IncompatibleDimensionsException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class IntegerMatrixBuilderTest {
@@ -36,4 +37,57 @@ public class IntegerMatrixBuilderTest {
             () -> IntegerMatrix.builder().build()
         );
     }
+
+    @Test
+    void primitiveRowsShouldBuildSameMatrix() {
+        int[][] rows = new int[5][37];
+        IntegerMatrix expected = IntegerMatrix.zeros(5, 37);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 37; j++) {
+                rows[i][j] = i * 37 + j - 50;
+                expected.setInt(i, j, rows[i][j]);
+            }
+        }
+
+        IntegerMatrix.IntegerMatrixBuilder presized = IntegerMatrix.builder(5, 37);
+        IntegerMatrix.IntegerMatrixBuilder growing = IntegerMatrix.builder();
+        int[] data = new int[5 * 37];
+        for (int i = 0; i < 5; i++) {
+            presized.row(rows[i]);
+            growing.row(rows[i]);
+            System.arraycopy(rows[i], 0, data, i * 37, 37);
+        }
+        assertEquals(expected, presized.build());
+        assertEquals(expected, growing.build());
+        assertEquals(expected, IntegerMatrix.fromRows(rows));
+        assertEquals(expected, IntegerMatrix.of(data, 5, 37));
+
+        // fewer rows than reserved
+        assertEquals(IntegerMatrix.of(new int[] {1, 2}, 1, 2), IntegerMatrix.builder(3, 2).row(new int[] {1, 2}).build());
+        assertThrows(IncompatibleDimensionsException.class, () -> IntegerMatrix.builder(2, 3).row(new int[] {1, 2}));
+        assertThrows(IncompatibleDimensionsException.class, () -> IntegerMatrix.of(data, 5, 36));
+        assertThrows(IncompatibleDimensionsException.class, () -> IntegerMatrix.fromRows(new int[][] {{1, 2}, {3}}));
+        assertThrows(IllegalArgumentException.class, () -> IntegerMatrix.fromRows(new int[0][]));
+    }
+
+    @Test
+    void accessingBuiltBuilderIsInvalid() {
+        // the rows fill the builder exactly, so that they are handed over to the matrix
+        IntegerMatrix.IntegerMatrixBuilder builder = IntegerMatrix.builder();
+        for (int i = 0; i < 256; i++) {
+            builder.row(new int[] {1});
+        }
+        Matrix<Integer> built = builder.build();
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalStateException.class, () -> builder.row(new int[] {2}));
+        assertThrows(IllegalStateException.class, () -> builder.row(2));
+        assertEquals(IntegerMatrix.ones(256, 1), built);
+
+        IntegerMatrix.IntegerMatrixBuilder presized = IntegerMatrix.builder(2, 2)
+            .row(new int[] {1, 2})
+            .row(new int[] {3, 4});
+        presized.build().addScalar(100);
+        assertThrows(IllegalStateException.class, () -> presized.row(new int[] {5, 6}));
+        assertThrows(IllegalStateException.class, presized::build);
+    }
 }
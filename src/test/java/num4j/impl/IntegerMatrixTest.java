@@ -5,6 +5,10 @@ import num4j.exceptions.IncompatibleDimensionsException;
 import num4j.unsafe.TheUnsafe;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class IntegerMatrixTest {
@@ -88,6 +92,111 @@ class IntegerMatrixTest {
         );
     }
 
+    @Test
+    void elementwiseOperationsShouldBroadcast() {
+        Matrix<Integer> m = IntegerMatrix.builder()
+            .row(1, 2, 3)
+            .row(4, 5, 6)
+            .build();
+
+        // row vector, with and without leading dimension
+        m.add(IntegerMatrix.builder().row(10, 20, 30).build());
+        m.sub(IntegerMatrix.ones(3));
+        assertEquals(IntegerMatrix.builder().row(10, 21, 32).row(13, 24, 35).build(), m);
+
+        // column vector
+        Matrix<Integer> column = IntegerMatrix.builder().row(2, 3).build();
+        column.reshape(2, 1);
+        m.mul(column);
+        assertEquals(IntegerMatrix.builder().row(20, 42, 64).row(39, 72, 105).build(), m);
+
+        // scalar
+        Matrix<Integer> scalar = IntegerMatrix.ones(1);
+        scalar.add(IntegerMatrix.ones(1));
+        m.div(scalar);
+        assertEquals(IntegerMatrix.builder().row(10, 21, 32).row(19, 36, 52).build(), m);
+
+        assertThrows(IncompatibleDimensionsException.class, () -> m.add(IntegerMatrix.ones(2)));
+        assertThrows(IncompatibleDimensionsException.class, () -> m.add(IntegerMatrix.ones(1, 2, 3)));
+    }
+
+    @Test
+    void broadcastingShouldAcceptViewsAndChunks() {
+        // 3D matrix spanning several chunks, with an operand repeated along the middle dimension
+        int[] dimensions = {5, 7, 33};
+        IntegerMatrix m = new IntegerMatrix(Storage.allocate(5 * 7 * 33, Integer.BYTES, 256), dimensions);
+        IntegerMatrix plane = IntegerMatrix.zeros(33, 5);
+        for (int i = 0; i < plane.size(); i++) {
+            plane.setInt(i, i);
+        }
+        Matrix<Integer> operand = plane.transpose(1, 0);
+        operand.reshape(5, 1, 33);
+
+        m.add(operand);
+        m.transpose(2, 1, 0).add(IntegerMatrix.ones(7, 1));
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 7; j++) {
+                for (int k = 0; k < 33; k++) {
+                    assertEquals(k * 5 + i + 1, m.getInt(i, j, k));
+                }
+            }
+        }
+    }
+
+    @Test
+    void scalarOperationsShouldApplyToEveryElement() {
+        Matrix<Integer> m = IntegerMatrix.builder()
+            .row(1, 2, 3)
+            .row(4, 5, 6)
+            .build();
+
+        m.mulScalar(10);
+        m.addScalar(5);
+        m.transpose(1, 0).subScalar(1);
+        m.divScalar(2);
+        assertEquals(IntegerMatrix.builder().row(7, 12, 17).row(22, 27, 32).build(), m);
+        assertThrows(ArithmeticException.class, () -> m.divScalar(0));
+    }
+
+    @Test
+    void fmaAndAxpyShouldMatchSeparateOperations() {
+        IntegerMatrix a = IntegerMatrix.zeros(7, 45);
+        IntegerMatrix b = IntegerMatrix.zeros(7, 45);
+        IntegerMatrix c = new IntegerMatrix(Storage.allocate(7 * 45, Integer.BYTES, 64), 7, 45);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, i % 9 - 4);
+            b.setInt(i, i % 5 + 1);
+            c.setInt(i, i);
+        }
+
+        Matrix<Integer> expected = a.copy();
+        expected.mul(b);
+        expected.add(c);
+        Matrix<Integer> fma = a.copy();
+        fma.fma(b, c);
+        assertEquals(expected, fma);
+
+        expected = c.copy();
+        expected.add(IntegerMatrix.ones(7, 45));
+        fma = c.copy();
+        fma.fma(IntegerMatrix.ones(45), IntegerMatrix.ones(7, 1));
+        assertEquals(expected, fma);
+
+        Matrix<Integer> scaled = b.copy();
+        scaled.mulScalar(-3);
+        expected = a.copy();
+        expected.add(scaled);
+        Matrix<Integer> axpy = a.copy();
+        axpy.axpy(-3, b);
+        assertEquals(expected, axpy);
+
+        // strided and chunked
+        c.transpose(1, 0).axpy(-3, b.transpose(1, 0));
+        for (int i = 0; i < c.size(); i++) {
+            assertEquals(i - 3 * b.getInt((long) i), c.getInt((long) i));
+        }
+    }
+
     @Test
     void transpose2D() {
         Matrix<Integer> m1 = IntegerMatrix.builder()
@@ -376,4 +485,521 @@ class IntegerMatrixTest {
         expected.reshape(2, 3, 3, 4, 3);
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void matrixMultiplicationSpanningSeveralBlocks() {
+        int m = 67;
+        int n = 300;
+        int p = 45;
+        IntegerMatrix a = IntegerMatrix.zeros(m, n);
+        IntegerMatrix b = IntegerMatrix.zeros(n, p);
+        for (int i = 0; i < m * n; i++) {
+            TheUnsafe.write(a.data(), i, i % 7 - 3);
+        }
+        for (int i = 0; i < n * p; i++) {
+            TheUnsafe.write(b.data(), i, i % 5 - 2);
+        }
+
+        IntegerMatrix expected = IntegerMatrix.zeros(m, p);
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < p; j++) {
+                int sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += TheUnsafe.readInt(a.data(), i * n + k) * TheUnsafe.readInt(b.data(), k * p + j);
+                }
+                TheUnsafe.write(expected.data(), i * p + j, sum);
+            }
+        }
+
+        assertEquals(expected, a.mmul(b));
+    }
+
+    @Test
+    void parallelMatrixMultiplicationShouldMatchSequential() {
+        IntegerMatrix a = IntegerMatrix.zeros(3, 150, 90);
+        IntegerMatrix b = IntegerMatrix.zeros(90, 200);
+        for (int i = 0; i < a.size(); i++) {
+            TheUnsafe.write(a.data(), i, i % 11 - 5);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            TheUnsafe.write(b.data(), i, i % 13 - 6);
+        }
+
+        assertEquals(a.mmul(b, 1), a.mmul(b, 4));
+    }
+
+    @Test
+    void matrixMultiplicationRequiresPositiveParallelism() {
+        IntegerMatrix a = IntegerMatrix.ones(2, 2);
+        assertThrows(IllegalArgumentException.class, () -> a.mmul(a, 0));
+    }
+
+    @Test
+    void transposedMatrixShouldShareElements() {
+        Matrix<Integer> m = IntegerMatrix.builder()
+                .row(1, 2, 3)
+                .row(4, 5, 6)
+                .build();
+        Matrix<Integer> transposed = m.transpose(1, 0);
+
+        m.set(42, 0, 1);
+        transposed.add(IntegerMatrix.ones(3, 2));
+
+        Matrix<Integer> expectedTransposed = IntegerMatrix.builder()
+                .row(2, 5)
+                .row(43, 6)
+                .row(4, 7)
+                .build();
+        Matrix<Integer> expected = IntegerMatrix.builder()
+                .row(2, 43, 4)
+                .row(5, 6, 7)
+                .build();
+
+        assertEquals(expectedTransposed, transposed);
+        assertEquals(expected, m);
+    }
+
+    @Test
+    void elementwiseOperationsShouldAcceptTransposedMatrices() {
+        Matrix<Integer> m = IntegerMatrix.builder()
+                .row(1, 2)
+                .row(3, 4)
+                .build();
+        m.add(m.transpose(1, 0));
+
+        Matrix<Integer> expected = IntegerMatrix.builder()
+                .row(2, 5)
+                .row(5, 8)
+                .build();
+
+        assertEquals(expected, m);
+    }
+
+    @Test
+    void matrixMultiplicationShouldAcceptTransposedMatrices() {
+        IntegerMatrix a = IntegerMatrix.zeros(2, 37, 29);
+        IntegerMatrix b = IntegerMatrix.zeros(2, 41, 29);
+        for (int i = 0; i < a.size(); i++) {
+            TheUnsafe.write(a.data(), i, i % 7 - 3);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            TheUnsafe.write(b.data(), i, i % 5 - 2);
+        }
+        Matrix<Integer> transposed = b.transpose(0, 2, 1);
+
+        assertEquals(a.mmul(transposed.copy()), a.mmul(transposed));
+        assertEquals(a.transpose(0, 2, 1).copy().mmul(a), a.transpose(0, 2, 1).mmul(a));
+    }
+
+    @Test
+    void reshapingTransposedMatrixShouldKeepElementOrder() {
+        Matrix<Integer> m = IntegerMatrix.builder()
+                .row(1, 2, 3)
+                .row(4, 5, 6)
+                .build();
+        Matrix<Integer> transposed = m.transpose(1, 0);
+        transposed.reshape(2, 3);
+
+        Matrix<Integer> expected = IntegerMatrix.builder()
+                .row(1, 4, 2)
+                .row(5, 3, 6)
+                .build();
+
+        assertEquals(expected, transposed);
+    }
+
+    @Test
+    void copyingLargeTransposedMatrixShouldPermuteElements() {
+        int d0 = 16;
+        int d1 = 256;
+        int d2 = 300;
+        IntegerMatrix m = IntegerMatrix.zeros(d0, d1, d2);
+        for (int i = 0; i < m.size(); i++) {
+            TheUnsafe.write(m.data(), i, i);
+        }
+
+        byte[] transposed = m.transpose(2, 0, 1).data();
+        byte[] swapped = m.transpose(0, 2, 1).data();
+        for (int i = 0; i < d0; i++) {
+            for (int j = 0; j < d1; j++) {
+                for (int k = 0; k < d2; k++) {
+                    int expected = (i * d1 + j) * d2 + k;
+                    assertEquals(expected, TheUnsafe.readInt(transposed, (k * d0 + i) * d1 + j));
+                    assertEquals(expected, TheUnsafe.readInt(swapped, (i * d2 + k) * d1 + j));
+                }
+            }
+        }
+    }
+
+    @Test
+    void slicedMatrixShouldShareElements() {
+        Matrix<Integer> m = IntegerMatrix.builder()
+                .row(1, 2, 3, 4)
+                .row(5, 6, 7, 8)
+                .row(9, 10, 11, 12)
+                .build();
+        Matrix<Integer> everySecondColumn = m.slice(1, 1, 4, 2);
+        Matrix<Integer> expected = IntegerMatrix.builder()
+                .row(2, 4)
+                .row(6, 8)
+                .row(10, 12)
+                .build();
+        assertEquals(expected, everySecondColumn);
+        assertArrayEquals(new int[] {2, 4}, m.slice(0, 1, 3).dimensions());
+        assertEquals(IntegerMatrix.builder().row(5, 6, 7, 8).build().row(0), m.row(1));
+        assertArrayEquals(new int[] {3}, m.col(2).dimensions());
+        assertEquals(11, m.col(2).get(2));
+        assertEquals(7, m.row(1).row(2).get(0));
+
+        everySecondColumn.mulScalar(10);
+        m.row(0).addScalar(1);
+        assertEquals(IntegerMatrix.builder().row(2, 21, 4, 41).build().row(0), m.row(0));
+        assertEquals(120, m.get(2, 3));
+        assertEquals(0, m.slice(0, 2, 2).size());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> m.slice(1, 2, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> m.row(3));
+        assertThrows(IllegalArgumentException.class, () -> m.slice(0, 0, 3, 0));
+        assertThrows(IncompatibleDimensionsException.class, () -> m.slice(2, 0, 1));
+    }
+
+    @Test
+    void operationsShouldAcceptSlicedMatrices() {
+        IntegerMatrix m = IntegerMatrix.zeros(50, 300);
+        for (int i = 0; i < m.size(); i++) {
+            TheUnsafe.write(m.data(), i, i % 101 - 50);
+        }
+        // long rows are processed in place, every third column is copied first
+        for (Matrix<Integer> view : List.of(m.slice(0, 5, 45).slice(1, 10, 290), m.slice(1, 0, 300, 3))) {
+            Matrix<Integer> copy = view.copy();
+            assertEquals(copy.sum(), view.sum());
+            assertEquals(copy.max(), view.max());
+            assertEquals(copy.argmin(), view.argmin());
+            assertEquals(copy.norm2(), view.norm2());
+            assertEquals(copy.sum(1), view.sum(1));
+            assertEquals(copy.mmul(copy.transpose(1, 0)), view.mmul(view.transpose(1, 0)));
+
+            Matrix<Integer> other = view.copy();
+            other.addScalar(3);
+            copy.mul(other);
+            copy.add(other.row(0));
+            view.mul(other);
+            view.add(other.row(0));
+            assertEquals(copy, view);
+        }
+
+        // overlapping rows are read before they are overwritten
+        Matrix<Integer> expected = m.slice(0, 1, 11).copy();
+        expected.sub(m.slice(0, 0, 10).copy());
+        m.slice(0, 1, 11).sub(m.slice(0, 0, 10));
+        assertEquals(expected, m.slice(0, 1, 11));
+    }
+
+    @Test
+    void primitiveAccessorsShouldAddressElements() {
+        IntegerMatrix m = (IntegerMatrix) IntegerMatrix.builder()
+                .row(1, 2, 3)
+                .row(4, 5, 6)
+                .build();
+
+        assertEquals(6, m.getInt(1, 2));
+        assertEquals(6, m.getInt(new int[] {1, 2}));
+        assertEquals(4, m.getInt(3L));
+        assertEquals(2, m.get(0, 1));
+
+        m.setInt(0, 1, 7);
+        m.setInt(5L, 8);
+        assertEquals(7, m.getInt(1L));
+        assertEquals(8, m.getInt(1, 2));
+
+        IntegerMatrix transposed = (IntegerMatrix) m.transpose(1, 0);
+        assertEquals(7, transposed.getInt(1, 0));
+        assertEquals(4, transposed.getInt(1L));
+        transposed.setInt(2L, 9);
+        assertEquals(9, m.getInt(0, 1));
+
+        IntegerMatrix cube = IntegerMatrix.zeros(2, 3, 4);
+        cube.setInt(new int[] {1, 2, 3}, 11);
+        cube.setInt(new int[] {0, 1, 2}, 12);
+        assertEquals(11, cube.getInt(1, 2, 3));
+        assertEquals(11, cube.getInt(23L));
+        assertEquals(12, cube.getInt(6L));
+
+        // one and two indices address the same elements as the index and row and column based setters
+        IntegerMatrix vector = IntegerMatrix.zeros(8);
+        vector.setInt(new int[] {3}, 5);
+        assertEquals(5, vector.getInt(3L));
+        assertEquals(0, vector.getInt(5L));
+        m.setInt(new int[] {1, 0}, 13);
+        assertEquals(13, m.getInt(1, 0));
+        assertEquals(13, m.getInt(3L));
+    }
+
+    @Test
+    void bulkAccessShouldCopyRanges() {
+        int size = 100;
+        IntegerMatrix m = IntegerMatrix.zeros(10, 10);
+        int[] values = new int[size + 2];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        m.set(0, values, 2, size);
+
+        int[] read = new int[size];
+        m.get(0, read, 0, size);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i + 2, read[i]);
+        }
+
+        IntegerMatrix transposed = (IntegerMatrix) m.transpose(1, 0);
+        int[] column = new int[10];
+        transposed.get(10, column, 0, 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * 10 + 3, column[i]);
+        }
+    }
+
+    @Test
+    void accessOutsideOfMatrixShouldFail() {
+        IntegerMatrix m = IntegerMatrix.zeros(2, 3);
+
+        assertThrows(IncompatibleDimensionsException.class, () -> m.getInt(2, 0));
+        assertThrows(IncompatibleDimensionsException.class, () -> m.getInt(new int[] {0, 0, 0}));
+        assertThrows(IndexOutOfBoundsException.class, () -> m.getInt(6L));
+        assertThrows(IndexOutOfBoundsException.class, () -> m.get(4, new int[4], 0, 4));
+    }
+
+    @Test
+    void operationsShouldSpanSeveralChunks() throws IOException {
+        int m = 37;
+        int n = 29;
+        int p = 41;
+        IntegerMatrix a = IntegerMatrix.zeros(m, n);
+        IntegerMatrix b = IntegerMatrix.zeros(n, p);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, i % 7 - 3);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            b.setInt(i, i % 5 - 2);
+        }
+        // chunks of 16 and 32 elements, so that rows, vectors and tiles cross the borders of the chunks
+        IntegerMatrix chunkedA = chunked(a, 64);
+        IntegerMatrix chunkedB = chunked(b, 128);
+        assertEquals(a, chunkedA);
+
+        assertEquals(a.mmul(b), chunkedA.mmul(chunkedB));
+        assertEquals(a.transpose(1, 0).copy(), chunkedA.transpose(1, 0).copy());
+
+        IntegerMatrix c = new IntegerMatrix(Storage.allocate(m * p, Integer.BYTES, 64), m, p);
+        IntegerGemm.gemm(chunkedA.storage, 0, n, 1, chunkedB.storage, 0, p, 1, c.storage, 0, p, m, n, p);
+        assertEquals(a.mmul(b), c);
+
+        Matrix<Integer> sum = a.copy();
+        sum.add(a.transpose(1, 0).copy().transpose(1, 0));
+        chunkedA.add(chunked((IntegerMatrix) a.transpose(1, 0).copy(), 64).transpose(1, 0));
+        assertEquals(sum, chunkedA);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        sum.write(expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        chunkedA.write(actual);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    @Test
+    void tooManyElementsShouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> IntegerMatrix.zeros(65536, 65536));
+    }
+
+    @Test
+    void reductionsShouldMatchScalarLoop() {
+        // spans several blocks, the last one being partial
+        IntegerMatrix a = IntegerMatrix.zeros(7, 701);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, (i * 37) % 1001 - 500);
+        }
+        a.setInt(3000, -777);
+        a.setInt(4000, -777);
+        a.setInt(2500, 999);
+        long sum = 0;
+        for (int i = 0; i < a.size(); i++) {
+            sum += a.getInt((long) i);
+        }
+
+        assertEquals(-777, a.min());
+        assertEquals(999, a.max());
+        assertEquals(3000, a.argmin());
+        assertEquals(2500, a.argmax());
+        assertEquals((int) sum, a.sum());
+        assertEquals(sum / (double) a.size(), a.mean(), 1e-9);
+
+        IntegerMatrix chunkedA = chunked(a, 100);
+        assertEquals(a.sum(), chunkedA.sum());
+        assertEquals(3000, chunkedA.argmin());
+        assertEquals(a.transpose(1, 0).sum(), a.sum());
+        assertEquals(397 * 7 + 3, a.transpose(1, 0).argmax());
+
+        IntegerMatrix small = IntegerMatrix.ones(3, 2);
+        small.addScalar(1);
+        assertEquals(64, small.prod());
+        assertEquals(Math.sqrt(24), small.norm2(), 1e-12);
+        assertEquals(0, small.argmin());
+    }
+
+    @Test
+    void reductionsOfEmptyMatrix() {
+        IntegerMatrix empty = IntegerMatrix.zeros(0, 3);
+        assertEquals(0, empty.sum());
+        assertEquals(1, empty.prod());
+        assertEquals(0, empty.norm2());
+        assertThrows(IllegalStateException.class, empty::min);
+        assertThrows(IllegalStateException.class, empty::argmax);
+    }
+
+    @Test
+    void axisReductionsShouldMatchScalarLoops() {
+        IntegerMatrix a = IntegerMatrix.zeros(4, 5, 6);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, (i * 7) % 23 - 11);
+        }
+        for (int axis = 0; axis < 3; axis++) {
+            Matrix<Integer> sum = a.sum(axis);
+            Matrix<Integer> max = a.max(axis, true);
+            int[] expectedDimensions = a.dimensions().clone();
+            expectedDimensions[axis] = 1;
+            assertArrayEquals(expectedDimensions, max.dimensions());
+            assertEquals(2, sum.dimensions().length);
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 5; j++) {
+                    for (int k = 0; k < 6; k++) {
+                        int[] position = {i, j, k};
+                        position[axis] = 0;
+                        int expectedSum = 0;
+                        int expectedMax = Integer.MIN_VALUE;
+                        for (int x = 0; x < a.dimensions()[axis]; x++) {
+                            position[axis] = x;
+                            expectedSum += a.getInt(position);
+                            expectedMax = Math.max(expectedMax, a.getInt(position));
+                        }
+                        position[axis] = 0;
+                        assertEquals(expectedMax, max.get(position));
+                        int[] reduced = new int[2];
+                        for (int d = 0, r = 0; d < 3; d++) {
+                            if (d != axis) {
+                                reduced[r++] = position[d];
+                            }
+                        }
+                        assertEquals(expectedSum, sum.get(reduced));
+                    }
+                }
+            }
+        }
+        assertEquals(a.sum(0), chunked(a, 20).sum(0));
+        assertEquals(a.min(2), a.transpose(2, 1, 0).min(0).transpose(1, 0).copy());
+        assertEquals(IntegerMatrix.ones(1), IntegerMatrix.ones(1).mean(0));
+        assertArrayEquals(new int[] {1}, IntegerMatrix.ones(7).prod(0).dimensions());
+        assertThrows(IncompatibleDimensionsException.class, () -> a.sum(3));
+        assertThrows(IllegalStateException.class, () -> IntegerMatrix.zeros(2, 0).max(1));
+        assertEquals(IntegerMatrix.zeros(2), IntegerMatrix.zeros(2, 0).sum(1));
+    }
+
+    @Test
+    void columnReductionsShouldAccumulateRows() {
+        // narrow rows are grouped, wide rows are tiled, both span several blocks of rows
+        for (int columns : new int[] {3, 1500}) {
+            int rows = 1001;
+            IntegerMatrix a = chunked(IntegerMatrix.zeros(rows, columns), 4000);
+            for (int i = 0; i < a.size(); i++) {
+                a.setInt(i, (i * 31) % 101 - 50);
+            }
+            Matrix<Integer> sums = a.sum(0);
+            Matrix<Integer> mins = a.min(0, true);
+            Matrix<Integer> means = a.mean(0);
+            for (int column = 0; column < columns; column++) {
+                int sum = 0;
+                int min = Integer.MAX_VALUE;
+                for (int row = 0; row < rows; row++) {
+                    sum += a.getInt(row, column);
+                    min = Math.min(min, a.getInt(row, column));
+                }
+                assertEquals(sum, sums.get(column));
+                assertEquals(min, mins.get(0, column));
+                assertEquals(sum / rows, means.get(column));
+            }
+        }
+    }
+
+    @Test
+    void absAndClampShouldApplyToEveryElement() {
+        IntegerMatrix a = IntegerMatrix.zeros(7, 11);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, i - 40);
+        }
+        Matrix<Integer> absolute = a.copy();
+        absolute.abs();
+        Matrix<Integer> clamped = a.transpose(1, 0);
+        clamped.clamp(-3, 5);
+        Matrix<Integer> bounded = a.copy();
+        bounded.maxScalar(-3);
+        bounded.minScalar(5);
+        for (int i = 0; i < a.size(); i++) {
+            int value = i - 40;
+            assertEquals(Math.abs(value), absolute.get(i / 11, i % 11));
+            assertEquals(Math.max(-3, Math.min(5, value)), a.getInt((long) i));
+            assertEquals(Math.max(-3, Math.min(5, value)), bounded.get(i / 11, i % 11));
+        }
+        assertThrows(IllegalArgumentException.class, () -> a.clamp(2, 1));
+    }
+
+    @Test
+    void outOfPlaceOperationsShouldWriteIntoDestination() {
+        IntegerMatrix a = IntegerMatrix.zeros(6, 6);
+        IntegerMatrix b = IntegerMatrix.zeros(6, 6);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, i - 10);
+            b.setInt(i, i % 4 + 1);
+        }
+        Matrix<Integer> unchanged = a.copy();
+
+        Matrix<Integer> expected = a.copy();
+        expected.sub(b);
+        IntegerMatrix destination = IntegerMatrix.ones(6, 6);
+        a.sub(b, destination);
+        assertEquals(expected, destination);
+        assertEquals(unchanged, a);
+
+        // the destination may be an operand, or strided
+        Matrix<Integer> operand = b.copy();
+        a.sub(operand, operand);
+        assertEquals(expected, operand);
+        Matrix<Integer> transposed = IntegerMatrix.zeros(6, 6).transpose(1, 0);
+        a.sub(b, transposed);
+        assertEquals(expected, transposed.copy());
+        IntegerMatrix row = IntegerMatrix.ones(6);
+        a.add(row, destination);
+        expected = a.copy();
+        expected.add(row);
+        assertEquals(expected, destination);
+
+        a.mmul(b, destination);
+        assertEquals(a.mmul(b), destination);
+        a.transpose(destination, 1, 0);
+        assertEquals(a.transpose(1, 0).copy(), destination);
+        a.copyInto(destination);
+        assertEquals(a, destination);
+
+        assertThrows(IllegalArgumentException.class, () -> a.add(b, a.transpose(1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> a.mmul(b, b));
+        assertThrows(IllegalArgumentException.class, () -> a.transpose(a, 1, 0));
+        assertThrows(IncompatibleDimensionsException.class, () -> a.add(b, IntegerMatrix.zeros(36)));
+        assertThrows(IncompatibleDimensionsException.class, () -> a.mmul(b, IntegerMatrix.zeros(6, 5)));
+    }
+
+    private static IntegerMatrix chunked(IntegerMatrix matrix, int chunkBytes) {
+        int[] values = new int[matrix.size()];
+        matrix.get(0, values, 0, values.length);
+        IntegerMatrix chunked = new IntegerMatrix(Storage.allocate(values.length, Integer.BYTES, chunkBytes), matrix.dimensions().clone());
+        chunked.set(0, values, 0, values.length);
+        return chunked;
+    }
+}
@@ -0,0 +1,117 @@
+package num4j.impl;
+
+import num4j.api.Expression;
+import num4j.api.Matrix;
+import num4j.exceptions.IncompatibleDimensionsException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyExpressionTest {
+
+    @Test
+    void shouldEvaluateLikeEagerOperations() {
+        // spans several blocks, the last one being partial
+        DoubleMatrix[] m = new DoubleMatrix[5];
+        for (int i = 0; i < m.length; i++) {
+            m[i] = DoubleMatrix.zeros(3, 1000);
+            for (int j = 0; j < m[i].size(); j++) {
+                m[i].setDouble(j, (i + 1) * 0.5 + j % 17);
+            }
+        }
+
+        Matrix<Double> expected = m[0].copy();
+        expected.mul(m[1]);
+        Matrix<Double> cd = m[2].copy();
+        cd.mul(m[3]);
+        expected.add(cd);
+        expected.sub(m[4]);
+        expected.div(m[1]);
+
+        Matrix<Double> actual = m[0].lazy().mul(m[1]).add(m[2].lazy().mul(m[3])).sub(m[4]).div(m[1]).eval();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldEvaluateSharedSubexpressionsOnce() {
+        IntegerMatrix a = IntegerMatrix.zeros(50, 50);
+        IntegerMatrix b = IntegerMatrix.zeros(50, 50);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, i % 13 - 6);
+            b.setInt(i, i % 7 + 1);
+        }
+
+        Expression<Integer> sum = a.lazy().add(b);
+        Matrix<Integer> actual = sum.mul(sum).sub(sum.div(b)).eval();
+
+        Matrix<Integer> s = a.copy();
+        s.add(b);
+        Matrix<Integer> expected = s.copy();
+        expected.mul(s);
+        Matrix<Integer> quotient = s.copy();
+        quotient.div(b);
+        expected.sub(quotient);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldEvaluateIntoOperand() {
+        IntegerMatrix a = IntegerMatrix.ones(40, 30);
+        IntegerMatrix b = IntegerMatrix.ones(40, 30);
+        b.add(b.copy());
+
+        a.lazy().add(b).mul(b).into(a);
+        assertEquals(IntegerMatrix.ones(40, 30).lazy().add(b).mul(b).eval(), a);
+        assertEquals(6, a.getInt(17, 23));
+
+        // strided destination
+        Matrix<Integer> transposed = a.transpose(1, 0);
+        transposed.lazy().sub(b.transpose(1, 0)).into(transposed);
+        assertEquals(4, a.getInt(39, 29));
+    }
+
+    @Test
+    void shouldEvaluateIntoShiftedOperand() {
+        DoubleMatrix a = DoubleMatrix.zeros(3000);
+        for (int i = 0; i < a.size(); i++) {
+            a.setDouble(i, i);
+        }
+        // y[i] is x[i + 1], so that writing y block by block overwrites elements of x not read yet
+        Matrix<Double> x = a.slice(0, 0, 2999);
+        Matrix<Double> y = a.slice(0, 1, 3000);
+        Matrix<Double> expected = x.copy();
+        expected.mul(y.copy());
+        expected.add(x.copy());
+
+        x.lazy().mul(y).add(x).into(y);
+        assertEquals(expected, y.copy());
+    }
+
+    @Test
+    void shouldEvaluateChunkedAndOffHeapMatrices() {
+        int size = 5000;
+        IntegerMatrix a = new IntegerMatrix(Storage.allocate(size, Integer.BYTES, 256), size);
+        IntegerMatrix b = IntegerMatrix.zeros(size);
+        for (int i = 0; i < size; i++) {
+            a.setInt(i, i);
+            b.setInt(i, 3 * i);
+        }
+        try (OffHeapIntegerMatrix c = OffHeapIntegerMatrix.ones(size);
+             OffHeapIntegerMatrix result = OffHeapIntegerMatrix.zeros(size)) {
+            a.lazy().add(c).sub(b).add(a).into(result);
+            IntegerMatrix chunkedResult = new IntegerMatrix(Storage.allocate(size, Integer.BYTES, 128), size);
+            a.lazy().add(c).sub(b).add(a).into(chunkedResult);
+            for (int i = 0; i < size; i++) {
+                assertEquals(1 - i, result.getInt(i));
+                assertEquals(1 - i, chunkedResult.getInt(i));
+            }
+        }
+    }
+
+    @Test
+    void incompatibleDimensionsShouldFail() {
+        IntegerMatrix a = IntegerMatrix.ones(2, 3);
+        assertThrows(IncompatibleDimensionsException.class, () -> a.lazy().add(IntegerMatrix.ones(3, 2)));
+        assertThrows(IncompatibleDimensionsException.class, () -> a.lazy().add(a).into(IntegerMatrix.ones(6)));
+    }
+}
@@ -0,0 +1,98 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongMatrixTest {
+
+    @Test
+    void elementwiseOperationsShouldNotOverflowInts() {
+        LongMatrix a = LongMatrix.zeros(3, 29);
+        LongMatrix b = LongMatrix.zeros(3, 29);
+        for (int i = 0; i < a.size(); i++) {
+            a.setLong(i, Integer.MAX_VALUE + (long) i);
+            b.setLong(i, i % 5 + 1);
+        }
+        Matrix<Long> c = a.copy();
+        c.mul(b);
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals((Integer.MAX_VALUE + (long) i) * (i % 5 + 1), ((LongMatrix) c).getLong(i));
+        }
+        c.div(b);
+        assertEquals(a, c);
+        assertThrows(ArithmeticException.class, () -> a.div(LongMatrix.zeros(3, 29)));
+    }
+
+    @Test
+    void mmulShouldMatchNaiveProduct() {
+        LongMatrix a = LongMatrix.zeros(17, 31);
+        LongMatrix b = LongMatrix.zeros(31, 13);
+        for (int i = 0; i < a.size(); i++) {
+            a.setLong(i, (i % 9 - 4) * 1_000_000L);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            b.setLong(i, i % 7 * 1_000_000L);
+        }
+        Matrix<Long> product = a.mmul(b);
+        Matrix<Long> transposed = b.transpose(1, 0).copy();
+        for (int i = 0; i < 17; i++) {
+            for (int j = 0; j < 13; j++) {
+                long expected = 0;
+                for (int k = 0; k < 31; k++) {
+                    expected += a.getLong(i, k) * transposed.get(j, k);
+                }
+                assertEquals(expected, product.get(i, j));
+            }
+        }
+    }
+
+    @Test
+    void reductionsShouldMatchScalarLoops() {
+        LongMatrix matrix = LongMatrix.zeros(4, 1001);
+        long sum = 0;
+        for (int i = 0; i < matrix.size(); i++) {
+            long value = (i * 7919L % 1000 - 500) << 33;
+            matrix.setLong(i, value);
+            sum += value;
+        }
+        assertEquals(sum, matrix.sum());
+        assertEquals((double) sum / matrix.size(), matrix.mean(), 1e3);
+        assertEquals(matrix.get(0, 1000) + matrix.get(1, 1000) + matrix.get(2, 1000) + matrix.get(3, 1000),
+            matrix.sum(0).get(1000));
+        assertEquals(499L << 33, matrix.max());
+        assertEquals(499L << 33, matrix.getLong(matrix.argmax()));
+    }
+
+    @Test
+    void shouldMapWrittenMatrix() throws IOException {
+        Matrix<Long> expected = LongMatrix.builder()
+            .row(1L, Long.MAX_VALUE)
+            .row(Long.MIN_VALUE, -1L)
+            .build();
+
+        Path path = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(path)) {
+                expected.write(outputStream);
+            }
+            try (MemoryMappedMatrix<?> mapped = MemoryMappedMatrix.open(path)) {
+                MemoryMappedLongMatrix longs = assertInstanceOf(MemoryMappedLongMatrix.class, mapped);
+                assertEquals(expected, longs.copy());
+                assertEquals(Long.MIN_VALUE, longs.getLong(1, 0));
+            }
+            assertThrows(IllegalArgumentException.class, () -> MemoryMappedIntegerMatrix.from(path));
+        } finally {
+            Files.delete(path);
+        }
+        try (OffHeapLongMatrix offHeap = OffHeapLongMatrix.copyOf(expected)) {
+            assertEquals(expected.transpose(1, 0).copy(), offHeap.transpose(1, 0).copy());
+        }
+    }
+}
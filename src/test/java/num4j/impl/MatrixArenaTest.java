@@ -0,0 +1,115 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// the arenas are only opened to scope the allocations
+@SuppressWarnings("try")
+class MatrixArenaTest {
+
+    @BeforeEach
+    void clearPool() {
+        MatrixArena.clearPool();
+    }
+
+    @Test
+    void closedArenaShouldReturnArraysToPool() {
+        MatrixArena.Statistics before = MatrixArena.statistics();
+        try (MatrixArena arena = MatrixArena.open()) {
+            DoubleMatrix.ones(1000);
+        }
+        MatrixArena.Statistics closed = MatrixArena.statistics();
+        assertEquals(before.misses() + 1, closed.misses());
+        assertEquals(8192, closed.pooledBytes());
+
+        try (MatrixArena arena = MatrixArena.open()) {
+            Matrix<Double> zeros = DoubleMatrix.zeros(1000);
+            assertEquals(0.0, zeros.sum());
+            assertEquals(0.0, zeros.max());
+        }
+        MatrixArena.Statistics reused = MatrixArena.statistics();
+        assertEquals(closed.hits() + 1, reused.hits());
+        assertEquals(closed.misses(), reused.misses());
+    }
+
+    @Test
+    void pooledMatricesShouldMatchUnpooledOnes() {
+        Matrix<Double> a = DoubleMatrix.ones(30, 40);
+        a.mulScalar(2.0);
+        Matrix<Double> expected = a.mmul(DoubleMatrix.ones(40, 50));
+
+        Matrix<Double> result = DoubleMatrix.zeros(30, 50);
+        for (int i = 0; i < 2; i++) {
+            try (MatrixArena arena = MatrixArena.open()) {
+                Matrix<Double> product = a.copy().mmul(DoubleMatrix.ones(40, 50));
+                assertEquals(30 * 50 * Double.BYTES, product.data().length);
+                product.copyInto(result);
+            }
+            assertEquals(expected.sum(), result.sum());
+            assertEquals(80.0, result.get(29, 49));
+        }
+    }
+
+    @Test
+    void builderShouldGrowWithinArena() {
+        Matrix<Integer> matrix;
+        try (MatrixArena arena = MatrixArena.open()) {
+            IntegerMatrix.IntegerMatrixBuilder builder = IntegerMatrix.builder();
+            for (int i = 0; i < 2000; i++) {
+                builder.row(i, -i, 2 * i);
+            }
+            matrix = builder.build();
+        }
+        DoubleMatrix.zeros(2000, 3);
+        assertEquals(1999, matrix.get(1999, 0));
+        assertEquals(-1000, matrix.get(1000, 1));
+        assertEquals(2000 * 1999, matrix.sum());
+    }
+
+    @Test
+    void builtMatricesShouldNotBeReturnedToPool() {
+        try (MatrixArena arena = MatrixArena.open()) {
+            // the rows fill the grown array exactly, which is handed over to the matrix
+            IntegerMatrix.IntegerMatrixBuilder builder = IntegerMatrix.builder();
+            for (int i = 0; i < 1024; i++) {
+                builder.row(new int[] {7});
+            }
+            Matrix<Integer> built = builder.build();
+            assertThrows(IllegalStateException.class, () -> builder.row(new int[] {1}));
+            DoubleMatrix.zeros(512);
+            DoubleMatrix.zeros(1024);
+            assertEquals(7, built.get(0, 0));
+            assertEquals(7 * 1024, built.sum());
+        }
+    }
+
+    @Test
+    void nestedArenaShouldBeClosedFirst() {
+        try (MatrixArena outer = MatrixArena.open()) {
+            MatrixArena inner = MatrixArena.open();
+            assertThrows(IllegalStateException.class, outer::close);
+            inner.close();
+        }
+    }
+
+    @Test
+    void fullPoolShouldDiscardArrays() {
+        MatrixArena.setMaxPooledBytes(4096);
+        try {
+            MatrixArena.Statistics before = MatrixArena.statistics();
+            try (MatrixArena arena = MatrixArena.open()) {
+                IntegerMatrix.zeros(1024);
+                IntegerMatrix.zeros(1024);
+            }
+            MatrixArena.Statistics after = MatrixArena.statistics();
+            assertEquals(before.discarded() + 1, after.discarded());
+            assertEquals(4096, after.pooledBytes());
+        } finally {
+            MatrixArena.setMaxPooledBytes(MatrixArena.DEFAULT_MAX_POOLED_BYTES);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryMappedDoubleMatrixTest {
+
+    @Test
+    void shouldMapMatrixOfStoredType() throws IOException {
+        Matrix<Double> expected = DoubleMatrix.builder()
+            .row(1.5, 2.5, 3.5)
+            .row(4.5, 5.5, 6.5)
+            .build();
+
+        Path matrix = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(matrix)) {
+                expected.write(outputStream);
+            }
+
+            try (MemoryMappedMatrix<?> mapped = MemoryMappedMatrix.open(matrix)) {
+                MemoryMappedDoubleMatrix doubles = assertInstanceOf(MemoryMappedDoubleMatrix.class, mapped);
+                assertEquals(expected, doubles.copy());
+                assertEquals(6.5, doubles.getDouble(1, 2));
+                assertEquals(0, doubles.storage.buffer(0).alignmentOffset(0, Storage.ALIGNMENT));
+            }
+            assertThrows(IllegalArgumentException.class, () -> MemoryMappedIntegerMatrix.from(matrix));
+
+            try (MemoryMappedDoubleMatrix mapped = MemoryMappedDoubleMatrix.open(matrix, FileChannel.MapMode.READ_WRITE)) {
+                mapped.setDouble(0, 0, -1.0);
+                mapped.mul(expected);
+            }
+            try (MemoryMappedDoubleMatrix mapped = MemoryMappedDoubleMatrix.from(matrix)) {
+                assertEquals(-1.5, mapped.getDouble(0L));
+                assertEquals(42.25, mapped.getDouble(1, 2));
+            }
+        } finally {
+            Files.delete(matrix);
+        }
+    }
+}
@@ -3,8 +3,11 @@ package num4j.impl;
 import num4j.api.Matrix;
 import org.junit.jupiter.api.Test;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -31,4 +34,266 @@ class MemoryMappedIntegerMatrixTest {
             assertEquals(outMatrix, foo);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReadElements() throws IOException {
+        Matrix<Integer> outMatrix = IntegerMatrix.builder()
+            .row(1, 2, 3)
+            .row(4, 5, 6)
+            .build();
+
+        Path matrix = Files.createTempFile("num4j", ".matrix");
+        try (OutputStream outputStream = Files.newOutputStream(matrix)) {
+            outMatrix.write(outputStream);
+        }
+
+        try (MemoryMappedIntegerMatrix inMatrix = MemoryMappedIntegerMatrix.from(matrix)) {
+            assertEquals(6, inMatrix.get(1, 2));
+            assertEquals(2, inMatrix.getInt(0, 1));
+            assertEquals(4, inMatrix.getInt(3L));
+
+            int[] read = new int[3];
+            inMatrix.get(2, read, 0, 3);
+            assertArrayEquals(new int[] {3, 4, 5}, read);
+        } finally {
+            Files.delete(matrix);
+        }
+    }
+
+    @Test
+    void shouldModifyMatrixInPlace() throws IOException {
+        Path matrix = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (MemoryMappedIntegerMatrix created = MemoryMappedIntegerMatrix.create(matrix, 2, 3)) {
+                assertTrue(created.isWritable());
+                created.setInt(0, 1, 5);
+                created.set(0, new int[] {1, 2, 3}, 0, 3);
+                created.add(IntegerMatrix.ones(2, 3));
+                created.force();
+            }
+
+            Matrix<Integer> expected = IntegerMatrix.builder()
+                .row(2, 3, 4)
+                .row(1, 1, 1)
+                .build();
+            try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.from(matrix)) {
+                assertEquals(expected, mapped.copy());
+                assertThrows(UnsupportedOperationException.class, () -> mapped.add(expected));
+                assertThrows(UnsupportedOperationException.class, () -> mapped.setInt(0L, 1));
+            }
+
+            try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.open(matrix, FileChannel.MapMode.PRIVATE)) {
+                mapped.mul(expected);
+                assertEquals(16, mapped.getInt(0, 2));
+            }
+            try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.open(matrix, FileChannel.MapMode.READ_WRITE)) {
+                assertEquals(expected, mapped.copy());
+                mapped.sub(mapped.copy());
+                mapped.force(0, 6);
+            }
+            try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.from(matrix)) {
+                assertEquals(IntegerMatrix.zeros(2, 3), mapped.copy());
+            }
+        } finally {
+            Files.delete(matrix);
+        }
+    }
+
+    @Test
+    void shouldMapLargeMatricesInSegments() throws IOException {
+        IntegerMatrix expected = IntegerMatrix.zeros(37, 29);
+        for (int i = 0; i < expected.size(); i++) {
+            expected.setInt(i, i % 11 - 5);
+        }
+        Path matrix = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(matrix)) {
+                expected.write(outputStream);
+            }
+
+            // segments of 16 elements, so that rows and vectors cross the borders of the segments
+            try (MemoryMappedIntegerMatrix mapped = (MemoryMappedIntegerMatrix) MemoryMappedMatrix.open(matrix, FileChannel.MapMode.READ_WRITE, 64)) {
+                assertEquals(0, mapped.storage.buffer(0).alignmentOffset(0, Storage.ALIGNMENT));
+                assertEquals(expected, mapped.copy());
+                assertEquals(expected.getInt(20, 17), mapped.getInt(20, 17));
+
+                Matrix<Integer> sum = expected.copy();
+                sum.add(mapped);
+                mapped.add(mapped.copy());
+                assertEquals(sum, mapped.copy());
+                mapped.force();
+            }
+            try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.from(matrix)) {
+                expected.add(expected.copy());
+                assertEquals(expected, mapped.copy());
+            }
+        } finally {
+            Files.delete(matrix);
+        }
+    }
+
+    @Test
+    void shouldSliceRowWindowsWithoutCopying() throws IOException {
+        IntegerMatrix expected = IntegerMatrix.zeros(37, 29);
+        for (int i = 0; i < expected.size(); i++) {
+            expected.setInt(i, i % 13 - 6);
+        }
+        Path matrix = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(matrix)) {
+                expected.write(outputStream);
+            }
+
+            // windows of rows crossing the borders of segments of 64 elements
+            try (MemoryMappedIntegerMatrix mapped = (MemoryMappedIntegerMatrix) MemoryMappedMatrix.open(matrix, FileChannel.MapMode.READ_WRITE, 256)) {
+                for (int row = 0; row < 37; row += 8) {
+                    Matrix<Integer> window = mapped.slice(0, row, Math.min(37, row + 8));
+                    assertEquals(expected.slice(0, row, Math.min(37, row + 8)).copy(), window.copy());
+                    assertEquals(expected.slice(0, row, Math.min(37, row + 8)).sum(), window.sum());
+                }
+                mapped.row(36).addScalar(100);
+                mapped.col(0).mulScalar(2);
+                mapped.force();
+            }
+            try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.from(matrix)) {
+                assertEquals(expected.getInt(36, 5) + 100, mapped.getInt(36, 5));
+                assertEquals((expected.getInt(36, 0) + 100) * 2, mapped.getInt(36, 0));
+                assertEquals(expected.getInt(3, 0) * 2, mapped.getInt(3, 0));
+                assertThrows(ReadOnlyBufferException.class, () -> mapped.row(0).addScalar(1));
+            }
+        } finally {
+            Files.delete(matrix);
+        }
+    }
+
+    @Test
+    void shouldMapFilesWithoutAlignedElements() throws IOException {
+        Path matrix = Files.createTempFile("num4j", ".matrix");
+        try {
+            // header without the aligned flag, followed directly by the elements
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(matrix))) {
+                out.writeByte(MemoryMappedMatrix.INT_TYPE);
+                out.writeByte(1);
+                out.writeInt(3);
+                out.writeInt(3);
+                out.write(new byte[] {1, 0, 0, 0, 2, 0, 0, 0, 3, 0, 0, 0});
+            }
+            try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.from(matrix)) {
+                assertArrayEquals(new int[] {3}, mapped.dimensions());
+                assertEquals(3, mapped.getInt(2L));
+                assertEquals(1, mapped.get(0));
+            }
+
+            // corrupt header with a negative number of dimensions
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(matrix))) {
+                out.writeByte(MemoryMappedMatrix.INT_TYPE);
+                out.writeByte(-1);
+                out.writeInt(3);
+            }
+            assertThrows(IllegalArgumentException.class, () -> MemoryMappedIntegerMatrix.from(matrix));
+        } finally {
+            Files.delete(matrix);
+        }
+    }
+
+    @Test
+    void shouldMultiplyOperandsOfDifferentRank() throws IOException {
+        IntegerMatrix a = IntegerMatrix.zeros(2, 4, 3);
+        IntegerMatrix b = IntegerMatrix.zeros(3, 2);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, i % 7 - 3);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            b.setInt(i, i % 5 - 2);
+        }
+        // the 2D operand is broadcast like a 3D matrix with a single 2D matrix
+        Matrix<Integer> expected = IntegerMatrix.zeros(2, 4, 2);
+        for (int k = 0; k < 2; k++) {
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 2; j++) {
+                    int sum = 0;
+                    for (int l = 0; l < 3; l++) {
+                        sum += a.getInt(k, i, l) * b.getInt(l, j);
+                    }
+                    expected.set(sum, k, i, j);
+                }
+            }
+        }
+        assertEquals(expected, a.mmul(b));
+        assertArrayEquals(new int[] {3, 2}, b.dimensions());
+
+        Path bFile = Files.createTempFile("num4j", ".matrix");
+        Path product = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (OutputStream out = Files.newOutputStream(bFile)) {
+                b.write(out);
+            }
+            try (MemoryMappedIntegerMatrix mappedB = MemoryMappedIntegerMatrix.from(bFile)) {
+                assertEquals(expected, a.mmul(mappedB));
+                assertArrayEquals(new int[] {3, 2}, mappedB.dimensions());
+
+                try (MemoryMappedMatrix<Integer> mapped = mappedB.mmul(IntegerMatrix.ones(2, 2, 4), product)) {
+                    assertArrayEquals(new int[] {2, 3, 4}, mapped.dimensions());
+                    assertEquals(b.mmul(IntegerMatrix.ones(2, 4)), mapped.row(1).copy());
+                }
+                assertArrayEquals(new int[] {3, 2}, mappedB.dimensions());
+            }
+        } finally {
+            Files.delete(bFile);
+            Files.delete(product);
+        }
+    }
+
+    @Test
+    void shouldComputeOutOfCore() throws IOException {
+        IntegerMatrix a = IntegerMatrix.zeros(37, 29);
+        IntegerMatrix b = IntegerMatrix.zeros(29, 23);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, i % 7 - 3);
+        }
+        for (int i = 0; i < b.size(); i++) {
+            b.setInt(i, i % 5 - 2);
+        }
+        Path aFile = Files.createTempFile("num4j", ".matrix");
+        Path bFile = Files.createTempFile("num4j", ".matrix");
+        Path product = Files.createTempFile("num4j", ".matrix");
+        Path sum = Files.createTempFile("num4j", ".matrix");
+        try {
+            try (OutputStream aOut = Files.newOutputStream(aFile); OutputStream bOut = Files.newOutputStream(bFile)) {
+                a.write(aOut);
+                b.write(bOut);
+            }
+            try (MemoryMappedIntegerMatrix mappedA = (MemoryMappedIntegerMatrix) MemoryMappedMatrix.open(aFile, FileChannel.MapMode.READ_ONLY, 64);
+                 MemoryMappedIntegerMatrix mappedB = (MemoryMappedIntegerMatrix) MemoryMappedMatrix.open(bFile, FileChannel.MapMode.READ_ONLY, 64)) {
+                try (MemoryMappedMatrix<Integer> mapped = mappedA.mmul(mappedB, product)) {
+                    assertEquals(a.mmul(b), mapped.copy());
+                }
+                try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.from(product)) {
+                    assertEquals(a.mmul(b), mapped.copy());
+                }
+
+                assertEquals(a.transpose(1, 0).copy(), mappedA.transpose(1, 0).copy());
+                assertArrayEquals(new int[] {37, 29}, mappedA.dimensions());
+                // segments of 16 elements are reduced in place
+                assertEquals(a.sum(), mappedA.sum());
+                assertEquals(a.argmax(), mappedA.argmax());
+                assertEquals(a.norm2(), mappedA.norm2(), 1e-12);
+                assertEquals(a.sum(0), mappedA.sum(0));
+                assertEquals(a.max(1, true), mappedA.max(1, true));
+
+                try (MemoryMappedIntegerMatrix mapped = MemoryMappedIntegerMatrix.copyOf(mappedA.transpose(1, 0), sum)) {
+                    mapped.add(a.copy().transpose(1, 0));
+                    Matrix<Integer> expected = a.copy().transpose(1, 0);
+                    expected.add(a.copy().transpose(1, 0));
+                    assertEquals(expected, mapped.copy());
+                }
+                assertThrows(UnsupportedOperationException.class, () -> mappedA.transpose(1, 0).add(a.copy().transpose(1, 0)));
+            }
+        } finally {
+            Files.delete(aFile);
+            Files.delete(bFile);
+            Files.delete(product);
+            Files.delete(sum);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapDoubleMatrixTest {
+
+    @Test
+    void shouldBehaveLikeMatrixOnTheHeap() {
+        DoubleMatrix a = DoubleMatrix.zeros(2, 17, 19);
+        for (int i = 0; i < a.size(); i++) {
+            a.setDouble(i, i % 7 - 3.5);
+        }
+
+        try (OffHeapDoubleMatrix offHeap = OffHeapDoubleMatrix.copyOf(a);
+             OffHeapDoubleMatrix ones = OffHeapDoubleMatrix.ones(2, 17, 19)) {
+            assertEquals(a.mmul(a.transpose(0, 2, 1)), offHeap.mmul(offHeap.transpose(0, 2, 1)));
+
+            offHeap.div(ones);
+            offHeap.sub(a);
+            assertEquals(DoubleMatrix.zeros(2, 17, 19), offHeap);
+            assertEquals(0.0, offHeap.getDouble(1, 16, 18));
+
+            // destinations off the heap are cleared and written through buffers
+            try (OffHeapDoubleMatrix product = OffHeapDoubleMatrix.ones(2, 17, 17);
+                 OffHeapDoubleMatrix sum = OffHeapDoubleMatrix.ones(2, 17, 19)) {
+                a.mmul(a.transpose(0, 2, 1), product);
+                assertEquals(a.mmul(a.transpose(0, 2, 1)), product);
+                a.add(ones, sum);
+                Matrix<Double> expected = a.copy();
+                expected.add(ones);
+                assertEquals(expected, sum);
+            }
+
+            Matrix<Double> copy = offHeap.transpose(2, 1, 0).copy();
+            assertInstanceOf(OffHeapDoubleMatrix.class, copy);
+            ((OffHeapDoubleMatrix) copy).close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package num4j.impl;
+
+import num4j.api.Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapIntegerMatrixTest {
+
+    @Test
+    void shouldBehaveLikeMatrixOnTheHeap() throws IOException {
+        Matrix<Integer> a = IntegerMatrix.builder()
+            .row(1, 2, 3)
+            .row(4, 5, 6)
+            .build();
+        Matrix<Integer> b = IntegerMatrix.builder()
+            .row(6, 5, 4)
+            .row(3, 2, 1)
+            .build();
+
+        try (OffHeapIntegerMatrix offHeap = OffHeapIntegerMatrix.copyOf(a);
+             OffHeapIntegerMatrix product = (OffHeapIntegerMatrix) offHeap.mmul(b.transpose(1, 0));
+             OffHeapIntegerMatrix transposed = (OffHeapIntegerMatrix) offHeap.transpose(1, 0).copy()) {
+            assertEquals(a, offHeap);
+            assertEquals(offHeap, a);
+            assertEquals(a.mmul(b.transpose(1, 0)), product);
+            assertEquals(a.transpose(1, 0).copy(), transposed);
+
+            offHeap.add(b);
+            offHeap.mul(OffHeapIntegerMatrix.ones(2, 3));
+            a.add(b);
+            assertEquals(a, offHeap);
+            assertEquals(7, offHeap.getInt(1, 2));
+
+            offHeap.transpose(1, 0).sub(transposed);
+            assertEquals(IntegerMatrix.builder().row(6, 5, 4).row(3, 2, 1).build(), offHeap);
+
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            b.write(expected);
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            offHeap.write(actual);
+            assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+            assertArrayEquals(b.data(), offHeap.data());
+        }
+    }
+
+    @Test
+    void operationsShouldSpanSeveralChunks() {
+        IntegerMatrix a = IntegerMatrix.zeros(23, 31);
+        for (int i = 0; i < a.size(); i++) {
+            a.setInt(i, i % 9 - 4);
+        }
+        // chunks of 16 elements, so that rows, vectors and tiles cross the borders of the chunks
+        try (OffHeapIntegerMatrix chunked = new OffHeapIntegerMatrix(Storage.allocateDirect(a.size(), Integer.BYTES, 64), 23, 31)) {
+            chunked.copyFrom(a);
+            assertEquals(a, chunked);
+            assertEquals(a.mmul(a.transpose(1, 0)), chunked.mmul(chunked.transpose(1, 0)));
+            assertEquals(a.transpose(1, 0).copy(), chunked.transpose(1, 0).copy());
+
+            int[] values = new int[40];
+            chunked.get(5, values, 0, values.length);
+            chunked.set(50, values, 0, values.length);
+            a.set(50, values, 0, values.length);
+            assertEquals(a, chunked);
+        }
+    }
+
+    @Test
+    void chunksShouldBeAligned() {
+        Storage storage = Storage.allocateDirect(1000, Integer.BYTES, 256);
+        for (int address = 0; address < 1000; address += 64) {
+            assertEquals(0, storage.buffer(address).alignmentOffset(0, Storage.ALIGNMENT));
+        }
+        storage.free();
+    }
+
+    @Test
+    void closedMatrixShouldNotBeAccessible() {
+        OffHeapIntegerMatrix matrix = OffHeapIntegerMatrix.ones(4, 4);
+        Matrix<Integer> view = matrix.transpose(1, 0);
+        matrix.close();
+        matrix.close();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> matrix.getInt(0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(1, 2));
+    }
+}
@@ -0,0 +1,71 @@
+package num4j.impl;
+
+import num4j.exceptions.IncompatibleDimensionsException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantizedMatrixTest {
+
+    private static FloatMatrix random(int rows, int columns, int seed) {
+        FloatMatrix matrix = FloatMatrix.zeros(rows, columns);
+        for (int i = 0; i < matrix.size(); i++) {
+            // rows of different magnitudes, so that quantizing per row pays off
+            matrix.setFloat(i, (float) Math.sin(i * 0.37 + seed) * (1 + i / columns % 5));
+        }
+        return matrix;
+    }
+
+    @Test
+    void dequantizedElementsShouldBeWithinHalfAScale() {
+        FloatMatrix matrix = random(9, 70, 1);
+        matrix.setFloat(3, 0.0f);
+        for (QuantizedMatrix quantized : new QuantizedMatrix[] {QuantizedMatrix.quantize(matrix), QuantizedMatrix.quantizeRows(matrix)}) {
+            FloatMatrix dequantized = quantized.dequantize();
+            for (int i = 0; i < 9; i++) {
+                for (int j = 0; j < 70; j++) {
+                    assertEquals(matrix.getFloat(i, j), dequantized.getFloat(i, j), quantized.scale(i) / 2 + 1e-6);
+                    assertEquals(dequantized.getFloat(i, j), quantized.getFloat(i, j));
+                }
+            }
+            assertEquals(0.0f, quantized.getFloat(0, 3));
+        }
+        assertTrue(QuantizedMatrix.quantizeRows(matrix).scale(0) < QuantizedMatrix.quantize(matrix).scale(0));
+    }
+
+    @Test
+    void productsShouldMatchProductsOfDequantizedMatrices() {
+        // large enough to be computed in parallel, with partial groups of rows and vectors
+        QuantizedMatrix a = QuantizedMatrix.quantizeRows(random(67, 301, 2));
+        QuantizedMatrix b = QuantizedMatrix.quantizeRows(random(131, 301, 3));
+        FloatMatrix product = a.mmulTransposed(b);
+        IntegerMatrix sums = a.mmulTransposedInt(b);
+        FloatMatrix singleThreaded = a.mmulTransposed(b, 1);
+        for (int i = 0; i < 67; i++) {
+            for (int j = 0; j < 131; j++) {
+                int expectedSum = 0;
+                double expected = 0;
+                for (int k = 0; k < 301; k++) {
+                    expectedSum += (a.getCode(i, k) - a.zeroPoint(i)) * (b.getCode(j, k) - b.zeroPoint(j));
+                    expected += (double) a.getFloat(i, k) * b.getFloat(j, k);
+                }
+                assertEquals(expectedSum, sums.getInt(i, j));
+                assertEquals(expected, product.getFloat(i, j), 1e-4 * Math.max(1, Math.abs(expected)));
+                assertEquals(product.getFloat(i, j), singleThreaded.getFloat(i, j));
+            }
+        }
+    }
+
+    @Test
+    void mmulShouldMultiplyByMatrixQuantizedPerTensor() {
+        QuantizedMatrix a = QuantizedMatrix.quantizeRows(random(5, 33, 4));
+        QuantizedMatrix b = QuantizedMatrix.quantize(random(33, 7, 5));
+        assertEquals(a.mmulTransposed(b.transpose()), a.mmul(b));
+        assertArrayEquals(new int[] {5, 7}, a.mmul(b).dimensions());
+
+        assertThrows(UnsupportedOperationException.class, () -> b.mmul(a.transpose()));
+        assertThrows(UnsupportedOperationException.class, a::transpose);
+        assertThrows(IncompatibleDimensionsException.class, () -> b.mmul(b));
+        assertThrows(IllegalArgumentException.class, () -> QuantizedMatrix.quantize(FloatMatrix.zeros(4)));
+    }
+}
@@ -0,0 +1,143 @@
+package num4j.impl;
+
+import num4j.exceptions.IncompatibleDimensionsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static num4j.impl.SparseMatrix.Format.CSC;
+import static num4j.impl.SparseMatrix.Format.CSR;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseMatrixTest {
+
+    private static FloatMatrix random(int rows, int columns, double density, int seed) {
+        Random random = new Random(seed);
+        FloatMatrix matrix = FloatMatrix.zeros(rows, columns);
+        for (int i = 0; i < rows; i++) {
+            // some dense rows, so that vectors of stored elements are gathered as well
+            double rowDensity = i % 7 == 3 ? 0.8 : density;
+            for (int j = 0; j < columns; j++) {
+                if (random.nextDouble() < rowDensity) {
+                    matrix.setFloat(i, j, random.nextInt(19) - 9);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    private static void assertElementsEqual(FloatMatrix expected, FloatMatrix actual, double delta) {
+        assertArrayEquals(expected.dimensions(), actual.dimensions());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getFloat((long) i), actual.getFloat((long) i), delta);
+        }
+    }
+
+    @Test
+    void conversionsShouldKeepElements() {
+        FloatMatrix dense = random(37, 53, 0.05, 1);
+        for (SparseMatrix.Format format : SparseMatrix.Format.values()) {
+            SparseMatrix sparse = SparseMatrix.fromDense(dense, format);
+            assertEquals(format, sparse.format());
+            assertEquals(dense, sparse.toDense());
+            for (int i = 0; i < 37; i++) {
+                for (int j = 0; j < 53; j++) {
+                    assertEquals(dense.getFloat(i, j), sparse.getFloat(i, j));
+                }
+            }
+            assertEquals(SparseMatrix.fromDense(dense, CSR).nonZeros(), sparse.nonZeros());
+            assertEquals(dense, sparse.toFormat(CSR).toDense());
+            assertEquals(dense, sparse.toFormat(CSC).toDense());
+
+            SparseMatrix transposed = sparse.transpose();
+            assertArrayEquals(new int[] {53, 37}, transposed.dimensions());
+            assertNotEquals(format, transposed.format());
+            assertEquals(dense.getFloat(5, 7), transposed.getFloat(7, 5));
+            assertElementsEqual((FloatMatrix) dense.transpose(1, 0).copy(), transposed.toDense(), 0);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> SparseMatrix.fromDense(dense, CSR).getFloat(37, 0));
+    }
+
+    @Test
+    void builderShouldSumElementsAtTheSamePosition() {
+        SparseMatrix.CooBuilder builder = SparseMatrix.builder(4, 1000);
+        builder.add(3, 999, 1.5f)
+            .add(0, 7, 2)
+            .add(3, 0, -1)
+            .add(0, 7, 3)
+            .add(2, 500, 0.25f);
+        for (int j = 40; j > 0; j--) {
+            builder.add(1, j * 20, j);
+        }
+        for (SparseMatrix.Format format : SparseMatrix.Format.values()) {
+            SparseMatrix sparse = builder.build(format);
+            assertEquals(44, sparse.nonZeros());
+            assertEquals(5, sparse.getFloat(0, 7));
+            assertEquals(1.5f, sparse.getFloat(3, 999));
+            assertEquals(-1, sparse.getFloat(3, 0));
+            assertEquals(0.25f, sparse.getFloat(2, 500));
+            assertEquals(13, sparse.getFloat(1, 260));
+            assertEquals(0, sparse.getFloat(1, 261));
+            assertEquals(sparse.toDense(), SparseMatrix.fromDense(sparse.toDense(), format).toDense());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> builder.add(4, 0, 1));
+        assertEquals(0, SparseMatrix.builder(3, 3).build(CSC).nonZeros());
+    }
+
+    @Test
+    void productsShouldMatchDenseProducts() {
+        // large enough to be computed in parallel
+        FloatMatrix dense = random(700, 3000, 0.01, 2);
+        FloatMatrix vector = FloatMatrix.zeros(3000);
+        for (int i = 0; i < 3000; i++) {
+            vector.setFloat(i, i % 11 - 5);
+        }
+        FloatMatrix matrix = random(3000, 37, 0.5, 3);
+        FloatMatrix expectedMatrix = (FloatMatrix) dense.mmul(matrix, 1);
+        for (SparseMatrix.Format format : SparseMatrix.Format.values()) {
+            SparseMatrix sparse = SparseMatrix.fromDense(dense, format);
+            assertElementsEqual(expectedMatrix, sparse.mmul(matrix), 0);
+            assertElementsEqual(expectedMatrix, sparse.mmul(matrix, 1), 0);
+            FloatMatrix product = sparse.mmul(vector);
+            assertArrayEquals(new int[] {700}, product.dimensions());
+            for (int i = 0; i < 700; i++) {
+                double sum = 0;
+                for (int j = 0; j < 3000; j++) {
+                    sum += dense.getFloat(i, j) * vector.getFloat((long) j);
+                }
+                assertEquals(sum, product.getFloat((long) i));
+            }
+            assertThrows(IncompatibleDimensionsException.class, () -> sparse.mmul(FloatMatrix.zeros(2999, 2)));
+        }
+    }
+
+    @Test
+    void elementwiseOperationsShouldMatchDenseOperations() {
+        FloatMatrix dense = random(29, 61, 0.1, 4);
+        FloatMatrix other = random(29, 61, 0.9, 5);
+        dense.setFloat(0, 0, 0);
+        for (SparseMatrix.Format format : SparseMatrix.Format.values()) {
+            SparseMatrix sparse = SparseMatrix.fromDense(dense, format);
+
+            FloatMatrix expected = (FloatMatrix) dense.copy();
+            expected.add(other);
+            assertEquals(expected, sparse.add(other));
+            expected = (FloatMatrix) dense.copy();
+            expected.sub(other);
+            assertEquals(expected, sparse.sub(other));
+            expected = (FloatMatrix) dense.copy();
+            expected.mul(other);
+            SparseMatrix product = sparse.mul(other);
+            assertEquals(format, product.format());
+            assertEquals(sparse.nonZeros(), product.nonZeros());
+            assertElementsEqual(expected, product.toDense(), 0);
+
+            // elements, which are not stored, stay 0
+            FloatMatrix infinite = FloatMatrix.zeros(29, 61);
+            infinite.addScalar(Float.POSITIVE_INFINITY);
+            assertEquals(0, sparse.mul(infinite).getFloat(0, 0));
+
+            assertThrows(IncompatibleDimensionsException.class, () -> sparse.add(FloatMatrix.zeros(61, 29)));
+        }
+    }
+}